@@ -17,6 +17,7 @@
 package com.benefitj.consistenthash;
 
 import java.util.*;
+import java.util.function.Function;
 
 /**
  * To hash Node objects to a hash ring with a certain amount of virtual node.
@@ -26,10 +27,16 @@ import java.util.*;
  */
 public class ConsistentHashRouter<T extends Node> {
 
-  private final SortedMap<Long, VirtualNode<T>> ring = new TreeMap<>();
+  private final NavigableMap<Long, VirtualNode<T>> ring = new TreeMap<>();
   private final HashFunction hashFunction;
-
-  private final ReadWriteLockDelegate lock = new ReadWriteLockDelegate(false);
+  /**
+   * 读多写少，使用分段的读写锁，查找时读线程之间没有缓存行的争用
+   */
+  private final ReadWriteLockDelegate lock = new ReadWriteLockDelegate(new StripedReadWriteLock());
+  /**
+   * 查找节点，只创建一次
+   */
+  private final Function<Long, T> router = this::unsafeRouteNode;
   /**
    * 最大虚拟节点数
    */
@@ -57,11 +64,11 @@ public class ConsistentHashRouter<T extends Node> {
   }
 
   public int size() {
-    return lock.readLock(ring::size);
+    return lock.readLockAsInt(ring, Map::size);
   }
 
   public boolean isEmpty() {
-    return lock.readLock(ring::isEmpty);
+    return lock.readLock(ring, Map::isEmpty);
   }
 
   /**
@@ -158,15 +165,20 @@ public class ConsistentHashRouter<T extends Node> {
    * @return
    */
   public T routeNode(String objectKey) {
-    return lock.readLock(() -> {
-      if (ring.isEmpty()) {
-        return null;
-      }
-      Long hashVal = hashFunction.hash(objectKey);
-      SortedMap<Long, VirtualNode<T>> tailMap = ring.tailMap(hashVal);
-      Long nodeHashVal = !tailMap.isEmpty() ? tailMap.firstKey() : ring.firstKey();
-      return ring.get(nodeHashVal).getPhysicalNode();
-    });
+    // 在锁外计算哈希，缩短持有读锁的时间
+    Long hashVal = hashFunction.hash(objectKey);
+    return lock.readLock(hashVal, router);
+  }
+
+  /**
+   * 查找节点（不加锁）
+   */
+  private T unsafeRouteNode(Long hashVal) {
+    if (ring.isEmpty()) {
+      return null;
+    }
+    Map.Entry<Long, VirtualNode<T>> entry = ring.ceilingEntry(hashVal);
+    return (entry != null ? entry : ring.firstEntry()).getValue().getPhysicalNode();
   }
 
   /**
@@ -4,6 +4,8 @@ import java.util.concurrent.Callable;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
 
 /**
  * 读写锁委托类
@@ -17,7 +19,11 @@ final class ReadWriteLockDelegate {
   }
 
   public ReadWriteLockDelegate(boolean fair) {
-    this.lock = new ReentrantReadWriteLock(fair);
+    this(new ReentrantReadWriteLock(fair));
+  }
+
+  public ReadWriteLockDelegate(ReadWriteLock lock) {
+    this.lock = lock;
   }
 
   /**
@@ -50,6 +56,32 @@ final class ReadWriteLockDelegate {
     }
   }
 
+  /**
+   * 执行读锁，并返回期待结果(传入不捕获变量的 lambda 时不创建对象)
+   */
+  public <T, V> V readLock(T arg, Function<? super T, ? extends V> fn) {
+    final Lock readLock = this.lock.readLock();
+    readLock.lock();
+    try {
+      return fn.apply(arg);
+    } finally {
+      readLock.unlock();
+    }
+  }
+
+  /**
+   * 执行读锁，并返回 int 类型的结果(不装箱)
+   */
+  public <T> int readLockAsInt(T arg, ToIntFunction<? super T> fn) {
+    final Lock readLock = this.lock.readLock();
+    readLock.lock();
+    try {
+      return fn.applyAsInt(arg);
+    } finally {
+      readLock.unlock();
+    }
+  }
+
   /**
    * 执行写锁，并返回期待结果
    */
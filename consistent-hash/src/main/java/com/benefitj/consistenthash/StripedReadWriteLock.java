@@ -0,0 +1,308 @@
+package com.benefitj.consistenthash;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 读优先的分段读写锁
+ * <p>
+ * 读锁只修改当前线程所在分段的计数(每个分段独占缓存行)，多个核心同时读取时不会争抢同一个缓存行；
+ * 写锁先标记写入，再等待全部分段的读计数归零，适合读多写少的场景。
+ * <p>
+ * 注意：读锁不可重入(持有读锁时再次获取读锁，如果有线程在等待写锁会死锁)，并且必须由获取的线程释放；
+ * 写锁可重入，持有写锁时可以获取读锁；不支持 {@link Lock#newCondition()}
+ */
+final class StripedReadWriteLock implements ReadWriteLock {
+
+  /**
+   * 每个分段占用的 int 数(128字节，避免相邻缓存行预取造成的伪共享)
+   */
+  static final int PADDING = 32;
+  /**
+   * 写锁等待读锁释放时，自旋的次数
+   */
+  static final int SPINS = 1 << 7;
+
+  private final AtomicIntegerArray readers;
+  private final int mask;
+  private final ReentrantLock writerLock;
+  /**
+   * 是否有线程持有或等待写锁
+   */
+  private volatile boolean writing;
+  /**
+   * 当前线程的分段和持有的读锁数量
+   */
+  private final ThreadLocal<ReadHolder> holders = ThreadLocal.withInitial(ReadHolder::new);
+
+  private final ReadLock readLock = new ReadLock();
+  private final WriteLock writeLock = new WriteLock();
+
+  public StripedReadWriteLock() {
+    this(Runtime.getRuntime().availableProcessors() * 2);
+  }
+
+  public StripedReadWriteLock(int stripes) {
+    int n = 1;
+    while (n < stripes && n < (1 << 10)) {
+      n <<= 1;
+    }
+    this.mask = n - 1;
+    this.readers = new AtomicIntegerArray(n * PADDING);
+    this.writerLock = new ReentrantLock(false);
+  }
+
+  @Override
+  public Lock readLock() {
+    return readLock;
+  }
+
+  @Override
+  public Lock writeLock() {
+    return writeLock;
+  }
+
+  /**
+   * 分段数
+   */
+  public int getStripes() {
+    return mask + 1;
+  }
+
+  /**
+   * 当前持有读锁的数量
+   */
+  public int getReadLockCount() {
+    int count = 0;
+    for (int i = 0; i <= mask; i++) {
+      count += readers.get(i * PADDING);
+    }
+    return count;
+  }
+
+  public boolean isWriteLocked() {
+    return writerLock.isLocked();
+  }
+
+  public boolean isWriteLockedByCurrentThread() {
+    return writerLock.isHeldByCurrentThread();
+  }
+
+  /**
+   * 当前线程的分段，同一个线程总是相同
+   */
+  final int slot() {
+    long id = Thread.currentThread().getId() * 0x9E3779B97F4A7C15L;
+    return ((int) (id >>> 32) & mask) * PADDING;
+  }
+
+  /**
+   * 尝试获取读锁
+   */
+  final boolean tryAcquireShared(ReadHolder holder) {
+    int slot = holder.slot;
+    readers.incrementAndGet(slot);
+    if (!writing || writerLock.isHeldByCurrentThread()) {
+      holder.count++;
+      return true;
+    }
+    // 有写锁，撤销
+    readers.decrementAndGet(slot);
+    return false;
+  }
+
+  /**
+   * 等待全部的读锁释放(重入写锁时不再等待，当前线程可能持有读锁)
+   *
+   * @param interruptible 是否响应中断，否则等待结束后恢复中断状态
+   * @param timed         是否超时
+   * @param deadline      超时的时间
+   * @return 返回是否全部释放
+   * @throws InterruptedException 等待时被中断
+   */
+  final boolean awaitReaders(boolean interruptible, boolean timed, long deadline) throws InterruptedException {
+    if (writerLock.getHoldCount() > 1) {
+      return true;
+    }
+    boolean interrupted = false;
+    try {
+      for (int i = 0; i <= mask; i++) {
+        int slot = i * PADDING;
+        for (int spins = 0; readers.get(slot) != 0; spins++) {
+          if (spins < SPINS) {
+            Thread.onSpinWait();
+          } else if (timed && System.nanoTime() - deadline >= 0) {
+            return false;
+          } else {
+            LockSupport.parkNanos(this, 1000L);
+            // 中断后 parkNanos 会立即返回，需要清除中断状态
+            if (Thread.interrupted()) {
+              if (interruptible) {
+                throw new InterruptedException();
+              }
+              interrupted = true;
+            }
+          }
+        }
+      }
+      return true;
+    } finally {
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  final void releaseExclusive() {
+    if (writerLock.getHoldCount() == 1) {
+      writing = false;
+    }
+    writerLock.unlock();
+  }
+
+  @Override
+  public String toString() {
+    return super.toString() + "[Write locks = " + writerLock.getHoldCount() + ", Read locks = " + getReadLockCount() + "]";
+  }
+
+  final class ReadHolder {
+    /**
+     * 分段的位置
+     */
+    final int slot = slot();
+    /**
+     * 持有的读锁数量
+     */
+    int count;
+  }
+
+  final class ReadLock implements Lock {
+
+    @Override
+    public void lock() {
+      ReadHolder holder = holders.get();
+      while (!tryAcquireShared(holder)) {
+        // 等待写锁释放
+        writerLock.lock();
+        writerLock.unlock();
+      }
+    }
+
+    @Override
+    public void lockInterruptibly() throws InterruptedException {
+      ReadHolder holder = holders.get();
+      while (!tryAcquireShared(holder)) {
+        writerLock.lockInterruptibly();
+        writerLock.unlock();
+      }
+    }
+
+    @Override
+    public boolean tryLock() {
+      return tryAcquireShared(holders.get());
+    }
+
+    @Override
+    public boolean tryLock(long time, TimeUnit unit) throws InterruptedException {
+      ReadHolder holder = holders.get();
+      long deadline = System.nanoTime() + unit.toNanos(time);
+      while (!tryAcquireShared(holder)) {
+        if (!writerLock.tryLock(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+          return false;
+        }
+        writerLock.unlock();
+      }
+      return true;
+    }
+
+    @Override
+    public void unlock() {
+      // 其他线程释放时会减少别的分段的计数，导致真正的读锁永远不会释放
+      ReadHolder holder = holders.get();
+      if (holder.count <= 0) {
+        throw new IllegalMonitorStateException("当前线程未持有读锁");
+      }
+      holder.count--;
+      readers.decrementAndGet(holder.slot);
+    }
+
+    @Override
+    public Condition newCondition() {
+      throw new UnsupportedOperationException();
+    }
+  }
+
+  final class WriteLock implements Lock {
+
+    @Override
+    public void lock() {
+      writerLock.lock();
+      writing = true;
+      try {
+        awaitReaders(false, false, 0L);
+      } catch (InterruptedException e) {
+        // 不响应中断时不会抛出
+        throw new IllegalStateException(e);
+      }
+    }
+
+    @Override
+    public void lockInterruptibly() throws InterruptedException {
+      writerLock.lockInterruptibly();
+      writing = true;
+      try {
+        awaitReaders(true, false, 0L);
+      } catch (InterruptedException e) {
+        releaseExclusive();
+        throw e;
+      }
+    }
+
+    @Override
+    public boolean tryLock() {
+      if (!writerLock.tryLock()) {
+        return false;
+      }
+      writing = true;
+      if (writerLock.getHoldCount() > 1 || getReadLockCount() == 0) {
+        return true;
+      }
+      releaseExclusive();
+      return false;
+    }
+
+    @Override
+    public boolean tryLock(long time, TimeUnit unit) throws InterruptedException {
+      long deadline = System.nanoTime() + unit.toNanos(time);
+      if (!writerLock.tryLock(time, unit)) {
+        return false;
+      }
+      writing = true;
+      boolean acquired = false;
+      try {
+        acquired = awaitReaders(true, true, deadline);
+        return acquired;
+      } finally {
+        if (!acquired) {
+          releaseExclusive();
+        }
+      }
+    }
+
+    @Override
+    public void unlock() {
+      releaseExclusive();
+    }
+
+    @Override
+    public Condition newCondition() {
+      throw new UnsupportedOperationException();
+    }
+  }
+
+}
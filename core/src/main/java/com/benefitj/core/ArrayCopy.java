@@ -5,8 +5,6 @@ import java.io.IOException;
 import java.lang.reflect.Array;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
-import java.util.WeakHashMap;
 import java.util.function.Function;
 
 /**
@@ -195,8 +193,21 @@ public interface ArrayCopy<T> {
 
   class SimpleBufCopy<T> implements ArrayCopy<T> {
 
-    private ThreadLocal<Map<Integer, T>> bytesCache = ThreadLocal.withInitial(WeakHashMap::new);
-    private Function<Integer, T> creator;
+    /**
+     * 每个线程缓存的数组数量(按长度直接映射)
+     */
+    static final int LOCAL_SLOTS = 32;
+    /**
+     * 本地线程缓存的最大长度，超过时直接创建，每个线程最多持有 LOCAL_SLOTS 个数组
+     */
+    static final int LOCAL_MAX_LENGTH = 1 << 16;
+
+    /**
+     * 交给调用者的数组可能一直被持有，不能放回 {@link ArrayPool}，所以这里不使用数组池
+     */
+    private final ThreadLocal<Object[]> localCache = ThreadLocal.withInitial(() -> new Object[LOCAL_SLOTS]);
+    private final Function<Integer, T> creator;
+    private final Object zero;
 
     private boolean fill;
     private Object fillValue;
@@ -204,31 +215,74 @@ public interface ArrayCopy<T> {
 
     public SimpleBufCopy(Function<Integer, T> creator, boolean fill, Object fillValue) {
       this.creator = creator;
+      this.zero = zeroOf(creator.apply(0).getClass().getComponentType());
       this.fill = fill;
       this.fillValue = fillValue;
     }
 
     /**
-     * 获取缓存数组
+     * 获取缓存数组，本地线程缓存的数组在同一线程中相同长度时复用，复用前会清空(或填充)
      *
      * @param size  数组大小
      * @param local 是否为本地线程缓存数组
      * @return 返回数组
      */
     @Override
+    @SuppressWarnings("unchecked")
     public T getCache(int size, boolean local) {
       T buf;
-      if (local) {
-        buf = bytesCache.get().computeIfAbsent(size, creator);
+      if (local && size <= LOCAL_MAX_LENGTH) {
+        Object[] slots = localCache.get();
+        int index = (size ^ (size >>> 5)) & (LOCAL_SLOTS - 1);
+        Object cached = slots[index];
+        if (cached != null && len(cached) == size) {
+          buf = (T) cached;
+          if (!fill) {
+            ArrayCopy.fill(buf, zero);
+          }
+        } else {
+          // 被替换的数组可能仍被调用者持有，交给 GC 回收
+          slots[index] = buf = creator.apply(size);
+        }
       } else {
         buf = creator.apply(size);
       }
       if (fill) {
-        Utils.arrayFor(buf, (i, v) -> Array.set(buf, i, fillValue), false);
+        ArrayCopy.fill(buf, fillValue);
       }
       return buf;
     }
 
+    private static Object zeroOf(Class<?> type) {
+      if (type == boolean.class) return false;
+      if (type == char.class) return '\0';
+      return type.isPrimitive() ? (Object) 0 : null;
+    }
+
+  }
+
+  /**
+   * 填充数组
+   *
+   * @param array 数组
+   * @param value 值
+   */
+  static void fill(Object array, Object value) {
+    if (array instanceof byte[]) {
+      Arrays.fill((byte[]) array, ((Number) value).byteValue());
+    } else if (array instanceof short[]) {
+      Arrays.fill((short[]) array, ((Number) value).shortValue());
+    } else if (array instanceof int[]) {
+      Arrays.fill((int[]) array, ((Number) value).intValue());
+    } else if (array instanceof long[]) {
+      Arrays.fill((long[]) array, ((Number) value).longValue());
+    } else if (array instanceof float[]) {
+      Arrays.fill((float[]) array, ((Number) value).floatValue());
+    } else if (array instanceof double[]) {
+      Arrays.fill((double[]) array, ((Number) value).doubleValue());
+    } else {
+      Utils.arrayFor(array, (i, v) -> Array.set(array, i, value), false);
+    }
   }
 
   static int len(Object src) {
@@ -0,0 +1,300 @@
+package com.benefitj.core;
+
+import java.lang.reflect.Array;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+
+/**
+ * 基本类型数组池
+ * <p>
+ * 按2的幂划分大小等级，每个线程持有少量数组(magazine)，超出时放入共享的栈中；
+ * 共享栈的总字节数有上限，超过上限或超过最大长度的数组直接丢弃，由GC回收
+ *
+ * @param <T> 数组类型
+ */
+public class ArrayPool<T> {
+
+  /**
+   * 默认每个线程每个等级缓存的数组数量
+   */
+  public static final int DEFAULT_MAGAZINE_SIZE = 4;
+  /**
+   * 默认池化的最大等级，(1 << 16) 个元素
+   */
+  public static final int DEFAULT_MAX_CLASS = 16;
+  /**
+   * 默认共享栈的最大字节数
+   */
+  public static final long DEFAULT_MAX_SHARED_BYTES = 16L << 20;
+
+  public static final ArrayPool<byte[]> BYTES = new ArrayPool<>(byte[]::new);
+  public static final ArrayPool<short[]> SHORTS = new ArrayPool<>(short[]::new);
+  public static final ArrayPool<char[]> CHARS = new ArrayPool<>(char[]::new);
+  public static final ArrayPool<int[]> INTS = new ArrayPool<>(int[]::new);
+  public static final ArrayPool<long[]> LONGS = new ArrayPool<>(long[]::new);
+  public static final ArrayPool<float[]> FLOATS = new ArrayPool<>(float[]::new);
+  public static final ArrayPool<double[]> DOUBLES = new ArrayPool<>(double[]::new);
+  public static final ArrayPool<boolean[]> BOOLEANS = new ArrayPool<>(boolean[]::new);
+
+  /**
+   * 获取共享的数组池
+   *
+   * @param arrayType 数组类型，如: byte[].class
+   * @return 返回数组池，不支持的类型返回 null
+   */
+  @SuppressWarnings("unchecked")
+  public static <T> ArrayPool<T> shared(Class<?> arrayType) {
+    Class<?> type = arrayType.getComponentType();
+    if (type == byte.class) return (ArrayPool<T>) BYTES;
+    if (type == short.class) return (ArrayPool<T>) SHORTS;
+    if (type == char.class) return (ArrayPool<T>) CHARS;
+    if (type == int.class) return (ArrayPool<T>) INTS;
+    if (type == long.class) return (ArrayPool<T>) LONGS;
+    if (type == float.class) return (ArrayPool<T>) FLOATS;
+    if (type == double.class) return (ArrayPool<T>) DOUBLES;
+    if (type == boolean.class) return (ArrayPool<T>) BOOLEANS;
+    return null;
+  }
+
+  private final IntFunction<T> creator;
+  /**
+   * 每个元素的字节数
+   */
+  private final int elementBytes;
+  private final int magazineSize;
+  private final int maxClass;
+  private final long maxSharedBytes;
+  /**
+   * 每个等级的共享栈
+   */
+  private final ConcurrentLinkedDeque<T>[] shared;
+  private final AtomicLong sharedBytes = new AtomicLong();
+  private final LongAdder localBytes = new LongAdder();
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final ThreadLocal<Magazine> magazines;
+
+  public ArrayPool(IntFunction<T> creator) {
+    this(creator, DEFAULT_MAGAZINE_SIZE, DEFAULT_MAX_CLASS, DEFAULT_MAX_SHARED_BYTES);
+  }
+
+  @SuppressWarnings("unchecked")
+  public ArrayPool(IntFunction<T> creator, int magazineSize, int maxClass, long maxSharedBytes) {
+    if (maxClass < 0 || maxClass > 30) {
+      throw new IllegalArgumentException("Required maxClass between 0 and 30, but was " + maxClass);
+    }
+    Class<?> type = creator.apply(0).getClass().getComponentType();
+    if (type == null || !type.isPrimitive()) {
+      throw new IllegalArgumentException("Required primitive array creator");
+    }
+    this.creator = creator;
+    this.elementBytes = sizeOf(type);
+    this.magazineSize = Math.max(magazineSize, 0);
+    this.maxClass = maxClass;
+    this.maxSharedBytes = Math.max(maxSharedBytes, 0);
+    this.shared = new ConcurrentLinkedDeque[maxClass + 1];
+    for (int i = 0; i < shared.length; i++) {
+      shared[i] = new ConcurrentLinkedDeque<>();
+    }
+    this.magazines = ThreadLocal.withInitial(() -> new Magazine(maxClass + 1, this.magazineSize));
+  }
+
+  /**
+   * 获取数组，长度为不小于 minLength 的2的幂；超过最大等级时按 minLength 创建
+   *
+   * @param minLength 最小长度
+   * @return 返回数组(内容未清空)
+   */
+  public T acquire(int minLength) {
+    int c = classOf(minLength);
+    if (c > maxClass) {
+      misses.increment();
+      return creator.apply(minLength);
+    }
+    T array = magazines.get().pop(c);
+    if (array != null) {
+      localBytes.add(-bytesOf(c));
+      hits.increment();
+      return array;
+    }
+    array = shared[c].pollFirst();
+    if (array != null) {
+      sharedBytes.addAndGet(-bytesOf(c));
+      hits.increment();
+      return array;
+    }
+    misses.increment();
+    return creator.apply(1 << c);
+  }
+
+  /**
+   * 归还数组，优先放入当前线程，其次放入共享栈；归还后不能再使用
+   *
+   * @param array 数组
+   */
+  public void release(T array) {
+    int c = poolableClass(array);
+    if (c < 0) {
+      return;
+    }
+    if (magazines.get().push(c, array)) {
+      localBytes.add(bytesOf(c));
+      return;
+    }
+    long bytes = bytesOf(c);
+    for (; ; ) {
+      long current = sharedBytes.get();
+      if (current + bytes > maxSharedBytes) {
+        return;
+      }
+      if (sharedBytes.compareAndSet(current, current + bytes)) {
+        shared[c].offerFirst(array);
+        return;
+      }
+    }
+  }
+
+  /**
+   * 获取统计信息
+   */
+  public Metrics metrics() {
+    return new Metrics(hits.sum(), misses.sum(), sharedBytes.get(), localBytes.sum());
+  }
+
+  private int poolableClass(T array) {
+    if (array == null) {
+      return -1;
+    }
+    int length = Array.getLength(array);
+    if (length == 0 || (length & (length - 1)) != 0) {
+      return -1;
+    }
+    int c = classOf(length);
+    return c <= maxClass ? c : -1;
+  }
+
+  private long bytesOf(int c) {
+    return (long) elementBytes << c;
+  }
+
+  /**
+   * 大小等级，长度向上取2的幂后的指数
+   */
+  static int classOf(int length) {
+    return length <= 1 ? 0 : 32 - Integer.numberOfLeadingZeros(length - 1);
+  }
+
+  static int sizeOf(Class<?> type) {
+    if (type == long.class || type == double.class) return 8;
+    if (type == int.class || type == float.class) return 4;
+    if (type == short.class || type == char.class) return 2;
+    return 1;
+  }
+
+  /**
+   * 线程持有的数组
+   */
+  static final class Magazine {
+
+    final Object[][] stacks;
+    final int[] sizes;
+
+    Magazine(int classes, int capacity) {
+      this.stacks = new Object[classes][capacity];
+      this.sizes = new int[classes];
+    }
+
+    @SuppressWarnings("unchecked")
+    <T> T pop(int c) {
+      int size = sizes[c];
+      if (size == 0) {
+        return null;
+      }
+      Object[] stack = stacks[c];
+      T array = (T) stack[--size];
+      stack[size] = null;
+      sizes[c] = size;
+      return array;
+    }
+
+    boolean push(int c, Object array) {
+      Object[] stack = stacks[c];
+      int size = sizes[c];
+      if (size >= stack.length) {
+        return false;
+      }
+      stack[size] = array;
+      sizes[c] = size + 1;
+      return true;
+    }
+  }
+
+  /**
+   * 统计信息
+   */
+  public static final class Metrics {
+    /**
+     * 命中次数
+     */
+    private final long hits;
+    /**
+     * 未命中(新创建数组)次数
+     */
+    private final long misses;
+    /**
+     * 共享栈持有的字节数
+     */
+    private final long sharedBytes;
+    /**
+     * 线程持有的字节数(包含已结束的线程，近似值)
+     */
+    private final long localBytes;
+
+    public Metrics(long hits, long misses, long sharedBytes, long localBytes) {
+      this.hits = hits;
+      this.misses = misses;
+      this.sharedBytes = sharedBytes;
+      this.localBytes = localBytes;
+    }
+
+    public long getHits() {
+      return hits;
+    }
+
+    public long getMisses() {
+      return misses;
+    }
+
+    public long getSharedBytes() {
+      return sharedBytes;
+    }
+
+    public long getLocalBytes() {
+      return localBytes;
+    }
+
+    /**
+     * 池持有的总字节数
+     */
+    public long getFootprint() {
+      return sharedBytes + localBytes;
+    }
+
+    /**
+     * 命中率
+     */
+    public double getHitRate() {
+      long total = hits + misses;
+      return total > 0 ? (double) hits / total : 0;
+    }
+
+    @Override
+    public String toString() {
+      return "Metrics(hits=" + hits + ", misses=" + misses
+          + ", sharedBytes=" + sharedBytes + ", localBytes=" + localBytes + ")";
+    }
+  }
+
+}
@@ -0,0 +1,503 @@
+package com.benefitj.core;
+
+import javax.annotation.Nullable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.WrongMethodTypeException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.*;
+
+/**
+ * 对象字段的读写，按类缓存，替代 {@link ReflectUtils#getFieldValue(Field, Object)}、{@link ReflectUtils#setFieldValue(Field, Object, Object)}
+ * <p>
+ * 每个字段创建一次 getter/setter 的 {@link MethodHandle}，读写时不再检查访问权限；
+ * 基本类型提供 getInt/setLong 等方法，不需要装箱
+ */
+public final class BeanAccessor {
+
+  private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+  private static final ClassValue<BeanAccessor> CACHE = new ClassValue<BeanAccessor>() {
+    @Override
+    protected BeanAccessor computeValue(Class<?> type) {
+      return new BeanAccessor(type);
+    }
+  };
+
+  /**
+   * 基本类型，下标对应 {@link PropertyAccessor} 中的 getter/setter
+   */
+  static final Class<?>[] PRIMITIVES = {
+      boolean.class, byte.class, char.class, short.class, int.class, long.class, float.class, double.class
+  };
+  static final int BOOLEAN = 0, BYTE = 1, CHAR = 2, SHORT = 3, INT = 4, LONG = 5, FLOAT = 6, DOUBLE = 7;
+
+  /**
+   * 获取类的访问器
+   *
+   * @param type 类
+   * @return 返回缓存的访问器
+   */
+  public static BeanAccessor of(Class<?> type) {
+    return CACHE.get(type);
+  }
+
+  /**
+   * 获取字段的访问器(包括静态字段)
+   *
+   * @param field 字段
+   * @return 返回缓存的访问器
+   */
+  public static PropertyAccessor of(Field field) {
+    PropertyAccessor pa = of(field.getDeclaringClass()).declared.get(field);
+    if (pa == null) {
+      throw new IllegalArgumentException("无法访问的字段: " + field);
+    }
+    return pa;
+  }
+
+  private final Class<?> type;
+  /**
+   * 实例字段，子类在前
+   */
+  private final PropertyAccessor[] properties;
+  private final Map<String, PropertyAccessor> index;
+  /**
+   * 当前类声明的字段
+   */
+  private final Map<Field, PropertyAccessor> declared;
+
+  BeanAccessor(Class<?> type) {
+    this.type = type;
+    ClassMetadataCache.ClassMetadata metadata = ClassMetadataCache.get(type);
+    Map<Field, PropertyAccessor> declared = new HashMap<>();
+    for (Field f : metadata.declaredFields()) {
+      PropertyAccessor pa = PropertyAccessor.create(f);
+      if (pa != null) {
+        declared.put(f, pa);
+      }
+    }
+    this.declared = declared;
+
+    List<PropertyAccessor> list = new ArrayList<>();
+    Map<String, PropertyAccessor> index = new HashMap<>();
+    for (int i = 0; i < metadata.depth(); i++) {
+      BeanAccessor level = i == 0 ? this : of(metadata.level(i).getType());
+      for (Field f : metadata.level(i).declaredFields()) {
+        PropertyAccessor pa = level.declared.get(f);
+        if (pa != null && !pa.isStatic()) {
+          list.add(pa);
+          index.putIfAbsent(pa.getName(), pa);
+        }
+      }
+    }
+    this.properties = list.toArray(new PropertyAccessor[0]);
+    this.index = index;
+  }
+
+  public Class<?> getType() {
+    return type;
+  }
+
+  /**
+   * 全部的实例字段，子类在前
+   */
+  public PropertyAccessor[] getProperties() {
+    return properties.clone();
+  }
+
+  /**
+   * 获取字段的访问器，子类优先
+   *
+   * @param name 字段名
+   * @return 返回访问器，不存在返回 null
+   */
+  @Nullable
+  public PropertyAccessor getProperty(String name) {
+    return index.get(name);
+  }
+
+  /**
+   * 获取字段的访问器
+   *
+   * @param name 字段名
+   * @return 返回访问器
+   * @throws IllegalArgumentException 字段不存在
+   */
+  public PropertyAccessor requireProperty(String name) {
+    PropertyAccessor pa = index.get(name);
+    if (pa == null) {
+      throw new IllegalArgumentException("字段不存在: " + type.getName() + "." + name);
+    }
+    return pa;
+  }
+
+  /**
+   * 读取字段的值
+   *
+   * @param obj  对象
+   * @param name 字段名
+   * @param <V>  值类型
+   * @return 返回字段的值
+   */
+  public <V> V get(Object obj, String name) {
+    return (V) requireProperty(name).get(obj);
+  }
+
+  /**
+   * 设置字段的值
+   *
+   * @param obj   对象
+   * @param name  字段名
+   * @param value 值
+   */
+  public void set(Object obj, String name, Object value) {
+    requireProperty(name).set(obj, value);
+  }
+
+  /**
+   * 读取全部的字段
+   *
+   * @param obj 对象
+   * @return 返回字段名和值
+   */
+  public Map<String, Object> toMap(Object obj) {
+    Map<String, Object> map = new LinkedHashMap<>(properties.length * 2);
+    for (PropertyAccessor pa : properties) {
+      map.putIfAbsent(pa.getName(), pa.get(obj));
+    }
+    return map;
+  }
+
+  @Override
+  public String toString() {
+    return "BeanAccessor{" + type.getName() + ", properties=" + properties.length + "}";
+  }
+
+  static RuntimeException rethrow(Throwable e) {
+    if (e instanceof RuntimeException) {
+      return (RuntimeException) e;
+    }
+    if (e instanceof Error) {
+      throw (Error) e;
+    }
+    return new IllegalStateException(e);
+  }
+
+  /**
+   * 字段的访问器
+   * <p>
+   * getter 的类型为 (Object)Object，setter 为 (Object, Object)void；基本类型的 getter/setter 按需转换，
+   * 允许拓宽(如 int 字段使用 getLong)和拆装箱(如 Integer 字段使用 getInt)，不允许缩窄
+   */
+  public static final class PropertyAccessor {
+
+    @Nullable
+    static PropertyAccessor create(Field field) {
+      try {
+        boolean isStatic = Modifier.isStatic(field.getModifiers());
+        MethodHandle getter = LOOKUP.unreflectGetter(field);
+        MethodHandle setter = null;
+        if (!(isStatic && Modifier.isFinal(field.getModifiers()))) {
+          try {
+            setter = LOOKUP.unreflectSetter(field);
+          } catch (IllegalAccessException ignore) {/* ~ 只读 */}
+        }
+        if (isStatic) {
+          getter = MethodHandles.dropArguments(getter, 0, Object.class);
+          setter = setter != null ? MethodHandles.dropArguments(setter, 0, Object.class) : null;
+        }
+        return new PropertyAccessor(field, isStatic, getter, setter);
+      } catch (IllegalAccessException e) {
+        // 模块不开放的字段
+        return null;
+      }
+    }
+
+    private final Field field;
+    private final boolean isStatic;
+    /**
+     * (Object)Object
+     */
+    private final MethodHandle getter;
+    /**
+     * (Object, Object)void
+     */
+    private final MethodHandle setter;
+    /**
+     * (Object)P，下标见 {@link #PRIMITIVES}，不支持的类型为 null
+     */
+    private final MethodHandle[] primitiveGetters = new MethodHandle[PRIMITIVES.length];
+    /**
+     * (Object, P)void
+     */
+    private final MethodHandle[] primitiveSetters = new MethodHandle[PRIMITIVES.length];
+
+    PropertyAccessor(Field field, boolean isStatic, MethodHandle getter, @Nullable MethodHandle setter) {
+      this.field = field;
+      this.isStatic = isStatic;
+      getter = getter.asType(getter.type().changeParameterType(0, Object.class));
+      this.getter = getter.asType(MethodType.methodType(Object.class, Object.class));
+      if (setter != null) {
+        setter = setter.asType(setter.type().changeParameterType(0, Object.class));
+        this.setter = setter.asType(MethodType.methodType(void.class, Object.class, Object.class));
+      } else {
+        this.setter = null;
+      }
+      // 基本类型或包装类型
+      Class<?> primitive = MethodType.methodType(field.getType()).unwrap().returnType();
+      if (primitive.isPrimitive() && primitive != void.class) {
+        for (int i = 0; i < PRIMITIVES.length; i++) {
+          primitiveGetters[i] = convert(getter, MethodType.methodType(PRIMITIVES[i], Object.class));
+          if (setter != null) {
+            primitiveSetters[i] = convert(setter, MethodType.methodType(void.class, Object.class, PRIMITIVES[i]));
+          }
+        }
+      }
+    }
+
+    @Nullable
+    static MethodHandle convert(MethodHandle mh, MethodType type) {
+      try {
+        return mh.asType(type);
+      } catch (WrongMethodTypeException e) {
+        return null;
+      }
+    }
+
+    public Field getField() {
+      return field;
+    }
+
+    public String getName() {
+      return field.getName();
+    }
+
+    public Class<?> getType() {
+      return field.getType();
+    }
+
+    public Class<?> getDeclaringClass() {
+      return field.getDeclaringClass();
+    }
+
+    public boolean isStatic() {
+      return isStatic;
+    }
+
+    /**
+     * 是否可写(final 的静态字段不可写)
+     */
+    public boolean isWritable() {
+      return setter != null;
+    }
+
+    /**
+     * 读取字段的值
+     *
+     * @param obj 对象，静态字段可以为 null
+     * @param <V> 值类型
+     * @return 返回字段的值
+     */
+    public <V> V get(Object obj) {
+      try {
+        return (V) (Object) getter.invokeExact(obj);
+      } catch (Throwable e) {
+        throw failed(obj, e);
+      }
+    }
+
+    /**
+     * 设置字段的值
+     *
+     * @param obj   对象，静态字段可以为 null
+     * @param value 值
+     */
+    public void set(Object obj, Object value) {
+      MethodHandle mh = requireWritable(setter);
+      try {
+        mh.invokeExact(obj, value);
+      } catch (Throwable e) {
+        throw failed(obj, e);
+      }
+    }
+
+    public boolean getBoolean(Object obj) {
+      try {
+        return (boolean) primitiveGetter(BOOLEAN).invokeExact(obj);
+      } catch (Throwable e) {
+        throw failed(obj, e);
+      }
+    }
+
+    public byte getByte(Object obj) {
+      try {
+        return (byte) primitiveGetter(BYTE).invokeExact(obj);
+      } catch (Throwable e) {
+        throw failed(obj, e);
+      }
+    }
+
+    public char getChar(Object obj) {
+      try {
+        return (char) primitiveGetter(CHAR).invokeExact(obj);
+      } catch (Throwable e) {
+        throw failed(obj, e);
+      }
+    }
+
+    public short getShort(Object obj) {
+      try {
+        return (short) primitiveGetter(SHORT).invokeExact(obj);
+      } catch (Throwable e) {
+        throw failed(obj, e);
+      }
+    }
+
+    public int getInt(Object obj) {
+      try {
+        return (int) primitiveGetter(INT).invokeExact(obj);
+      } catch (Throwable e) {
+        throw failed(obj, e);
+      }
+    }
+
+    public long getLong(Object obj) {
+      try {
+        return (long) primitiveGetter(LONG).invokeExact(obj);
+      } catch (Throwable e) {
+        throw failed(obj, e);
+      }
+    }
+
+    public float getFloat(Object obj) {
+      try {
+        return (float) primitiveGetter(FLOAT).invokeExact(obj);
+      } catch (Throwable e) {
+        throw failed(obj, e);
+      }
+    }
+
+    public double getDouble(Object obj) {
+      try {
+        return (double) primitiveGetter(DOUBLE).invokeExact(obj);
+      } catch (Throwable e) {
+        throw failed(obj, e);
+      }
+    }
+
+    public void setBoolean(Object obj, boolean value) {
+      MethodHandle mh = primitiveSetter(BOOLEAN);
+      try {
+        mh.invokeExact(obj, value);
+      } catch (Throwable e) {
+        throw failed(obj, e);
+      }
+    }
+
+    public void setByte(Object obj, byte value) {
+      MethodHandle mh = primitiveSetter(BYTE);
+      try {
+        mh.invokeExact(obj, value);
+      } catch (Throwable e) {
+        throw failed(obj, e);
+      }
+    }
+
+    public void setChar(Object obj, char value) {
+      MethodHandle mh = primitiveSetter(CHAR);
+      try {
+        mh.invokeExact(obj, value);
+      } catch (Throwable e) {
+        throw failed(obj, e);
+      }
+    }
+
+    public void setShort(Object obj, short value) {
+      MethodHandle mh = primitiveSetter(SHORT);
+      try {
+        mh.invokeExact(obj, value);
+      } catch (Throwable e) {
+        throw failed(obj, e);
+      }
+    }
+
+    public void setInt(Object obj, int value) {
+      MethodHandle mh = primitiveSetter(INT);
+      try {
+        mh.invokeExact(obj, value);
+      } catch (Throwable e) {
+        throw failed(obj, e);
+      }
+    }
+
+    public void setLong(Object obj, long value) {
+      MethodHandle mh = primitiveSetter(LONG);
+      try {
+        mh.invokeExact(obj, value);
+      } catch (Throwable e) {
+        throw failed(obj, e);
+      }
+    }
+
+    public void setFloat(Object obj, float value) {
+      MethodHandle mh = primitiveSetter(FLOAT);
+      try {
+        mh.invokeExact(obj, value);
+      } catch (Throwable e) {
+        throw failed(obj, e);
+      }
+    }
+
+    public void setDouble(Object obj, double value) {
+      MethodHandle mh = primitiveSetter(DOUBLE);
+      try {
+        mh.invokeExact(obj, value);
+      } catch (Throwable e) {
+        throw failed(obj, e);
+      }
+    }
+
+    private MethodHandle primitiveGetter(int kind) {
+      MethodHandle mh = primitiveGetters[kind];
+      if (mh == null) {
+        throw new IllegalStateException("无法以 " + PRIMITIVES[kind] + " 读取字段: " + field);
+      }
+      return mh;
+    }
+
+    private MethodHandle primitiveSetter(int kind) {
+      requireWritable(setter);
+      MethodHandle mh = primitiveSetters[kind];
+      if (mh == null) {
+        throw new IllegalStateException("无法以 " + PRIMITIVES[kind] + " 设置字段: " + field);
+      }
+      return mh;
+    }
+
+    /**
+     * 对象或值的类型不匹配时与 {@link Field#set(Object, Object)} 一致，抛出 IllegalArgumentException
+     */
+    private RuntimeException failed(Object obj, Throwable e) {
+      if (e instanceof ClassCastException || (e instanceof NullPointerException && (obj != null || isStatic))) {
+        return new IllegalArgumentException("类型不匹配: " + field, e);
+      }
+      return rethrow(e);
+    }
+
+    private MethodHandle requireWritable(MethodHandle mh) {
+      if (mh == null) {
+        throw new IllegalStateException("字段不可写: " + field);
+      }
+      return mh;
+    }
+
+    @Override
+    public String toString() {
+      return "PropertyAccessor{" + field + "}";
+    }
+  }
+
+}
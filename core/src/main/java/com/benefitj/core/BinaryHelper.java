@@ -1,5 +1,6 @@
 package com.benefitj.core;
 
+import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 
 /**
@@ -33,9 +34,6 @@ public class BinaryHelper {
       "1000", "1001", "1010", "1011", "1100", "1101", "1110", "1111"
   };
 
-  private static final char[] HEX_CHARS =
-      new char[]{'0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'A', 'B', 'C', 'D', 'E', 'F'};
-
 
   private static byte[][] MASKS = new byte[][]{
       {0b00000001, 0b00000010, 0b00000100, 0b00001000, 0b00010000, 0b00100000, 0b01000000, (byte) 0b10000000},
@@ -301,6 +299,206 @@ public class BinaryHelper {
     return bytes;
   }
 
+  /**
+   * 写入短整数，不创建新的数组
+   *
+   * @param dest   目标数组
+   * @param offset 开始的位置
+   * @param value  值
+   * @return 返回写入后的位置
+   */
+  public int putShort(byte[] dest, int offset, short value) {
+    return putShort(dest, offset, value, order, 2);
+  }
+
+  /**
+   * 写入短整数，不创建新的数组
+   *
+   * @param dest   目标数组
+   * @param offset 开始的位置
+   * @param value  值
+   * @param order  字节序
+   * @param width  写入的字节数(1~8)，取值的低位字节，超出类型长度的高位补0
+   * @return 返回写入后的位置
+   */
+  public int putShort(byte[] dest, int offset, short value, ByteOrder order, int width) {
+    return BinaryViews.put(dest, offset, value & 0xFFFFL, width, order);
+  }
+
+  /**
+   * 写入短整数，不改变缓冲的 position
+   *
+   * @param dest  目标缓冲
+   * @param index 开始的位置
+   * @param value 值
+   * @param order 字节序
+   * @param width 写入的字节数(1~8)，取值的低位字节，超出类型长度的高位补0
+   * @return 返回写入后的位置
+   */
+  public int putShort(ByteBuffer dest, int index, short value, ByteOrder order, int width) {
+    return BinaryViews.put(dest, index, value & 0xFFFFL, width, order);
+  }
+
+  /**
+   * 写入整数，不创建新的数组
+   *
+   * @param dest   目标数组
+   * @param offset 开始的位置
+   * @param value  值
+   * @return 返回写入后的位置
+   */
+  public int putInt(byte[] dest, int offset, int value) {
+    return putInt(dest, offset, value, order, 4);
+  }
+
+  /**
+   * 写入整数，不创建新的数组
+   *
+   * @param dest   目标数组
+   * @param offset 开始的位置
+   * @param value  值
+   * @param order  字节序
+   * @param width  写入的字节数(1~8)，取值的低位字节，超出类型长度的高位补0
+   * @return 返回写入后的位置
+   */
+  public int putInt(byte[] dest, int offset, int value, ByteOrder order, int width) {
+    return BinaryViews.put(dest, offset, value & 0xFFFFFFFFL, width, order);
+  }
+
+  /**
+   * 写入整数，不改变缓冲的 position
+   *
+   * @param dest  目标缓冲
+   * @param index 开始的位置
+   * @param value 值
+   * @param order 字节序
+   * @param width 写入的字节数(1~8)，取值的低位字节，超出类型长度的高位补0
+   * @return 返回写入后的位置
+   */
+  public int putInt(ByteBuffer dest, int index, int value, ByteOrder order, int width) {
+    return BinaryViews.put(dest, index, value & 0xFFFFFFFFL, width, order);
+  }
+
+  /**
+   * 写入长整数，不创建新的数组
+   *
+   * @param dest   目标数组
+   * @param offset 开始的位置
+   * @param value  值
+   * @return 返回写入后的位置
+   */
+  public int putLong(byte[] dest, int offset, long value) {
+    return putLong(dest, offset, value, order, 8);
+  }
+
+  /**
+   * 写入长整数，不创建新的数组
+   *
+   * @param dest   目标数组
+   * @param offset 开始的位置
+   * @param value  值
+   * @param order  字节序
+   * @param width  写入的字节数(1~8)，取值的低位字节，超出类型长度的高位补0
+   * @return 返回写入后的位置
+   */
+  public int putLong(byte[] dest, int offset, long value, ByteOrder order, int width) {
+    return BinaryViews.put(dest, offset, value, width, order);
+  }
+
+  /**
+   * 写入长整数，不改变缓冲的 position
+   *
+   * @param dest  目标缓冲
+   * @param index 开始的位置
+   * @param value 值
+   * @param order 字节序
+   * @param width 写入的字节数(1~8)，取值的低位字节，超出类型长度的高位补0
+   * @return 返回写入后的位置
+   */
+  public int putLong(ByteBuffer dest, int index, long value, ByteOrder order, int width) {
+    return BinaryViews.put(dest, index, value, width, order);
+  }
+
+  /**
+   * 写入单精度浮点数，不创建新的数组
+   *
+   * @param dest   目标数组
+   * @param offset 开始的位置
+   * @param value  值
+   * @return 返回写入后的位置
+   */
+  public int putFloat(byte[] dest, int offset, float value) {
+    return putFloat(dest, offset, value, order, 4);
+  }
+
+  /**
+   * 写入单精度浮点数，不创建新的数组
+   *
+   * @param dest   目标数组
+   * @param offset 开始的位置
+   * @param value  值
+   * @param order  字节序
+   * @param width  写入的字节数(1~8)，取值的低位字节，超出类型长度的高位补0
+   * @return 返回写入后的位置
+   */
+  public int putFloat(byte[] dest, int offset, float value, ByteOrder order, int width) {
+    return BinaryViews.put(dest, offset, Float.floatToIntBits(value) & 0xFFFFFFFFL, width, order);
+  }
+
+  /**
+   * 写入单精度浮点数，不改变缓冲的 position
+   *
+   * @param dest  目标缓冲
+   * @param index 开始的位置
+   * @param value 值
+   * @param order 字节序
+   * @param width 写入的字节数(1~8)，取值的低位字节，超出类型长度的高位补0
+   * @return 返回写入后的位置
+   */
+  public int putFloat(ByteBuffer dest, int index, float value, ByteOrder order, int width) {
+    return BinaryViews.put(dest, index, Float.floatToIntBits(value) & 0xFFFFFFFFL, width, order);
+  }
+
+  /**
+   * 写入双精度浮点数，不创建新的数组
+   *
+   * @param dest   目标数组
+   * @param offset 开始的位置
+   * @param value  值
+   * @return 返回写入后的位置
+   */
+  public int putDouble(byte[] dest, int offset, double value) {
+    return putDouble(dest, offset, value, order, 8);
+  }
+
+  /**
+   * 写入双精度浮点数，不创建新的数组
+   *
+   * @param dest   目标数组
+   * @param offset 开始的位置
+   * @param value  值
+   * @param order  字节序
+   * @param width  写入的字节数(1~8)，取值的低位字节，超出类型长度的高位补0
+   * @return 返回写入后的位置
+   */
+  public int putDouble(byte[] dest, int offset, double value, ByteOrder order, int width) {
+    return BinaryViews.put(dest, offset, Double.doubleToLongBits(value), width, order);
+  }
+
+  /**
+   * 写入双精度浮点数，不改变缓冲的 position
+   *
+   * @param dest  目标缓冲
+   * @param index 开始的位置
+   * @param value 值
+   * @param order 字节序
+   * @param width 写入的字节数(1~8)，取值的低位字节，超出类型长度的高位补0
+   * @return 返回写入后的位置
+   */
+  public int putDouble(ByteBuffer dest, int index, double value, ByteOrder order, int width) {
+    return BinaryViews.put(dest, index, Double.doubleToLongBits(value), width, order);
+  }
+
   private int bitSize(int bit) {
     return bit / 8 + (bit % 8 != 0 ? 1 : 0);
   }
@@ -770,16 +968,11 @@ public class BinaryHelper {
    * @return 返回16进制字符串或空
    */
   public String bytesToHex(byte[] bin, boolean lowerCase, final String fill, int length) {
-    String hex = lowerCase ? HEX_LOWER_CASE : HEX_UPPER_CASE;
-    final int split = Math.max(length, 1);
-    return bytesToHex(bin, (sb, b, index) -> {
-      // 原16进制数据
-      fillHex(hex, sb, b);
-      // 填充
-      if (fill != null && index < (bin.length - 1) && ((index + 1) % split == 0)) {
-        sb.append(fill);
-      }
-    });
+    if (isEmpty(bin)) {
+      return "";
+    }
+    // 查表写入字符数组，填充等同于不带前缀的后缀
+    return HexEncoder.get(lowerCase).encode(bin, null, fill, length);
   }
 
   /**
@@ -809,19 +1002,7 @@ public class BinaryHelper {
     if (isEmpty(bin)) {
       return null;
     }
-    String hex = lowerCase ? HEX_LOWER_CASE : HEX_UPPER_CASE;
-    final int split = Math.max(length, 1);
-    StringBuilder sb = new StringBuilder();
-    for (int i = 0, j = 1; i < bin.length; i++, j++) {
-      byte b = bin[i];
-      // 填充前缀
-      sb.append(prefix != null && i % split == 0 ? prefix : "");
-      // 原16进制数据
-      fillHex(hex, sb, b);
-      // 填充后缀
-      sb.append(suffix != null && i < (bin.length - 1) && (j % split == 0) ? suffix : "");
-    }
-    return sb.toString();
+    return HexEncoder.get(lowerCase).encode(bin, prefix, suffix, length);
   }
 
   /**
@@ -842,13 +1023,6 @@ public class BinaryHelper {
     return sb.toString();
   }
 
-  private void fillHex(String hex, StringBuilder sb, byte b) {
-    // 字节高4位
-    sb.append(hex.charAt((b & 0xF0) >> 4));
-    // 字节低4位
-    sb.append(hex.charAt(b & 0x0F));
-  }
-
   /**
    * 16进制字符串转换成字节数组
    *
@@ -869,31 +1043,16 @@ public class BinaryHelper {
   public byte[] hexToBytes(String hex, byte[] defaultValue) {
     if (isNotEmpty(hex)) {
       int length = hex.length() / 2;
-      char[] ch = hex.toUpperCase().toCharArray();
       byte[] bin = getCache(length);
-
-      char high;
-      char low;
       for (int i = 0; i < length; ++i) {
-        high = ch[i * 2];
-        low = ch[i * 2 + 1];
-        bin[i] = (byte) (charToByte(high) << 4 | charToByte(low));
+        // 查表，非16进制字符按 -1 处理
+        bin[i] = (byte) (HexEncoder.digit(hex.charAt(i * 2)) << 4 | HexEncoder.digit(hex.charAt(i * 2 + 1)));
       }
       return bin;
     }
     return defaultValue;
   }
 
-  private byte charToByte(char c) {
-    for (int i = 0; i < HEX_CHARS.length; i++) {
-      if (HEX_CHARS[i] == c) {
-        return (byte) i;
-      }
-    }
-    return -1;
-    // return (byte) "0123456789ABCDEF".indexOf(c);
-  }
-
   /**
    * 16进制字符串转换成整数值
    *
@@ -998,7 +1157,7 @@ public class BinaryHelper {
    * @return 返回找到的位置，如果未找到返回-1
    */
   public int indexOf(byte[] src, byte[] find) {
-    return indexOf(src, 0, Math.max(src.length - find.length, 1), find);
+    return BytePattern.indexOf(src, 0, src.length, find);
   }
 
   /**
@@ -1011,21 +1170,8 @@ public class BinaryHelper {
    * @return 返回找到的位置，如果未找到返回-1
    */
   public int indexOf(byte[] src, int start, int len, byte[] find) {
-    for (int i = 0; i < len; i++) {
-      if (src[start + i] == find[0]) {
-        int index = start + i;
-        for (int j = 0; j < find.length; j++) {
-          if (src[start + i + j] != find[j]) {
-            index = -1;
-            break;
-          }
-        }
-        if (index >= 0) {
-          return index;
-        }
-      }
-    }
-    return -1;
+    // 按首字节批量扫描，重复查找同一个模式时可使用 BytePattern.compile(find)
+    return BytePattern.indexOf(src, start, start + len + find.length - 1, find);
   }
 
   /**
@@ -1040,12 +1186,31 @@ public class BinaryHelper {
    */
   public short[] parseShortArray(byte[] data, int start, int len, int size, boolean signed) {
     short[] array = new short[len / size];
+    if (size <= 2) {
+      return parseShortArray(data, start, size, signed, array, 0, array.length);
+    }
     for (int i = 0; i < array.length; i++) {
       array[i] = bytesToShort(copy.copy(data, start + i * size, size, true), signed);
     }
     return array;
   }
 
+  /**
+   * 解析整数数组，直接写入目标数组
+   *
+   * @param data    数据
+   * @param start   开始的位置
+   * @param size    字节长度(1~2)
+   * @param signed  是否为有符号数
+   * @param dest    目标数组
+   * @param destPos 目标数组开始的位置
+   * @param count   解析的数量
+   * @return 返回目标数组
+   */
+  public short[] parseShortArray(byte[] data, int start, int size, boolean signed, short[] dest, int destPos, int count) {
+    return BinaryViews.getShorts(data, start, dest, destPos, count, size, order, signed);
+  }
+
   /**
    * 解析整数数组
    *
@@ -1058,12 +1223,31 @@ public class BinaryHelper {
    */
   public int[] parseIntArray(byte[] data, int start, int len, int size, boolean signed) {
     int[] array = new int[len / size];
+    if (size <= 4) {
+      return parseIntArray(data, start, size, signed, array, 0, array.length);
+    }
     for (int i = 0; i < array.length; i++) {
       array[i] = bytesToInt(copy.copy(data, start + i * size, size, true), signed);
     }
     return array;
   }
 
+  /**
+   * 解析整数数组，直接写入目标数组
+   *
+   * @param data    数据
+   * @param start   开始的位置
+   * @param size    字节长度(1~4)
+   * @param signed  是否为有符号数
+   * @param dest    目标数组
+   * @param destPos 目标数组开始的位置
+   * @param count   解析的数量
+   * @return 返回目标数组
+   */
+  public int[] parseIntArray(byte[] data, int start, int size, boolean signed, int[] dest, int destPos, int count) {
+    return BinaryViews.getInts(data, start, dest, destPos, count, size, order, signed);
+  }
+
   /**
    * 解析整数数组
    *
@@ -1076,12 +1260,31 @@ public class BinaryHelper {
    */
   public long[] parseLongArray(byte[] data, int start, int len, int size, boolean signed) {
     long[] array = new long[len / size];
+    if (size <= 8) {
+      return parseLongArray(data, start, size, signed, array, 0, array.length);
+    }
     for (int i = 0; i < array.length; i++) {
       array[i] = bytesToLong(copy.copy(data, start + i * size, size, true), signed);
     }
     return array;
   }
 
+  /**
+   * 解析整数数组，直接写入目标数组
+   *
+   * @param data    数据
+   * @param start   开始的位置
+   * @param size    字节长度(1~8)
+   * @param signed  是否为有符号数
+   * @param dest    目标数组
+   * @param destPos 目标数组开始的位置
+   * @param count   解析的数量
+   * @return 返回目标数组
+   */
+  public long[] parseLongArray(byte[] data, int start, int size, boolean signed, long[] dest, int destPos, int count) {
+    return BinaryViews.getLongs(data, start, dest, destPos, count, size, order, signed);
+  }
+
   private boolean isNotEmpty(String s) {
     return s != null && s.trim().length() > 0;
   }
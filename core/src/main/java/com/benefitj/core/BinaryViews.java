@@ -0,0 +1,506 @@
+package com.benefitj.core;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * 基于 VarHandle 视图的数值读写，直接在源数组(或ByteBuffer)上读取或写入，不产生额外的对象分配
+ * <p>
+ * 支持 1/2/3/4/8 字节(long 额外支持 5~7 字节)的有符号、无符号数值，大端或小端字节序
+ */
+public final class BinaryViews {
+
+  static final VarHandle SHORT_BE = MethodHandles.byteArrayViewVarHandle(short[].class, ByteOrder.BIG_ENDIAN);
+  static final VarHandle SHORT_LE = MethodHandles.byteArrayViewVarHandle(short[].class, ByteOrder.LITTLE_ENDIAN);
+  static final VarHandle INT_BE = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+  static final VarHandle INT_LE = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+  static final VarHandle LONG_BE = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+  static final VarHandle LONG_LE = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+  static final VarHandle BUF_SHORT_BE = MethodHandles.byteBufferViewVarHandle(short[].class, ByteOrder.BIG_ENDIAN);
+  static final VarHandle BUF_SHORT_LE = MethodHandles.byteBufferViewVarHandle(short[].class, ByteOrder.LITTLE_ENDIAN);
+  static final VarHandle BUF_INT_BE = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+  static final VarHandle BUF_INT_LE = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+  static final VarHandle BUF_LONG_BE = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+  static final VarHandle BUF_LONG_LE = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+  private BinaryViews() {
+  }
+
+  /**
+   * 读取一个无符号数值
+   *
+   * @param src   源数据
+   * @param pos   开始的位置
+   * @param size  字节长度(1~8)
+   * @param order 字节序
+   * @return 返回读取的值
+   */
+  public static long getUnsigned(byte[] src, int pos, int size, ByteOrder order) {
+    boolean be = order == ByteOrder.BIG_ENDIAN;
+    switch (size) {
+      case 1:
+        return src[pos] & 0xFFL;
+      case 2:
+        return (be ? (short) SHORT_BE.get(src, pos) : (short) SHORT_LE.get(src, pos)) & 0xFFFFL;
+      case 3:
+        return get3(src, pos, be) & 0xFFFFFFL;
+      case 4:
+        return (be ? (int) INT_BE.get(src, pos) : (int) INT_LE.get(src, pos)) & 0xFFFFFFFFL;
+      case 8:
+        return be ? (long) LONG_BE.get(src, pos) : (long) LONG_LE.get(src, pos);
+      default:
+        checkSize(size, 8);
+        return getN(src, pos, size, be);
+    }
+  }
+
+  /**
+   * 读取一个有符号数值
+   *
+   * @param src   源数据
+   * @param pos   开始的位置
+   * @param size  字节长度(1~8)
+   * @param order 字节序
+   * @return 返回读取的值
+   */
+  public static long getSigned(byte[] src, int pos, int size, ByteOrder order) {
+    int shift = 64 - (size << 3);
+    return (getUnsigned(src, pos, size, order) << shift) >> shift;
+  }
+
+  /**
+   * 批量解析 short 数组
+   *
+   * @param src     源数据
+   * @param srcPos  源数据开始的位置
+   * @param dest    目标数组
+   * @param destPos 目标数组开始的位置
+   * @param count   解析的数量
+   * @param size    每个数值占的字节长度(1~2)
+   * @param order   字节序
+   * @param signed  是否为有符号数
+   * @return 返回目标数组
+   */
+  public static short[] getShorts(byte[] src, int srcPos, short[] dest, int destPos, int count, int size, ByteOrder order, boolean signed) {
+    checkSize(size, 2);
+    checkRange(src.length, srcPos, count * size);
+    checkRange(dest.length, destPos, count);
+    boolean be = order == ByteOrder.BIG_ENDIAN;
+    if (size == 1) {
+      for (int i = 0; i < count; i++) {
+        byte b = src[srcPos + i];
+        dest[destPos + i] = signed ? b : (short) (b & 0xFF);
+      }
+    } else {
+      // short 本身即为有符号数，无符号时超出 Short.MAX_VALUE 的值按补码保存，与原实现保持一致
+      for (int i = 0, p = srcPos; i < count; i++, p += 2) {
+        dest[destPos + i] = be ? (short) SHORT_BE.get(src, p) : (short) SHORT_LE.get(src, p);
+      }
+    }
+    return dest;
+  }
+
+  /**
+   * 批量解析 int 数组
+   *
+   * @param src     源数据
+   * @param srcPos  源数据开始的位置
+   * @param dest    目标数组
+   * @param destPos 目标数组开始的位置
+   * @param count   解析的数量
+   * @param size    每个数值占的字节长度(1~4)
+   * @param order   字节序
+   * @param signed  是否为有符号数
+   * @return 返回目标数组
+   */
+  public static int[] getInts(byte[] src, int srcPos, int[] dest, int destPos, int count, int size, ByteOrder order, boolean signed) {
+    checkSize(size, 4);
+    checkRange(src.length, srcPos, count * size);
+    checkRange(dest.length, destPos, count);
+    boolean be = order == ByteOrder.BIG_ENDIAN;
+    switch (size) {
+      case 1:
+        for (int i = 0; i < count; i++) {
+          byte b = src[srcPos + i];
+          dest[destPos + i] = signed ? b : b & 0xFF;
+        }
+        break;
+      case 2:
+        for (int i = 0, p = srcPos; i < count; i++, p += 2) {
+          short v = be ? (short) SHORT_BE.get(src, p) : (short) SHORT_LE.get(src, p);
+          dest[destPos + i] = signed ? v : v & 0xFFFF;
+        }
+        break;
+      case 3:
+        for (int i = 0, p = srcPos; i < count; i++, p += 3) {
+          int v = get3(src, p, be);
+          dest[destPos + i] = signed ? (v << 8) >> 8 : v & 0xFFFFFF;
+        }
+        break;
+      default:
+        for (int i = 0, p = srcPos; i < count; i++, p += 4) {
+          dest[destPos + i] = be ? (int) INT_BE.get(src, p) : (int) INT_LE.get(src, p);
+        }
+        break;
+    }
+    return dest;
+  }
+
+  /**
+   * 批量解析 long 数组
+   *
+   * @param src     源数据
+   * @param srcPos  源数据开始的位置
+   * @param dest    目标数组
+   * @param destPos 目标数组开始的位置
+   * @param count   解析的数量
+   * @param size    每个数值占的字节长度(1~8)
+   * @param order   字节序
+   * @param signed  是否为有符号数
+   * @return 返回目标数组
+   */
+  public static long[] getLongs(byte[] src, int srcPos, long[] dest, int destPos, int count, int size, ByteOrder order, boolean signed) {
+    checkSize(size, 8);
+    checkRange(src.length, srcPos, count * size);
+    checkRange(dest.length, destPos, count);
+    boolean be = order == ByteOrder.BIG_ENDIAN;
+    switch (size) {
+      case 1:
+        for (int i = 0; i < count; i++) {
+          byte b = src[srcPos + i];
+          dest[destPos + i] = signed ? b : b & 0xFFL;
+        }
+        break;
+      case 2:
+        for (int i = 0, p = srcPos; i < count; i++, p += 2) {
+          short v = be ? (short) SHORT_BE.get(src, p) : (short) SHORT_LE.get(src, p);
+          dest[destPos + i] = signed ? v : v & 0xFFFFL;
+        }
+        break;
+      case 3:
+        for (int i = 0, p = srcPos; i < count; i++, p += 3) {
+          int v = get3(src, p, be);
+          dest[destPos + i] = signed ? (v << 8) >> 8 : v & 0xFFFFFFL;
+        }
+        break;
+      case 4:
+        for (int i = 0, p = srcPos; i < count; i++, p += 4) {
+          int v = be ? (int) INT_BE.get(src, p) : (int) INT_LE.get(src, p);
+          dest[destPos + i] = signed ? v : v & 0xFFFFFFFFL;
+        }
+        break;
+      case 8:
+        for (int i = 0, p = srcPos; i < count; i++, p += 8) {
+          dest[destPos + i] = be ? (long) LONG_BE.get(src, p) : (long) LONG_LE.get(src, p);
+        }
+        break;
+      default:
+        int shift = 64 - (size << 3);
+        for (int i = 0, p = srcPos; i < count; i++, p += size) {
+          long v = getN(src, p, size, be);
+          dest[destPos + i] = signed ? (v << shift) >> shift : v;
+        }
+        break;
+    }
+    return dest;
+  }
+
+  /**
+   * 读取一个无符号数值
+   *
+   * @param src   源数据
+   * @param index 开始的位置(绝对位置，不改变 position)
+   * @param size  字节长度(1~8)
+   * @param order 字节序
+   * @return 返回读取的值
+   */
+  public static long getUnsigned(ByteBuffer src, int index, int size, ByteOrder order) {
+    boolean be = order == ByteOrder.BIG_ENDIAN;
+    switch (size) {
+      case 1:
+        return src.get(index) & 0xFFL;
+      case 2:
+        return (be ? (short) BUF_SHORT_BE.get(src, index) : (short) BUF_SHORT_LE.get(src, index)) & 0xFFFFL;
+      case 3:
+        return get3(src, index, be) & 0xFFFFFFL;
+      case 4:
+        return (be ? (int) BUF_INT_BE.get(src, index) : (int) BUF_INT_LE.get(src, index)) & 0xFFFFFFFFL;
+      case 8:
+        return be ? (long) BUF_LONG_BE.get(src, index) : (long) BUF_LONG_LE.get(src, index);
+      default:
+        checkSize(size, 8);
+        return getN(src, index, size, be);
+    }
+  }
+
+  /**
+   * 读取一个有符号数值
+   *
+   * @param src   源数据
+   * @param index 开始的位置(绝对位置，不改变 position)
+   * @param size  字节长度(1~8)
+   * @param order 字节序
+   * @return 返回读取的值
+   */
+  public static long getSigned(ByteBuffer src, int index, int size, ByteOrder order) {
+    int shift = 64 - (size << 3);
+    return (getUnsigned(src, index, size, order) << shift) >> shift;
+  }
+
+  /**
+   * 批量解析 short 数组
+   *
+   * @param src     源数据
+   * @param index   开始的位置(绝对位置，不改变 position)
+   * @param dest    目标数组
+   * @param destPos 目标数组开始的位置
+   * @param count   解析的数量
+   * @param size    每个数值占的字节长度(1~2)
+   * @param order   字节序
+   * @param signed  是否为有符号数
+   * @return 返回目标数组
+   */
+  public static short[] getShorts(ByteBuffer src, int index, short[] dest, int destPos, int count, int size, ByteOrder order, boolean signed) {
+    checkSize(size, 2);
+    checkRange(src.limit(), index, count * size);
+    checkRange(dest.length, destPos, count);
+    boolean be = order == ByteOrder.BIG_ENDIAN;
+    if (size == 1) {
+      for (int i = 0; i < count; i++) {
+        byte b = src.get(index + i);
+        dest[destPos + i] = signed ? b : (short) (b & 0xFF);
+      }
+    } else {
+      for (int i = 0, p = index; i < count; i++, p += 2) {
+        dest[destPos + i] = be ? (short) BUF_SHORT_BE.get(src, p) : (short) BUF_SHORT_LE.get(src, p);
+      }
+    }
+    return dest;
+  }
+
+  /**
+   * 批量解析 int 数组
+   *
+   * @param src     源数据
+   * @param index   开始的位置(绝对位置，不改变 position)
+   * @param dest    目标数组
+   * @param destPos 目标数组开始的位置
+   * @param count   解析的数量
+   * @param size    每个数值占的字节长度(1~4)
+   * @param order   字节序
+   * @param signed  是否为有符号数
+   * @return 返回目标数组
+   */
+  public static int[] getInts(ByteBuffer src, int index, int[] dest, int destPos, int count, int size, ByteOrder order, boolean signed) {
+    checkSize(size, 4);
+    checkRange(src.limit(), index, count * size);
+    checkRange(dest.length, destPos, count);
+    boolean be = order == ByteOrder.BIG_ENDIAN;
+    switch (size) {
+      case 1:
+        for (int i = 0; i < count; i++) {
+          byte b = src.get(index + i);
+          dest[destPos + i] = signed ? b : b & 0xFF;
+        }
+        break;
+      case 2:
+        for (int i = 0, p = index; i < count; i++, p += 2) {
+          short v = be ? (short) BUF_SHORT_BE.get(src, p) : (short) BUF_SHORT_LE.get(src, p);
+          dest[destPos + i] = signed ? v : v & 0xFFFF;
+        }
+        break;
+      case 3:
+        for (int i = 0, p = index; i < count; i++, p += 3) {
+          int v = get3(src, p, be);
+          dest[destPos + i] = signed ? (v << 8) >> 8 : v & 0xFFFFFF;
+        }
+        break;
+      default:
+        for (int i = 0, p = index; i < count; i++, p += 4) {
+          dest[destPos + i] = be ? (int) BUF_INT_BE.get(src, p) : (int) BUF_INT_LE.get(src, p);
+        }
+        break;
+    }
+    return dest;
+  }
+
+  /**
+   * 批量解析 long 数组
+   *
+   * @param src     源数据
+   * @param index   开始的位置(绝对位置，不改变 position)
+   * @param dest    目标数组
+   * @param destPos 目标数组开始的位置
+   * @param count   解析的数量
+   * @param size    每个数值占的字节长度(1~8)
+   * @param order   字节序
+   * @param signed  是否为有符号数
+   * @return 返回目标数组
+   */
+  public static long[] getLongs(ByteBuffer src, int index, long[] dest, int destPos, int count, int size, ByteOrder order, boolean signed) {
+    checkSize(size, 8);
+    checkRange(src.limit(), index, count * size);
+    checkRange(dest.length, destPos, count);
+    boolean be = order == ByteOrder.BIG_ENDIAN;
+    switch (size) {
+      case 4:
+        for (int i = 0, p = index; i < count; i++, p += 4) {
+          int v = be ? (int) BUF_INT_BE.get(src, p) : (int) BUF_INT_LE.get(src, p);
+          dest[destPos + i] = signed ? v : v & 0xFFFFFFFFL;
+        }
+        break;
+      case 8:
+        for (int i = 0, p = index; i < count; i++, p += 8) {
+          dest[destPos + i] = be ? (long) BUF_LONG_BE.get(src, p) : (long) BUF_LONG_LE.get(src, p);
+        }
+        break;
+      default:
+        for (int i = 0, p = index; i < count; i++, p += size) {
+          dest[destPos + i] = signed ? getSigned(src, p, size, order) : getUnsigned(src, p, size, order);
+        }
+        break;
+    }
+    return dest;
+  }
+
+  /**
+   * 写入数值的低 size 个字节
+   *
+   * @param dest  目标数组
+   * @param pos   开始的位置
+   * @param value 值
+   * @param size  字节长度(1~8)
+   * @param order 字节序
+   * @return 返回写入后的位置
+   */
+  public static int put(byte[] dest, int pos, long value, int size, ByteOrder order) {
+    checkSize(size, 8);
+    checkRange(dest.length, pos, size);
+    boolean be = order == ByteOrder.BIG_ENDIAN;
+    switch (size) {
+      case 1:
+        dest[pos] = (byte) value;
+        break;
+      case 2:
+        if (be) SHORT_BE.set(dest, pos, (short) value);
+        else SHORT_LE.set(dest, pos, (short) value);
+        break;
+      case 4:
+        if (be) INT_BE.set(dest, pos, (int) value);
+        else INT_LE.set(dest, pos, (int) value);
+        break;
+      case 8:
+        if (be) LONG_BE.set(dest, pos, value);
+        else LONG_LE.set(dest, pos, value);
+        break;
+      default:
+        // 大端字节顺序：高位在前，低位在后；小端字节顺序：低位在前，高位在后
+        for (int i = 0; i < size; i++) {
+          dest[pos + (be ? size - 1 - i : i)] = (byte) (value >>> (i << 3));
+        }
+        break;
+    }
+    return pos + size;
+  }
+
+  /**
+   * 写入数值的低 size 个字节
+   *
+   * @param dest  目标缓冲
+   * @param index 开始的位置(绝对位置，不改变 position)
+   * @param value 值
+   * @param size  字节长度(1~8)
+   * @param order 字节序
+   * @return 返回写入后的位置
+   */
+  public static int put(ByteBuffer dest, int index, long value, int size, ByteOrder order) {
+    checkSize(size, 8);
+    checkRange(dest.limit(), index, size);
+    boolean be = order == ByteOrder.BIG_ENDIAN;
+    switch (size) {
+      case 1:
+        dest.put(index, (byte) value);
+        break;
+      case 2:
+        if (be) BUF_SHORT_BE.set(dest, index, (short) value);
+        else BUF_SHORT_LE.set(dest, index, (short) value);
+        break;
+      case 4:
+        if (be) BUF_INT_BE.set(dest, index, (int) value);
+        else BUF_INT_LE.set(dest, index, (int) value);
+        break;
+      case 8:
+        if (be) BUF_LONG_BE.set(dest, index, value);
+        else BUF_LONG_LE.set(dest, index, value);
+        break;
+      default:
+        for (int i = 0; i < size; i++) {
+          dest.put(index + (be ? size - 1 - i : i), (byte) (value >>> (i << 3)));
+        }
+        break;
+    }
+    return index + size;
+  }
+
+  /**
+   * 读取3个字节(未做符号扩展)
+   */
+  static int get3(byte[] src, int pos, boolean be) {
+    return be
+        ? ((src[pos] & 0xFF) << 16) | ((src[pos + 1] & 0xFF) << 8) | (src[pos + 2] & 0xFF)
+        : (src[pos] & 0xFF) | ((src[pos + 1] & 0xFF) << 8) | ((src[pos + 2] & 0xFF) << 16);
+  }
+
+  static int get3(ByteBuffer src, int index, boolean be) {
+    return be
+        ? ((src.get(index) & 0xFF) << 16) | ((src.get(index + 1) & 0xFF) << 8) | (src.get(index + 2) & 0xFF)
+        : (src.get(index) & 0xFF) | ((src.get(index + 1) & 0xFF) << 8) | ((src.get(index + 2) & 0xFF) << 16);
+  }
+
+  /**
+   * 逐字节读取任意长度(未做符号扩展)
+   */
+  static long getN(byte[] src, int pos, int size, boolean be) {
+    long v = 0;
+    if (be) {
+      for (int i = 0; i < size; i++) {
+        v = (v << 8) | (src[pos + i] & 0xFF);
+      }
+    } else {
+      for (int i = size - 1; i >= 0; i--) {
+        v = (v << 8) | (src[pos + i] & 0xFF);
+      }
+    }
+    return v;
+  }
+
+  static long getN(ByteBuffer src, int index, int size, boolean be) {
+    long v = 0;
+    if (be) {
+      for (int i = 0; i < size; i++) {
+        v = (v << 8) | (src.get(index + i) & 0xFF);
+      }
+    } else {
+      for (int i = size - 1; i >= 0; i--) {
+        v = (v << 8) | (src.get(index + i) & 0xFF);
+      }
+    }
+    return v;
+  }
+
+  static void checkSize(int size, int max) {
+    if (size <= 0 || size > max) {
+      throw new IllegalArgumentException("Required size between 1 and " + max + ", but was " + size);
+    }
+  }
+
+  static void checkRange(int length, int offset, int len) {
+    if (offset < 0 || len < 0 || offset > length - len) {
+      throw new IndexOutOfBoundsException("offset: " + offset + ", len: " + len + ", length: " + length);
+    }
+  }
+
+}
@@ -0,0 +1,211 @@
+package com.benefitj.core;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 按位读取(高位在前)，可以跨字节读取任意位数(1~64)
+ * <p>
+ * 每次从缓冲中加载 8 个字节到 64 位的缓存中，读取时只做移位；不改变缓冲的 position，非线程安全
+ */
+public class BitReader {
+
+  /**
+   * 数据
+   */
+  private final ByteBuffer buf;
+  /**
+   * 开始的位置(绝对位置)
+   */
+  private final int start;
+  /**
+   * 结束的位置(不包含，绝对位置)
+   */
+  private final int limit;
+  /**
+   * 下一个加载的字节的位置(绝对位置)
+   */
+  private int index;
+  /**
+   * 缓存的位(左对齐)
+   */
+  private long cache;
+  /**
+   * 缓存中可读的位数
+   */
+  private int available;
+
+  public BitReader(byte[] src) {
+    this(src, 0, src.length);
+  }
+
+  public BitReader(byte[] src, int offset, int len) {
+    this(ByteBuffer.wrap(src), offset, offset + len);
+  }
+
+  /**
+   * 读取 [position, limit)
+   *
+   * @param buf 缓冲
+   */
+  public BitReader(ByteBuffer buf) {
+    this(buf, buf.position(), buf.limit());
+  }
+
+  /**
+   * 读取 [from, to)
+   *
+   * @param buf  缓冲
+   * @param from 开始的位置(包含，绝对位置)
+   * @param to   结束的位置(不包含，绝对位置)
+   */
+  public BitReader(ByteBuffer buf, int from, int to) {
+    BinaryViews.checkRange(buf.limit(), from, to - from);
+    this.buf = buf;
+    this.start = from;
+    this.index = from;
+    this.limit = to;
+  }
+
+  /**
+   * 读取无符号数
+   *
+   * @param n 位数(0~64)
+   * @return 返回读取的值
+   */
+  public long readBits(int n) {
+    if (n <= available) {
+      if (n <= 0) {
+        checkBits(n);
+        return 0;
+      }
+      long v = cache >>> (64 - n);
+      cache = shl(cache, n);
+      available -= n;
+      return v;
+    }
+    checkBits(n);
+    int got = available;
+    long high = got > 0 ? cache >>> (64 - got) : 0;
+    refill();
+    int need = n - got;
+    if (need > available) {
+      throw new IndexOutOfBoundsException("Required " + n + " bits, but only " + (got + available) + " remaining");
+    }
+    long low = cache >>> (64 - need);
+    cache = shl(cache, need);
+    available -= need;
+    return shl(high, need) | low;
+  }
+
+  /**
+   * 读取有符号数
+   *
+   * @param n 位数(1~64)
+   * @return 返回读取的值(符号扩展)
+   */
+  public long readSignedBits(int n) {
+    long v = readBits(n);
+    return n > 0 && n < 64 ? (v << (64 - n)) >> (64 - n) : v;
+  }
+
+  /**
+   * 读取一位
+   */
+  public boolean readBit() {
+    return readBits(1) != 0;
+  }
+
+  /**
+   * 批量读取 n 位的数值
+   *
+   * @param dest    目标数组
+   * @param destPos 目标数组开始的位置
+   * @param count   数量
+   * @param bits    每个数值的位数(1~32)
+   * @param signed  是否为有符号数
+   * @return 返回目标数组
+   */
+  public int[] unpack(int[] dest, int destPos, int count, int bits, boolean signed) {
+    if (bits <= 0 || bits > 32) {
+      throw new IllegalArgumentException("Required bits between 1 and 32, but was " + bits);
+    }
+    BinaryViews.checkRange(dest.length, destPos, count);
+    final int shift = 64 - bits;
+    for (int i = 0; i < count; i++) {
+      if (available < bits) {
+        dest[destPos + i] = (int) (signed ? readSignedBits(bits) : readBits(bits));
+        continue;
+      }
+      long c = cache;
+      dest[destPos + i] = (int) (signed ? c >> shift : c >>> shift);
+      cache = c << bits;
+      available -= bits;
+    }
+    return dest;
+  }
+
+  /**
+   * 跳过 n 位
+   *
+   * @param n 位数
+   */
+  public void skipBits(long n) {
+    while (n > 0) {
+      int step = (int) Math.min(n, 64);
+      readBits(step);
+      n -= step;
+    }
+  }
+
+  /**
+   * 跳过当前字节剩余的位
+   */
+  public void alignToByte() {
+    readBits(available & 7);
+  }
+
+  /**
+   * 剩余可读的位数
+   */
+  public long remainingBits() {
+    return available + ((long) (limit - index) << 3);
+  }
+
+  /**
+   * 当前读取到的位置(相对开始位置的位数)
+   */
+  public long bitPosition() {
+    return ((long) (index - start) << 3) - available;
+  }
+
+  /**
+   * 加载后续的字节，缓存中的剩余位必须已取出
+   */
+  private void refill() {
+    if (limit - index >= Long.BYTES) {
+      cache = (long) BinaryViews.BUF_LONG_BE.get(buf, index);
+      index += Long.BYTES;
+      available = 64;
+    } else {
+      long c = 0;
+      int n = limit - index;
+      for (int i = 0; i < n; i++) {
+        c = (c << 8) | (buf.get(index + i) & 0xFF);
+      }
+      index = limit;
+      available = n << 3;
+      cache = n > 0 ? c << (64 - available) : 0;
+    }
+  }
+
+  static long shl(long v, int n) {
+    return n >= 64 ? 0 : v << n;
+  }
+
+  static void checkBits(int n) {
+    if (n < 0 || n > 64) {
+      throw new IllegalArgumentException("Required bits between 0 and 64, but was " + n);
+    }
+  }
+
+}
@@ -0,0 +1,167 @@
+package com.benefitj.core;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 按位写入(高位在前)，可以跨字节写入任意位数(1~64)
+ * <p>
+ * 写入的位先累积在 64 位的缓存中，满 8 个字节时一次写入；结束时需调用 {@link #flush()} 写入剩余的位(不足一个字节时低位补0)。
+ * 不改变缓冲的 position，非线程安全
+ */
+public class BitWriter {
+
+  /**
+   * 目标缓冲
+   */
+  private final ByteBuffer buf;
+  /**
+   * 开始的位置(绝对位置)
+   */
+  private final int start;
+  /**
+   * 结束的位置(不包含，绝对位置)
+   */
+  private final int limit;
+  /**
+   * 下一个写入的字节的位置(绝对位置)
+   */
+  private int index;
+  /**
+   * 缓存的位(左对齐)
+   */
+  private long cache;
+  /**
+   * 缓存中已写入的位数
+   */
+  private int used;
+
+  public BitWriter(byte[] dest) {
+    this(dest, 0, dest.length);
+  }
+
+  public BitWriter(byte[] dest, int offset, int len) {
+    this(ByteBuffer.wrap(dest), offset, offset + len);
+  }
+
+  /**
+   * 写入 [position, limit)
+   *
+   * @param buf 缓冲
+   */
+  public BitWriter(ByteBuffer buf) {
+    this(buf, buf.position(), buf.limit());
+  }
+
+  /**
+   * 写入 [from, to)
+   *
+   * @param buf  缓冲
+   * @param from 开始的位置(包含，绝对位置)
+   * @param to   结束的位置(不包含，绝对位置)
+   */
+  public BitWriter(ByteBuffer buf, int from, int to) {
+    BinaryViews.checkRange(buf.limit(), from, to - from);
+    this.buf = buf;
+    this.start = from;
+    this.index = from;
+    this.limit = to;
+  }
+
+  /**
+   * 写入数值的低 n 位
+   *
+   * @param n     位数(0~64)
+   * @param value 数值
+   * @return 返回当前对象
+   */
+  public BitWriter writeBits(int n, long value) {
+    BitReader.checkBits(n);
+    if (n == 0) {
+      return this;
+    }
+    if (n < 64) {
+      value &= (1L << n) - 1;
+    }
+    int free = 64 - used;
+    if (n < free) {
+      cache |= value << (free - n);
+      used += n;
+    } else {
+      // 先填满缓存，写出后保存剩余的位
+      int rest = n - free;
+      cache |= value >>> rest;
+      writeWord(cache);
+      cache = rest > 0 ? value << (64 - rest) : 0;
+      used = rest;
+    }
+    return this;
+  }
+
+  /**
+   * 写入一位
+   */
+  public BitWriter writeBit(boolean bit) {
+    return writeBits(1, bit ? 1 : 0);
+  }
+
+  /**
+   * 批量写入 n 位的数值
+   *
+   * @param src    源数组
+   * @param srcPos 源数组开始的位置
+   * @param count  数量
+   * @param bits   每个数值的位数(1~32)
+   * @return 返回当前对象
+   */
+  public BitWriter pack(int[] src, int srcPos, int count, int bits) {
+    if (bits <= 0 || bits > 32) {
+      throw new IllegalArgumentException("Required bits between 1 and 32, but was " + bits);
+    }
+    BinaryViews.checkRange(src.length, srcPos, count);
+    for (int i = 0; i < count; i++) {
+      writeBits(bits, src[srcPos + i]);
+    }
+    return this;
+  }
+
+  /**
+   * 补0到字节边界
+   */
+  public BitWriter alignToByte() {
+    return writeBits((8 - (used & 7)) & 7, 0);
+  }
+
+  /**
+   * 写入缓存中剩余的位，不足一个字节时低位补0
+   *
+   * @return 返回写入的总字节数
+   */
+  public int flush() {
+    int n = (used + 7) >>> 3;
+    if (index + n > limit) {
+      throw new IndexOutOfBoundsException("Required " + n + " bytes, but only " + (limit - index) + " remaining");
+    }
+    for (int i = 0; i < n; i++) {
+      buf.put(index++, (byte) (cache >>> (56 - (i << 3))));
+    }
+    cache = 0;
+    used = 0;
+    return index - start;
+  }
+
+  /**
+   * 已写入的位数(包括缓存中的)
+   */
+  public long bitPosition() {
+    return ((long) (index - start) << 3) + used;
+  }
+
+  private void writeWord(long word) {
+    if (limit - index < Long.BYTES) {
+      throw new IndexOutOfBoundsException("Required 8 bytes, but only " + (limit - index) + " remaining");
+    }
+    BinaryViews.BUF_LONG_BE.set(buf, index, word);
+    index += Long.BYTES;
+  }
+
+}
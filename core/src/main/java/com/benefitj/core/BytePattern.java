@@ -0,0 +1,438 @@
+package com.benefitj.core;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * 预编译的字节序列查找(Horspool)
+ * <p>
+ * 模式串较长时按坏字符表跳跃(亚线性)，较短时按 8 字节一组(long)扫描首字节，再逐个校验；
+ * 同一个对象可以在多个线程中使用
+ */
+public class BytePattern {
+
+  /**
+   * 小于此长度的模式串使用首字节扫描
+   */
+  static final int SCAN_THRESHOLD = 4;
+
+  static final long ONES = 0x0101010101010101L;
+  static final long HIGHS = 0x8080808080808080L;
+
+  /**
+   * 编译模式串
+   *
+   * @param pattern 模式串
+   * @return 返回模式对象
+   */
+  public static BytePattern compile(byte... pattern) {
+    return new BytePattern(pattern);
+  }
+
+  /**
+   * 模式串
+   */
+  private final byte[] pattern;
+  /**
+   * 正向查找时的跳跃表(以窗口最后一个字节为索引)
+   */
+  private final int[] skip;
+  /**
+   * 反向查找时的跳跃表(以窗口第一个字节为索引)
+   */
+  private final int[] skipReverse;
+
+  public BytePattern(byte[] pattern) {
+    if (pattern == null || pattern.length == 0) {
+      throw new IllegalArgumentException("pattern is empty");
+    }
+    this.pattern = pattern.clone();
+    int m = pattern.length;
+    this.skip = new int[256];
+    this.skipReverse = new int[256];
+    Arrays.fill(skip, m);
+    Arrays.fill(skipReverse, m);
+    for (int i = 0; i < m - 1; i++) {
+      skip[pattern[i] & 0xFF] = m - 1 - i;
+    }
+    for (int i = m - 1; i > 0; i--) {
+      skipReverse[pattern[i] & 0xFF] = i;
+    }
+  }
+
+  public byte[] getPattern() {
+    return pattern.clone();
+  }
+
+  public int length() {
+    return pattern.length;
+  }
+
+  /**
+   * 查找第一次出现的位置
+   *
+   * @param src 数据
+   * @return 返回找到的位置，如果未找到返回-1
+   */
+  public int indexOf(byte[] src) {
+    return indexOf(src, 0, src.length);
+  }
+
+  /**
+   * 查找第一次出现的位置
+   *
+   * @param src  数据
+   * @param from 开始的位置(包含)
+   * @param to   结束的位置(不包含)
+   * @return 返回找到的位置，如果未找到返回-1
+   */
+  public int indexOf(byte[] src, int from, int to) {
+    from = Math.max(from, 0);
+    to = Math.min(to, src.length);
+    final byte[] p = this.pattern;
+    final int m = p.length;
+    if (m < SCAN_THRESHOLD) {
+      return scan(src, from, to, p);
+    }
+    final int[] skip = this.skip;
+    final byte last = p[m - 1];
+    for (int i = from, end = to - m; i <= end; ) {
+      byte b = src[i + m - 1];
+      if (b == last && matches(src, i, p, m - 1)) {
+        return i;
+      }
+      i += skip[b & 0xFF];
+    }
+    return -1;
+  }
+
+  /**
+   * 查找最后一次出现的位置
+   *
+   * @param src 数据
+   * @return 返回找到的位置，如果未找到返回-1
+   */
+  public int lastIndexOf(byte[] src) {
+    return lastIndexOf(src, 0, src.length);
+  }
+
+  /**
+   * 查找最后一次出现的位置
+   *
+   * @param src  数据
+   * @param from 开始的位置(包含)
+   * @param to   结束的位置(不包含)
+   * @return 返回找到的位置，如果未找到返回-1
+   */
+  public int lastIndexOf(byte[] src, int from, int to) {
+    from = Math.max(from, 0);
+    to = Math.min(to, src.length);
+    final byte[] p = this.pattern;
+    final int m = p.length;
+    final int[] skip = this.skipReverse;
+    final byte first = p[0];
+    for (int i = to - m; i >= from; ) {
+      byte b = src[i];
+      if (b == first && matchesTail(src, i, p)) {
+        return i;
+      }
+      i -= skip[b & 0xFF];
+    }
+    return -1;
+  }
+
+  /**
+   * 查找全部不重叠的位置
+   *
+   * @param src 数据
+   * @return 返回找到的位置
+   */
+  public int[] findAll(byte[] src) {
+    IntArrayCollector collector = new IntArrayCollector();
+    findAll(src, 0, src.length, collector);
+    return collector.toArray();
+  }
+
+  /**
+   * 查找全部不重叠的位置
+   *
+   * @param src      数据
+   * @param from     开始的位置(包含)
+   * @param to       结束的位置(不包含)
+   * @param consumer 找到的位置
+   * @return 返回找到的数量
+   */
+  public int findAll(byte[] src, int from, int to, IntConsumer consumer) {
+    int count = 0;
+    for (int i = indexOf(src, from, to); i >= 0; i = indexOf(src, i + pattern.length, to)) {
+      consumer.accept(i);
+      count++;
+    }
+    return count;
+  }
+
+  /**
+   * 查找第一次出现的位置，[position, limit)
+   *
+   * @param src 数据
+   * @return 返回找到的位置(绝对位置)，如果未找到返回-1
+   */
+  public int indexOf(ByteBuffer src) {
+    return indexOf(src, src.position(), src.limit());
+  }
+
+  /**
+   * 查找第一次出现的位置，不改变缓冲的 position
+   *
+   * @param src  数据
+   * @param from 开始的位置(包含，绝对位置)
+   * @param to   结束的位置(不包含，绝对位置)
+   * @return 返回找到的位置(绝对位置)，如果未找到返回-1
+   */
+  public int indexOf(ByteBuffer src, int from, int to) {
+    to = Math.min(to, src.limit());
+    if (src.hasArray()) {
+      int offset = src.arrayOffset();
+      int index = indexOf(src.array(), offset + from, offset + to);
+      return index >= 0 ? index - offset : -1;
+    }
+    return indexOf(src::get, from, to);
+  }
+
+  /**
+   * 查找最后一次出现的位置，[position, limit)
+   *
+   * @param src 数据
+   * @return 返回找到的位置(绝对位置)，如果未找到返回-1
+   */
+  public int lastIndexOf(ByteBuffer src) {
+    return lastIndexOf(src, src.position(), src.limit());
+  }
+
+  /**
+   * 查找最后一次出现的位置，不改变缓冲的 position
+   *
+   * @param src  数据
+   * @param from 开始的位置(包含，绝对位置)
+   * @param to   结束的位置(不包含，绝对位置)
+   * @return 返回找到的位置(绝对位置)，如果未找到返回-1
+   */
+  public int lastIndexOf(ByteBuffer src, int from, int to) {
+    to = Math.min(to, src.limit());
+    if (src.hasArray()) {
+      int offset = src.arrayOffset();
+      int index = lastIndexOf(src.array(), offset + from, offset + to);
+      return index >= 0 ? index - offset : -1;
+    }
+    return lastIndexOf(src::get, from, to);
+  }
+
+  /**
+   * 查找全部不重叠的位置，[position, limit)
+   *
+   * @param src      数据
+   * @param consumer 找到的位置(绝对位置)
+   * @return 返回找到的数量
+   */
+  public int findAll(ByteBuffer src, IntConsumer consumer) {
+    int count = 0;
+    int to = src.limit();
+    for (int i = indexOf(src, src.position(), to); i >= 0; i = indexOf(src, i + pattern.length, to)) {
+      consumer.accept(i);
+      count++;
+    }
+    return count;
+  }
+
+  /**
+   * 查找第一次出现的位置
+   *
+   * @param src  数据
+   * @param from 开始的位置(包含)
+   * @param to   结束的位置(不包含)
+   * @return 返回找到的位置，如果未找到返回-1
+   */
+  public int indexOf(ByteAccessor src, int from, int to) {
+    final byte[] p = this.pattern;
+    final int m = p.length;
+    final int[] skip = this.skip;
+    final byte last = p[m - 1];
+    for (int i = Math.max(from, 0), end = to - m; i <= end; ) {
+      byte b = src.get(i + m - 1);
+      if (b == last && matches(src, i, p, m - 1)) {
+        return i;
+      }
+      i += skip[b & 0xFF];
+    }
+    return -1;
+  }
+
+  /**
+   * 查找最后一次出现的位置
+   *
+   * @param src  数据
+   * @param from 开始的位置(包含)
+   * @param to   结束的位置(不包含)
+   * @return 返回找到的位置，如果未找到返回-1
+   */
+  public int lastIndexOf(ByteAccessor src, int from, int to) {
+    final byte[] p = this.pattern;
+    final int m = p.length;
+    final int[] skip = this.skipReverse;
+    final byte first = p[0];
+    for (int i = to - m, start = Math.max(from, 0); i >= start; ) {
+      byte b = src.get(i);
+      if (b == first && matches(src, i, p, m)) {
+        return i;
+      }
+      i -= skip[b & 0xFF];
+    }
+    return -1;
+  }
+
+  /**
+   * 查找全部不重叠的位置
+   *
+   * @param src      数据
+   * @param from     开始的位置(包含)
+   * @param to       结束的位置(不包含)
+   * @param consumer 找到的位置
+   * @return 返回找到的数量
+   */
+  public int findAll(ByteAccessor src, int from, int to, IntConsumer consumer) {
+    int count = 0;
+    for (int i = indexOf(src, from, to); i >= 0; i = indexOf(src, i + pattern.length, to)) {
+      consumer.accept(i);
+      count++;
+    }
+    return count;
+  }
+
+  /**
+   * 查找匹配的字节数组的开始位置(不预编译)，按 8 字节一组扫描首字节后逐个校验
+   *
+   * @param src  原数据
+   * @param from 开始的位置(包含)
+   * @param to   结束的位置(不包含)
+   * @param find 被查找的字节
+   * @return 返回找到的位置，如果未找到返回-1
+   */
+  public static int indexOf(byte[] src, int from, int to, byte[] find) {
+    if (find.length == 0) {
+      return -1;
+    }
+    return scan(src, Math.max(from, 0), Math.min(to, src.length), find);
+  }
+
+  /**
+   * 首字节扫描
+   */
+  static int scan(byte[] src, int from, int to, byte[] p) {
+    final int m = p.length;
+    final int end = to - m;
+    for (int i = from; i <= end; i++) {
+      i = indexOfByte(src, i, end + 1, p[0]);
+      if (i < 0) {
+        return -1;
+      }
+      if (matches(src, i, p, m)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * 查找单个字节，每次读取 8 个字节(SWAR)
+   *
+   * @param src  数据
+   * @param from 开始的位置(包含)
+   * @param to   结束的位置(不包含)
+   * @param b    查找的字节
+   * @return 返回找到的位置，如果未找到返回-1
+   */
+  public static int indexOfByte(byte[] src, int from, int to, byte b) {
+    int i = from;
+    final long target = (b & 0xFFL) * ONES;
+    for (int end = to - Long.BYTES; i <= end; i += Long.BYTES) {
+      long x = (long) BinaryViews.LONG_LE.get(src, i) ^ target;
+      // 值为0的字节，其最高位会被置为1；最低位的匹配总是准确的
+      long t = (x - ONES) & ~x & HIGHS;
+      if (t != 0) {
+        return i + (Long.numberOfTrailingZeros(t) >>> 3);
+      }
+    }
+    for (; i < to; i++) {
+      if (src[i] == b) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  static boolean matches(byte[] src, int pos, byte[] p, int len) {
+    for (int j = 0; j < len; j++) {
+      if (src[pos + j] != p[j]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  static boolean matchesTail(byte[] src, int pos, byte[] p) {
+    for (int j = p.length - 1; j > 0; j--) {
+      if (src[pos + j] != p[j]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  static boolean matches(ByteAccessor src, int pos, byte[] p, int len) {
+    for (int j = 0; j < len; j++) {
+      if (src.get(pos + j) != p[j]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public String toString() {
+    return "BytePattern(" + HexUtils.bytesToHex(pattern) + ")";
+  }
+
+  /**
+   * 按下标读取字节，用于适配其他缓冲类型(如 Netty 的 ByteBuf)
+   */
+  @FunctionalInterface
+  public interface ByteAccessor {
+    /**
+     * 读取字节
+     *
+     * @param index 下标
+     * @return 返回字节
+     */
+    byte get(int index);
+  }
+
+  static final class IntArrayCollector implements IntConsumer {
+
+    int[] array = new int[8];
+    int size;
+
+    @Override
+    public void accept(int value) {
+      if (size == array.length) {
+        array = Arrays.copyOf(array, size << 1);
+      }
+      array[size++] = value;
+    }
+
+    int[] toArray() {
+      return Arrays.copyOf(array, size);
+    }
+  }
+
+}
@@ -0,0 +1,277 @@
+package com.benefitj.core;
+
+import javax.annotation.Nullable;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 类的字段和方法缓存，基于 {@link ClassValue}，类被卸载时缓存随之释放
+ * <p>
+ * 每个类只调用一次 getDeclaredFields/getDeclaredMethods，成员已经设置为可访问；
+ * 按名称建立索引，按 (名称, 参数类型) 找到的方法也会缓存；找不到的结果不缓存，
+ * 避免缓存随调用方的参数无限增长，以及调用方的类被其他 ClassLoader 的类引用而无法卸载。
+ * 继承链不包含 {@link Object}，接口不包含父接口，与 {@link ReflectUtils#find} 的遍历方式一致
+ */
+public final class ClassMetadataCache {
+
+  private static final ClassValue<ClassMetadata> CACHE = new ClassValue<ClassMetadata>() {
+    @Override
+    protected ClassMetadata computeValue(Class<?> type) {
+      return new ClassMetadata(type);
+    }
+  };
+
+  private ClassMetadataCache() {
+  }
+
+  /**
+   * 获取类的元数据
+   *
+   * @param type 类
+   * @return 返回缓存的元数据
+   */
+  public static ClassMetadata get(Class<?> type) {
+    return CACHE.get(type);
+  }
+
+  /**
+   * 类的元数据
+   */
+  public static final class ClassMetadata {
+
+    private final Class<?> type;
+    /**
+     * 继承链，从当前类到父类，不包含 Object
+     */
+    private final ClassMetadata[] hierarchy;
+    private final Field[] declaredFields;
+    private final Method[] declaredMethods;
+    private final Map<String, Method[]> declaredMethodIndex;
+    /**
+     * 继承链上的全部字段和方法，子类在前
+     */
+    private final Field[] fields;
+    private final Method[] methods;
+    private final Map<String, Field> fieldIndex;
+    private final Map<String, Method[]> methodIndex;
+    /**
+     * (名称, 参数类型) -> 方法，只缓存找到的方法(键为方法自身的参数类型，不引用调用方的类)
+     */
+    private final ConcurrentMap<MethodKey, Method> signatureCache = new ConcurrentHashMap<>();
+
+    ClassMetadata(Class<?> type) {
+      this.type = type;
+      this.declaredFields = accessible(type.getDeclaredFields());
+      this.declaredMethods = accessible(type.getDeclaredMethods());
+      this.declaredMethodIndex = indexMethods(declaredMethods);
+
+      List<ClassMetadata> chain = new ArrayList<>();
+      if (type != Object.class) {
+        chain.add(this);
+        Class<?> superclass = type.getSuperclass();
+        if (superclass != null && superclass != Object.class) {
+          chain.addAll(Arrays.asList(CACHE.get(superclass).hierarchy));
+        }
+      }
+      this.hierarchy = chain.toArray(new ClassMetadata[0]);
+
+      List<Field> fieldList = new ArrayList<>();
+      List<Method> methodList = new ArrayList<>();
+      for (ClassMetadata m : hierarchy) {
+        fieldList.addAll(Arrays.asList(m.declaredFields));
+        methodList.addAll(Arrays.asList(m.declaredMethods));
+      }
+      this.fields = fieldList.toArray(new Field[0]);
+      this.methods = methodList.toArray(new Method[0]);
+      Map<String, Field> fi = new HashMap<>();
+      for (Field f : fields) {
+        fi.putIfAbsent(f.getName(), f);
+      }
+      this.fieldIndex = fi;
+      this.methodIndex = indexMethods(methods);
+    }
+
+    static <T extends AccessibleObject> T[] accessible(T[] members) {
+      for (T member : members) {
+        member.trySetAccessible();
+      }
+      return members;
+    }
+
+    static Map<String, Method[]> indexMethods(Method[] methods) {
+      Map<String, List<Method>> grouped = new LinkedHashMap<>();
+      for (Method m : methods) {
+        grouped.computeIfAbsent(m.getName(), k -> new ArrayList<>(1)).add(m);
+      }
+      Map<String, Method[]> index = new HashMap<>(grouped.size() * 2);
+      grouped.forEach((name, list) -> index.put(name, list.toArray(new Method[0])));
+      return index;
+    }
+
+    public Class<?> getType() {
+      return type;
+    }
+
+    /**
+     * 继承链(从当前类到父类，不包含 Object)
+     */
+    public ClassMetadata[] getHierarchy() {
+      return hierarchy.clone();
+    }
+
+    int depth() {
+      return hierarchy.length;
+    }
+
+    ClassMetadata level(int i) {
+      return hierarchy[i];
+    }
+
+    /**
+     * 当前类声明的字段(共享的数组，不要修改)
+     */
+    Field[] declaredFields() {
+      return declaredFields;
+    }
+
+    /**
+     * 当前类声明的方法(共享的数组，不要修改)
+     */
+    Method[] declaredMethods() {
+      return declaredMethods;
+    }
+
+    public Field[] getDeclaredFields() {
+      return declaredFields.clone();
+    }
+
+    public Method[] getDeclaredMethods() {
+      return declaredMethods.clone();
+    }
+
+    /**
+     * 继承链上的全部字段，子类在前
+     */
+    public Field[] getFields() {
+      return fields.clone();
+    }
+
+    /**
+     * 继承链上的全部方法，子类在前
+     */
+    public Method[] getMethods() {
+      return methods.clone();
+    }
+
+    /**
+     * 获取字段，子类优先
+     *
+     * @param name 字段名
+     * @return 返回字段，不存在返回 null
+     */
+    @Nullable
+    public Field getField(String name) {
+      return fieldIndex.get(name);
+    }
+
+    /**
+     * 获取方法，子类优先
+     *
+     * @param name 方法名
+     * @return 返回第一个同名的方法，不存在返回 null
+     */
+    @Nullable
+    public Method getMethod(String name) {
+      Method[] list = methodIndex.get(name);
+      return list != null ? list[0] : null;
+    }
+
+    /**
+     * 获取同名的全部方法，子类在前
+     *
+     * @param name 方法名
+     * @return 返回方法，不存在返回空数组
+     */
+    public Method[] getMethods(String name) {
+      Method[] list = methodIndex.get(name);
+      return list != null ? list.clone() : new Method[0];
+    }
+
+    /**
+     * 获取方法，子类优先，与逐级调用 {@link Class#getDeclaredMethod(String, Class[])} 的结果一致
+     *
+     * @param name           方法名
+     * @param parameterTypes 参数类型
+     * @return 返回方法，不存在返回 null
+     */
+    @Nullable
+    public Method getMethod(String name, Class<?>... parameterTypes) {
+      Class<?>[] params = parameterTypes != null ? parameterTypes : new Class<?>[0];
+      Method m = signatureCache.get(new MethodKey(name, params));
+      if (m == null && methodIndex.containsKey(name)) {
+        m = findMethod(name, params);
+        if (m != null) {
+          signatureCache.putIfAbsent(new MethodKey(name, m.getParameterTypes()), m);
+        }
+      }
+      return m;
+    }
+
+    private Method findMethod(String name, Class<?>[] params) {
+      for (ClassMetadata level : hierarchy) {
+        Method[] candidates = level.declaredMethodIndex.get(name);
+        if (candidates == null) {
+          continue;
+        }
+        Method found = null;
+        for (Method m : candidates) {
+          if (m.getParameterCount() == params.length && Arrays.equals(m.getParameterTypes(), params)) {
+            // 同一个类中可能有返回值不同的桥接方法，取返回值最具体的
+            if (found == null || found.getReturnType().isAssignableFrom(m.getReturnType())) {
+              found = m;
+            }
+          }
+        }
+        if (found != null) {
+          return found;
+        }
+      }
+      return null;
+    }
+
+    @Override
+    public String toString() {
+      return "ClassMetadata{" + type.getName() + ", fields=" + fields.length + ", methods=" + methods.length + "}";
+    }
+  }
+
+  static final class MethodKey {
+    final String name;
+    final Class<?>[] parameterTypes;
+    final int hash;
+
+    MethodKey(String name, Class<?>[] parameterTypes) {
+      this.name = name;
+      this.parameterTypes = parameterTypes;
+      this.hash = 31 * name.hashCode() + Arrays.hashCode(parameterTypes);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (!(o instanceof MethodKey)) return false;
+      MethodKey that = (MethodKey) o;
+      return hash == that.hash && name.equals(that.name) && Arrays.equals(parameterTypes, that.parameterTypes);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+  }
+
+}
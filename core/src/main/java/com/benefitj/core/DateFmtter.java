@@ -76,10 +76,14 @@ public class DateFmtter {
    * 默认的Locale
    */
   private static volatile Locale DEFAULT_LOCALE = Locale.getDefault();
-  private static volatile String DEFAULT_KEY = DEFAULT_LOCALE.toString();
-
-  private static final Map<Object, String> KEY_CACHE = new WeakHashMap<>();
-  private static final Function<Object, String> KEY_CREATOR = Object::toString;
+  /**
+   * 默认的时区，为 null 时使用当前的系统时区
+   */
+  private static volatile ZoneId DEFAULT_ZONE = null;
+  /**
+   * UTC
+   */
+  private static final ZoneId UTC = ZoneId.of("UTC");
 
   private DateFmtter() {
   }
@@ -93,10 +97,24 @@ public class DateFmtter {
 
   public static void setDefaultLocale(Locale defaultLocale) {
     DateFmtter.DEFAULT_LOCALE = defaultLocale;
-    DateFmtter.DEFAULT_KEY = defaultLocale.toString();
   }
 
-  private static Map<String, SimpleDateFormat> getMap(String key) {
+  /**
+   * 格式化时默认的时区，未设置时为当前的系统时区(跟随 {@link TimeZone#setDefault(TimeZone)} 的修改)
+   */
+  public static ZoneId getDefaultZone() {
+    ZoneId zone = DEFAULT_ZONE;
+    return zone != null ? zone : ZoneId.systemDefault();
+  }
+
+  /**
+   * 设置格式化时默认的时区，为 null 时使用当前的系统时区
+   */
+  public static void setDefaultZone(ZoneId defaultZone) {
+    DateFmtter.DEFAULT_ZONE = defaultZone;
+  }
+
+  private static Map<String, SimpleDateFormat> getMap(Object key) {
     return CACHED_LOCAL.computeIfAbsent(key, CREATOR).get();
   }
 
@@ -104,7 +122,7 @@ public class DateFmtter {
    * 获取SimpleDateFormat
    */
   public static SimpleDateFormat getSdf(Locale locale, String pattern) {
-    final Map<String, SimpleDateFormat> map = getMap(KEY_CACHE.computeIfAbsent(locale, KEY_CREATOR));
+    final Map<String, SimpleDateFormat> map = getMap(locale);
     SimpleDateFormat sdf = map.get(pattern);
     if (sdf == null) {
       map.put(pattern, sdf = new SimpleDateFormat(pattern, locale));
@@ -139,6 +157,20 @@ public class DateFmtter {
     return getSdf(TimeZone.getTimeZone("UTC"), pattern);
   }
 
+  /**
+   * 获取线程安全的格式化对象(默认的Locale和时区)
+   */
+  public static FastDateFormatter getFormatter(String pattern) {
+    return FastDateFormatter.of(pattern, Locale.getDefault(), getDefaultZone());
+  }
+
+  /**
+   * 获取UTC的线程安全的格式化对象
+   */
+  public static FastDateFormatter getUtcFormatter(String pattern) {
+    return FastDateFormatter.of(pattern, DEFAULT_LOCALE, UTC);
+  }
+
   /**
    * @return 当前时间
    */
@@ -375,7 +407,7 @@ public class DateFmtter {
    * @return 返回格式化后的对象
    */
   public static String fmt(Object time, String pattern) {
-    return getDefaultSdf(pattern).format(time);
+    return getFormatter(pattern).format(time);
   }
 
   /**
@@ -385,7 +417,7 @@ public class DateFmtter {
    * @return 返回格式化后的对象
    */
   public static String fmtUtc(Object time, String pattern) {
-    return getUtcSdf(pattern).format(time);
+    return getUtcFormatter(pattern).format(time);
   }
 
   /**
@@ -0,0 +1,429 @@
+package com.benefitj.core;
+
+import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 线程安全的日期格式化，按 (Locale, 时区, 格式) 缓存，格式与 {@link SimpleDateFormat} 一致
+ * <p>
+ * 只包含 yyyy、MM、dd、HH、mm、ss、SSS 和固定字符的格式(如 yyyy-MM-dd HH:mm:ss、yyyyMMddHHmmss、
+ * yyyy-MM-dd'T'HH:mm:ss'Z')直接把数字写入 char[]，每个线程缓存上一次格式化的秒，同一秒内只更新毫秒；
+ * 其他格式使用不可变的 {@link DateTimeFormatter}；创建时与 {@link SimpleDateFormat} 的结果对比，
+ * 不一致或超出 1901~9998 年时使用 {@link SimpleDateFormat}。
+ * <p>
+ * {@link TimeZone} 只保存到 2037 年的切换时间，之后按最后的夏令时规则推算，与 java.time 可能不一致
+ * (如 Africa/Casablanca、Asia/Gaza、Africa/Windhoek)，因此非固定偏移的时区 2037 年之后的时间使用 {@link SimpleDateFormat}
+ */
+public abstract class FastDateFormatter {
+
+  /**
+   * 快速格式化支持的时间范围：[1901-01-01, 9999-01-01) UTC，范围之外的时间(儒略历、地方平时等)交给 SimpleDateFormat
+   */
+  static final long MIN_MILLIS = -2177452800000L;
+  static final long MAX_MILLIS = 253370764800000L;
+  /**
+   * 2037-01-01 UTC，{@link TimeZone} 之后的时间按最后的规则推算
+   */
+  static final long TIME_ZONE_RULES_END = 2114380800000L;
+
+  /**
+   * 创建时用来对比结果的时间
+   */
+  static final long[] SAMPLES = {
+      0L,
+      951782400000L,    // 2000-02-29
+      1700000000123L,
+      1711846799999L,   // 夏令时切换附近
+      1730000000789L,
+      -1000000000000L,  // 1938
+      4102444799999L,   // 2099-12-31 23:59:59.999
+  };
+
+  private static final ConcurrentMap<Locale, ConcurrentMap<ZoneId, ConcurrentMap<String, FastDateFormatter>>> CACHE = new ConcurrentHashMap<>();
+
+  /**
+   * 获取格式化对象
+   *
+   * @param pattern 格式({@link SimpleDateFormat} 的格式)
+   * @param locale  Locale
+   * @param zone    时区
+   * @return 返回缓存的格式化对象
+   */
+  public static FastDateFormatter of(String pattern, Locale locale, ZoneId zone) {
+    ConcurrentMap<String, FastDateFormatter> map = CACHE
+        .computeIfAbsent(locale, k -> new ConcurrentHashMap<>())
+        .computeIfAbsent(zone, k -> new ConcurrentHashMap<>());
+    FastDateFormatter f = map.get(pattern);
+    return f != null ? f : map.computeIfAbsent(pattern, p -> create(p, locale, zone));
+  }
+
+  static FastDateFormatter create(String pattern, Locale locale, ZoneId zone) {
+    Legacy legacy = new Legacy(pattern, locale, zone);
+    FastDateFormatter fast = Fixed.compile(pattern, locale, zone, legacy);
+    if (fast == null && Jsr310.supports(pattern)) {
+      try {
+        fast = new Jsr310(pattern, locale, zone, legacy);
+      } catch (IllegalArgumentException e) {
+        fast = null;
+      }
+    }
+    if (fast != null) {
+      SimpleDateFormat sdf = legacy.newSdf();
+      for (long sample : SAMPLES) {
+        if (!sdf.format(new Date(sample)).equals(fast.format(sample))) {
+          return legacy;
+        }
+      }
+      return fast;
+    }
+    return legacy;
+  }
+
+  /**
+   * 快速格式化支持的最大时间(不包含)，固定偏移的时区为 {@link #MAX_MILLIS}，否则为 {@link #TIME_ZONE_RULES_END}
+   */
+  static long maxMillis(ZoneRules rules) {
+    return rules.isFixedOffset() ? MAX_MILLIS : TIME_ZONE_RULES_END;
+  }
+
+  protected final String pattern;
+  protected final Locale locale;
+  protected final ZoneId zone;
+
+  protected FastDateFormatter(String pattern, Locale locale, ZoneId zone) {
+    this.pattern = pattern;
+    this.locale = locale;
+    this.zone = zone;
+  }
+
+  public String getPattern() {
+    return pattern;
+  }
+
+  public Locale getLocale() {
+    return locale;
+  }
+
+  public ZoneId getZone() {
+    return zone;
+  }
+
+  /**
+   * 格式化
+   *
+   * @param millis 时间戳
+   * @return 返回格式化后的字符串
+   */
+  public abstract String format(long millis);
+
+  /**
+   * 格式化，支持 {@link Date} 和 {@link Number}(时间戳)，与 {@link SimpleDateFormat#format(Object)} 一致
+   *
+   * @param time 时间
+   * @return 返回格式化后的字符串
+   */
+  public String format(Object time) {
+    if (time instanceof Date) {
+      return format(((Date) time).getTime());
+    }
+    if (time instanceof Number) {
+      return format(((Number) time).longValue());
+    }
+    throw new IllegalArgumentException("Cannot format given Object as a Date");
+  }
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName() + "{" + pattern + ", " + locale + ", " + zone + "}";
+  }
+
+  /**
+   * 固定格式：数字直接写入 char[]
+   */
+  static final class Fixed extends FastDateFormatter {
+
+    static final byte YEAR = 1, MONTH = 2, DAY = 3, HOUR = 4, MINUTE = 5, SECOND = 6, MILLIS = 7;
+
+    final char[] template;
+    final byte[] types;
+    final int[] positions;
+    final int millisPosition;
+    final ZoneRules rules;
+    final int fixedOffset;
+    final long maxMillis;
+    final Legacy fallback;
+    final ThreadLocal<State> local;
+
+    Fixed(String pattern, Locale locale, ZoneId zone, char[] template, byte[] types, int[] positions, Legacy fallback) {
+      super(pattern, locale, zone);
+      this.template = template;
+      this.types = types;
+      this.positions = positions;
+      int mp = -1;
+      for (int i = 0; i < types.length; i++) {
+        if (types[i] == MILLIS) {
+          mp = positions[i];
+        }
+      }
+      this.millisPosition = mp;
+      this.rules = zone.getRules();
+      this.fixedOffset = rules.isFixedOffset() ? rules.getOffset(Instant.EPOCH).getTotalSeconds() : Integer.MIN_VALUE;
+      this.maxMillis = maxMillis(rules);
+      this.fallback = fallback;
+      this.local = ThreadLocal.withInitial(() -> new State(template));
+    }
+
+    /**
+     * 解析格式，不是固定格式时返回 null
+     */
+    static Fixed compile(String pattern, Locale locale, ZoneId zone, Legacy fallback) {
+      StringBuilder sb = new StringBuilder();
+      List<int[]> fields = new ArrayList<>();
+      int len = pattern.length();
+      for (int i = 0; i < len; ) {
+        char c = pattern.charAt(i);
+        if (c == '\'') {
+          // 引号中的字符，'' 表示单引号
+          if (i + 1 < len && pattern.charAt(i + 1) == '\'') {
+            sb.append('\'');
+            i += 2;
+            continue;
+          }
+          int j = i + 1;
+          for (; ; ) {
+            if (j >= len) {
+              return null;
+            }
+            if (pattern.charAt(j) == '\'') {
+              if (j + 1 < len && pattern.charAt(j + 1) == '\'') {
+                sb.append('\'');
+                j += 2;
+                continue;
+              }
+              break;
+            }
+            sb.append(pattern.charAt(j++));
+          }
+          i = j + 1;
+        } else if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')) {
+          int j = i;
+          while (j < len && pattern.charAt(j) == c) j++;
+          int count = j - i;
+          byte type;
+          if (c == 'y' && count == 4) type = YEAR;
+          else if (c == 'M' && count == 2) type = MONTH;
+          else if (c == 'd' && count == 2) type = DAY;
+          else if (c == 'H' && count == 2) type = HOUR;
+          else if (c == 'm' && count == 2) type = MINUTE;
+          else if (c == 's' && count == 2) type = SECOND;
+          else if (c == 'S' && count == 3) type = MILLIS;
+          else return null;
+          fields.add(new int[]{type, sb.length()});
+          for (int k = 0; k < count; k++) sb.append('0');
+          i = j;
+        } else {
+          sb.append(c);
+          i++;
+        }
+      }
+      byte[] types = new byte[fields.size()];
+      int[] positions = new int[fields.size()];
+      for (int i = 0; i < types.length; i++) {
+        types[i] = (byte) fields.get(i)[0];
+        positions[i] = fields.get(i)[1];
+      }
+      return new Fixed(pattern, locale, zone, sb.toString().toCharArray(), types, positions, fallback);
+    }
+
+    @Override
+    public String format(long millis) {
+      if (millis < MIN_MILLIS || millis >= maxMillis) {
+        return fallback.format(millis);
+      }
+      final State st = local.get();
+      final char[] buf = st.buf;
+      final long second = Math.floorDiv(millis, 1000L);
+      if (second != st.lastSecond) {
+        long localSecond = second + offset(st, second);
+        long days = Math.floorDiv(localSecond, 86400L);
+        int secondOfDay = (int) Math.floorMod(localSecond, 86400L);
+        // 公历日期(civil from days)
+        long z = days + 719468;
+        long era = Math.floorDiv(z, 146097);
+        int doe = (int) (z - era * 146097);
+        int yoe = (doe - doe / 1460 + doe / 36524 - doe / 146096) / 365;
+        int doy = doe - (365 * yoe + yoe / 4 - yoe / 100);
+        int mp = (5 * doy + 2) / 153;
+        int day = doy - (153 * mp + 2) / 5 + 1;
+        int month = mp < 10 ? mp + 3 : mp - 9;
+        int year = (int) (yoe + era * 400) + (month <= 2 ? 1 : 0);
+        final byte[] types = this.types;
+        final int[] positions = this.positions;
+        for (int i = 0; i < types.length; i++) {
+          int p = positions[i];
+          switch (types[i]) {
+            case YEAR:
+              buf[p] = (char) ('0' + year / 1000);
+              buf[p + 1] = (char) ('0' + year / 100 % 10);
+              buf[p + 2] = (char) ('0' + year / 10 % 10);
+              buf[p + 3] = (char) ('0' + year % 10);
+              break;
+            case MONTH:
+              write2(buf, p, month);
+              break;
+            case DAY:
+              write2(buf, p, day);
+              break;
+            case HOUR:
+              write2(buf, p, secondOfDay / 3600);
+              break;
+            case MINUTE:
+              write2(buf, p, secondOfDay / 60 % 60);
+              break;
+            case SECOND:
+              write2(buf, p, secondOfDay % 60);
+              break;
+            default:
+              break;
+          }
+        }
+        st.lastSecond = second;
+      }
+      if (millisPosition >= 0) {
+        int ms = (int) Math.floorMod(millis, 1000L);
+        buf[millisPosition] = (char) ('0' + ms / 100);
+        buf[millisPosition + 1] = (char) ('0' + ms / 10 % 10);
+        buf[millisPosition + 2] = (char) ('0' + ms % 10);
+      }
+      return new String(buf);
+    }
+
+    /**
+     * 时区偏移(秒)，缓存当前偏移的有效区间
+     */
+    int offset(State st, long second) {
+      if (fixedOffset != Integer.MIN_VALUE) {
+        return fixedOffset;
+      }
+      if (second < st.offsetFrom || second >= st.offsetUntil) {
+        Instant instant = Instant.ofEpochSecond(second);
+        ZoneOffset offset = rules.getOffset(instant);
+        ZoneOffsetTransition prev = rules.previousTransition(instant.plusSeconds(1));
+        ZoneOffsetTransition next = rules.nextTransition(instant);
+        st.offset = offset.getTotalSeconds();
+        st.offsetFrom = prev != null ? prev.toEpochSecond() : Long.MIN_VALUE;
+        st.offsetUntil = next != null ? next.toEpochSecond() : Long.MAX_VALUE;
+      }
+      return st.offset;
+    }
+
+    static void write2(char[] buf, int p, int v) {
+      buf[p] = (char) ('0' + v / 10);
+      buf[p + 1] = (char) ('0' + v % 10);
+    }
+
+    static final class State {
+      final char[] buf;
+      long lastSecond = Long.MIN_VALUE;
+      int offset;
+      long offsetFrom = 0;
+      long offsetUntil = 0;
+
+      State(char[] template) {
+        this.buf = template.clone();
+      }
+    }
+  }
+
+  /**
+   * 不可变的 DateTimeFormatter
+   */
+  static final class Jsr310 extends FastDateFormatter {
+
+    /**
+     * 与 SimpleDateFormat 含义相同的字母(S 只支持 SSS)
+     */
+    static final String LETTERS = "GyMdHhKkmsSaEzZX";
+
+    final DateTimeFormatter formatter;
+    final long maxMillis;
+    final Legacy fallback;
+
+    Jsr310(String pattern, Locale locale, ZoneId zone, Legacy fallback) {
+      super(pattern, locale, zone);
+      this.formatter = DateTimeFormatter.ofPattern(pattern, locale).withZone(zone);
+      this.maxMillis = maxMillis(zone.getRules());
+      this.fallback = fallback;
+    }
+
+    static boolean supports(String pattern) {
+      boolean quoted = false;
+      for (int i = 0; i < pattern.length(); i++) {
+        char c = pattern.charAt(i);
+        if (c == '\'') {
+          quoted = !quoted;
+        } else if (!quoted && ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z'))) {
+          if (LETTERS.indexOf(c) < 0) {
+            return false;
+          }
+          if (c == 'S') {
+            int j = i;
+            while (j < pattern.length() && pattern.charAt(j) == 'S') j++;
+            if (j - i != 3) {
+              return false;
+            }
+            i = j - 1;
+          }
+        }
+      }
+      return !quoted;
+    }
+
+    @Override
+    public String format(long millis) {
+      if (millis < MIN_MILLIS || millis >= maxMillis) {
+        return fallback.format(millis);
+      }
+      return formatter.format(Instant.ofEpochMilli(millis));
+    }
+  }
+
+  /**
+   * 每个线程一个 SimpleDateFormat
+   */
+  static final class Legacy extends FastDateFormatter {
+
+    final TimeZone timeZone;
+    final ThreadLocal<SimpleDateFormat> local = ThreadLocal.withInitial(this::newSdf);
+
+    Legacy(String pattern, Locale locale, ZoneId zone) {
+      super(pattern, locale, zone);
+      this.timeZone = TimeZone.getTimeZone(zone);
+    }
+
+    SimpleDateFormat newSdf() {
+      SimpleDateFormat sdf = new SimpleDateFormat(pattern, locale);
+      sdf.setTimeZone(timeZone);
+      return sdf;
+    }
+
+    @Override
+    public String format(long millis) {
+      return local.get().format(new Date(millis));
+    }
+
+    @Override
+    public String format(Object time) {
+      return local.get().format(time);
+    }
+  }
+
+}
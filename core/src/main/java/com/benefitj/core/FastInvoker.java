@@ -0,0 +1,56 @@
+package com.benefitj.core;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+
+/**
+ * 方法调用：按 {@link Method} 缓存，调用开销接近普通的虚方法调用
+ * <p>
+ * 公开的实例方法(参数不超过3个)通过 {@link java.lang.invoke.LambdaMetafactory} 生成桥接类，
+ * 其他方法使用适配为 (Object, Object[])Object 的 {@link java.lang.invoke.MethodHandle}
+ */
+@FunctionalInterface
+public interface FastInvoker {
+
+  /**
+   * 调用
+   *
+   * @param target 对象，静态方法为 null
+   * @param args   参数，没有参数时可以为 null
+   * @return 返回值，void 方法返回 null
+   * @throws Throwable 方法抛出的异常(不包装)
+   */
+  Object invoke(Object target, Object[] args) throws Throwable;
+
+  /**
+   * 获取方法的调用者(虚方法调用，会调用子类重写的方法)
+   *
+   * @param method 方法
+   * @return 返回缓存的调用者
+   */
+  static FastInvoker of(Method method) {
+    return FastInvokers.of(method);
+  }
+
+  /**
+   * 获取接口默认方法的调用者(invokespecial，即使被重写也调用接口中的默认实现)
+   *
+   * @param method 默认方法
+   * @return 返回缓存的调用者
+   */
+  static FastInvoker ofDefault(Method method) {
+    return FastInvokers.ofDefault(method, null);
+  }
+
+  /**
+   * 获取接口默认方法的调用者
+   *
+   * @param method 默认方法
+   * @param lookup 首次创建时使用的 Lookup
+   * @return 返回缓存的调用者
+   */
+  static FastInvoker ofDefault(Method method, MethodHandles.Lookup lookup) {
+    return FastInvokers.ofDefault(method, lookup);
+  }
+
+}
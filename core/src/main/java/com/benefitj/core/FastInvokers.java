@@ -0,0 +1,249 @@
+package com.benefitj.core;
+
+import java.lang.invoke.*;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * {@link FastInvoker} 的创建和缓存
+ */
+final class FastInvokers {
+
+  static final Object[] EMPTY_ARGS = new Object[0];
+
+  /**
+   * 按声明方法的类缓存，类卸载时一起释放，不会持有 ClassLoader
+   */
+  private static final ClassValue<ConcurrentMap<Method, FastInvoker>> INVOKERS = new InvokerCache();
+  private static final ClassValue<ConcurrentMap<Method, FastInvoker>> DEFAULT_INVOKERS = new InvokerCache();
+
+  private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+  /**
+   * 桥接接口，下标为参数个数
+   */
+  private static final Class<?>[] BRIDGES = {Bridge0.class, Bridge1.class, Bridge2.class, Bridge3.class};
+  private static final Class<?>[] VOID_BRIDGES = {VoidBridge0.class, VoidBridge1.class, VoidBridge2.class, VoidBridge3.class};
+
+  private FastInvokers() {
+  }
+
+  static FastInvoker of(Method method) {
+    ConcurrentMap<Method, FastInvoker> invokers = INVOKERS.get(method.getDeclaringClass());
+    FastInvoker invoker = invokers.get(method);
+    return invoker != null ? invoker : invokers.computeIfAbsent(method, FastInvokers::create);
+  }
+
+  static FastInvoker ofDefault(Method method, MethodHandles.Lookup lookup) {
+    ConcurrentMap<Method, FastInvoker> invokers = DEFAULT_INVOKERS.get(method.getDeclaringClass());
+    FastInvoker invoker = invokers.get(method);
+    if (invoker != null) {
+      return invoker;
+    }
+    if (!method.isDefault()) {
+      throw new IllegalArgumentException("不是默认方法: " + method);
+    }
+    return invokers.computeIfAbsent(method, m -> {
+      try {
+        MethodHandle mh = lookup != null
+            ? lookup.unreflectSpecial(m, m.getDeclaringClass())
+            : DefaultMethods.lookupMethodHandle(m);
+        return new HandleInvoker(spread(mh, false, m.getParameterCount()));
+      } catch (ReflectiveOperationException e) {
+        throw new IllegalStateException(CatchUtils.findRoot(e));
+      }
+    });
+  }
+
+  static FastInvoker create(Method method) {
+    boolean isStatic = Modifier.isStatic(method.getModifiers());
+    if (!isStatic) {
+      FastInvoker bridge = bridge(method);
+      if (bridge != null) {
+        return bridge;
+      }
+    }
+    try {
+      ReflectUtils.setAccessible(method, true);
+      MethodHandle mh = LOOKUP.unreflect(method);
+      return new HandleInvoker(spread(mh, isStatic, method.getParameterCount()));
+    } catch (IllegalAccessException e) {
+      throw new IllegalStateException(CatchUtils.findRoot(e));
+    }
+  }
+
+  /**
+   * 适配为 (Object, Object[])Object
+   */
+  static MethodHandle spread(MethodHandle mh, boolean isStatic, int parameterCount) {
+    mh = mh.asFixedArity();
+    if (isStatic) {
+      mh = MethodHandles.dropArguments(mh, 0, Object.class);
+    }
+    return mh.asType(MethodType.genericMethodType(parameterCount + 1))
+        .asSpreader(Object[].class, parameterCount);
+  }
+
+  /**
+   * 通过 LambdaMetafactory 生成桥接类，不支持时返回 null
+   */
+  static FastInvoker bridge(Method method) {
+    int count = method.getParameterCount();
+    if (count >= BRIDGES.length || !isAccessible(method)) {
+      return null;
+    }
+    boolean isVoid = method.getReturnType() == void.class;
+    Class<?> bridgeType = (isVoid ? VOID_BRIDGES : BRIDGES)[count];
+    try {
+      MethodHandle impl = LOOKUP.unreflect(method);
+      MethodType instantiated = impl.type().wrap().changeReturnType(isVoid ? void.class : impl.type().wrap().returnType());
+      MethodType sam = MethodType.genericMethodType(count + 1);
+      if (isVoid) {
+        sam = sam.changeReturnType(void.class);
+      }
+      CallSite site = LambdaMetafactory.metafactory(LOOKUP, "call", MethodType.methodType(bridgeType), sam, impl, instantiated);
+      Object bridge = site.getTarget().invoke();
+      switch (count) {
+        case 0:
+          if (isVoid) {
+            VoidBridge0 b = (VoidBridge0) bridge;
+            return (target, args) -> {
+              b.call(target);
+              return null;
+            };
+          }
+          Bridge0 b0 = (Bridge0) bridge;
+          return (target, args) -> b0.call(target);
+        case 1:
+          if (isVoid) {
+            VoidBridge1 b = (VoidBridge1) bridge;
+            return (target, args) -> {
+              b.call(target, args[0]);
+              return null;
+            };
+          }
+          Bridge1 b1 = (Bridge1) bridge;
+          return (target, args) -> b1.call(target, args[0]);
+        case 2:
+          if (isVoid) {
+            VoidBridge2 b = (VoidBridge2) bridge;
+            return (target, args) -> {
+              b.call(target, args[0], args[1]);
+              return null;
+            };
+          }
+          Bridge2 b2 = (Bridge2) bridge;
+          return (target, args) -> b2.call(target, args[0], args[1]);
+        default:
+          if (isVoid) {
+            VoidBridge3 b = (VoidBridge3) bridge;
+            return (target, args) -> {
+              b.call(target, args[0], args[1], args[2]);
+              return null;
+            };
+          }
+          Bridge3 b3 = (Bridge3) bridge;
+          return (target, args) -> b3.call(target, args[0], args[1], args[2]);
+      }
+    } catch (Throwable e) {
+      // 无法生成时使用 MethodHandle
+      return null;
+    }
+  }
+
+  /**
+   * 方法是否可以从当前类直接调用：公开的类和方法，且用到的类型对当前的 ClassLoader 可见
+   */
+  static boolean isAccessible(Method method) {
+    Class<?> declaringClass = method.getDeclaringClass();
+    if (!Modifier.isPublic(method.getModifiers())
+        || !Modifier.isPublic(declaringClass.getModifiers())
+        || declaringClass.isAnonymousClass()
+        || !declaringClass.getModule().isExported(declaringClass.getPackageName())) {
+      return false;
+    }
+    if (!isVisible(declaringClass) || !isVisible(method.getReturnType())) {
+      return false;
+    }
+    for (Class<?> type : method.getParameterTypes()) {
+      if (!isVisible(type)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  static boolean isVisible(Class<?> type) {
+    while (type.isArray()) {
+      type = type.getComponentType();
+    }
+    if (type.isPrimitive() || !Modifier.isPublic(type.getModifiers())) {
+      return type.isPrimitive();
+    }
+    try {
+      return Class.forName(type.getName(), false, FastInvokers.class.getClassLoader()) == type;
+    } catch (ClassNotFoundException | LinkageError e) {
+      return false;
+    }
+  }
+
+  static final class InvokerCache extends ClassValue<ConcurrentMap<Method, FastInvoker>> {
+    @Override
+    protected ConcurrentMap<Method, FastInvoker> computeValue(Class<?> type) {
+      return new ConcurrentHashMap<>();
+    }
+  }
+
+  /**
+   * MethodHandle 的调用者
+   */
+  static final class HandleInvoker implements FastInvoker {
+
+    final MethodHandle handle;
+
+    HandleInvoker(MethodHandle handle) {
+      this.handle = handle;
+    }
+
+    @Override
+    public Object invoke(Object target, Object[] args) throws Throwable {
+      Object[] a = args != null ? args : EMPTY_ARGS;
+      return (Object) handle.invokeExact(target, a);
+    }
+  }
+
+  public interface Bridge0 {
+    Object call(Object target);
+  }
+
+  public interface Bridge1 {
+    Object call(Object target, Object a0);
+  }
+
+  public interface Bridge2 {
+    Object call(Object target, Object a0, Object a1);
+  }
+
+  public interface Bridge3 {
+    Object call(Object target, Object a0, Object a1, Object a2);
+  }
+
+  public interface VoidBridge0 {
+    void call(Object target);
+  }
+
+  public interface VoidBridge1 {
+    void call(Object target, Object a0);
+  }
+
+  public interface VoidBridge2 {
+    void call(Object target, Object a0, Object a1);
+  }
+
+  public interface VoidBridge3 {
+    void call(Object target, Object a0, Object a1, Object a2);
+  }
+
+}
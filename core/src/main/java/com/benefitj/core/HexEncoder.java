@@ -0,0 +1,276 @@
+package com.benefitj.core;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * 16进制编解码，基于查表实现
+ * <p>
+ * 每个字节对应查找表中相邻的两个字符，直接写入预分配的 char[]/byte[]，不经过 StringBuilder；
+ * 较大的数据可以通过 {@link #encode(byte[], int, int, Appendable)} 或 {@link #encode(ByteBuffer, ByteBuffer)} 分段输出
+ */
+public class HexEncoder {
+
+  /**
+   * 大写
+   */
+  public static final HexEncoder UPPER_CASE = new HexEncoder(false);
+  /**
+   * 小写
+   */
+  public static final HexEncoder LOWER_CASE = new HexEncoder(true);
+
+  /**
+   * 获取编码器
+   *
+   * @param lowerCase 是否为小写字母
+   * @return 返回编码器
+   */
+  public static HexEncoder get(boolean lowerCase) {
+    return lowerCase ? LOWER_CASE : UPPER_CASE;
+  }
+
+  /**
+   * 分段输出时的缓冲大小(字符)
+   */
+  static final int CHUNK_SIZE = 8192;
+
+  /**
+   * 字符对应的值，非16进制字符为 -1
+   */
+  static final int[] DECODE_TABLE = new int[128];
+
+  static {
+    Arrays.fill(DECODE_TABLE, -1);
+    for (int i = 0; i < 10; i++) {
+      DECODE_TABLE['0' + i] = i;
+    }
+    for (int i = 0; i < 6; i++) {
+      DECODE_TABLE['A' + i] = 10 + i;
+      DECODE_TABLE['a' + i] = 10 + i;
+    }
+  }
+
+  /**
+   * 编码表，下标 [b * 2] 和 [b * 2 + 1] 分别为字节的高4位和低4位
+   */
+  private final char[] chars = new char[512];
+  private final byte[] bytes = new byte[512];
+
+  private final boolean lowerCase;
+
+  public HexEncoder(boolean lowerCase) {
+    this.lowerCase = lowerCase;
+    String hex = lowerCase ? BinaryHelper.HEX_LOWER_CASE : BinaryHelper.HEX_UPPER_CASE;
+    for (int b = 0; b < 256; b++) {
+      chars[b << 1] = hex.charAt(b >>> 4);
+      chars[(b << 1) + 1] = hex.charAt(b & 0x0F);
+      bytes[b << 1] = (byte) chars[b << 1];
+      bytes[(b << 1) + 1] = (byte) chars[(b << 1) + 1];
+    }
+  }
+
+  public boolean isLowerCase() {
+    return lowerCase;
+  }
+
+  /**
+   * 编码
+   *
+   * @param src 数据
+   * @return 返回16进制字符串
+   */
+  public String encode(byte[] src) {
+    return encode(src, 0, src.length);
+  }
+
+  /**
+   * 编码
+   *
+   * @param src    数据
+   * @param offset 开始的位置
+   * @param len    长度
+   * @return 返回16进制字符串
+   */
+  public String encode(byte[] src, int offset, int len) {
+    byte[] dest = new byte[len << 1];
+    encode(src, offset, len, dest, 0);
+    // 16进制字符均为 Latin-1，紧凑字符串可以直接使用该字节数组
+    return new String(dest, StandardCharsets.ISO_8859_1);
+  }
+
+  /**
+   * 编码，写入字符数组
+   *
+   * @param src     数据
+   * @param offset  开始的位置
+   * @param len     长度
+   * @param dest    目标数组
+   * @param destPos 目标数组开始的位置
+   * @return 返回写入后的位置
+   */
+  public int encode(byte[] src, int offset, int len, char[] dest, int destPos) {
+    final char[] table = this.chars;
+    for (int i = 0; i < len; i++) {
+      int idx = (src[offset + i] & 0xFF) << 1;
+      dest[destPos++] = table[idx];
+      dest[destPos++] = table[idx + 1];
+    }
+    return destPos;
+  }
+
+  /**
+   * 编码，写入ASCII字节数组
+   *
+   * @param src     数据
+   * @param offset  开始的位置
+   * @param len     长度
+   * @param dest    目标数组
+   * @param destPos 目标数组开始的位置
+   * @return 返回写入后的位置
+   */
+  public int encode(byte[] src, int offset, int len, byte[] dest, int destPos) {
+    final byte[] table = this.bytes;
+    for (int i = 0; i < len; i++) {
+      int idx = (src[offset + i] & 0xFF) << 1;
+      dest[destPos++] = table[idx];
+      dest[destPos++] = table[idx + 1];
+    }
+    return destPos;
+  }
+
+  /**
+   * 编码，带前缀和后缀
+   *
+   * @param src    数据
+   * @param prefix 前缀，每 split 个字节之前添加
+   * @param suffix 后缀，每 split 个字节之后添加(最后一组除外)
+   * @param split  分割的长度
+   * @return 返回16进制字符串
+   */
+  public String encode(byte[] src, String prefix, String suffix, int split) {
+    split = Math.max(split, 1);
+    if ((prefix == null || prefix.isEmpty()) && (suffix == null || suffix.isEmpty())) {
+      return encode(src, 0, src.length);
+    }
+    int n = src.length;
+    int groups = (n + split - 1) / split;
+    int prefixLen = prefix != null ? prefix.length() : 0;
+    int suffixLen = suffix != null ? suffix.length() : 0;
+    char[] dest = new char[(n << 1) + groups * prefixLen + Math.max(groups - 1, 0) * suffixLen];
+    int pos = 0;
+    for (int i = 0; i < n; i += split) {
+      if (prefixLen > 0) {
+        prefix.getChars(0, prefixLen, dest, pos);
+        pos += prefixLen;
+      }
+      pos = encode(src, i, Math.min(split, n - i), dest, pos);
+      if (suffixLen > 0 && i + split < n) {
+        suffix.getChars(0, suffixLen, dest, pos);
+        pos += suffixLen;
+      }
+    }
+    return new String(dest);
+  }
+
+  /**
+   * 分段编码并输出
+   *
+   * @param src    数据
+   * @param offset 开始的位置
+   * @param len    长度
+   * @param out    输出
+   * @return 返回输出
+   */
+  public <A extends Appendable> A encode(byte[] src, int offset, int len, A out) {
+    char[] buf = new char[Math.min(len << 1, CHUNK_SIZE)];
+    CharBuffer cb = CharBuffer.wrap(buf);
+    try {
+      for (int i = 0; i < len; i += buf.length >>> 1) {
+        int n = Math.min(buf.length >>> 1, len - i);
+        encode(src, offset + i, n, buf, 0);
+        if (out instanceof StringBuilder) {
+          ((StringBuilder) out).append(buf, 0, n << 1);
+        } else {
+          out.append(cb, 0, n << 1);
+        }
+      }
+      return out;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * 编码缓冲中剩余的数据，写入目标缓冲(ASCII)，直到源数据读完或目标缓冲写满
+   *
+   * @param src  数据
+   * @param dest 目标缓冲
+   * @return 返回编码的字节数
+   */
+  public int encode(ByteBuffer src, ByteBuffer dest) {
+    int n = Math.min(src.remaining(), dest.remaining() >>> 1);
+    if (src.hasArray() && dest.hasArray()) {
+      encode(src.array(), src.arrayOffset() + src.position(), n, dest.array(), dest.arrayOffset() + dest.position());
+      src.position(src.position() + n);
+      dest.position(dest.position() + (n << 1));
+    } else {
+      final byte[] table = this.bytes;
+      for (int i = 0; i < n; i++) {
+        int idx = (src.get() & 0xFF) << 1;
+        dest.put(table[idx]);
+        dest.put(table[idx + 1]);
+      }
+    }
+    return n;
+  }
+
+  /**
+   * 解码
+   *
+   * @param hex 16进制字符串
+   * @return 返回字节数组
+   */
+  public static byte[] decode(CharSequence hex) {
+    byte[] dest = new byte[hex.length() >>> 1];
+    decode(hex, 0, hex.length(), dest, 0);
+    return dest;
+  }
+
+  /**
+   * 解码，写入目标数组，奇数长度时忽略最后一个字符
+   *
+   * @param hex     16进制字符串
+   * @param offset  开始的位置
+   * @param len     字符长度
+   * @param dest    目标数组
+   * @param destPos 目标数组开始的位置
+   * @return 返回写入后的位置
+   */
+  public static int decode(CharSequence hex, int offset, int len, byte[] dest, int destPos) {
+    for (int i = 0, n = len >>> 1; i < n; i++) {
+      int high = digit(hex.charAt(offset + (i << 1)));
+      int low = digit(hex.charAt(offset + (i << 1) + 1));
+      if ((high | low) < 0) {
+        throw new IllegalArgumentException("Illegal hex char at " + (offset + (i << 1)) + ": " + hex);
+      }
+      dest[destPos++] = (byte) (high << 4 | low);
+    }
+    return destPos;
+  }
+
+  /**
+   * 字符对应的值
+   *
+   * @param c 字符
+   * @return 返回值，非16进制字符返回 -1
+   */
+  public static int digit(char c) {
+    return c < 128 ? DECODE_TABLE[c] : -1;
+  }
+
+}
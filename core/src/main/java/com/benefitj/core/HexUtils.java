@@ -1,5 +1,6 @@
 package com.benefitj.core;
 
+import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 
 /**
@@ -164,6 +165,206 @@ public class HexUtils {
     return getHelper().longToBytes(num, bit, order);
   }
 
+  /**
+   * 写入短整数，不创建新的数组
+   *
+   * @param dest   目标数组
+   * @param offset 开始的位置
+   * @param value  值
+   * @return 返回写入后的位置
+   */
+  public static int putShort(byte[] dest, int offset, short value) {
+    return getHelper().putShort(dest, offset, value);
+  }
+
+  /**
+   * 写入短整数，不创建新的数组
+   *
+   * @param dest   目标数组
+   * @param offset 开始的位置
+   * @param value  值
+   * @param order  字节序
+   * @param width  写入的字节数(1~8)，取值的低位字节，超出类型长度的高位补0
+   * @return 返回写入后的位置
+   */
+  public static int putShort(byte[] dest, int offset, short value, ByteOrder order, int width) {
+    return getHelper().putShort(dest, offset, value, order, width);
+  }
+
+  /**
+   * 写入短整数，不改变缓冲的 position
+   *
+   * @param dest  目标缓冲
+   * @param index 开始的位置
+   * @param value 值
+   * @param order 字节序
+   * @param width 写入的字节数(1~8)，取值的低位字节，超出类型长度的高位补0
+   * @return 返回写入后的位置
+   */
+  public static int putShort(ByteBuffer dest, int index, short value, ByteOrder order, int width) {
+    return getHelper().putShort(dest, index, value, order, width);
+  }
+
+  /**
+   * 写入整数，不创建新的数组
+   *
+   * @param dest   目标数组
+   * @param offset 开始的位置
+   * @param value  值
+   * @return 返回写入后的位置
+   */
+  public static int putInt(byte[] dest, int offset, int value) {
+    return getHelper().putInt(dest, offset, value);
+  }
+
+  /**
+   * 写入整数，不创建新的数组
+   *
+   * @param dest   目标数组
+   * @param offset 开始的位置
+   * @param value  值
+   * @param order  字节序
+   * @param width  写入的字节数(1~8)，取值的低位字节，超出类型长度的高位补0
+   * @return 返回写入后的位置
+   */
+  public static int putInt(byte[] dest, int offset, int value, ByteOrder order, int width) {
+    return getHelper().putInt(dest, offset, value, order, width);
+  }
+
+  /**
+   * 写入整数，不改变缓冲的 position
+   *
+   * @param dest  目标缓冲
+   * @param index 开始的位置
+   * @param value 值
+   * @param order 字节序
+   * @param width 写入的字节数(1~8)，取值的低位字节，超出类型长度的高位补0
+   * @return 返回写入后的位置
+   */
+  public static int putInt(ByteBuffer dest, int index, int value, ByteOrder order, int width) {
+    return getHelper().putInt(dest, index, value, order, width);
+  }
+
+  /**
+   * 写入长整数，不创建新的数组
+   *
+   * @param dest   目标数组
+   * @param offset 开始的位置
+   * @param value  值
+   * @return 返回写入后的位置
+   */
+  public static int putLong(byte[] dest, int offset, long value) {
+    return getHelper().putLong(dest, offset, value);
+  }
+
+  /**
+   * 写入长整数，不创建新的数组
+   *
+   * @param dest   目标数组
+   * @param offset 开始的位置
+   * @param value  值
+   * @param order  字节序
+   * @param width  写入的字节数(1~8)，取值的低位字节，超出类型长度的高位补0
+   * @return 返回写入后的位置
+   */
+  public static int putLong(byte[] dest, int offset, long value, ByteOrder order, int width) {
+    return getHelper().putLong(dest, offset, value, order, width);
+  }
+
+  /**
+   * 写入长整数，不改变缓冲的 position
+   *
+   * @param dest  目标缓冲
+   * @param index 开始的位置
+   * @param value 值
+   * @param order 字节序
+   * @param width 写入的字节数(1~8)，取值的低位字节，超出类型长度的高位补0
+   * @return 返回写入后的位置
+   */
+  public static int putLong(ByteBuffer dest, int index, long value, ByteOrder order, int width) {
+    return getHelper().putLong(dest, index, value, order, width);
+  }
+
+  /**
+   * 写入单精度浮点数，不创建新的数组
+   *
+   * @param dest   目标数组
+   * @param offset 开始的位置
+   * @param value  值
+   * @return 返回写入后的位置
+   */
+  public static int putFloat(byte[] dest, int offset, float value) {
+    return getHelper().putFloat(dest, offset, value);
+  }
+
+  /**
+   * 写入单精度浮点数，不创建新的数组
+   *
+   * @param dest   目标数组
+   * @param offset 开始的位置
+   * @param value  值
+   * @param order  字节序
+   * @param width  写入的字节数(1~8)，取值的低位字节，超出类型长度的高位补0
+   * @return 返回写入后的位置
+   */
+  public static int putFloat(byte[] dest, int offset, float value, ByteOrder order, int width) {
+    return getHelper().putFloat(dest, offset, value, order, width);
+  }
+
+  /**
+   * 写入单精度浮点数，不改变缓冲的 position
+   *
+   * @param dest  目标缓冲
+   * @param index 开始的位置
+   * @param value 值
+   * @param order 字节序
+   * @param width 写入的字节数(1~8)，取值的低位字节，超出类型长度的高位补0
+   * @return 返回写入后的位置
+   */
+  public static int putFloat(ByteBuffer dest, int index, float value, ByteOrder order, int width) {
+    return getHelper().putFloat(dest, index, value, order, width);
+  }
+
+  /**
+   * 写入双精度浮点数，不创建新的数组
+   *
+   * @param dest   目标数组
+   * @param offset 开始的位置
+   * @param value  值
+   * @return 返回写入后的位置
+   */
+  public static int putDouble(byte[] dest, int offset, double value) {
+    return getHelper().putDouble(dest, offset, value);
+  }
+
+  /**
+   * 写入双精度浮点数，不创建新的数组
+   *
+   * @param dest   目标数组
+   * @param offset 开始的位置
+   * @param value  值
+   * @param order  字节序
+   * @param width  写入的字节数(1~8)，取值的低位字节，超出类型长度的高位补0
+   * @return 返回写入后的位置
+   */
+  public static int putDouble(byte[] dest, int offset, double value, ByteOrder order, int width) {
+    return getHelper().putDouble(dest, offset, value, order, width);
+  }
+
+  /**
+   * 写入双精度浮点数，不改变缓冲的 position
+   *
+   * @param dest  目标缓冲
+   * @param index 开始的位置
+   * @param value 值
+   * @param order 字节序
+   * @param width 写入的字节数(1~8)，取值的低位字节，超出类型长度的高位补0
+   * @return 返回写入后的位置
+   */
+  public static int putDouble(ByteBuffer dest, int index, double value, ByteOrder order, int width) {
+    return getHelper().putDouble(dest, index, value, order, width);
+  }
+
   /**
    * 字节数组转换成整数
    *
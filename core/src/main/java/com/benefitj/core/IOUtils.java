@@ -1,5 +1,6 @@
 package com.benefitj.core;
 
+import com.benefitj.core.file.FileTreeOps;
 import com.benefitj.core.functions.IBiConsumer;
 
 import javax.annotation.Nullable;
@@ -11,7 +12,6 @@ import java.util.function.BiConsumer;
 import java.util.function.BiPredicate;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 /**
  * IO工具
@@ -145,16 +145,10 @@ public class IOUtils {
   public static long length(File file, @Nullable FileFilter filter, boolean multiLevel) {
     if (file != null) {
       if (file.isDirectory()) {
-        long size = 0L;
-        if (multiLevel) {
-          File[] files = filter != null ? file.listFiles(filter) : file.listFiles();
-          if (isNotEmpty(files)) {
-            for (File f : files) {
-              size += length(f, filter, true);
-            }
-          }
-        }
-        return size;
+        // 多层级时并行统计，跟随符号链接并跳过无法访问的文件
+        return multiLevel
+            ? new FileTreeOps().setFollowLinks(true).setSkipFailed(true).size(file.toPath(), filter).getBytes()
+            : 0L;
       }
       return file.length();
     }
@@ -195,9 +189,8 @@ public class IOUtils {
       File[] files = filter != null ? f.listFiles(filter) : f.listFiles();
       if (isNotEmpty(files)) {
         if (multiLevel) {
-          return Arrays.stream(files)
-              .flatMap(file -> Stream.concat(Stream.of(file), listFiles(file, filter, true).stream()))
-              .collect(Collectors.toList());
+          // 并行列出子目录
+          return new FileTreeOps().list(f, filter);
         }
         return Arrays.asList(files);
       }
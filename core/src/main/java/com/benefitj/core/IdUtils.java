@@ -3,6 +3,7 @@ package com.benefitj.core;
 import java.lang.ref.SoftReference;
 import java.util.Random;
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.Predicate;
 
 /**
@@ -22,7 +23,7 @@ public class IdUtils {
 
   public static Random getRandom() {
     Random r = randomLocal.get().get();
-    if (r != null) {
+    if (r == null) {
       randomLocal.set(new SoftReference<>(r = new Random()));
     }
     return r;
@@ -71,13 +72,7 @@ public class IdUtils {
    * @return 返回随机字符串
    */
   public static String nextId(char[] chars, String prefix, String suffix, int length) {
-    StringBuilder sb = new StringBuilder(length);
-    sb.append(checkNotNull(prefix));
-    for (int i = 0; i < length; i++) {
-      sb.append(nextChar(chars));
-    }
-    sb.append(checkNotNull(suffix));
-    return sb.toString();
+    return RandomIds.next(chars, prefix, suffix, length);
   }
 
   /**
@@ -228,14 +223,28 @@ public class IdUtils {
    * @return 返回随机字符
    */
   public static char nextChar(char[] chars) {
-    return chars[getRandom().nextInt(chars.length)];
+    return chars[ThreadLocalRandom.current().nextInt(chars.length)];
   }
 
   /**
-   * 获取UUID
+   * 获取UUID(32位，不带 '-')，与 {@link #rawUUID()} 一样使用 SecureRandom
    */
   public static String uuid() {
-    return rawUUID().replace("-", "");
+    return RandomIds.toHex(UUID.randomUUID());
+  }
+
+  /**
+   * 获取UUID(32位，不带 '-')，使用 {@link ThreadLocalRandom}，不会阻塞；结果可被预测，不要用于会话、令牌等安全相关的场景
+   */
+  public static String fastUuid() {
+    return RandomIds.toHex(RandomIds.uuid4());
+  }
+
+  /**
+   * 获取按时间排序的UUID(版本7，32位，不带 '-')，同一毫秒内也递增
+   */
+  public static String uuid7() {
+    return RandomIds.toHex(RandomIds.uuid7());
   }
 
   /**
@@ -273,6 +282,16 @@ public class IdUtils {
     return SnowflakeIdWorker.get().nextId();
   }
 
+  /**
+   * 批量获取 SnowflakeId
+   *
+   * @param dest 目标数组
+   * @return 返回目标数组
+   */
+  public static long[] snowflakeIds(long[] dest) {
+    return SnowflakeIdWorker.get().nextIds(dest);
+  }
+
   /**
    * 检查并获取
    *
@@ -302,8 +321,4 @@ public class IdUtils {
     }
   }
 
-  private static String checkNotNull(String str) {
-    return str != null ? str : "";
-  }
-
 }
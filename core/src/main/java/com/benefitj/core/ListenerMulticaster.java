@@ -0,0 +1,370 @@
+package com.benefitj.core;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.util.*;
+import java.util.function.BinaryOperator;
+
+/**
+ * 监听的分发：把接口的调用依次分发给全部的监听
+ * <p>
+ * 监听保存在写时复制的数组中，分发时读取一次数组快照直接遍历，不加锁、不创建迭代器；
+ * 每个接口只创建一次分发表(方法 -> {@link FastInvoker})，调用时不再判断方法来源，也不再通过反射调用。
+ * 代理对象同时实现 {@link List}，兼容 {@link ProxyUtils#newCopyListProxy(Class)} 的用法
+ *
+ * @param <T> 监听类型
+ */
+public class ListenerMulticaster<T> {
+
+  /**
+   * 返回最后一个不为 null 的值(默认)
+   */
+  public static final BinaryOperator<Object> LAST_NON_NULL = (previous, current) -> current != null ? current : previous;
+  /**
+   * 返回第一个不为 null 的值
+   */
+  public static final BinaryOperator<Object> FIRST_NON_NULL = (previous, current) -> previous != null ? previous : current;
+
+  private static final Object[] EMPTY = new Object[0];
+
+  private static final ClassValue<Map<Method, Dispatch>> DISPATCHES = new ClassValue<Map<Method, Dispatch>>() {
+    @Override
+    protected Map<Method, Dispatch> computeValue(Class<?> type) {
+      Map<Method, Dispatch> table = new HashMap<>();
+      for (Class<?> c : new Class[]{Object.class, List.class, type}) {
+        for (Method m : c.getMethods()) {
+          if (!Modifier.isStatic(m.getModifiers())) {
+            table.put(m, new Dispatch(m, c == type));
+          }
+        }
+      }
+      return table;
+    }
+  };
+
+  /**
+   * 创建分发器
+   *
+   * @param type 监听接口
+   * @param <T>  监听类型
+   * @return 返回分发器
+   */
+  public static <T> ListenerMulticaster<T> of(Class<T> type) {
+    return new ListenerMulticaster<>(type);
+  }
+
+  private final Class<T> type;
+  private final Map<Method, Dispatch> dispatches;
+  private final ListenerList list = new ListenerList();
+  private final T proxy;
+  /**
+   * 监听的快照
+   */
+  private volatile Object[] listeners = EMPTY;
+  /**
+   * 合并返回值
+   */
+  private volatile BinaryOperator<Object> resultMerger = LAST_NON_NULL;
+  /**
+   * 异常处理，为 null 时抛出异常并停止分发
+   */
+  private volatile ErrorHandler errorHandler;
+
+  public ListenerMulticaster(Class<T> type) {
+    if (!type.isInterface()) {
+      throw new IllegalArgumentException("不是接口: " + type.getName());
+    }
+    if (type.isAssignableFrom(List.class)) {
+      throw new IllegalStateException("不支持继承自List的接口");
+    }
+    this.type = type;
+    this.dispatches = DISPATCHES.get(type);
+    this.proxy = (T) Proxy.newProxyInstance(type.getClassLoader(), new Class[]{type, List.class}, new Handler());
+  }
+
+  public Class<T> getType() {
+    return type;
+  }
+
+  /**
+   * 代理对象，调用接口的方法时分发给全部的监听；同时也是 {@link #asList()}
+   */
+  public T getProxy() {
+    return proxy;
+  }
+
+  /**
+   * 监听列表的视图，修改会同步到分发器
+   */
+  public List<T> asList() {
+    return list;
+  }
+
+  public BinaryOperator<Object> getResultMerger() {
+    return resultMerger;
+  }
+
+  /**
+   * 设置返回值的合并方式，参数为(之前的值, 当前监听的返回值)
+   */
+  public ListenerMulticaster<T> setResultMerger(BinaryOperator<Object> resultMerger) {
+    this.resultMerger = resultMerger != null ? resultMerger : LAST_NON_NULL;
+    return this;
+  }
+
+  public ErrorHandler getErrorHandler() {
+    return errorHandler;
+  }
+
+  /**
+   * 设置异常处理，设置后某个监听抛出异常不影响其他监听
+   */
+  public ListenerMulticaster<T> setErrorHandler(ErrorHandler errorHandler) {
+    this.errorHandler = errorHandler;
+    return this;
+  }
+
+  /**
+   * 添加监听
+   */
+  public ListenerMulticaster<T> add(T listener) {
+    list.add(listener);
+    return this;
+  }
+
+  /**
+   * 添加监听(不存在时)
+   *
+   * @return 返回是否添加
+   */
+  public synchronized boolean addIfAbsent(T listener) {
+    if (list.indexOf(listener) >= 0) {
+      return false;
+    }
+    list.add(listener);
+    return true;
+  }
+
+  /**
+   * 移除监听
+   */
+  public boolean remove(T listener) {
+    return list.remove(listener);
+  }
+
+  public boolean contains(T listener) {
+    return list.contains(listener);
+  }
+
+  public int size() {
+    return listeners.length;
+  }
+
+  public boolean isEmpty() {
+    return listeners.length == 0;
+  }
+
+  public void clear() {
+    list.clear();
+  }
+
+  /**
+   * 分发调用
+   */
+  Object dispatch(Dispatch d, Object[] args) throws Throwable {
+    Object[] snapshot = this.listeners;
+    BinaryOperator<Object> merger = this.resultMerger;
+    ErrorHandler handler = this.errorHandler;
+    FastInvoker invoker = d.invoker();
+    Object value = null;
+    for (Object listener : snapshot) {
+      Object current;
+      if (handler == null) {
+        current = invoker.invoke(listener, args);
+      } else {
+        try {
+          current = invoker.invoke(listener, args);
+        } catch (Throwable e) {
+          handler.onError(listener, d.method, e);
+          continue;
+        }
+      }
+      value = merger.apply(value, current);
+    }
+    return value != null ? value : d.defaultValue;
+  }
+
+  @Override
+  public String toString() {
+    return "ListenerMulticaster{" + type.getName() + ", listeners=" + listeners.length + "}";
+  }
+
+  /**
+   * 监听抛出的异常
+   */
+  @FunctionalInterface
+  public interface ErrorHandler {
+
+    /**
+     * 处理异常，不抛出异常时继续调用下一个监听
+     *
+     * @param listener 监听
+     * @param method   调用的方法
+     * @param error    异常
+     */
+    void onError(Object listener, Method method, Throwable error);
+
+  }
+
+  /**
+   * 方法的分发
+   */
+  static final class Dispatch {
+
+    final Method method;
+    /**
+     * 是否分发给监听，否则调用监听列表
+     */
+    final boolean fanOut;
+    /**
+     * 首次调用时创建
+     */
+    private volatile FastInvoker invoker;
+    /**
+     * 基本类型的默认返回值
+     */
+    final Object defaultValue;
+
+    Dispatch(Method method, boolean fanOut) {
+      this.method = method;
+      this.fanOut = fanOut;
+      Class<?> returnType = method.getReturnType();
+      this.defaultValue = returnType.isPrimitive() && returnType != void.class
+          ? Array.get(Array.newInstance(returnType, 1), 0) : null;
+    }
+
+    FastInvoker invoker() {
+      FastInvoker fi = this.invoker;
+      if (fi == null) {
+        this.invoker = (fi = FastInvoker.of(method));
+      }
+      return fi;
+    }
+  }
+
+  final class Handler implements InvocationHandler {
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      Dispatch d = dispatches.get(method);
+      if (d == null) {
+        throw new UnsupportedOperationException(method.toString());
+      }
+      if (d.fanOut) {
+        return dispatch(d, args);
+      }
+      return d.invoker().invoke(list, args);
+    }
+  }
+
+  /**
+   * 写时复制的监听列表
+   */
+  final class ListenerList extends AbstractList<T> implements RandomAccess {
+
+    @Override
+    public T get(int index) {
+      return (T) listeners[index];
+    }
+
+    @Override
+    public int size() {
+      return listeners.length;
+    }
+
+    @Override
+    public T set(int index, T element) {
+      synchronized (ListenerMulticaster.this) {
+        Object[] array = listeners.clone();
+        T old = (T) array[index];
+        array[index] = requireListener(element);
+        listeners = array;
+        return old;
+      }
+    }
+
+    @Override
+    public void add(int index, T element) {
+      synchronized (ListenerMulticaster.this) {
+        Object[] old = listeners;
+        if (index < 0 || index > old.length) {
+          throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + old.length);
+        }
+        Object[] array = new Object[old.length + 1];
+        System.arraycopy(old, 0, array, 0, index);
+        array[index] = requireListener(element);
+        System.arraycopy(old, index, array, index + 1, old.length - index);
+        listeners = array;
+        modCount++;
+      }
+    }
+
+    @Override
+    public T remove(int index) {
+      synchronized (ListenerMulticaster.this) {
+        Object[] old = listeners;
+        T removed = (T) old[index];
+        Object[] array = new Object[old.length - 1];
+        System.arraycopy(old, 0, array, 0, index);
+        System.arraycopy(old, index + 1, array, index, old.length - index - 1);
+        listeners = array;
+        modCount++;
+        return removed;
+      }
+    }
+
+    @Override
+    public boolean remove(Object o) {
+      synchronized (ListenerMulticaster.this) {
+        int index = indexOf(o);
+        if (index < 0) {
+          return false;
+        }
+        remove(index);
+        return true;
+      }
+    }
+
+    @Override
+    public void clear() {
+      synchronized (ListenerMulticaster.this) {
+        listeners = EMPTY;
+        modCount++;
+      }
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+      // 快照，遍历时不受修改的影响
+      return Collections.unmodifiableList((List<T>) Arrays.asList(listeners)).iterator();
+    }
+
+    @Override
+    public Object[] toArray() {
+      return listeners.clone();
+    }
+
+    private T requireListener(T element) {
+      if (element == null) {
+        throw new NullPointerException("listener");
+      }
+      if (!type.isInstance(element)) {
+        throw new ClassCastException(element.getClass().getName() + " cannot be cast to " + type.getName());
+      }
+      return element;
+    }
+  }
+
+}
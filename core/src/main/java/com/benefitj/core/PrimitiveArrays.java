@@ -0,0 +1,502 @@
+package com.benefitj.core;
+
+import java.nio.ByteOrder;
+
+import static com.benefitj.core.BinaryViews.*;
+
+/**
+ * 基本类型数组的批量转换：字节解码、缩放(增益/偏移)、类型拓宽
+ * <p>
+ * 结果写入调用方提供的数组，不创建中间对象；字节序和有无符号的判断在循环外完成，
+ * 循环体只有连续的读写，便于 JIT 展开和向量化(缩放和拓宽的循环可以被 SuperWord 向量化)
+ */
+public final class PrimitiveArrays {
+
+  private PrimitiveArrays() {
+  }
+
+  /**
+   * 解码 16 位整数
+   *
+   * @param src     源数据
+   * @param srcPos  源数据开始的位置
+   * @param dest    目标数组
+   * @param destPos 目标数组开始的位置
+   * @param count   数量
+   * @param order   字节序
+   * @return 返回目标数组
+   */
+  public static short[] decode16(byte[] src, int srcPos, short[] dest, int destPos, int count, ByteOrder order) {
+    checkRange(src.length, srcPos, count << 1);
+    checkRange(dest.length, destPos, count);
+    if (order == ByteOrder.BIG_ENDIAN) {
+      for (int i = 0; i < count; i++) {
+        dest[destPos + i] = (short) SHORT_BE.get(src, srcPos + (i << 1));
+      }
+    } else {
+      for (int i = 0; i < count; i++) {
+        dest[destPos + i] = (short) SHORT_LE.get(src, srcPos + (i << 1));
+      }
+    }
+    return dest;
+  }
+
+  /**
+   * 解码 16 位整数
+   *
+   * @param src     源数据
+   * @param srcPos  源数据开始的位置
+   * @param dest    目标数组
+   * @param destPos 目标数组开始的位置
+   * @param count   数量
+   * @param order   字节序
+   * @param signed  是否为有符号数
+   * @return 返回目标数组
+   */
+  public static int[] decode16(byte[] src, int srcPos, int[] dest, int destPos, int count, ByteOrder order, boolean signed) {
+    checkRange(src.length, srcPos, count << 1);
+    checkRange(dest.length, destPos, count);
+    final int mask = signed ? -1 : 0xFFFF;
+    if (order == ByteOrder.BIG_ENDIAN) {
+      for (int i = 0; i < count; i++) {
+        dest[destPos + i] = (short) SHORT_BE.get(src, srcPos + (i << 1)) & mask;
+      }
+    } else {
+      for (int i = 0; i < count; i++) {
+        dest[destPos + i] = (short) SHORT_LE.get(src, srcPos + (i << 1)) & mask;
+      }
+    }
+    return dest;
+  }
+
+  /**
+   * 解码 16 位整数
+   *
+   * @param src     源数据
+   * @param srcPos  源数据开始的位置
+   * @param dest    目标数组
+   * @param destPos 目标数组开始的位置
+   * @param count   数量
+   * @param order   字节序
+   * @param signed  是否为有符号数
+   * @return 返回目标数组
+   */
+  public static float[] decode16(byte[] src, int srcPos, float[] dest, int destPos, int count, ByteOrder order, boolean signed) {
+    checkRange(src.length, srcPos, count << 1);
+    checkRange(dest.length, destPos, count);
+    final int mask = signed ? -1 : 0xFFFF;
+    if (order == ByteOrder.BIG_ENDIAN) {
+      for (int i = 0; i < count; i++) {
+        dest[destPos + i] = (short) SHORT_BE.get(src, srcPos + (i << 1)) & mask;
+      }
+    } else {
+      for (int i = 0; i < count; i++) {
+        dest[destPos + i] = (short) SHORT_LE.get(src, srcPos + (i << 1)) & mask;
+      }
+    }
+    return dest;
+  }
+
+  /**
+   * 解码 16 位整数
+   *
+   * @param src     源数据
+   * @param srcPos  源数据开始的位置
+   * @param dest    目标数组
+   * @param destPos 目标数组开始的位置
+   * @param count   数量
+   * @param order   字节序
+   * @param signed  是否为有符号数
+   * @return 返回目标数组
+   */
+  public static double[] decode16(byte[] src, int srcPos, double[] dest, int destPos, int count, ByteOrder order, boolean signed) {
+    checkRange(src.length, srcPos, count << 1);
+    checkRange(dest.length, destPos, count);
+    final int mask = signed ? -1 : 0xFFFF;
+    if (order == ByteOrder.BIG_ENDIAN) {
+      for (int i = 0; i < count; i++) {
+        dest[destPos + i] = (short) SHORT_BE.get(src, srcPos + (i << 1)) & mask;
+      }
+    } else {
+      for (int i = 0; i < count; i++) {
+        dest[destPos + i] = (short) SHORT_LE.get(src, srcPos + (i << 1)) & mask;
+      }
+    }
+    return dest;
+  }
+
+  /**
+   * 解码 32 位整数
+   *
+   * @param src     源数据
+   * @param srcPos  源数据开始的位置
+   * @param dest    目标数组
+   * @param destPos 目标数组开始的位置
+   * @param count   数量
+   * @param order   字节序
+   * @return 返回目标数组
+   */
+  public static int[] decode32(byte[] src, int srcPos, int[] dest, int destPos, int count, ByteOrder order) {
+    checkRange(src.length, srcPos, count << 2);
+    checkRange(dest.length, destPos, count);
+    if (order == ByteOrder.BIG_ENDIAN) {
+      for (int i = 0; i < count; i++) {
+        dest[destPos + i] = (int) INT_BE.get(src, srcPos + (i << 2));
+      }
+    } else {
+      for (int i = 0; i < count; i++) {
+        dest[destPos + i] = (int) INT_LE.get(src, srcPos + (i << 2));
+      }
+    }
+    return dest;
+  }
+
+  /**
+   * 解码 32 位整数
+   *
+   * @param src     源数据
+   * @param srcPos  源数据开始的位置
+   * @param dest    目标数组
+   * @param destPos 目标数组开始的位置
+   * @param count   数量
+   * @param order   字节序
+   * @param signed  是否为有符号数
+   * @return 返回目标数组
+   */
+  public static double[] decode32(byte[] src, int srcPos, double[] dest, int destPos, int count, ByteOrder order, boolean signed) {
+    checkRange(src.length, srcPos, count << 2);
+    checkRange(dest.length, destPos, count);
+    final long mask = signed ? -1L : 0xFFFFFFFFL;
+    if (order == ByteOrder.BIG_ENDIAN) {
+      for (int i = 0; i < count; i++) {
+        dest[destPos + i] = (int) INT_BE.get(src, srcPos + (i << 2)) & mask;
+      }
+    } else {
+      for (int i = 0; i < count; i++) {
+        dest[destPos + i] = (int) INT_LE.get(src, srcPos + (i << 2)) & mask;
+      }
+    }
+    return dest;
+  }
+
+  /**
+   * 解码整数(1~4个字节)
+   *
+   * @param src     源数据
+   * @param srcPos  源数据开始的位置
+   * @param dest    目标数组
+   * @param destPos 目标数组开始的位置
+   * @param count   数量
+   * @param size    每个数值占的字节长度(1~4)
+   * @param order   字节序
+   * @param signed  是否为有符号数
+   * @return 返回目标数组
+   */
+  public static double[] decode(byte[] src, int srcPos, double[] dest, int destPos, int count, int size, ByteOrder order, boolean signed) {
+    checkSize(size, 4);
+    switch (size) {
+      case 1:
+        checkRange(src.length, srcPos, count);
+        checkRange(dest.length, destPos, count);
+        if (signed) {
+          for (int i = 0; i < count; i++) {
+            dest[destPos + i] = src[srcPos + i];
+          }
+        } else {
+          for (int i = 0; i < count; i++) {
+            dest[destPos + i] = src[srcPos + i] & 0xFF;
+          }
+        }
+        return dest;
+      case 2:
+        return decode16(src, srcPos, dest, destPos, count, order, signed);
+      case 3:
+        checkRange(src.length, srcPos, count * 3);
+        checkRange(dest.length, destPos, count);
+        boolean be = order == ByteOrder.BIG_ENDIAN;
+        final int shift = signed ? 8 : 0;
+        for (int i = 0; i < count; i++) {
+          int v = get3(src, srcPos + i * 3, be) << shift;
+          dest[destPos + i] = signed ? v >> shift : v;
+        }
+        return dest;
+      default:
+        return decode32(src, srcPos, dest, destPos, count, order, signed);
+    }
+  }
+
+  /**
+   * 解码 IEEE 754 单精度浮点数
+   *
+   * @param src     源数据
+   * @param srcPos  源数据开始的位置
+   * @param dest    目标数组
+   * @param destPos 目标数组开始的位置
+   * @param count   数量
+   * @param order   字节序
+   * @return 返回目标数组
+   */
+  public static float[] decodeFloat(byte[] src, int srcPos, float[] dest, int destPos, int count, ByteOrder order) {
+    checkRange(src.length, srcPos, count << 2);
+    checkRange(dest.length, destPos, count);
+    if (order == ByteOrder.BIG_ENDIAN) {
+      for (int i = 0; i < count; i++) {
+        dest[destPos + i] = Float.intBitsToFloat((int) INT_BE.get(src, srcPos + (i << 2)));
+      }
+    } else {
+      for (int i = 0; i < count; i++) {
+        dest[destPos + i] = Float.intBitsToFloat((int) INT_LE.get(src, srcPos + (i << 2)));
+      }
+    }
+    return dest;
+  }
+
+  /**
+   * 解码 IEEE 754 单精度浮点数
+   *
+   * @param src     源数据
+   * @param srcPos  源数据开始的位置
+   * @param dest    目标数组
+   * @param destPos 目标数组开始的位置
+   * @param count   数量
+   * @param order   字节序
+   * @return 返回目标数组
+   */
+  public static double[] decodeFloat(byte[] src, int srcPos, double[] dest, int destPos, int count, ByteOrder order) {
+    checkRange(src.length, srcPos, count << 2);
+    checkRange(dest.length, destPos, count);
+    if (order == ByteOrder.BIG_ENDIAN) {
+      for (int i = 0; i < count; i++) {
+        dest[destPos + i] = Float.intBitsToFloat((int) INT_BE.get(src, srcPos + (i << 2)));
+      }
+    } else {
+      for (int i = 0; i < count; i++) {
+        dest[destPos + i] = Float.intBitsToFloat((int) INT_LE.get(src, srcPos + (i << 2)));
+      }
+    }
+    return dest;
+  }
+
+  /**
+   * 解码 IEEE 754 双精度浮点数
+   *
+   * @param src     源数据
+   * @param srcPos  源数据开始的位置
+   * @param dest    目标数组
+   * @param destPos 目标数组开始的位置
+   * @param count   数量
+   * @param order   字节序
+   * @return 返回目标数组
+   */
+  public static double[] decodeDouble(byte[] src, int srcPos, double[] dest, int destPos, int count, ByteOrder order) {
+    checkRange(src.length, srcPos, count << 3);
+    checkRange(dest.length, destPos, count);
+    if (order == ByteOrder.BIG_ENDIAN) {
+      for (int i = 0; i < count; i++) {
+        dest[destPos + i] = Double.longBitsToDouble((long) LONG_BE.get(src, srcPos + (i << 3)));
+      }
+    } else {
+      for (int i = 0; i < count; i++) {
+        dest[destPos + i] = Double.longBitsToDouble((long) LONG_LE.get(src, srcPos + (i << 3)));
+      }
+    }
+    return dest;
+  }
+
+  /**
+   * 缩放：dest[i] = src[i] * gain + offset
+   *
+   * @param src     源数组
+   * @param srcPos  源数组开始的位置
+   * @param dest    目标数组
+   * @param destPos 目标数组开始的位置
+   * @param count   数量
+   * @param gain    增益
+   * @param offset  偏移
+   * @return 返回目标数组
+   */
+  public static float[] scale(short[] src, int srcPos, float[] dest, int destPos, int count, float gain, float offset) {
+    checkRange(src.length, srcPos, count);
+    checkRange(dest.length, destPos, count);
+    for (int i = 0; i < count; i++) {
+      dest[destPos + i] = src[srcPos + i] * gain + offset;
+    }
+    return dest;
+  }
+
+  /**
+   * 缩放：dest[i] = src[i] * gain + offset
+   *
+   * @param src     源数组
+   * @param srcPos  源数组开始的位置
+   * @param dest    目标数组
+   * @param destPos 目标数组开始的位置
+   * @param count   数量
+   * @param gain    增益
+   * @param offset  偏移
+   * @return 返回目标数组
+   */
+  public static double[] scale(short[] src, int srcPos, double[] dest, int destPos, int count, double gain, double offset) {
+    checkRange(src.length, srcPos, count);
+    checkRange(dest.length, destPos, count);
+    for (int i = 0; i < count; i++) {
+      dest[destPos + i] = src[srcPos + i] * gain + offset;
+    }
+    return dest;
+  }
+
+  /**
+   * 缩放：dest[i] = src[i] * gain + offset
+   *
+   * @param src     源数组
+   * @param srcPos  源数组开始的位置
+   * @param dest    目标数组
+   * @param destPos 目标数组开始的位置
+   * @param count   数量
+   * @param gain    增益
+   * @param offset  偏移
+   * @return 返回目标数组
+   */
+  public static float[] scale(int[] src, int srcPos, float[] dest, int destPos, int count, float gain, float offset) {
+    checkRange(src.length, srcPos, count);
+    checkRange(dest.length, destPos, count);
+    for (int i = 0; i < count; i++) {
+      dest[destPos + i] = src[srcPos + i] * gain + offset;
+    }
+    return dest;
+  }
+
+  /**
+   * 缩放：dest[i] = src[i] * gain + offset
+   *
+   * @param src     源数组
+   * @param srcPos  源数组开始的位置
+   * @param dest    目标数组
+   * @param destPos 目标数组开始的位置
+   * @param count   数量
+   * @param gain    增益
+   * @param offset  偏移
+   * @return 返回目标数组
+   */
+  public static double[] scale(int[] src, int srcPos, double[] dest, int destPos, int count, double gain, double offset) {
+    checkRange(src.length, srcPos, count);
+    checkRange(dest.length, destPos, count);
+    for (int i = 0; i < count; i++) {
+      dest[destPos + i] = src[srcPos + i] * gain + offset;
+    }
+    return dest;
+  }
+
+  /**
+   * 原地缩放：array[i] = array[i] * gain + offset
+   *
+   * @param array  数组
+   * @param pos    开始的位置
+   * @param count  数量
+   * @param gain   增益
+   * @param offset 偏移
+   * @return 返回数组
+   */
+  public static float[] scale(float[] array, int pos, int count, float gain, float offset) {
+    checkRange(array.length, pos, count);
+    for (int i = pos, end = pos + count; i < end; i++) {
+      array[i] = array[i] * gain + offset;
+    }
+    return array;
+  }
+
+  /**
+   * 原地缩放：array[i] = array[i] * gain + offset
+   *
+   * @param array  数组
+   * @param pos    开始的位置
+   * @param count  数量
+   * @param gain   增益
+   * @param offset 偏移
+   * @return 返回数组
+   */
+  public static double[] scale(double[] array, int pos, int count, double gain, double offset) {
+    checkRange(array.length, pos, count);
+    for (int i = pos, end = pos + count; i < end; i++) {
+      array[i] = array[i] * gain + offset;
+    }
+    return array;
+  }
+
+  /**
+   * 拓宽：short -> int
+   *
+   * @param src     源数组
+   * @param srcPos  源数组开始的位置
+   * @param dest    目标数组
+   * @param destPos 目标数组开始的位置
+   * @param count   数量
+   * @return 返回目标数组
+   */
+  public static int[] widen(short[] src, int srcPos, int[] dest, int destPos, int count) {
+    checkRange(src.length, srcPos, count);
+    checkRange(dest.length, destPos, count);
+    for (int i = 0; i < count; i++) {
+      dest[destPos + i] = src[srcPos + i];
+    }
+    return dest;
+  }
+
+  /**
+   * 拓宽：int -> float
+   *
+   * @param src     源数组
+   * @param srcPos  源数组开始的位置
+   * @param dest    目标数组
+   * @param destPos 目标数组开始的位置
+   * @param count   数量
+   * @return 返回目标数组
+   */
+  public static float[] widen(int[] src, int srcPos, float[] dest, int destPos, int count) {
+    checkRange(src.length, srcPos, count);
+    checkRange(dest.length, destPos, count);
+    for (int i = 0; i < count; i++) {
+      dest[destPos + i] = src[srcPos + i];
+    }
+    return dest;
+  }
+
+  /**
+   * 拓宽：int -> double
+   *
+   * @param src     源数组
+   * @param srcPos  源数组开始的位置
+   * @param dest    目标数组
+   * @param destPos 目标数组开始的位置
+   * @param count   数量
+   * @return 返回目标数组
+   */
+  public static double[] widen(int[] src, int srcPos, double[] dest, int destPos, int count) {
+    checkRange(src.length, srcPos, count);
+    checkRange(dest.length, destPos, count);
+    for (int i = 0; i < count; i++) {
+      dest[destPos + i] = src[srcPos + i];
+    }
+    return dest;
+  }
+
+  /**
+   * 拓宽：float -> double
+   *
+   * @param src     源数组
+   * @param srcPos  源数组开始的位置
+   * @param dest    目标数组
+   * @param destPos 目标数组开始的位置
+   * @param count   数量
+   * @return 返回目标数组
+   */
+  public static double[] widen(float[] src, int srcPos, double[] dest, int destPos, int count) {
+    checkRange(src.length, srcPos, count);
+    checkRange(dest.length, destPos, count);
+    for (int i = 0; i < count; i++) {
+      dest[destPos + i] = src[srcPos + i];
+    }
+    return dest;
+  }
+
+}
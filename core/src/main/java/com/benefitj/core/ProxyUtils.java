@@ -7,7 +7,6 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * 代理工具
@@ -20,20 +19,22 @@ public class ProxyUtils {
    * @param interfaceType 接口类型
    * @param <T>           代理类型
    * @return 返回创建的代理
+   * @see ListenerMulticaster
    */
   public static <T> T newListProxy(Class<T> interfaceType) {
-    return newListProxy(interfaceType, Collections.synchronizedList(new ArrayList<>()));
+    return newCopyListProxy(interfaceType);
   }
 
   /**
-   * 创建List的代理
+   * 创建List的代理，监听保存在写时复制的数组中，分发时不加锁
    *
    * @param interfaceType 接口类型
    * @param <T>           代理类型
    * @return 返回创建的代理
+   * @see ListenerMulticaster
    */
   public static <T> T newCopyListProxy(Class<T> interfaceType) {
-    return newListProxy(interfaceType, new CopyOnWriteArrayList<>());
+    return ListenerMulticaster.of(interfaceType).getProxy();
   }
 
   /**
@@ -51,11 +52,11 @@ public class ProxyUtils {
     ClassLoader loader = interfaceType.getClassLoader();
     return (T) Proxy.newProxyInstance(loader, new Class[]{interfaceType, List.class}, (proxy, method, args) -> {
       if (method.getDeclaringClass().isAssignableFrom(List.class)) {
-        return ReflectUtils.invoke(list, method, args);
+        return ReflectUtils.invokeFast(list, method, args);
       } else {
         Object value = null;
         for (Object target : list) {
-          Object newValue = ReflectUtils.invoke(target, method, args);
+          Object newValue = ReflectUtils.invokeFast(target, method, args);
           if (newValue != null) {
             value = newValue;
           }
@@ -91,11 +92,11 @@ public class ProxyUtils {
     ClassLoader loader = interfaceType.getClassLoader();
     return (T) Proxy.newProxyInstance(loader, new Class[]{interfaceType, Set.class}, (proxy, method, args) -> {
       if (method.getDeclaringClass().isAssignableFrom(Set.class)) {
-        return ReflectUtils.invoke(set, method, args);
+        return ReflectUtils.invokeFast(set, method, args);
       } else {
         Object value = null;
         for (Object target : set) {
-          Object newValue = ReflectUtils.invoke(target, method, args);
+          Object newValue = ReflectUtils.invokeFast(target, method, args);
           if (newValue != null) {
             value = newValue;
           }
@@ -131,11 +132,11 @@ public class ProxyUtils {
     ClassLoader loader = interfaceType.getClassLoader();
     return (T) Proxy.newProxyInstance(loader, new Class[]{interfaceType, Map.class}, (proxy, method, args) -> {
       if (method.getDeclaringClass().isAssignableFrom(Map.class)) {
-        return ReflectUtils.invoke(map, method, args);
+        return ReflectUtils.invokeFast(map, method, args);
       } else {
         Object value = null;
         for (Object target : map.values()) {
-          value = ReflectUtils.invoke(target, method, args);
+          value = ReflectUtils.invokeFast(target, method, args);
         }
         return getReturnValue(method, value);
       }
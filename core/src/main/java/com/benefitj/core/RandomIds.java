@@ -0,0 +1,161 @@
+package com.benefitj.core;
+
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 快速生成随机字符串和 UUID
+ * <p>
+ * 每次取一个 64 位随机数，按字符表大小拆出多个字符(超出字符表的值丢弃，保证均匀分布)，
+ * 直接写入 Latin-1 的 byte[] 后创建字符串；随机数来自 {@link ThreadLocalRandom}，不会阻塞，不适用于安全相关的场景
+ */
+public final class RandomIds {
+
+  /**
+   * 版本7 UUID 最近的状态：毫秒时间戳(48位) + 计数器(12位)
+   */
+  private static final AtomicLong UUID7_STATE = new AtomicLong();
+
+  private RandomIds() {
+  }
+
+  /**
+   * 生成随机字符串
+   *
+   * @param chars  字符表
+   * @param prefix 前缀
+   * @param suffix 后缀
+   * @param length 随机字符串长度
+   * @return 返回随机字符串
+   */
+  public static String next(char[] chars, String prefix, String suffix, int length) {
+    prefix = prefix != null ? prefix : "";
+    suffix = suffix != null ? suffix : "";
+    if (!isLatin1(chars) || !isLatin1(prefix) || !isLatin1(suffix)) {
+      char[] buf = new char[length];
+      for (int i = 0; i < length; i++) {
+        buf[i] = chars[ThreadLocalRandom.current().nextInt(chars.length)];
+      }
+      return prefix + new String(buf) + suffix;
+    }
+    int p = prefix.length();
+    byte[] dest = new byte[p + length + suffix.length()];
+    copyLatin1(prefix, dest, 0);
+    nextBytes(chars, dest, p, length);
+    copyLatin1(suffix, dest, p + length);
+    return new String(dest, StandardCharsets.ISO_8859_1);
+  }
+
+  /**
+   * 写入随机字符，字符表中的字符需在 Latin-1 范围内
+   *
+   * @param chars  字符表
+   * @param dest   目标数组
+   * @param offset 开始的位置
+   * @param len    长度
+   */
+  public static void nextBytes(char[] chars, byte[] dest, int offset, int len) {
+    final int n = chars.length;
+    if (n == 0) {
+      throw new IllegalArgumentException("chars is empty");
+    }
+    // 每个字符占用的位数
+    final int bits = n == 1 ? 1 : 32 - Integer.numberOfLeadingZeros(n - 1);
+    final int mask = (1 << bits) - 1;
+    final int perDraw = 64 / bits;
+    final ThreadLocalRandom random = ThreadLocalRandom.current();
+    for (int i = offset, end = offset + len; i < end; ) {
+      long r = random.nextLong();
+      for (int k = 0; k < perDraw && i < end; k++, r >>>= bits) {
+        int idx = (int) r & mask;
+        if (idx < n) {
+          dest[i++] = (byte) chars[idx];
+        }
+      }
+    }
+  }
+
+  /**
+   * 随机的 UUID(版本4)，使用 {@link ThreadLocalRandom}
+   */
+  public static UUID uuid4() {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    long msb = (random.nextLong() & ~0xF000L) | 0x4000L;
+    long lsb = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+    return new UUID(msb, lsb);
+  }
+
+  /**
+   * 按时间排序的 UUID(版本7)：48 位毫秒时间戳 + 12 位计数器 + 62 位随机数，不会阻塞
+   * <p>
+   * 计数器(RFC 9562 6.2 方法1)在新的毫秒以随机值开始(最高位为 0，保留递增的空间)，同一毫秒内递增，
+   * 溢出时进位到时间戳；时钟回拨时沿用之前的时间戳，同一个 JVM 内生成的 UUID 严格递增
+   */
+  public static UUID uuid7() {
+    final long now = System.currentTimeMillis() << 12;
+    long prev, next;
+    do {
+      prev = UUID7_STATE.get();
+      next = (prev >>> 12) < (now >>> 12)
+          ? now | (ThreadLocalRandom.current().nextInt() & 0x07FF)
+          : prev + 1;
+    } while (!UUID7_STATE.compareAndSet(prev, next));
+    long msb = ((next >>> 12) << 16) | 0x7000L | (next & 0x0FFFL);
+    long lsb = (ThreadLocalRandom.current().nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+    return new UUID(msb, lsb);
+  }
+
+  /**
+   * 按时间排序的 UUID(版本7)，12 位随机数代替计数器，同一毫秒内不保证顺序
+   *
+   * @param timeMillis 时间戳(毫秒)
+   * @return 返回 UUID
+   */
+  public static UUID uuid7(long timeMillis) {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    long msb = (timeMillis << 16) | 0x7000L | (random.nextInt() & 0x0FFFL);
+    long lsb = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+    return new UUID(msb, lsb);
+  }
+
+  /**
+   * UUID 转换为32位不带 '-' 的小写16进制字符串
+   *
+   * @param uuid UUID
+   * @return 返回字符串
+   */
+  public static String toHex(UUID uuid) {
+    byte[] bin = new byte[16];
+    BinaryViews.put(bin, 0, uuid.getMostSignificantBits(), 8, ByteOrder.BIG_ENDIAN);
+    BinaryViews.put(bin, 8, uuid.getLeastSignificantBits(), 8, ByteOrder.BIG_ENDIAN);
+    return HexEncoder.LOWER_CASE.encode(bin);
+  }
+
+  static boolean isLatin1(char[] chars) {
+    for (char c : chars) {
+      if (c > 0xFF) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  static boolean isLatin1(String str) {
+    for (int i = 0; i < str.length(); i++) {
+      if (str.charAt(i) > 0xFF) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  static void copyLatin1(String str, byte[] dest, int pos) {
+    for (int i = 0; i < str.length(); i++) {
+      dest[pos + i] = (byte) str.charAt(i);
+    }
+  }
+
+}
@@ -284,6 +284,34 @@ public class ReflectUtils {
     }
   }
 
+  /**
+   * 迭代缓存的成员，与 {@link #find(Class, Function, Predicate, Consumer, Predicate, boolean, boolean)} 的顺序一致
+   */
+  static <T> void findCached(final Class<?> type,
+                             final Function<ClassMetadataCache.ClassMetadata, T[]> call,
+                             final Predicate<T> filter,
+                             final Consumer<T> consumer,
+                             final Predicate<T> interceptor,
+                             boolean superclass,
+                             boolean fromTopToBottom) {
+    if (type == null || type == Object.class) {
+      return;
+    }
+    ClassMetadataCache.ClassMetadata metadata = ClassMetadataCache.get(type);
+    int depth = superclass ? metadata.depth() : Math.min(1, metadata.depth());
+    for (int i = 0; i < depth; i++) {
+      T[] ts = call.apply(metadata.level(fromTopToBottom ? depth - 1 - i : i));
+      for (T t : ts) {
+        if (filter == null || filter.test(t)) {
+          consumer.accept(t);
+        }
+        if (interceptor.test(t)) {
+          return;
+        }
+      }
+    }
+  }
+
   /**
    * 处理字段，如果出现
    *
@@ -373,7 +401,7 @@ public class ReflectUtils {
                                 Predicate<Field> interceptor,
                                 boolean superclass,
                                 boolean fromTopToBottom) {
-    find(type, Class::getDeclaredFields, filter, consumer, interceptor, superclass, fromTopToBottom);
+    findCached(type, ClassMetadataCache.ClassMetadata::declaredFields, filter, consumer, interceptor, superclass, fromTopToBottom);
   }
 
   /**
@@ -421,7 +449,7 @@ public class ReflectUtils {
    */
   @Nullable
   public static Field getField(Class<?> type, String name) {
-    return getField(type, f -> f.getName().equals(name));
+    return type != null ? ClassMetadataCache.get(type).getField(name) : null;
   }
 
   /**
@@ -554,7 +582,7 @@ public class ReflectUtils {
                                  Predicate<Method> interceptor,
                                  boolean superclass,
                                  boolean fromTopToBottom) {
-    find(type, Class::getDeclaredMethods, filter, consumer, interceptor, superclass, fromTopToBottom);
+    findCached(type, ClassMetadataCache.ClassMetadata::declaredMethods, filter, consumer, interceptor, superclass, fromTopToBottom);
   }
 
   /**
@@ -599,7 +627,7 @@ public class ReflectUtils {
    * @return 返回获取到的Method
    */
   public static Method getMethod(Class<?> type, String name) {
-    return getMethod(type, m -> m.getName().equals(name));
+    return type != null ? ClassMetadataCache.get(type).getMethod(name) : null;
   }
 
   /**
@@ -624,14 +652,7 @@ public class ReflectUtils {
    * @return 返回获取到的Method
    */
   public static Method getMethod(Class<?> type, String name, Class<?>[] parametersTypes) {
-    if (type != Object.class) {
-      try {
-        return type.getDeclaredMethod(name, parametersTypes);
-      } catch (NoSuchMethodException e) {
-        return getMethod(type.getSuperclass(), name, parametersTypes);
-      }
-    }
-    return null;
+    return type != null ? ClassMetadataCache.get(type).getMethod(name, parametersTypes) : null;
   }
 
   /**
@@ -719,6 +740,25 @@ public class ReflectUtils {
     }
   }
 
+  /**
+   * 调用方法，使用缓存的 {@link FastInvoker}，适合频繁调用的方法
+   *
+   * @param obj    对象
+   * @param method 方法
+   * @param args   参数
+   * @param <T>    返回值类型
+   * @return 返回返回值
+   */
+  public static <T> T invokeFast(Object obj, Method method, Object... args) {
+    try {
+      return (T) FastInvoker.of(method).invoke(obj, args);
+    } catch (Error e) {
+      throw e;
+    } catch (Throwable e) {
+      throw new IllegalStateException(CatchUtils.findRoot(e));
+    }
+  }
+
   /**
    * 调用方法
    *
@@ -744,9 +784,7 @@ public class ReflectUtils {
    */
   public static <T> T invokeDefault(MethodHandles.Lookup lookup, Object obj, Method method, Object... args) {
     try {
-      return (T) lookup.unreflectSpecial(method, method.getDeclaringClass())
-          .bindTo(obj)
-          .invokeWithArguments(args);
+      return (T) FastInvoker.ofDefault(method, lookup).invoke(obj, args);
     } catch (Throwable e) {
       throw new IllegalStateException(CatchUtils.findRoot(e));
     }
@@ -764,11 +802,7 @@ public class ReflectUtils {
   public static <T> T invokeDefault(Object obj, Method method, Object... args) {
     if (!method.isDefault()) throw new IllegalArgumentException("不是默认方法!");
     try {
-      return (T) DefaultMethods.lookupMethodHandle(method)
-          .bindTo(obj)
-          .invokeWithArguments(args);
-      //MethodHandles.Lookup lookup = newInstance(MethodHandles.Lookup.class, method.getDeclaringClass());
-      //return invokeDefault(lookup, obj, method, args);
+      return (T) FastInvoker.ofDefault(method).invoke(obj, args);
     } catch (Throwable e) {
       String parameterTypes = Arrays.toString(method.getParameterTypes());
       String className = method.getDeclaringClass().getSimpleName();
@@ -1,5 +1,9 @@
 package com.benefitj.core;
 
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
 /**
  * Twitter_Snowflake<br>
  * SnowFlake的结构如下(每部分用-分开):<br>
@@ -10,6 +14,7 @@ package com.benefitj.core;
  * 10位的数据机器位，可以部署在1024个节点，包括5位datacenterId和5位workerId<br>
  * 12位序列，毫秒内的计数，12位的计数顺序号支持每个节点每毫秒(同一机器，同一时间截)产生4096个ID序号<br>
  * 加起来刚好64位，为一个Long型。<br>
+ * 时间戳与序列打包在一个 AtomicLong 中，通过 CAS 分配，不加锁；批量获取时一次 CAS 预留一段连续的序列<br>
  * SnowFlake的优点是，整体上按照时间自增排序，并且整个分布式系统内不会产生ID碰撞(由数据中心ID和机器ID作区分)，并且效率较高，经测试，SnowFlake每秒能够产生26万ID左右。
  */
 public class SnowflakeIdWorker {
@@ -57,11 +62,17 @@ public class SnowflakeIdWorker {
   /** 数据中心ID(0~31) */
   private long datacenterId;
 
-  /** 毫秒内序列(0~4095) */
-  private long sequence = 0L;
+  /** 数据中心和机器ID移位后的值 */
+  private final long node;
+
+  /** 上次分配的 (时间截 - 开始时间截) << 12 | 毫秒内序列 */
+  private final AtomicLong state = new AtomicLong();
+
+  /** 时钟回退时的处理方式 */
+  private final ClockBackwards clockBackwards;
 
-  /** 上次生成ID的时间截 */
-  private long lastTimestamp = -1L;
+  /** 最多可以借用的未来毫秒数 */
+  private final long maxBorrowMillis;
 
   //==============================Constructors=====================================
   /**
@@ -70,14 +81,31 @@ public class SnowflakeIdWorker {
    * @param datacenterId 数据中心ID (0~31)
    */
   public SnowflakeIdWorker(long workerId, long datacenterId) {
+    this(workerId, datacenterId, ClockBackwards.THROW, 0);
+  }
+
+  /**
+   * 构造函数
+   * @param workerId 工作ID (0~31)
+   * @param datacenterId 数据中心ID (0~31)
+   * @param clockBackwards 时钟回退时的处理方式
+   * @param maxBorrowMillis 最多可以借用的未来毫秒数，仅对 {@link ClockBackwards#BORROW} 有效
+   */
+  public SnowflakeIdWorker(long workerId, long datacenterId, ClockBackwards clockBackwards, long maxBorrowMillis) {
     if (workerId > maxWorkerId || workerId < 0) {
       throw new IllegalArgumentException(String.format("worker Id can't be greater than %d or less than 0", maxWorkerId));
     }
     if (datacenterId > maxDatacenterId || datacenterId < 0) {
       throw new IllegalArgumentException(String.format("datacenter Id can't be greater than %d or less than 0", maxDatacenterId));
     }
+    if (maxBorrowMillis < 0) {
+      throw new IllegalArgumentException("maxBorrowMillis can't be less than 0");
+    }
     this.workerId = workerId;
     this.datacenterId = datacenterId;
+    this.node = (datacenterId << datacenterIdShift) | (workerId << workerIdShift);
+    this.clockBackwards = clockBackwards;
+    this.maxBorrowMillis = maxBorrowMillis;
   }
 
   // ==============================Methods==========================================
@@ -85,37 +113,101 @@ public class SnowflakeIdWorker {
    * 获得下一个ID (该方法是线程安全的)
    * @return SnowflakeId
    */
-  public synchronized long nextId() {
-    long timestamp = timeGen();
-
-    //如果当前时间小于上一次ID生成的时间戳，说明系统时钟回退过这个时候应当抛出异常
-    if (timestamp < lastTimestamp) {
-      throw new IllegalArgumentException(
-          String.format("Clock moved backwards.  Refusing to generate id for %d milliseconds", lastTimestamp - timestamp));
+  public long nextId() {
+    for (; ; ) {
+      long current = state.get();
+      long now = timeGen() - twepoch;
+      long start = next(current, now);
+      if (start >= 0 && state.compareAndSet(current, start)) {
+        return toId(start);
+      }
     }
+  }
 
-    //如果是同一时间生成的，则进行毫秒内序列
-    if (lastTimestamp == timestamp) {
-      sequence = (sequence + 1) & sequenceMask;
-      //毫秒内序列溢出
-      if (sequence == 0) {
-        //阻塞到下一个毫秒,获得新的时间戳
-        timestamp = tilNextMillis(lastTimestamp);
+  /**
+   * 批量获取ID，填满数组 (该方法是线程安全的)，同一次 CAS 预留的ID是连续的
+   * @param dest 目标数组
+   * @return 返回目标数组
+   */
+  public long[] nextIds(long[] dest) {
+    return nextIds(dest, 0, dest.length);
+  }
+
+  /**
+   * 批量获取ID (该方法是线程安全的)，同一次 CAS 预留的ID是连续的
+   * @param dest 目标数组
+   * @param offset 开始的位置
+   * @param len 数量
+   * @return 返回目标数组
+   */
+  public long[] nextIds(long[] dest, int offset, int len) {
+    for (int i = offset, end = offset + len; i < end; ) {
+      long current = state.get();
+      long now = timeGen() - twepoch;
+      long start = next(current, now);
+      if (start < 0) {
+        continue;
+      }
+      long n = limit(start, now, end - i);
+      if (state.compareAndSet(current, start + n - 1)) {
+        for (long s = start, stop = start + n; s < stop; s++) {
+          dest[i++] = toId(s);
+        }
       }
     }
-    //时间戳改变，毫秒内序列重置
-    else {
-      sequence = 0L;
+    return dest;
+  }
+
+  /**
+   * 计算下一个序列
+   * @param current 上次分配的序列
+   * @param now 当前的时间截(相对开始时间截)
+   * @return 返回下一个序列，需要等待时返回 -1
+   */
+  private long next(long current, long now) {
+    long last = current >>> sequenceBits;
+    long start = Math.max(current + 1, now << sequenceBits);
+    long ahead = (start >>> sequenceBits) - now;
+    if (ahead <= 0) {
+      return start;
     }
+    //如果当前时间小于上一次ID生成的时间戳，说明系统时钟回退过
+    if (last > now && (clockBackwards == ClockBackwards.THROW
+        || (clockBackwards == ClockBackwards.BORROW && ahead > maxBorrowMillis))) {
+      throw new IllegalArgumentException(
+          String.format("Clock moved backwards.  Refusing to generate id for %d milliseconds", last - now));
+    }
+    if (clockBackwards == ClockBackwards.BORROW && ahead <= maxBorrowMillis) {
+      return start;
+    }
+    //毫秒内序列溢出或时钟回退，等待时钟追上
+    waitMillis(ahead);
+    return -1;
+  }
 
-    //上次生成ID的时间截
-    lastTimestamp = timestamp;
+  /**
+   * 一次预留的数量：借用时可以跨越毫秒(不超过可借用的范围)，否则不超过当前毫秒剩余的序列
+   */
+  private long limit(long start, long now, int max) {
+    long remaining = clockBackwards == ClockBackwards.BORROW
+        ? ((now + maxBorrowMillis + 1) << sequenceBits) - start
+        : (sequenceMask + 1) - (start & sequenceMask);
+    return Math.min(max, remaining);
+  }
+
+  /**
+   * 移位并通过或运算拼到一起组成64位的ID
+   */
+  private long toId(long s) {
+    return ((s >>> sequenceBits) << timestampLeftShift) | node | (s & sequenceMask);
+  }
 
-    //移位并通过或运算拼到一起组成64位的ID
-    return ((timestamp - twepoch) << timestampLeftShift) //
-        | (datacenterId << datacenterIdShift) //
-        | (workerId << workerIdShift) //
-        | sequence;
+  private void waitMillis(long millis) {
+    if (millis > 1) {
+      LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(millis - 1));
+    } else {
+      Thread.onSpinWait();
+    }
   }
 
   /**
@@ -139,4 +231,22 @@ public class SnowflakeIdWorker {
     return System.currentTimeMillis();
   }
 
+  /**
+   * 时钟回退时的处理方式
+   */
+  public enum ClockBackwards {
+    /**
+     * 抛出异常
+     */
+    THROW,
+    /**
+     * 等待时钟追上上次的时间戳
+     */
+    WAIT,
+    /**
+     * 借用未来的毫秒继续分配，超过可借用的范围时抛出异常；毫秒内序列溢出时同样借用
+     */
+    BORROW,
+  }
+
 }
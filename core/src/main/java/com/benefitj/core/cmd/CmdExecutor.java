@@ -25,6 +25,12 @@ public class CmdExecutor {
     return single.get();
   }
 
+  /**
+   * 默认读取进程输出的线程池
+   */
+  static final SingletonSupplier<ScheduledExecutorService> readers = SingletonSupplier.of(() ->
+      EventLoop.newEventLoop("cmd-reader-", Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors())), true));
+
   /**
    * 是否为windows
    */
@@ -67,6 +73,10 @@ public class CmdExecutor {
    * 调度器
    */
   private ScheduledExecutorService executor = EventLoop.io();
+  /**
+   * 读取进程输出的线程池(异步调用)
+   */
+  private ScheduledExecutorService readerExecutor;
   /**
    * 等待中的执行命令
    */
@@ -110,6 +120,22 @@ public class CmdExecutor {
     return getExecutor().schedule(command, delay, unit);
   }
 
+  /**
+   * 读取进程输出的线程池，未设置时使用共享的线程池
+   */
+  public ScheduledExecutorService getReaderExecutor() {
+    ScheduledExecutorService executor = this.readerExecutor;
+    return executor != null ? executor : readers.get();
+  }
+
+  /**
+   * 设置读取进程输出的线程池，读取不会阻塞线程，少量的线程即可
+   */
+  public CmdExecutor setReaderExecutor(ScheduledExecutorService readerExecutor) {
+    this.readerExecutor = readerExecutor;
+    return this;
+  }
+
   /**
    * 获取等待中的进程
    */
@@ -216,10 +242,7 @@ public class CmdExecutor {
         // 处理消息
         handle(getExecutor(), process, call, cb);
         // 等待进程结束
-        while (process.isAlive()) Thread.currentThread().join(5);
-        // 等待
-        //int exitValue = process.waitFor();
-        call.setExitCode(process.exitValue());
+        call.setExitCode(process.waitFor());
         // 移除等待的缓存
         cancelTimeout(call.getId());
         // 调用结束
@@ -235,6 +258,140 @@ public class CmdExecutor {
     return call;
   }
 
+  /**
+   * 异步调用命令
+   *
+   * @param cmd 命令
+   * @return 返回调用的结果
+   */
+  public CompletableFuture<CmdCall> callAsync(String cmd) {
+    return callAsync(cmd, null, null, 0, null);
+  }
+
+  /**
+   * 异步调用命令
+   *
+   * @param cmd      命令
+   * @param timeout  超时时长
+   * @param callback 回调
+   * @return 返回调用的结果
+   */
+  public CompletableFuture<CmdCall> callAsync(String cmd, long timeout, @Nullable Callback callback) {
+    return callAsync(cmd, null, null, timeout, callback);
+  }
+
+  /**
+   * 异步调用命令
+   * <p>
+   * 进程结束由 {@link Process#onExit()} 通知，输出由读取线程池非阻塞地按行读取({@link Callback#onMessage})，
+   * 等待期间不占用线程，可以同时运行大量的子进程；不受 {@link #getMaxCallNum()} 的限制。
+   * 取消返回的 Future 会强制结束进程
+   *
+   * @param cmd      命令
+   * @param envp     环境变量
+   * @param dir      上下文目录
+   * @param timeout  超时时长，小于等于0时使用默认的超时时长
+   * @param callback 回调
+   * @return 返回调用的结果，进程结束且输出读取完成后完成；出现异常时，异常保存在 {@link CmdCall#getException()}
+   */
+  public CompletableFuture<CmdCall> callAsync(String cmd, @Nullable List<String> envp, @Nullable File dir, long timeout, @Nullable Callback callback) {
+    final Callback cb = callback != null ? callback : Callback.EMPTY_CALLBACK;
+    final String[] envparams = envp != null ? envp.toArray(new String[0]) : new String[0];
+    final CmdCall call = createCmdCall(IdUtils.uuid());
+    call.setCmd(cmd);
+    call.setCtxDir(dir);
+    call.setEnvp(envparams);
+    final CompletableFuture<CmdCall> future = new CompletableFuture<>();
+    final Process process;
+    try {
+      cb.onStart(call);
+      cb.onCallBefore(call, cmd, envparams, dir);
+      process = Runtime.getRuntime().exec(cmd, envparams, dir);
+      call.setProcess(process);
+      cb.onCallAfter(process, call);
+      startTimeout(call, timeout);
+      cb.onWaitForBefore(process, call);
+    } catch (Throwable e) {
+      if (call.getProcess() != null) {
+        call.getProcess().destroyForcibly();
+        cancelTimeout(call.getId());
+      }
+      call.setException(e);
+      onAsyncError(call, cb, e);
+      onAsyncFinish(call, cb);
+      future.complete(call);
+      return future;
+    }
+    // 读取输出
+    final ScheduledExecutorService readers = getReaderExecutor();
+    final Charset charset = jnuCharset();
+    final List<String> msgLines = new LinkedList<>();
+    final List<String> errLines = new LinkedList<>();
+    final StreamPump out = new StreamPump(process, process.getInputStream(), charset, readers, line -> {
+      msgLines.add(line);
+      cb.onMessage(call, msgLines, line, false);
+    });
+    final StreamPump err = new StreamPump(process, process.getErrorStream(), charset, readers, line -> {
+      errLines.add(line);
+      cb.onMessage(call, errLines, line, true);
+    });
+    out.start();
+    err.start();
+    process.onExit().thenRun(() -> {
+      out.wakeup();
+      err.wakeup();
+    });
+    CompletableFuture.allOf(process.onExit(), out.done(), err.done())
+        .whenCompleteAsync((v, e) -> {
+          if (future.isDone()) {
+            return;
+          }
+          try {
+            call.setMessage(String.join(CRLF, msgLines));
+            call.setError(String.join(CRLF, errLines));
+            call.setExitCode(process.exitValue());
+            cancelTimeout(call.getId());
+            if (e != null) {
+              Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+              call.setException(cause);
+              onAsyncError(call, cb, cause);
+            } else {
+              cb.onWaitForAfter(process, call);
+            }
+          } catch (Throwable ex) {
+            call.setException(ex);
+            onAsyncError(call, cb, ex);
+          } finally {
+            onAsyncFinish(call, cb);
+            future.complete(call);
+          }
+        }, readers);
+    // 取消时结束进程
+    future.whenComplete((c, e) -> {
+      if (future.isCancelled()) {
+        cancelTimeout(call.getId());
+        process.destroyForcibly();
+      }
+    });
+    return future;
+  }
+
+  private void onAsyncError(CmdCall call, Callback cb, Throwable e) {
+    try {
+      cb.onError(call, e);
+    } catch (Throwable ignore) {
+      // ~
+    }
+  }
+
+  private void onAsyncFinish(CmdCall call, Callback cb) {
+    try {
+      cb.onFinish(call);
+    } catch (Throwable ignore) {
+      // ~
+    }
+  }
+
   /**
    * 取消超时时长的调度
    *
@@ -373,6 +530,14 @@ public class CmdExecutor {
     void accept(Object lock) throws InterruptedException;
   }
 
+  /**
+   * 进程输出的编码
+   */
+  static Charset jnuCharset() {
+    String encoding = System.getProperty("sun.jnu.encoding");
+    return encoding != null && Charset.isSupported(encoding) ? Charset.forName(encoding) : Charset.defaultCharset();
+  }
+
   /**
    * 处理进程
    *
@@ -394,7 +559,7 @@ public class CmdExecutor {
   public static void handle(Executor executor, Process process, CmdCall call, Callback cb) {
     try {
       // 读取消息
-      Charset charset = Charset.forName(System.getProperty("sun.jnu.encoding"));
+      Charset charset = jnuCharset();
       try (BufferedReader pipeReader = IOUtils.wrapReader(process.getInputStream(), charset);
            BufferedReader errorReader = IOUtils.wrapReader(process.getErrorStream(), charset);) {
         List<String> msgLines = new LinkedList<>();
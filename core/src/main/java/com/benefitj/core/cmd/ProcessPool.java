@@ -0,0 +1,659 @@
+package com.benefitj.core.cmd;
+
+import com.benefitj.core.CatchUtils;
+
+import javax.annotation.Nullable;
+import java.io.*;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * 进程池：同一个命令保持多个常驻的工作进程，请求通过 stdin/stdout 传递，避免每次调用都创建进程
+ * <p>
+ * 帧格式：4字节长度(大端) + 数据。请求和响应都是一帧，工作进程依次读取请求并写回响应；
+ * 响应的长度为负数时表示处理失败，后面 -length 个字节是错误信息。
+ * 工作进程处理 {@link #getMaxRequests()} 个请求后被回收，stderr 的输出交给 {@link #setErrorConsumer(Consumer)}
+ */
+public class ProcessPool implements AutoCloseable {
+
+  /**
+   * 帧的最大长度
+   */
+  static final int MAX_FRAME = 256 << 20;
+
+  private final String command;
+  private final CmdExecutor cmdExecutor;
+  /**
+   * 最大的工作进程数
+   */
+  private volatile int size = Math.max(2, Runtime.getRuntime().availableProcessors());
+  /**
+   * 每个进程最多处理的请求数，超过后回收
+   */
+  private volatile int maxRequests = 1000;
+  /**
+   * 请求的超时时长(毫秒)，超时的进程会被结束
+   */
+  private volatile long requestTimeout = 30_000;
+  /**
+   * 空闲超过此时长的进程，使用前先做健康检查(毫秒)
+   */
+  private volatile long healthCheckInterval = 60_000;
+  /**
+   * 健康检查的请求，为 null 时只检查进程是否存活
+   */
+  @Nullable
+  private volatile byte[] healthCheckRequest;
+  private volatile String[] envp = new String[0];
+  @Nullable
+  private volatile File dir;
+  private volatile Consumer<String> errorConsumer = line -> {/* ignore */};
+
+  private final Object lock = new Object();
+  private final ArrayDeque<Request> queue = new ArrayDeque<>();
+  private final ArrayDeque<Worker> idle = new ArrayDeque<>();
+  private final Set<Worker> workers = new HashSet<>();
+  private boolean closed;
+
+  private final AtomicInteger workerId = new AtomicInteger();
+  private final LongAdder submitted = new LongAdder();
+  private final LongAdder completed = new LongAdder();
+  private final LongAdder failed = new LongAdder();
+  private final LongAdder spawned = new LongAdder();
+  private final LongAdder recycled = new LongAdder();
+  private final LongAdder latencyNanos = new LongAdder();
+  private final LongAdder waitNanos = new LongAdder();
+  private final AtomicLong maxLatencyNanos = new AtomicLong();
+
+  public ProcessPool(String command) {
+    this(command, CmdExecutor.get());
+  }
+
+  public ProcessPool(String command, CmdExecutor cmdExecutor) {
+    this.command = command;
+    this.cmdExecutor = cmdExecutor;
+  }
+
+  public String getCommand() {
+    return command;
+  }
+
+  public int getSize() {
+    return size;
+  }
+
+  public ProcessPool setSize(int size) {
+    if (size <= 0) {
+      throw new IllegalArgumentException("size: " + size);
+    }
+    this.size = size;
+    dispatch();
+    return this;
+  }
+
+  public int getMaxRequests() {
+    return maxRequests;
+  }
+
+  public ProcessPool setMaxRequests(int maxRequests) {
+    this.maxRequests = maxRequests > 0 ? maxRequests : Integer.MAX_VALUE;
+    return this;
+  }
+
+  public long getRequestTimeout() {
+    return requestTimeout;
+  }
+
+  public ProcessPool setRequestTimeout(long requestTimeout) {
+    this.requestTimeout = requestTimeout;
+    return this;
+  }
+
+  public long getHealthCheckInterval() {
+    return healthCheckInterval;
+  }
+
+  public ProcessPool setHealthCheckInterval(long healthCheckInterval) {
+    this.healthCheckInterval = healthCheckInterval;
+    return this;
+  }
+
+  @Nullable
+  public byte[] getHealthCheckRequest() {
+    return healthCheckRequest;
+  }
+
+  /**
+   * 健康检查的请求，工作进程能正常响应即为健康
+   */
+  public ProcessPool setHealthCheckRequest(@Nullable byte[] healthCheckRequest) {
+    this.healthCheckRequest = healthCheckRequest;
+    return this;
+  }
+
+  public String[] getEnvp() {
+    return envp;
+  }
+
+  public ProcessPool setEnvp(@Nullable List<String> envp) {
+    this.envp = envp != null ? envp.toArray(new String[0]) : new String[0];
+    return this;
+  }
+
+  @Nullable
+  public File getDir() {
+    return dir;
+  }
+
+  public ProcessPool setDir(@Nullable File dir) {
+    this.dir = dir;
+    return this;
+  }
+
+  public Consumer<String> getErrorConsumer() {
+    return errorConsumer;
+  }
+
+  public ProcessPool setErrorConsumer(Consumer<String> errorConsumer) {
+    this.errorConsumer = errorConsumer != null ? errorConsumer : line -> {/* ignore */};
+    return this;
+  }
+
+  /**
+   * 预先启动全部的工作进程
+   */
+  public ProcessPool prestart() {
+    List<Worker> started = new ArrayList<>();
+    synchronized (lock) {
+      checkOpen();
+      while (workers.size() < size) {
+        Worker w = new Worker();
+        workers.add(w);
+        started.add(w);
+      }
+    }
+    for (Worker w : started) {
+      try {
+        w.start();
+        release(w);
+      } catch (Throwable e) {
+        discard(w);
+        throw CatchUtils.throwing(e, IllegalStateException.class);
+      }
+    }
+    return this;
+  }
+
+  /**
+   * 提交请求
+   *
+   * @param request 请求的数据
+   * @return 返回响应的数据
+   */
+  public CompletableFuture<byte[]> submit(byte[] request) {
+    if (request.length > MAX_FRAME) {
+      throw new IllegalArgumentException("Request too large: " + request.length);
+    }
+    Request r = new Request(request);
+    synchronized (lock) {
+      checkOpen();
+      queue.add(r);
+    }
+    submitted.increment();
+    dispatch();
+    return r.future;
+  }
+
+  /**
+   * 提交请求
+   *
+   * @param request 请求
+   * @param charset 编码
+   * @return 返回响应
+   */
+  public CompletableFuture<String> submit(String request, Charset charset) {
+    return submit(request.getBytes(charset)).thenApply(bytes -> new String(bytes, charset));
+  }
+
+  /**
+   * 调用并等待响应
+   *
+   * @param request 请求
+   * @return 返回响应
+   */
+  public byte[] call(byte[] request) {
+    try {
+      return submit(request).get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      throw cause instanceof RuntimeException ? (RuntimeException) cause : new IllegalStateException(cause);
+    }
+  }
+
+  /**
+   * 调用并等待响应(UTF-8)
+   *
+   * @param request 请求
+   * @return 返回响应
+   */
+  public String call(String request) {
+    return new String(call(request.getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8);
+  }
+
+  private void checkOpen() {
+    if (closed) {
+      throw new IllegalStateException("ProcessPool closed: " + command);
+    }
+  }
+
+  /**
+   * 把排队的请求分配给空闲的进程
+   */
+  void dispatch() {
+    for (; ; ) {
+      final Request r;
+      final Worker w;
+      synchronized (lock) {
+        if (queue.isEmpty()) {
+          return;
+        }
+        Worker next = idle.pollFirst();
+        if (next == null) {
+          if (closed || workers.size() >= size) {
+            return;
+          }
+          next = new Worker();
+          workers.add(next);
+        }
+        w = next;
+        r = queue.poll();
+      }
+      try {
+        cmdExecutor.getExecutor().execute(() -> execute(w, r));
+      } catch (RejectedExecutionException e) {
+        discard(w);
+        fail(r, e);
+      }
+    }
+  }
+
+  void execute(Worker w, Request r) {
+    try {
+      long start = System.nanoTime();
+      waitNanos.add(start - r.createTime);
+      if (!w.isStarted()) {
+        w.start();
+      } else if (!w.isHealthy()) {
+        // 不健康的进程，换一个新的
+        w.destroy();
+        recycled.increment();
+        w = replace(w);
+        w.start();
+      }
+      byte[] response = w.exchange(r.data, requestTimeout);
+      long latency = System.nanoTime() - start;
+      latencyNanos.add(latency);
+      maxLatencyNanos.accumulateAndGet(latency, Math::max);
+      completed.increment();
+      r.future.complete(response);
+      release(w);
+    } catch (WorkerException e) {
+      // 进程返回的错误，进程仍然可用
+      fail(r, e);
+      release(w);
+    } catch (Throwable e) {
+      discard(w);
+      fail(r, e);
+    } finally {
+      dispatch();
+    }
+  }
+
+  private Worker replace(Worker old) {
+    Worker w = new Worker();
+    synchronized (lock) {
+      workers.remove(old);
+      workers.add(w);
+    }
+    return w;
+  }
+
+  private void release(Worker w) {
+    boolean retire;
+    synchronized (lock) {
+      retire = closed || w.requests >= maxRequests || !w.process.isAlive() || workers.size() > size;
+      if (retire) {
+        workers.remove(w);
+      } else {
+        idle.addFirst(w);
+      }
+    }
+    if (retire) {
+      recycled.increment();
+      w.close();
+    }
+  }
+
+  private void discard(Worker w) {
+    synchronized (lock) {
+      workers.remove(w);
+      idle.remove(w);
+    }
+    w.destroy();
+  }
+
+  private void fail(Request r, Throwable e) {
+    failed.increment();
+    r.future.completeExceptionally(e);
+  }
+
+  /**
+   * 排队中的请求数
+   */
+  public int getQueueDepth() {
+    synchronized (lock) {
+      return queue.size();
+    }
+  }
+
+  /**
+   * 获取统计信息
+   */
+  public Metrics getMetrics() {
+    Metrics m = new Metrics();
+    synchronized (lock) {
+      m.queueDepth = queue.size();
+      m.workers = workers.size();
+      m.idleWorkers = idle.size();
+    }
+    m.submitted = submitted.sum();
+    m.completed = completed.sum();
+    m.failed = failed.sum();
+    m.spawned = spawned.sum();
+    m.recycled = recycled.sum();
+    m.totalLatencyNanos = latencyNanos.sum();
+    m.totalWaitNanos = waitNanos.sum();
+    m.maxLatencyNanos = maxLatencyNanos.get();
+    return m;
+  }
+
+  /**
+   * 关闭：排队中的请求失败，执行中的请求完成后结束进程
+   */
+  @Override
+  public void close() {
+    List<Request> pending;
+    List<Worker> idleWorkers;
+    synchronized (lock) {
+      if (closed) {
+        return;
+      }
+      closed = true;
+      pending = new ArrayList<>(queue);
+      queue.clear();
+      idleWorkers = new ArrayList<>(idle);
+      idle.clear();
+      workers.removeAll(idleWorkers);
+    }
+    IllegalStateException e = new IllegalStateException("ProcessPool closed: " + command);
+    pending.forEach(r -> fail(r, e));
+    idleWorkers.forEach(Worker::close);
+  }
+
+  @Override
+  public String toString() {
+    return "ProcessPool{" + command + ", " + getMetrics() + "}";
+  }
+
+  static final class Request {
+    final byte[] data;
+    final long createTime = System.nanoTime();
+    final CompletableFuture<byte[]> future = new CompletableFuture<>();
+
+    Request(byte[] data) {
+      this.data = data;
+    }
+  }
+
+  /**
+   * 工作进程返回的错误
+   */
+  public static class WorkerException extends IllegalStateException {
+    public WorkerException(String message) {
+      super(message);
+    }
+  }
+
+  /**
+   * 工作进程
+   */
+  final class Worker {
+
+    final CmdCall call = cmdExecutor.createCmdCall(command + "#" + workerId.incrementAndGet());
+    Process process;
+    DataOutputStream out;
+    DataInputStream in;
+    int requests;
+    long lastUsed;
+
+    boolean isStarted() {
+      return process != null;
+    }
+
+    void start() throws IOException {
+      call.setCmd(command);
+      call.setEnvp(envp);
+      call.setCtxDir(dir);
+      process = Runtime.getRuntime().exec(command, call.getEnvp(), call.getCtxDir());
+      call.setProcess(process);
+      spawned.increment();
+      out = new DataOutputStream(new BufferedOutputStream(process.getOutputStream(), 1 << 16));
+      in = new DataInputStream(new BufferedInputStream(process.getInputStream(), 1 << 16));
+      Consumer<String> ec = errorConsumer;
+      new StreamPump(process, process.getErrorStream(), CmdExecutor.jnuCharset(), cmdExecutor.getReaderExecutor(), ec).start();
+      lastUsed = System.currentTimeMillis();
+    }
+
+    boolean isHealthy() {
+      if (!process.isAlive()) {
+        return false;
+      }
+      byte[] ping = healthCheckRequest;
+      long interval = healthCheckInterval;
+      if (ping == null || interval <= 0 || System.currentTimeMillis() - lastUsed < interval) {
+        return true;
+      }
+      try {
+        exchange(ping, requestTimeout);
+        return true;
+      } catch (Throwable e) {
+        return false;
+      }
+    }
+
+    byte[] exchange(byte[] request, long timeout) throws IOException {
+      // 超时后结束进程，阻塞的读取会因此结束
+      ScheduledFuture<?> killer = timeout > 0
+          ? cmdExecutor.schedule(this::timeout, timeout, TimeUnit.MILLISECONDS)
+          : null;
+      try {
+        out.writeInt(request.length);
+        out.write(request);
+        out.flush();
+        int length = in.readInt();
+        if (length < -MAX_FRAME || length > MAX_FRAME) {
+          throw new IOException("Illegal frame length: " + length);
+        }
+        byte[] response = new byte[Math.abs(length)];
+        in.readFully(response);
+        requests++;
+        lastUsed = System.currentTimeMillis();
+        if (length < 0) {
+          throw new WorkerException(new String(response, StandardCharsets.UTF_8));
+        }
+        return response;
+      } catch (IOException e) {
+        if (killer != null && killer.isDone() && !killer.isCancelled()) {
+          throw new IOException("Request timeout: " + timeout + "ms", e);
+        }
+        throw e;
+      } finally {
+        if (killer != null) {
+          killer.cancel(false);
+        }
+      }
+    }
+
+    void timeout() {
+      Process p = this.process;
+      if (p != null && p.isAlive()) {
+        p.destroyForcibly();
+        cmdExecutor.getDestroyListener().onDestroy(p, call);
+      }
+    }
+
+    /**
+     * 关闭 stdin 让进程自行退出，超时后强制结束
+     */
+    void close() {
+      Process p = this.process;
+      if (p == null) {
+        return;
+      }
+      try {
+        out.close();
+      } catch (IOException ignore) {
+        // ~
+      }
+      if (p.isAlive()) {
+        cmdExecutor.schedule(() -> {
+          if (p.isAlive()) {
+            p.destroyForcibly();
+            cmdExecutor.getDestroyListener().onDestroy(p, call);
+          }
+        }, 1, TimeUnit.SECONDS);
+      }
+    }
+
+    void destroy() {
+      Process p = this.process;
+      if (p != null && p.isAlive()) {
+        p.destroyForcibly();
+        cmdExecutor.getDestroyListener().onDestroy(p, call);
+      }
+    }
+  }
+
+  /**
+   * 统计信息
+   */
+  public static final class Metrics {
+    int queueDepth;
+    int workers;
+    int idleWorkers;
+    long submitted;
+    long completed;
+    long failed;
+    long spawned;
+    long recycled;
+    long totalLatencyNanos;
+    long totalWaitNanos;
+    long maxLatencyNanos;
+
+    /**
+     * 排队中的请求数
+     */
+    public int getQueueDepth() {
+      return queueDepth;
+    }
+
+    /**
+     * 当前的进程数
+     */
+    public int getWorkers() {
+      return workers;
+    }
+
+    /**
+     * 空闲的进程数
+     */
+    public int getIdleWorkers() {
+      return idleWorkers;
+    }
+
+    public long getSubmitted() {
+      return submitted;
+    }
+
+    public long getCompleted() {
+      return completed;
+    }
+
+    public long getFailed() {
+      return failed;
+    }
+
+    /**
+     * 启动过的进程数
+     */
+    public long getSpawned() {
+      return spawned;
+    }
+
+    /**
+     * 回收的进程数
+     */
+    public long getRecycled() {
+      return recycled;
+    }
+
+    /**
+     * 平均的处理时长(毫秒，不含排队)
+     */
+    public double getAvgLatencyMillis() {
+      return completed > 0 ? totalLatencyNanos / 1e6 / completed : 0;
+    }
+
+    /**
+     * 最大的处理时长(毫秒)
+     */
+    public double getMaxLatencyMillis() {
+      return maxLatencyNanos / 1e6;
+    }
+
+    /**
+     * 平均的排队时长(毫秒)
+     */
+    public double getAvgWaitMillis() {
+      long n = completed + failed;
+      return n > 0 ? totalWaitNanos / 1e6 / n : 0;
+    }
+
+    @Override
+    public String toString() {
+      return "Metrics{" +
+          "queueDepth=" + queueDepth +
+          ", workers=" + workers +
+          ", idleWorkers=" + idleWorkers +
+          ", submitted=" + submitted +
+          ", completed=" + completed +
+          ", failed=" + failed +
+          ", spawned=" + spawned +
+          ", recycled=" + recycled +
+          ", avgLatencyMillis=" + String.format("%.3f", getAvgLatencyMillis()) +
+          ", maxLatencyMillis=" + String.format("%.3f", getMaxLatencyMillis()) +
+          ", avgWaitMillis=" + String.format("%.3f", getAvgWaitMillis()) +
+          '}';
+    }
+  }
+
+}
@@ -0,0 +1,164 @@
+package com.benefitj.core.cmd;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 非阻塞地按行读取进程的输出
+ * <p>
+ * 每次只读取 {@link InputStream#available()} 的数据，没有数据时延迟一段时间再读(逐渐增加到 {@link #MAX_DELAY})，
+ * 不会有线程阻塞在管道上，少量的线程就可以同时读取大量进程的输出。
+ * 行以 \n、\r 或 \r\n 结束，与 {@link java.io.BufferedReader#readLine()} 一致(按字节拆分，要求编码兼容 ASCII，如 UTF-8、GBK)
+ */
+class StreamPump implements Runnable {
+
+  /**
+   * 最小的读取间隔(毫秒)
+   */
+  static final long MIN_DELAY = 1;
+  /**
+   * 最大的读取间隔(毫秒)
+   */
+  static final long MAX_DELAY = 50;
+  /**
+   * 单次最多读取的字节数，避免一个进程长时间占用线程
+   */
+  static final int MAX_READ = 1 << 20;
+
+  private final Process process;
+  private final InputStream in;
+  private final Charset charset;
+  private final ScheduledExecutorService executor;
+  private final Consumer<String> lineConsumer;
+  private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+  private final byte[] buf = new byte[8192];
+  private byte[] line = new byte[256];
+  private int lineLength;
+  private boolean lastCR;
+  private long delay = MIN_DELAY;
+  /**
+   * 进程结束后，再读取一次再阻塞读取剩余的数据
+   */
+  private boolean exitSeen;
+  private volatile ScheduledFuture<?> next;
+
+  StreamPump(Process process, InputStream in, Charset charset, ScheduledExecutorService executor, Consumer<String> lineConsumer) {
+    this.process = process;
+    this.in = in;
+    this.charset = charset;
+    this.executor = executor;
+    this.lineConsumer = lineConsumer;
+  }
+
+  /**
+   * 读取结束
+   */
+  CompletableFuture<Void> done() {
+    return done;
+  }
+
+  void start() {
+    executor.execute(this);
+  }
+
+  /**
+   * 唤醒等待中的读取(进程结束时调用)
+   */
+  void wakeup() {
+    ScheduledFuture<?> f = this.next;
+    if (f != null && f.cancel(false)) {
+      executor.execute(this);
+    }
+  }
+
+  @Override
+  public void run() {
+    try {
+      boolean alive = process.isAlive();
+      int total = 0;
+      for (int available; total < MAX_READ && (available = in.available()) > 0; ) {
+        int n = in.read(buf, 0, Math.min(available, buf.length));
+        if (n < 0) {
+          finish();
+          return;
+        }
+        feed(n);
+        total += n;
+      }
+      if (!alive && total < MAX_READ) {
+        if (exitSeen) {
+          // 进程已结束，剩余的数据已经在缓冲中，读取到结尾
+          for (int n; (n = in.read(buf)) >= 0; ) {
+            feed(n);
+          }
+          finish();
+          return;
+        }
+        exitSeen = true;
+        delay = MIN_DELAY;
+      } else {
+        delay = total > 0 ? MIN_DELAY : Math.min(delay << 1, MAX_DELAY);
+      }
+      next = executor.schedule(this, delay, TimeUnit.MILLISECONDS);
+    } catch (Throwable e) {
+      try {
+        in.close();
+      } catch (IOException ignore) {
+        // ~
+      }
+      done.completeExceptionally(e);
+    }
+  }
+
+  private void feed(int n) {
+    for (int i = 0; i < n; i++) {
+      byte b = buf[i];
+      if (b == '\n') {
+        if (lastCR) {
+          lastCR = false;
+        } else {
+          emit();
+        }
+      } else if (b == '\r') {
+        emit();
+        lastCR = true;
+      } else {
+        lastCR = false;
+        if (lineLength == line.length) {
+          line = Arrays.copyOf(line, line.length << 1);
+        }
+        line[lineLength++] = b;
+      }
+    }
+  }
+
+  private void emit() {
+    String str = new String(line, 0, lineLength, charset);
+    lineLength = 0;
+    lineConsumer.accept(str);
+  }
+
+  private void flushLine() {
+    if (lineLength > 0) {
+      emit();
+    }
+  }
+
+  private void finish() throws IOException {
+    try {
+      flushLine();
+    } finally {
+      in.close();
+    }
+    done.complete(null);
+  }
+
+}
@@ -6,9 +6,14 @@ import java.util.concurrent.Callable;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 
 /**
  * 读写锁委托类
+ *
+ * @see StampedLockDelegate
  */
 public class ReadWriteLockDelegate {
 
@@ -19,7 +24,20 @@ public class ReadWriteLockDelegate {
   }
 
   public ReadWriteLockDelegate(boolean fair) {
-    this.lock = new ReentrantReadWriteLock(fair);
+    this(new ReentrantReadWriteLock(fair));
+  }
+
+  public ReadWriteLockDelegate(ReadWriteLock lock) {
+    this.lock = lock;
+  }
+
+  /**
+   * 使用分段的读写锁，读多写少时读线程之间没有缓存行的争用
+   *
+   * @see StripedReadWriteLock
+   */
+  public static ReadWriteLockDelegate striped() {
+    return new ReadWriteLockDelegate(new StripedReadWriteLock());
   }
 
   /**
@@ -52,6 +70,49 @@ public class ReadWriteLockDelegate {
     }
   }
 
+  /**
+   * 执行读锁，并返回期待结果(传入不捕获变量的 lambda 时不创建对象)
+   *
+   * @param arg 参数
+   * @param fn  读操作
+   * @return 返回结果
+   */
+  public <T, V> V readLock(T arg, Function<? super T, ? extends V> fn) {
+    final Lock readLock = this.lock.readLock();
+    readLock.lock();
+    try {
+      return fn.apply(arg);
+    } finally {
+      readLock.unlock();
+    }
+  }
+
+  /**
+   * 执行读锁，并返回 long 类型的结果(不装箱)
+   */
+  public <T> long readLockAsLong(T arg, ToLongFunction<? super T> fn) {
+    final Lock readLock = this.lock.readLock();
+    readLock.lock();
+    try {
+      return fn.applyAsLong(arg);
+    } finally {
+      readLock.unlock();
+    }
+  }
+
+  /**
+   * 执行读锁，并返回 int 类型的结果(不装箱)
+   */
+  public <T> int readLockAsInt(T arg, ToIntFunction<? super T> fn) {
+    final Lock readLock = this.lock.readLock();
+    readLock.lock();
+    try {
+      return fn.applyAsInt(arg);
+    } finally {
+      readLock.unlock();
+    }
+  }
+
   /**
    * 执行写锁，并返回期待结果
    */
@@ -0,0 +1,249 @@
+package com.benefitj.core.concurrent;
+
+import com.benefitj.core.CatchUtils;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * 基于 {@link StampedLock} 的读写锁委托类
+ * <p>
+ * 默认与 {@link ReadWriteLockDelegate} 一样获取读锁；通过 {@code new StampedLockDelegate(true)} 开启乐观读后，
+ * 读操作先尝试乐观读(不修改锁的状态，读线程之间没有缓存行的争用)，读取期间有写入时再获取读锁重新执行。
+ * 乐观读可能读到写入过程中的中间状态，读操作必须没有副作用，并且在数据不一致时不会死循环
+ * (如遍历数组、读取 volatile 字段、读取不可变对象)；否则不要开启，或使用 {@link #readLock(Runnable)}。
+ * <p>
+ * 带参数的重载(如 {@link #readLockAsLong(Object, ToLongFunction)})可以传入不捕获变量的 lambda，调用时不创建对象
+ */
+public class StampedLockDelegate {
+
+  private final StampedLock lock = new StampedLock();
+  /**
+   * 是否尝试乐观读
+   */
+  private final boolean optimistic;
+
+  public StampedLockDelegate() {
+    this(false);
+  }
+
+  /**
+   * @param optimistic 是否尝试乐观读，读操作必须能容忍不一致的数据
+   */
+  public StampedLockDelegate(boolean optimistic) {
+    this.optimistic = optimistic;
+  }
+
+  public boolean isOptimistic() {
+    return optimistic;
+  }
+
+  /**
+   * 执行读锁，并返回期待结果
+   */
+  public <V> V readLock(Callable<V> c) {
+    final StampedLock lock = this.lock;
+    if (optimistic) {
+      long stamp = lock.tryOptimisticRead();
+      if (stamp != 0L) {
+        try {
+          V v = c.call();
+          if (lock.validate(stamp)) {
+            return v;
+          }
+        } catch (Throwable e) {
+          // 读到不一致的数据时可能抛出任何异常(包括 Error)，获取读锁重试
+          if (lock.validate(stamp)) {
+            if (e instanceof Error) {
+              throw (Error) e;
+            }
+            throw CatchUtils.throwing(e, IllegalStateException.class);
+          }
+        }
+      }
+    }
+    long stamp = lock.readLock();
+    try {
+      return c.call();
+    } catch (Exception e) {
+      throw CatchUtils.throwing(e, IllegalStateException.class);
+    } finally {
+      lock.unlockRead(stamp);
+    }
+  }
+
+  /**
+   * 执行读锁(不使用乐观读)
+   */
+  public void readLock(Runnable r) {
+    final StampedLock lock = this.lock;
+    long stamp = lock.readLock();
+    try {
+      r.run();
+    } finally {
+      lock.unlockRead(stamp);
+    }
+  }
+
+  /**
+   * 执行读锁，并返回期待结果
+   *
+   * @param arg 参数
+   * @param fn  读操作
+   * @return 返回结果
+   */
+  public <T, V> V readLock(T arg, Function<? super T, ? extends V> fn) {
+    final StampedLock lock = this.lock;
+    if (optimistic) {
+      long stamp = lock.tryOptimisticRead();
+      if (stamp != 0L) {
+        try {
+          V v = fn.apply(arg);
+          if (lock.validate(stamp)) {
+            return v;
+          }
+        } catch (Throwable e) {
+          if (lock.validate(stamp)) {
+            throw rethrow(e);
+          }
+        }
+      }
+    }
+    long stamp = lock.readLock();
+    try {
+      return fn.apply(arg);
+    } finally {
+      lock.unlockRead(stamp);
+    }
+  }
+
+  /**
+   * 执行读锁，并返回 long 类型的结果(不装箱)
+   *
+   * @param arg 参数
+   * @param fn  读操作
+   * @return 返回结果
+   */
+  public <T> long readLockAsLong(T arg, ToLongFunction<? super T> fn) {
+    final StampedLock lock = this.lock;
+    if (optimistic) {
+      long stamp = lock.tryOptimisticRead();
+      if (stamp != 0L) {
+        try {
+          long v = fn.applyAsLong(arg);
+          if (lock.validate(stamp)) {
+            return v;
+          }
+        } catch (Throwable e) {
+          if (lock.validate(stamp)) {
+            throw rethrow(e);
+          }
+        }
+      }
+    }
+    long stamp = lock.readLock();
+    try {
+      return fn.applyAsLong(arg);
+    } finally {
+      lock.unlockRead(stamp);
+    }
+  }
+
+  /**
+   * 执行读锁，并返回 int 类型的结果(不装箱)
+   *
+   * @param arg 参数
+   * @param fn  读操作
+   * @return 返回结果
+   */
+  public <T> int readLockAsInt(T arg, ToIntFunction<? super T> fn) {
+    final StampedLock lock = this.lock;
+    if (optimistic) {
+      long stamp = lock.tryOptimisticRead();
+      if (stamp != 0L) {
+        try {
+          int v = fn.applyAsInt(arg);
+          if (lock.validate(stamp)) {
+            return v;
+          }
+        } catch (Throwable e) {
+          if (lock.validate(stamp)) {
+            throw rethrow(e);
+          }
+        }
+      }
+    }
+    long stamp = lock.readLock();
+    try {
+      return fn.applyAsInt(arg);
+    } finally {
+      lock.unlockRead(stamp);
+    }
+  }
+
+  /**
+   * 执行写锁，并返回期待结果
+   */
+  public <V> V writeLock(Callable<V> c) {
+    final StampedLock lock = this.lock;
+    long stamp = lock.writeLock();
+    try {
+      return c.call();
+    } catch (Exception e) {
+      throw CatchUtils.throwing(e, IllegalStateException.class);
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+  }
+
+  /**
+   * 执行写锁
+   */
+  public void writeLock(Runnable r) {
+    final StampedLock lock = this.lock;
+    long stamp = lock.writeLock();
+    try {
+      r.run();
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+  }
+
+  /**
+   * 执行写锁
+   *
+   * @param arg 参数
+   * @param c   写操作
+   */
+  public <T> void writeLock(T arg, Consumer<? super T> c) {
+    final StampedLock lock = this.lock;
+    long stamp = lock.writeLock();
+    try {
+      c.accept(arg);
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+  }
+
+  public StampedLock getLock() {
+    return lock;
+  }
+
+  /**
+   * 乐观读时数据一致，按获取读锁时的方式抛出异常
+   */
+  private static RuntimeException rethrow(Throwable e) {
+    if (e instanceof Error) {
+      throw (Error) e;
+    }
+    if (e instanceof RuntimeException) {
+      return (RuntimeException) e;
+    }
+    return CatchUtils.throwing(e, IllegalStateException.class);
+  }
+
+}
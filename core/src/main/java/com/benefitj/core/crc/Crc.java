@@ -0,0 +1,169 @@
+package com.benefitj.core.crc;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.zip.Checksum;
+
+/**
+ * 查表实现的 CRC 校验(slice-by-8)，每次处理 8 个字节，支持增量计算
+ * <p>
+ * 非线程安全；同一模型的查找表在多个对象之间共享
+ */
+public class Crc implements Checksum {
+
+  static final VarHandle LONG_LE = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+  static final VarHandle LONG_BE = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+  static final VarHandle BUF_LONG_LE = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+  static final VarHandle BUF_LONG_BE = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+  /**
+   * 模型
+   */
+  private final CrcModel model;
+  /**
+   * 寄存器
+   */
+  private int register;
+
+  public Crc(CrcModel model) {
+    this.model = model;
+    this.register = model.initial();
+  }
+
+  public CrcModel getModel() {
+    return model;
+  }
+
+  @Override
+  public void update(int b) {
+    int[] t0 = model.tables()[0];
+    int r = this.register;
+    this.register = model.isReflected()
+        ? (r >>> 8) ^ t0[(r ^ b) & 0xFF]
+        : (r << 8) ^ t0[((r >>> 24) ^ b) & 0xFF];
+  }
+
+  @Override
+  public void update(byte[] b, int off, int len) {
+    if (off < 0 || len < 0 || off > b.length - len) {
+      throw new ArrayIndexOutOfBoundsException("off=" + off + ", len=" + len + ", length=" + b.length);
+    }
+    this.register = update(model, register, b, off, len);
+  }
+
+  /**
+   * 更新缓冲中剩余的数据，position 移动到 limit
+   *
+   * @param buffer 缓冲
+   */
+  @Override
+  public void update(ByteBuffer buffer) {
+    int pos = buffer.position();
+    int limit = buffer.limit();
+    if (pos >= limit) {
+      return;
+    }
+    if (buffer.hasArray()) {
+      update(buffer.array(), buffer.arrayOffset() + pos, limit - pos);
+    } else {
+      this.register = update(model, register, buffer, pos, limit - pos);
+    }
+    buffer.position(limit);
+  }
+
+  @Override
+  public long getValue() {
+    return model.finish(register);
+  }
+
+  @Override
+  public void reset() {
+    this.register = model.initial();
+  }
+
+  /**
+   * 获取校验值的字节
+   *
+   * @param order 字节序
+   * @return 返回 (宽度 + 7) / 8 个字节
+   */
+  public byte[] getBytes(ByteOrder order) {
+    long value = getValue();
+    byte[] bytes = new byte[(model.getWidth() + 7) >>> 3];
+    for (int i = 0; i < bytes.length; i++) {
+      int shift = (order == ByteOrder.BIG_ENDIAN ? bytes.length - 1 - i : i) << 3;
+      bytes[i] = (byte) (value >>> shift);
+    }
+    return bytes;
+  }
+
+  static int update(CrcModel model, int r, byte[] b, int off, int len) {
+    final int[][] t = model.tables();
+    final int[] t0 = t[0], t1 = t[1], t2 = t[2], t3 = t[3], t4 = t[4], t5 = t[5], t6 = t[6], t7 = t[7];
+    int i = off;
+    final int end = off + len;
+    if (model.isReflected()) {
+      for (; i <= end - Long.BYTES; i += Long.BYTES) {
+        long w = (long) LONG_LE.get(b, i);
+        int lo = (int) w ^ r;
+        int hi = (int) (w >>> 32);
+        r = t7[lo & 0xFF] ^ t6[(lo >>> 8) & 0xFF] ^ t5[(lo >>> 16) & 0xFF] ^ t4[lo >>> 24]
+            ^ t3[hi & 0xFF] ^ t2[(hi >>> 8) & 0xFF] ^ t1[(hi >>> 16) & 0xFF] ^ t0[hi >>> 24];
+      }
+      for (; i < end; i++) {
+        r = (r >>> 8) ^ t0[(r ^ b[i]) & 0xFF];
+      }
+    } else {
+      for (; i <= end - Long.BYTES; i += Long.BYTES) {
+        long w = (long) LONG_BE.get(b, i);
+        int hi = (int) (w >>> 32) ^ r;
+        int lo = (int) w;
+        r = t7[hi >>> 24] ^ t6[(hi >>> 16) & 0xFF] ^ t5[(hi >>> 8) & 0xFF] ^ t4[hi & 0xFF]
+            ^ t3[lo >>> 24] ^ t2[(lo >>> 16) & 0xFF] ^ t1[(lo >>> 8) & 0xFF] ^ t0[lo & 0xFF];
+      }
+      for (; i < end; i++) {
+        r = (r << 8) ^ t0[((r >>> 24) ^ b[i]) & 0xFF];
+      }
+    }
+    return r;
+  }
+
+  static int update(CrcModel model, int r, ByteBuffer b, int index, int len) {
+    final int[][] t = model.tables();
+    final int[] t0 = t[0], t1 = t[1], t2 = t[2], t3 = t[3], t4 = t[4], t5 = t[5], t6 = t[6], t7 = t[7];
+    int i = index;
+    final int end = index + len;
+    if (model.isReflected()) {
+      for (; i <= end - Long.BYTES; i += Long.BYTES) {
+        long w = (long) BUF_LONG_LE.get(b, i);
+        int lo = (int) w ^ r;
+        int hi = (int) (w >>> 32);
+        r = t7[lo & 0xFF] ^ t6[(lo >>> 8) & 0xFF] ^ t5[(lo >>> 16) & 0xFF] ^ t4[lo >>> 24]
+            ^ t3[hi & 0xFF] ^ t2[(hi >>> 8) & 0xFF] ^ t1[(hi >>> 16) & 0xFF] ^ t0[hi >>> 24];
+      }
+      for (; i < end; i++) {
+        r = (r >>> 8) ^ t0[(r ^ b.get(i)) & 0xFF];
+      }
+    } else {
+      for (; i <= end - Long.BYTES; i += Long.BYTES) {
+        long w = (long) BUF_LONG_BE.get(b, i);
+        int hi = (int) (w >>> 32) ^ r;
+        int lo = (int) w;
+        r = t7[hi >>> 24] ^ t6[(hi >>> 16) & 0xFF] ^ t5[(hi >>> 8) & 0xFF] ^ t4[hi & 0xFF]
+            ^ t3[lo >>> 24] ^ t2[(lo >>> 16) & 0xFF] ^ t1[(lo >>> 8) & 0xFF] ^ t0[lo & 0xFF];
+      }
+      for (; i < end; i++) {
+        r = (r << 8) ^ t0[((r >>> 24) ^ b.get(i)) & 0xFF];
+      }
+    }
+    return r;
+  }
+
+  @Override
+  public String toString() {
+    return model.getName() + "(0x" + Long.toHexString(getValue()).toUpperCase() + ")";
+  }
+
+}
@@ -0,0 +1,229 @@
+package com.benefitj.core.crc;
+
+import java.util.zip.CRC32;
+import java.util.zip.CRC32C;
+import java.util.zip.Checksum;
+
+/**
+ * CRC 参数模型(Rocksoft)
+ * <p>
+ * 宽度 1~32 位，输入输出反转需一致；CRC32/CRC32C 使用 JDK 的实现(带 intrinsic 优化)
+ */
+public class CrcModel {
+
+  /**
+   * CRC-8，多项式 0x07
+   */
+  public static final CrcModel CRC8 = new CrcModel("CRC-8", 8, 0x07, 0x00, false, 0x00);
+  /**
+   * CRC-8/MAXIM，多项式 0x31，反转
+   */
+  public static final CrcModel CRC8_MAXIM = new CrcModel("CRC-8/MAXIM", 8, 0x31, 0x00, true, 0x00);
+  /**
+   * CRC-16/MODBUS，多项式 0x8005(反转为 0xA001)，初始值 0xFFFF
+   */
+  public static final CrcModel CRC16_MODBUS = new CrcModel("CRC-16/MODBUS", 16, 0x8005, 0xFFFF, true, 0x0000);
+  /**
+   * CRC-16/CCITT(KERMIT)，多项式 0x1021，反转，初始值 0x0000
+   */
+  public static final CrcModel CRC16_CCITT = new CrcModel("CRC-16/CCITT", 16, 0x1021, 0x0000, true, 0x0000);
+  /**
+   * CRC-16/CCITT-FALSE，多项式 0x1021，不反转，初始值 0xFFFF
+   */
+  public static final CrcModel CRC16_CCITT_FALSE = new CrcModel("CRC-16/CCITT-FALSE", 16, 0x1021, 0xFFFF, false, 0x0000);
+  /**
+   * CRC-16/XMODEM，多项式 0x1021，不反转，初始值 0x0000
+   */
+  public static final CrcModel CRC16_XMODEM = new CrcModel("CRC-16/XMODEM", 16, 0x1021, 0x0000, false, 0x0000);
+  /**
+   * CRC-32，使用 {@link CRC32}
+   */
+  public static final CrcModel CRC32 = new CrcModel("CRC-32", 32, 0x04C11DB7, 0xFFFFFFFF, true, 0xFFFFFFFF);
+  /**
+   * CRC-32C(Castagnoli)，使用 {@link CRC32C}
+   */
+  public static final CrcModel CRC32C = new CrcModel("CRC-32C", 32, 0x1EDC6F41, 0xFFFFFFFF, true, 0xFFFFFFFF);
+
+  /**
+   * 名称
+   */
+  private final String name;
+  /**
+   * 宽度(位)
+   */
+  private final int width;
+  /**
+   * 多项式(不反转的形式)
+   */
+  private final int poly;
+  /**
+   * 初始值(不反转的形式)
+   */
+  private final int init;
+  /**
+   * 输入输出是否反转
+   */
+  private final boolean reflected;
+  /**
+   * 结果异或值
+   */
+  private final int xorOut;
+  /**
+   * slice-by-8 查找表，延迟初始化
+   */
+  private volatile int[][] tables;
+
+  public CrcModel(String name, int width, int poly, int init, boolean reflected, int xorOut) {
+    if (width < 1 || width > 32) {
+      throw new IllegalArgumentException("Required width between 1 and 32, but was " + width);
+    }
+    this.name = name;
+    this.width = width;
+    this.poly = poly;
+    this.init = init;
+    this.reflected = reflected;
+    this.xorOut = xorOut;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public int getWidth() {
+    return width;
+  }
+
+  public int getPoly() {
+    return poly;
+  }
+
+  public int getInit() {
+    return init;
+  }
+
+  public boolean isReflected() {
+    return reflected;
+  }
+
+  public int getXorOut() {
+    return xorOut;
+  }
+
+  /**
+   * 结果的掩码
+   */
+  public long mask() {
+    return width == 32 ? 0xFFFFFFFFL : (1L << width) - 1;
+  }
+
+  /**
+   * 创建校验对象，CRC-32 和 CRC-32C 使用 JDK 的实现
+   *
+   * @return 返回新的校验对象
+   */
+  public Checksum newChecksum() {
+    if (this == CRC32) {
+      return new CRC32();
+    }
+    if (this == CRC32C) {
+      return new CRC32C();
+    }
+    return new Crc(this);
+  }
+
+  /**
+   * 计算校验值
+   *
+   * @param data 数据
+   * @return 返回校验值
+   */
+  public long compute(byte[] data) {
+    return compute(data, 0, data.length);
+  }
+
+  /**
+   * 计算校验值
+   *
+   * @param data   数据
+   * @param offset 开始的位置
+   * @param len    长度
+   * @return 返回校验值
+   */
+  public long compute(byte[] data, int offset, int len) {
+    if (this == CRC32 || this == CRC32C) {
+      Checksum checksum = newChecksum();
+      checksum.update(data, offset, len);
+      return checksum.getValue();
+    }
+    return finish(Crc.update(this, initial(), data, offset, len));
+  }
+
+  /**
+   * 寄存器初始值：反转时为低位对齐的反转值，否则为高位对齐(左移到32位的最高位)
+   */
+  int initial() {
+    return reflected ? reflect(init, width) : init << (32 - width);
+  }
+
+  /**
+   * 由寄存器得到校验值
+   */
+  long finish(int register) {
+    int crc = reflected ? register : register >>> (32 - width);
+    return (crc ^ xorOut) & mask();
+  }
+
+  int[][] tables() {
+    int[][] t = this.tables;
+    if (t == null) {
+      this.tables = t = createTables();
+    }
+    return t;
+  }
+
+  private int[][] createTables() {
+    int[][] t = new int[8][256];
+    if (reflected) {
+      int rpoly = reflect(poly, width);
+      for (int n = 0; n < 256; n++) {
+        int c = n;
+        for (int k = 0; k < 8; k++) {
+          c = (c & 1) != 0 ? (c >>> 1) ^ rpoly : c >>> 1;
+        }
+        t[0][n] = c;
+      }
+      for (int n = 0; n < 256; n++) {
+        for (int k = 1; k < 8; k++) {
+          int c = t[k - 1][n];
+          t[k][n] = (c >>> 8) ^ t[0][c & 0xFF];
+        }
+      }
+    } else {
+      int tpoly = poly << (32 - width);
+      for (int n = 0; n < 256; n++) {
+        int c = n << 24;
+        for (int k = 0; k < 8; k++) {
+          c = (c & 0x80000000) != 0 ? (c << 1) ^ tpoly : c << 1;
+        }
+        t[0][n] = c;
+      }
+      for (int n = 0; n < 256; n++) {
+        for (int k = 1; k < 8; k++) {
+          int c = t[k - 1][n];
+          t[k][n] = (c << 8) ^ t[0][c >>> 24];
+        }
+      }
+    }
+    return t;
+  }
+
+  static int reflect(int value, int width) {
+    return Integer.reverse(value) >>> (32 - width);
+  }
+
+  @Override
+  public String toString() {
+    return name;
+  }
+
+}
@@ -148,7 +148,7 @@ public class ServiceProxy implements InvocationHandler {
 
     @Override
     public Object invoke(Object[] args) throws Throwable {
-      return ReflectUtils.invoke(getTarget(), getMethod(), args);
+      return ReflectUtils.invokeFast(getTarget(), getMethod(), args);
     }
 
   }
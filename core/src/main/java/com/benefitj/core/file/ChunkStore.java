@@ -0,0 +1,261 @@
+package com.benefitj.core.file;
+
+import com.benefitj.core.CatchUtils;
+import com.benefitj.core.HexUtils;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 去重存储：文件按内容分块，相同的块只保存一次
+ * <p>
+ * 目录结构：chunks/前两位/块哈希 保存块的数据，manifests/内容哈希 保存文件由哪些块组成
+ * <p>
+ * 同一个实例中 {@link #put(File)} 与 {@link #gc()} 互斥；不要在多个进程(或多个实例)中同时对同一个目录执行 gc
+ */
+public class ChunkStore {
+
+  private final File dir;
+  private final ContentIndex index;
+  /**
+   * put 持有读锁，gc 持有写锁，避免已写入但清单还未写入的块被回收
+   */
+  private final ReadWriteLock gcLock = new ReentrantReadWriteLock();
+
+  public ChunkStore(File dir, ContentIndex index) {
+    this.dir = dir;
+    this.index = index;
+  }
+
+  public File getDir() {
+    return dir;
+  }
+
+  public ContentIndex getIndex() {
+    return index;
+  }
+
+  File chunkFile(String hex) {
+    return new File(new File(new File(dir, "chunks"), hex.substring(0, 2)), hex);
+  }
+
+  File manifestFile(String contentHash) {
+    return new File(new File(dir, "manifests"), contentHash);
+  }
+
+  /**
+   * 保存文件，已存在的块不再写入
+   *
+   * @param file 文件
+   * @return 返回内容哈希
+   */
+  public String put(File file) {
+    gcLock.readLock().lock();
+    try {
+      return put0(file);
+    } finally {
+      gcLock.readLock().unlock();
+    }
+  }
+
+  private String put0(File file) {
+    FileDigest digest = index.digest(file);
+    String contentHash = digest.getContentHash();
+    File manifest = manifestFile(contentHash);
+    if (manifest.isFile()) {
+      return contentHash;
+    }
+    try (FileChannel ch = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+      for (int i = 0; i < digest.getChunkCount(); i++) {
+        String hex = digest.getChunkHex(i);
+        File chunk = chunkFile(hex);
+        if (chunk.isFile()) {
+          continue;
+        }
+        byte[] data = new byte[digest.getLength(i)];
+        ByteBuffer bb = ByteBuffer.wrap(data);
+        long pos = digest.getOffset(i);
+        while (bb.hasRemaining() && ch.read(bb, pos + bb.position()) >= 0) {
+          // ~
+        }
+        if (!Arrays.equals(ContentChunker.sha256(data, 0, data.length), digest.getChunkHash(i))) {
+          // 计算摘要之后文件被修改了
+          index.remove(file);
+          throw new IllegalStateException("File changed while storing: " + file);
+        }
+        writeAtomically(chunk, data);
+      }
+    } catch (IOException e) {
+      throw CatchUtils.throwing(e, IllegalStateException.class);
+    }
+    ByteArrayOutputStream buf = new ByteArrayOutputStream(12 + digest.getChunkCount() * (4 + ContentChunker.HASH_SIZE));
+    try (DataOutputStream out = new DataOutputStream(buf)) {
+      out.writeLong(digest.getSize());
+      out.writeInt(digest.getChunkCount());
+      for (int i = 0; i < digest.getChunkCount(); i++) {
+        out.writeInt(digest.getLength(i));
+      }
+      out.write(digest.hashes());
+    } catch (IOException e) {
+      throw CatchUtils.throwing(e, IllegalStateException.class);
+    }
+    writeAtomically(manifest, buf.toByteArray());
+    return contentHash;
+  }
+
+  /**
+   * 是否保存了此内容
+   */
+  public boolean contains(String contentHash) {
+    return manifestFile(contentHash).isFile();
+  }
+
+  /**
+   * 读取块的哈希
+   *
+   * @param contentHash 内容哈希
+   * @return 返回块的哈希(16进制)
+   */
+  public List<String> chunks(String contentHash) {
+    File manifest = manifestFile(contentHash);
+    if (!manifest.isFile()) {
+      throw new IllegalArgumentException("Content not found: " + contentHash);
+    }
+    try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(manifest)))) {
+      in.readLong();
+      int count = in.readInt();
+      for (int i = 0; i < count; i++) {
+        in.readInt();
+      }
+      List<String> list = new ArrayList<>(count);
+      byte[] hash = new byte[ContentChunker.HASH_SIZE];
+      for (int i = 0; i < count; i++) {
+        in.readFully(hash);
+        list.add(HexUtils.bytesToHex(hash, true));
+      }
+      return list;
+    } catch (IOException e) {
+      throw CatchUtils.throwing(e, IllegalStateException.class);
+    }
+  }
+
+  /**
+   * 打开内容，依次读取各个块
+   *
+   * @param contentHash 内容哈希
+   * @return 返回输入流
+   */
+  public InputStream open(String contentHash) {
+    Iterator<String> chunks = chunks(contentHash).iterator();
+    return new SequenceInputStream(new Enumeration<InputStream>() {
+      @Override
+      public boolean hasMoreElements() {
+        return chunks.hasNext();
+      }
+
+      @Override
+      public InputStream nextElement() {
+        File chunk = chunkFile(chunks.next());
+        try {
+          return new FileInputStream(chunk);
+        } catch (FileNotFoundException e) {
+          throw new IllegalStateException("Chunk not found: " + chunk.getName(), e);
+        }
+      }
+    });
+  }
+
+  /**
+   * 还原文件
+   *
+   * @param contentHash 内容哈希
+   * @param dest        目标文件
+   */
+  public void restore(String contentHash, File dest) {
+    File parent = dest.getAbsoluteFile().getParentFile();
+    if (parent != null && !parent.exists()) {
+      parent.mkdirs();
+    }
+    try (InputStream in = open(contentHash)) {
+      Files.copy(in, dest.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    } catch (IOException e) {
+      throw CatchUtils.throwing(e, IllegalStateException.class);
+    }
+  }
+
+  /**
+   * 删除内容(只删除清单，块由 {@link #gc()} 回收)
+   *
+   * @param contentHash 内容哈希
+   * @return 返回是否删除
+   */
+  public boolean remove(String contentHash) {
+    return manifestFile(contentHash).delete();
+  }
+
+  /**
+   * 删除没有被任何清单引用的块
+   *
+   * @return 返回删除的块数
+   */
+  public int gc() {
+    gcLock.writeLock().lock();
+    try {
+      return gc0();
+    } finally {
+      gcLock.writeLock().unlock();
+    }
+  }
+
+  private int gc0() {
+    Set<String> referenced = new HashSet<>();
+    File[] manifests = new File(dir, "manifests").listFiles();
+    if (manifests != null) {
+      for (File manifest : manifests) {
+        if (!manifest.getName().endsWith(".tmp")) {
+          referenced.addAll(chunks(manifest.getName()));
+        }
+      }
+    }
+    int count = 0;
+    File[] groups = new File(dir, "chunks").listFiles();
+    if (groups != null) {
+      for (File group : groups) {
+        File[] chunks = group.listFiles();
+        if (chunks == null) {
+          continue;
+        }
+        for (File chunk : chunks) {
+          if (!referenced.contains(chunk.getName()) && chunk.delete()) {
+            count++;
+          }
+        }
+      }
+    }
+    return count;
+  }
+
+  /**
+   * 先写入临时文件再重命名，避免读到不完整的块
+   */
+  static void writeAtomically(File dest, byte[] data) {
+    try {
+      Files.createDirectories(dest.getParentFile().toPath());
+      Path tmp = Files.createTempFile(dest.getParentFile().toPath(), dest.getName(), ".tmp");
+      try {
+        Files.write(tmp, data);
+        Files.move(tmp, dest.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+      } finally {
+        Files.deleteIfExists(tmp);
+      }
+    } catch (IOException e) {
+      throw CatchUtils.throwing(e, IllegalStateException.class);
+    }
+  }
+
+}
@@ -33,49 +33,9 @@ public class CompressUtils {
    * @return 返回压缩文件
    */
   public static File zip(File src, File dest) {
-    //创建缓冲输出流
-    try (final ZipOutputStream out = new ZipOutputStream(new FileOutputStream(dest));
-         final BufferedOutputStream bos = new BufferedOutputStream(out);) {
-      //调用函数
-      compress(out, bos, src, src.getName());
-      return dest;
-    } catch (IOException e) {
-      throw CatchUtils.throwing(e, IllegalStateException.class);
-    }
-  }
-
-  /**
-   * 压缩
-   *
-   * @param out     zip的输出流
-   * @param bos     ~
-   * @param zipFile 压缩文件
-   * @param base    文件名或目录名
-   * @throws IOException 抛出的异常
-   */
-  private static void compress(ZipOutputStream out, BufferedOutputStream bos, File zipFile, String base) throws IOException {
-    if (zipFile.isDirectory()) {
-      File[] files = zipFile.listFiles();
-      if (files == null || files.length == 0) {
-        out.putNextEntry(new ZipEntry(zipFile + File.separator));
-      } else {
-        for (File file : files) {
-          compress(out, bos, file, base + File.separator + file.getName());
-        }
-      }
-    } else {
-      // 如果不是目录（文件夹），即为文件，则先写入目录进入点，之后将文件写入zip文件中
-      out.putNextEntry(new ZipEntry(base));
-      try (final FileInputStream fos = new FileInputStream(zipFile);
-           final BufferedInputStream bis = new BufferedInputStream(fos);) {
-        int len;
-        byte[] buf = new byte[1024 << 4];
-        while ((len = bis.read(buf)) > 0) {
-          bos.write(buf, 0, len);
-          bos.flush();
-        }
-      }
-    }
+    // 多线程压缩
+    ParallelCompressor.get().zip(src.toPath(), dest.toPath());
+    return dest;
   }
 
   /**
@@ -96,26 +56,10 @@ public class CompressUtils {
    * @return 返回解压后的文件夹
    */
   public static File unzip(File zip, @Nullable File dest) {
-    zipIterator(zip, (input, entry) -> {
-      try {
-        if (!entry.isDirectory()) {
-          File file = new File(dest != null ? dest : zip.getParentFile(), entry.getName());
-          file.getParentFile().mkdirs();
-          file.createNewFile();
-          byte[] buf = new byte[1024 << 4];
-          int len;
-          try (final FileOutputStream fos = new FileOutputStream(file);) {
-            while ((len = input.read(buf)) > 0) {
-              fos.write(buf, 0, len);
-              fos.flush();
-            }
-          }
-        }
-      } catch (IOException e) {
-        throw CatchUtils.throwing(e, IllegalStateException.class);
-      }
-    });
-    return dest != null ? dest : zip.getParentFile();
+    File dir = dest != null ? dest : zip.getParentFile();
+    // 通过 ZipFile 随机读取，并行解压
+    ParallelCompressor.get().unzip(zip.toPath(), dir.toPath());
+    return dir;
   }
 
   /**
@@ -165,13 +109,9 @@ public class CompressUtils {
    * @return 返回目标文件
    */
   public static File gzip(File src, File dest) {
-    try (final GZIPOutputStream out = new GZIPOutputStream(new FileOutputStream(dest));
-         final FileInputStream in = new FileInputStream(src);) {
-      IOUtils.write(in, out, 1024 << 4);
-      return dest;
-    } catch (IOException e) {
-      throw CatchUtils.throwing(e, IllegalStateException.class);
-    }
+    // 多线程压缩，输出多成员的 gzip
+    ParallelCompressor.get().gzip(src.toPath(), dest.toPath());
+    return dest;
   }
 
   /**
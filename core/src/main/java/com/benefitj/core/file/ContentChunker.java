@@ -0,0 +1,208 @@
+package com.benefitj.core.file;
+
+import com.benefitj.core.CatchUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * 按内容分块(Content-Defined Chunking)并计算每块的 SHA-256
+ * <p>
+ * 分块边界由滚动哈希(Gear)决定，只与附近的内容有关：文件中间插入或删除数据时，只有附近的块会变化，
+ * 其余的块和哈希保持不变，适合做去重。
+ * 边界的查找是顺序的(每字节一次移位和加法)，块的哈希在线程池中并行计算
+ */
+public class ContentChunker {
+
+  /**
+   * 默认：最小 16KB，平均 64KB，最大 256KB
+   */
+  public static final ContentChunker DEFAULT = new ContentChunker(16 * 1024, 64 * 1024, 256 * 1024);
+
+  /**
+   * 哈希的长度
+   */
+  public static final int HASH_SIZE = 32;
+
+  /**
+   * 每次读取的长度
+   */
+  static final int WINDOW_SIZE = 8 << 20;
+  /**
+   * 最多同时计算哈希的窗口数
+   */
+  static final int MAX_PENDING_WINDOWS = 4;
+
+  /**
+   * Gear 表，固定的种子保证每次的分块结果一致
+   */
+  static final long[] GEAR = new long[256];
+
+  static {
+    SplittableRandom random = new SplittableRandom(0x5EED_C0DE_CDC1L);
+    for (int i = 0; i < GEAR.length; i++) {
+      GEAR[i] = random.nextLong();
+    }
+  }
+
+  static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  });
+
+  private final int minSize;
+  private final int avgSize;
+  private final int maxSize;
+  /**
+   * 判断边界的掩码(取高位，低位受最近的字节影响较小)
+   */
+  private final long mask;
+  private final Executor executor;
+
+  public ContentChunker(int minSize, int avgSize, int maxSize) {
+    this(minSize, avgSize, maxSize, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * 构造函数
+   *
+   * @param minSize  最小的块
+   * @param avgSize  平均的块，2的幂
+   * @param maxSize  最大的块
+   * @param executor 计算哈希的线程池
+   */
+  public ContentChunker(int minSize, int avgSize, int maxSize, Executor executor) {
+    if (Integer.bitCount(avgSize) != 1 || minSize <= 0 || minSize > avgSize || avgSize > maxSize || maxSize > WINDOW_SIZE) {
+      throw new IllegalArgumentException("Illegal chunk size: min=" + minSize + ", avg=" + avgSize + ", max=" + maxSize);
+    }
+    this.minSize = minSize;
+    this.avgSize = avgSize;
+    this.maxSize = maxSize;
+    this.mask = -1L << (Long.SIZE - Integer.numberOfTrailingZeros(avgSize));
+    this.executor = executor;
+  }
+
+  public int getMinSize() {
+    return minSize;
+  }
+
+  public int getAvgSize() {
+    return avgSize;
+  }
+
+  public int getMaxSize() {
+    return maxSize;
+  }
+
+  /**
+   * 查找下一个块的结束位置
+   *
+   * @param buf  数据
+   * @param from 块开始的位置
+   * @param to   数据结束的位置
+   * @param eof  数据之后是否还有数据，没有时最后不足的部分也作为一块
+   * @return 返回块结束的位置(不包含)，需要更多数据时返回 -1
+   */
+  int nextBoundary(byte[] buf, int from, int to, boolean eof) {
+    int remaining = to - from;
+    if (remaining <= minSize) {
+      return eof ? to : -1;
+    }
+    int end = from + Math.min(remaining, maxSize);
+    long hash = 0;
+    final long mask = this.mask;
+    for (int i = from + minSize; i < end; i++) {
+      hash = (hash << 1) + GEAR[buf[i] & 0xFF];
+      if ((hash & mask) == 0) {
+        return i + 1;
+      }
+    }
+    return (end - from == maxSize || eof) ? end : -1;
+  }
+
+  /**
+   * 分块并计算哈希
+   *
+   * @param file 文件
+   * @return 返回分块的结果
+   */
+  public FileDigest digest(File file) {
+    try (FileChannel ch = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+      long lastModified = file.lastModified();
+      long size = ch.size();
+      List<long[]> chunks = new ArrayList<>();
+      List<CompletableFuture<byte[]>> hashes = new ArrayList<>();
+      ArrayDeque<CompletableFuture<byte[]>> windows = new ArrayDeque<>();
+      // 多一个字节，文件没有变化时第一次读取就能遇到结尾
+      byte[] buf = new byte[(int) Math.min(WINDOW_SIZE, size + 1)];
+      int len = 0;
+      long offset = 0;
+      boolean eof = false;
+      while (!eof || len > 0) {
+        if (!eof) {
+          ByteBuffer bb = ByteBuffer.wrap(buf, len, buf.length - len);
+          while (bb.hasRemaining()) {
+            if (ch.read(bb) < 0) {
+              eof = true;
+              break;
+            }
+          }
+          len = bb.position();
+        }
+        int pos = 0;
+        for (int end; pos < len && (end = nextBoundary(buf, pos, len, eof)) > 0; pos = end) {
+          chunks.add(new long[]{offset + pos, end - pos});
+          final byte[] data = buf;
+          final int start = pos, n = end - pos;
+          hashes.add(CompletableFuture.supplyAsync(() -> sha256(data, start, n), executor));
+        }
+        // 剩余的数据拷贝到新的窗口，旧窗口留给正在计算的哈希；文件变长且窗口已满时扩容
+        byte[] next = new byte[pos == 0 && len == buf.length ? buf.length << 1 : buf.length];
+        System.arraycopy(buf, pos, next, 0, len - pos);
+        offset += pos;
+        len -= pos;
+        buf = next;
+        if (!hashes.isEmpty()) {
+          windows.add(hashes.get(hashes.size() - 1));
+          if (windows.size() > MAX_PENDING_WINDOWS) {
+            windows.poll().join();
+          }
+        }
+      }
+      long[] offsets = new long[chunks.size()];
+      int[] lengths = new int[chunks.size()];
+      byte[] digests = new byte[chunks.size() * HASH_SIZE];
+      for (int i = 0; i < chunks.size(); i++) {
+        offsets[i] = chunks.get(i)[0];
+        lengths[i] = (int) chunks.get(i)[1];
+        System.arraycopy(hashes.get(i).join(), 0, digests, i * HASH_SIZE, HASH_SIZE);
+      }
+      return new FileDigest(offset, lastModified, offsets, lengths, digests);
+    } catch (IOException e) {
+      throw CatchUtils.throwing(e, IllegalStateException.class);
+    }
+  }
+
+  static byte[] sha256(byte[] data, int offset, int len) {
+    MessageDigest md = SHA256.get();
+    md.reset();
+    md.update(data, offset, len);
+    return md.digest();
+  }
+
+}
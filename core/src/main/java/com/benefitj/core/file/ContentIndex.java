@@ -0,0 +1,269 @@
+package com.benefitj.core.file;
+
+import com.benefitj.core.CatchUtils;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 文件内容的索引，按 (路径, 长度, 修改时间) 缓存分块摘要，可以保存到文件
+ * <p>
+ * 长度和修改时间都没有变化的文件不会重新计算
+ */
+public class ContentIndex {
+
+  static final int MAGIC = 0x43494458;
+  static final int VERSION = 1;
+
+  /**
+   * 保存的文件
+   */
+  private final File indexFile;
+  private final ContentChunker chunker;
+  /**
+   * 绝对路径 -> 摘要
+   */
+  private final Map<String, FileDigest> digests = new ConcurrentHashMap<>();
+  /**
+   * 是否有未保存的修改
+   */
+  private volatile boolean dirty;
+
+  public ContentIndex(File indexFile) {
+    this(indexFile, ContentChunker.DEFAULT);
+  }
+
+  public ContentIndex(File indexFile, ContentChunker chunker) {
+    this.indexFile = indexFile;
+    this.chunker = chunker;
+    if (indexFile != null) {
+      load();
+    }
+  }
+
+  public File getIndexFile() {
+    return indexFile;
+  }
+
+  public ContentChunker getChunker() {
+    return chunker;
+  }
+
+  static String key(File file) {
+    return file.getAbsolutePath();
+  }
+
+  /**
+   * 文件是否有变化：不在索引中、长度或修改时间与索引不一致
+   *
+   * @param file 文件
+   * @return 返回是否变化，不读取文件内容
+   */
+  public boolean isChanged(File file) {
+    FileDigest digest = digests.get(key(file));
+    return digest == null || !digest.matches(file.length(), file.lastModified());
+  }
+
+  /**
+   * 获取缓存的摘要，不重新计算
+   *
+   * @param file 文件
+   * @return 返回摘要，文件变化或未计算时返回 null
+   */
+  public FileDigest getIfPresent(File file) {
+    FileDigest digest = digests.get(key(file));
+    return digest != null && digest.matches(file.length(), file.lastModified()) ? digest : null;
+  }
+
+  /**
+   * 获取摘要，文件变化时重新计算
+   *
+   * @param file 文件
+   * @return 返回摘要
+   */
+  public FileDigest digest(File file) {
+    if (!file.isFile()) {
+      throw new IllegalArgumentException("Not a file: " + file);
+    }
+    FileDigest digest = getIfPresent(file);
+    if (digest == null) {
+      digest = chunker.digest(file);
+      digests.put(key(file), digest);
+      dirty = true;
+    }
+    return digest;
+  }
+
+  /**
+   * 移除文件的摘要
+   *
+   * @param file 文件
+   */
+  public void remove(File file) {
+    if (digests.remove(key(file)) != null) {
+      dirty = true;
+    }
+  }
+
+  /**
+   * 移除已经不存在的文件
+   *
+   * @return 返回移除的数量
+   */
+  public int prune() {
+    int count = 0;
+    for (Iterator<String> itr = digests.keySet().iterator(); itr.hasNext(); ) {
+      if (!new File(itr.next()).isFile()) {
+        itr.remove();
+        count++;
+      }
+    }
+    dirty |= count > 0;
+    return count;
+  }
+
+  /**
+   * 查找内容相同的文件
+   *
+   * @param files 文件
+   * @return 返回 [内容哈希 -> 文件]，只包含 2 个及以上的分组
+   */
+  public Map<String, List<File>> findDuplicates(Collection<File> files) {
+    // 长度不同的文件内容一定不同，只计算长度相同的文件
+    Map<Long, List<File>> bySize = new HashMap<>();
+    for (File f : files) {
+      if (f.isFile()) {
+        bySize.computeIfAbsent(f.length(), k -> new ArrayList<>()).add(f);
+      }
+    }
+    Map<String, List<File>> groups = new LinkedHashMap<>();
+    for (List<File> candidates : bySize.values()) {
+      if (candidates.size() < 2) {
+        continue;
+      }
+      for (File f : candidates) {
+        groups.computeIfAbsent(digest(f).getContentHash(), k -> new ArrayList<>()).add(f);
+      }
+    }
+    groups.values().removeIf(list -> list.size() < 2);
+    return groups;
+  }
+
+  /**
+   * 查找索引中与指定文件内容相同的其他文件(只比较已经计算过的文件)
+   *
+   * @param file 文件
+   * @return 返回内容相同的文件
+   */
+  public List<File> findDuplicates(File file) {
+    FileDigest target = digest(file);
+    String self = key(file);
+    List<File> list = new ArrayList<>();
+    digests.forEach((path, digest) -> {
+      if (!path.equals(self) && target.sameContent(digest)) {
+        File f = new File(path);
+        if (getIfPresent(f) != null) {
+          list.add(f);
+        }
+      }
+    });
+    return list;
+  }
+
+  /**
+   * 已索引的文件数
+   */
+  public int size() {
+    return digests.size();
+  }
+
+  /**
+   * 保存索引(有修改时)
+   */
+  public synchronized void save() {
+    if (!dirty || indexFile == null) {
+      return;
+    }
+    File parent = indexFile.getAbsoluteFile().getParentFile();
+    if (parent != null && !parent.exists()) {
+      parent.mkdirs();
+    }
+    File tmp = new File(indexFile.getPath() + ".tmp");
+    try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp), 1 << 16))) {
+      dirty = false;
+      Map<String, FileDigest> snapshot = new HashMap<>(digests);
+      out.writeInt(MAGIC);
+      out.writeInt(VERSION);
+      out.writeInt(snapshot.size());
+      for (Map.Entry<String, FileDigest> entry : snapshot.entrySet()) {
+        FileDigest d = entry.getValue();
+        out.writeUTF(entry.getKey());
+        out.writeLong(d.getSize());
+        out.writeLong(d.getLastModified());
+        out.writeInt(d.getChunkCount());
+        for (int i = 0; i < d.getChunkCount(); i++) {
+          out.writeInt(d.lengths()[i]);
+        }
+        out.write(d.hashes());
+      }
+    } catch (IOException e) {
+      dirty = true;
+      throw CatchUtils.throwing(e, IllegalStateException.class);
+    }
+    if (!tmp.renameTo(indexFile)) {
+      indexFile.delete();
+      if (!tmp.renameTo(indexFile)) {
+        dirty = true;
+        throw new IllegalStateException("Cannot rename \"" + tmp + "\" to \"" + indexFile + "\"");
+      }
+    }
+  }
+
+  /**
+   * 加载索引，文件不存在或格式不正确(包括损坏)时忽略
+   */
+  public synchronized void load() {
+    if (indexFile == null || !indexFile.isFile()) {
+      return;
+    }
+    // 每个块至少占用的字节数，用于检查块数是否超出文件长度
+    final long maxChunks = indexFile.length() / (4 + ContentChunker.HASH_SIZE);
+    try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(indexFile), 1 << 16))) {
+      if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+        return;
+      }
+      Map<String, FileDigest> loaded = new HashMap<>();
+      for (int n = in.readInt(); n > 0; n--) {
+        String path = in.readUTF();
+        long size = in.readLong();
+        long lastModified = in.readLong();
+        int count = in.readInt();
+        if (count < 0 || count > maxChunks) {
+          // 损坏的索引
+          return;
+        }
+        long[] offsets = new long[count];
+        int[] lengths = new int[count];
+        long offset = 0;
+        for (int i = 0; i < count; i++) {
+          offsets[i] = offset;
+          offset += (lengths[i] = in.readInt());
+          if (lengths[i] < 0) {
+            return;
+          }
+        }
+        if (offset != size) {
+          return;
+        }
+        byte[] hashes = new byte[count * ContentChunker.HASH_SIZE];
+        in.readFully(hashes);
+        loaded.put(path, new FileDigest(size, lastModified, offsets, lengths, hashes));
+      }
+      digests.putAll(loaded);
+    } catch (IOException | RuntimeException e) {
+      // 损坏的索引，重新计算
+    }
+  }
+
+}
@@ -112,6 +112,23 @@ public class FileCopy {
           : copyFile(srcFile, destFile) && srcFile.delete();
     }
 
+    if (type == Type.COPY || filter == null) {
+      // 目录并行拷贝或移动，与逐个拷贝时一致：跟随符号链接，跳过无法访问的文件，失败时返回 false
+      FileTreeOps ops = new FileTreeOps()
+          .setFollowLinks(true)
+          .setSkipFailed(true);
+      try {
+        if (type == Type.COPY) {
+          ops.copy(srcFile.toPath(), destFile.toPath(), filter);
+        } else {
+          ops.move(srcFile.toPath(), destFile.toPath());
+        }
+        return true;
+      } catch (IllegalStateException e) {
+        return false;
+      }
+    }
+
     // 创建目录
     boolean ignore = (exists(destFile)
         && destFile.isFile())
@@ -147,7 +164,14 @@ public class FileCopy {
            final FileOutputStream fos = new FileOutputStream(destFile);) {
         FileChannel srcChannel = fis.getChannel();
         FileChannel destChannel = fos.getChannel();
-        destChannel.transferFrom(srcChannel, 0, srcChannel.size());
+        for (long pos = 0, size = srcChannel.size(); pos < size; ) {
+          // 单次可能只传输一部分
+          long n = destChannel.transferFrom(srcChannel, pos, size - pos);
+          if (n <= 0) {
+            break;
+          }
+          pos += n;
+        }
         closeQuietly(srcChannel, destChannel);
         Path srcPath = srcFile.toPath();
         Path destPath = destFile.toPath();
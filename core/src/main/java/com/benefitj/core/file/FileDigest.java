@@ -0,0 +1,120 @@
+package com.benefitj.core.file;
+
+import com.benefitj.core.HexUtils;
+
+import java.util.Arrays;
+
+/**
+ * 文件的分块摘要：每块的位置、长度和 SHA-256，以及由全部块的哈希计算出的内容哈希
+ */
+public class FileDigest {
+
+  /**
+   * 文件长度
+   */
+  private final long size;
+  /**
+   * 计算时文件的修改时间
+   */
+  private final long lastModified;
+  /**
+   * 块的位置
+   */
+  private final long[] offsets;
+  /**
+   * 块的长度
+   */
+  private final int[] lengths;
+  /**
+   * 块的哈希，每 32 个字节一个
+   */
+  private final byte[] hashes;
+  /**
+   * 内容哈希
+   */
+  private final byte[] contentHash;
+
+  public FileDigest(long size, long lastModified, long[] offsets, int[] lengths, byte[] hashes) {
+    this.size = size;
+    this.lastModified = lastModified;
+    this.offsets = offsets;
+    this.lengths = lengths;
+    this.hashes = hashes;
+    this.contentHash = ContentChunker.sha256(hashes, 0, hashes.length);
+  }
+
+  public long getSize() {
+    return size;
+  }
+
+  public long getLastModified() {
+    return lastModified;
+  }
+
+  /**
+   * 块的数量
+   */
+  public int getChunkCount() {
+    return lengths.length;
+  }
+
+  public long getOffset(int index) {
+    return offsets[index];
+  }
+
+  public int getLength(int index) {
+    return lengths[index];
+  }
+
+  /**
+   * 块的哈希
+   */
+  public byte[] getChunkHash(int index) {
+    return Arrays.copyOfRange(hashes, index * ContentChunker.HASH_SIZE, (index + 1) * ContentChunker.HASH_SIZE);
+  }
+
+  /**
+   * 块的哈希(16进制，小写)
+   */
+  public String getChunkHex(int index) {
+    return HexUtils.bytesToHex(getChunkHash(index), true);
+  }
+
+  byte[] hashes() {
+    return hashes;
+  }
+
+  long[] offsets() {
+    return offsets;
+  }
+
+  int[] lengths() {
+    return lengths;
+  }
+
+  /**
+   * 内容哈希(16进制，小写)，内容相同的文件哈希相同
+   */
+  public String getContentHash() {
+    return HexUtils.bytesToHex(contentHash, true);
+  }
+
+  /**
+   * 文件是否与计算时一致(长度和修改时间)
+   */
+  public boolean matches(long size, long lastModified) {
+    return this.size == size && this.lastModified == lastModified;
+  }
+
+  /**
+   * 内容是否相同
+   */
+  public boolean sameContent(FileDigest other) {
+    return other != null && size == other.size && Arrays.equals(contentHash, other.contentHash);
+  }
+
+  @Override
+  public String toString() {
+    return "FileDigest{size=" + size + ", chunks=" + getChunkCount() + ", contentHash=" + getContentHash() + '}';
+  }
+}
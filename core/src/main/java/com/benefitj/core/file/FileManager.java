@@ -8,7 +8,10 @@ import java.io.*;
 import java.net.URI;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
 import java.util.function.Consumer;
 
 /**
@@ -22,6 +25,12 @@ public class FileManager implements IFileManager {
    * 根目录
    */
   private final AtomicReference<LocaleFile> rootRef = new AtomicReference<>();
+  /**
+   * 内容索引和去重存储的目录，默认为根目录下的 .content
+   */
+  private volatile File contentDir;
+  private volatile ContentIndex contentIndex;
+  private volatile ChunkStore chunkStore;
 
   public FileManager() {
     // ~
@@ -276,6 +285,87 @@ public class FileManager implements IFileManager {
     return getFile(null, filename, false).exists();
   }
 
+  public File getContentDir() {
+    File dir = this.contentDir;
+    return dir != null ? dir : new File(getRoot(), ".content");
+  }
+
+  /**
+   * 设置内容索引和去重存储的目录，需要在使用之前设置
+   */
+  public void setContentDir(File contentDir) {
+    this.contentDir = contentDir;
+  }
+
+  /**
+   * 内容索引，保存在 {@link #getContentDir()} 下
+   */
+  public ContentIndex getContentIndex() {
+    ContentIndex index = this.contentIndex;
+    if (index == null) {
+      synchronized (this) {
+        if ((index = this.contentIndex) == null) {
+          this.contentIndex = (index = new ContentIndex(new File(getContentDir(), "content.idx")));
+        }
+      }
+    }
+    return index;
+  }
+
+  /**
+   * 去重存储
+   */
+  public ChunkStore getChunkStore() {
+    ChunkStore store = this.chunkStore;
+    if (store == null) {
+      synchronized (this) {
+        if ((store = this.chunkStore) == null) {
+          this.chunkStore = (store = new ChunkStore(getContentDir(), getContentIndex()));
+        }
+      }
+    }
+    return store;
+  }
+
+  /**
+   * 保存内容索引
+   */
+  public void saveContentIndex() {
+    getContentIndex().save();
+  }
+
+  @Override
+  public boolean isChanged(String filename) {
+    return getContentIndex().isChanged(getFile(filename));
+  }
+
+  @Override
+  public FileDigest digest(String filename) {
+    return getContentIndex().digest(getFile(filename));
+  }
+
+  @Override
+  public Map<String, List<File>> findDuplicates(String directory) {
+    File contentDir = getContentDir().getAbsoluteFile();
+    List<File> files = IOUtils.listFiles(getDirectory(directory)).stream()
+        .filter(File::isFile)
+        .filter(f -> !f.getAbsolutePath().startsWith(contentDir.getPath() + File.separator))
+        .collect(Collectors.toList());
+    return getContentIndex().findDuplicates(files);
+  }
+
+  @Override
+  public String storeDeduplicated(String filename) {
+    return getChunkStore().put(getFile(filename));
+  }
+
+  @Override
+  public File restoreDeduplicated(String contentHash, String filename) {
+    File file = getFile(filename);
+    getChunkStore().restore(contentHash, file);
+    return file;
+  }
+
   /**
    * 传输
    *
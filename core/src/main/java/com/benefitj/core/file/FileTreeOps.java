@@ -0,0 +1,854 @@
+package com.benefitj.core.file;
+
+import com.benefitj.core.CatchUtils;
+
+import javax.annotation.Nullable;
+import java.io.File;
+import java.io.FileFilter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributeView;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 并行的目录树操作：拷贝、移动、统计大小和列出文件
+ * <p>
+ * 遍历({@link Files#walkFileTree})在调用线程上进行，每个文件作为一个任务提交到 {@link ForkJoinPool}，
+ * 通过 {@link FileChannel#transferTo(long, long, java.nio.channels.WritableByteChannel)} 拷贝(由内核完成，
+ * 如 copy_file_range/sendfile)，较大的文件按块并行拷贝；未完成的任务数有上限，遍历不会领先拷贝太多。
+ * <p>
+ * 默认使用共享的线程池，创建对象的开销很小；设置好参数后可以在多个线程中使用，回调在执行任务的线程中调用。
+ * <p>
+ * 默认不跟随符号链接，无法访问的文件会中止操作并抛出 IllegalStateException；
+ * 可以通过 {@link #setFollowLinks(boolean)}、{@link #setSkipFailed(boolean)} 修改
+ */
+public class FileTreeOps {
+
+  /**
+   * 共享的线程池
+   */
+  private static volatile ForkJoinPool sharedPool;
+
+  /**
+   * 获取共享的线程池，并行数为 CPU 核数(最多 16)
+   */
+  static ForkJoinPool sharedPool() {
+    ForkJoinPool pool = sharedPool;
+    if (pool == null) {
+      synchronized (FileTreeOps.class) {
+        if ((pool = sharedPool) == null) {
+          sharedPool = (pool = new ForkJoinPool(Math.min(Runtime.getRuntime().availableProcessors(), 16)));
+        }
+      }
+    }
+    return pool;
+  }
+
+  /**
+   * 单次 transferTo 的最大长度
+   */
+  static final long TRANSFER_SIZE = 8L << 20;
+  /**
+   * transferTo 没有进展时，缓冲区拷贝的大小
+   */
+  static final int BUFFER_SIZE = 64 << 10;
+
+  private final ForkJoinPool pool;
+  /**
+   * 是否为自己创建的线程池
+   */
+  private final boolean ownPool;
+  /**
+   * 最多未完成的文件任务数
+   */
+  private final int maxPending;
+  /**
+   * 大于此长度的文件按块并行拷贝
+   */
+  private long splitSize = 64L << 20;
+  /**
+   * 是否覆盖已存在的文件
+   */
+  private boolean cover = true;
+  /**
+   * 是否拷贝文件的时间和权限
+   */
+  private boolean copyAttributes = true;
+  /**
+   * 是否跟随符号链接
+   */
+  private boolean followLinks = false;
+  /**
+   * 是否跳过无法访问的文件和目录
+   */
+  private boolean skipFailed = false;
+  /**
+   * 进度监听
+   */
+  private Listener listener = Listener.NONE;
+
+  /**
+   * 使用共享的线程池
+   */
+  public FileTreeOps() {
+    this(sharedPool(), false);
+  }
+
+  /**
+   * 使用独立的线程池，不再使用时需要调用 {@link #shutdown()}
+   *
+   * @param parallelism 并行数
+   */
+  public FileTreeOps(int parallelism) {
+    this(newPool(parallelism), true);
+  }
+
+  private FileTreeOps(ForkJoinPool pool, boolean ownPool) {
+    this.pool = pool;
+    this.ownPool = ownPool;
+    this.maxPending = pool.getParallelism() * 4;
+  }
+
+  private static ForkJoinPool newPool(int parallelism) {
+    if (parallelism <= 0) {
+      throw new IllegalArgumentException("parallelism must be greater than 0: " + parallelism);
+    }
+    return new ForkJoinPool(parallelism);
+  }
+
+  public int getParallelism() {
+    return pool.getParallelism();
+  }
+
+  public long getSplitSize() {
+    return splitSize;
+  }
+
+  public FileTreeOps setSplitSize(long splitSize) {
+    this.splitSize = Math.max(splitSize, TRANSFER_SIZE);
+    return this;
+  }
+
+  public boolean isCover() {
+    return cover;
+  }
+
+  public FileTreeOps setCover(boolean cover) {
+    this.cover = cover;
+    return this;
+  }
+
+  public boolean isCopyAttributes() {
+    return copyAttributes;
+  }
+
+  public FileTreeOps setCopyAttributes(boolean copyAttributes) {
+    this.copyAttributes = copyAttributes;
+    return this;
+  }
+
+  public boolean isFollowLinks() {
+    return followLinks;
+  }
+
+  /**
+   * 是否跟随符号链接：跟随时拷贝和统计链接指向的文件或目录(出现循环的目录视为无法访问)，否则拷贝链接本身
+   */
+  public FileTreeOps setFollowLinks(boolean followLinks) {
+    this.followLinks = followLinks;
+    return this;
+  }
+
+  public boolean isSkipFailed() {
+    return skipFailed;
+  }
+
+  /**
+   * 是否跳过无法访问(读取属性或列出目录失败)的文件和目录，否则中止并抛出异常；拷贝文件失败总是会中止
+   */
+  public FileTreeOps setSkipFailed(boolean skipFailed) {
+    this.skipFailed = skipFailed;
+    return this;
+  }
+
+  LinkOption[] linkOptions() {
+    return followLinks ? new LinkOption[0] : new LinkOption[]{LinkOption.NOFOLLOW_LINKS};
+  }
+
+  public Listener getListener() {
+    return listener;
+  }
+
+  public FileTreeOps setListener(Listener listener) {
+    this.listener = listener != null ? listener : Listener.NONE;
+    return this;
+  }
+
+  /**
+   * 并行统计文件和目录的数量、文件的总大小
+   *
+   * @param root   文件或目录
+   * @param filter 过滤器，对目录和文件都有效
+   * @return 返回统计结果，不包含根目录
+   */
+  public TreeStats size(Path root, @Nullable FileFilter filter) {
+    if (!Files.exists(root, LinkOption.NOFOLLOW_LINKS)) {
+      return new TreeStats();
+    }
+    return pool.invoke(new SizeTask(null, root, filter, linkOptions(), skipFailed));
+  }
+
+  /**
+   * 并行列出全部的文件和目录，顺序与逐层递归时一致(先目录，再目录下的文件)；
+   * 通过 {@link File#listFiles()} 列出，总是跟随符号链接，无法列出的目录视为空目录
+   *
+   * @param root   目录
+   * @param filter 过滤器，对目录和文件都有效
+   * @return 返回文件列表，不包含根目录
+   */
+  public List<File> list(File root, @Nullable FileFilter filter) {
+    if (root == null || !root.isDirectory()) {
+      return Collections.emptyList();
+    }
+    return pool.invoke(new ListTask(root, filter));
+  }
+
+  /**
+   * 拷贝文件或目录
+   *
+   * @param src    源文件或目录
+   * @param dest   目标文件或目录
+   * @param filter 过滤器，对目录和文件都有效
+   * @return 返回拷贝的统计结果，不包含根目录
+   */
+  public TreeStats copy(Path src, Path dest, @Nullable FileFilter filter) {
+    if (!Files.exists(src, LinkOption.NOFOLLOW_LINKS)) {
+      throw new IllegalArgumentException("source not found: " + src);
+    }
+    Copier copier = new Copier(src, dest, filter);
+    try {
+      copier.run();
+    } catch (IOException e) {
+      throw CatchUtils.throwing(e, IllegalStateException.class);
+    }
+    return copier.stats;
+  }
+
+  /**
+   * 移动文件或目录，同一文件系统中直接重命名，否则拷贝后删除源文件；
+   * 只删除拷贝成功的文件和删除后为空的目录，跳过的文件(如无法访问、不覆盖已存在的文件)保留在原位置
+   *
+   * @param src  源文件或目录
+   * @param dest 目标文件或目录
+   * @return 返回移动的统计结果(重命名时只统计根节点)
+   */
+  public TreeStats move(Path src, Path dest) {
+    try {
+      if (dest.getParent() != null) {
+        Files.createDirectories(dest.getParent());
+      }
+      try {
+        if (cover) {
+          Files.move(src, dest, StandardCopyOption.REPLACE_EXISTING);
+        } else {
+          Files.move(src, dest);
+        }
+        TreeStats stats = new TreeStats();
+        if (Files.isDirectory(dest, LinkOption.NOFOLLOW_LINKS)) {
+          stats.dirs.incrementAndGet();
+        } else {
+          stats.files.incrementAndGet();
+          stats.bytes.addAndGet(Files.size(dest));
+        }
+        return stats;
+      } catch (AtomicMoveNotSupportedException | DirectoryNotEmptyException e) {
+        // 跨文件系统，或目标目录非空
+      } catch (FileAlreadyExistsException e) {
+        if (!cover || !Files.isDirectory(dest, LinkOption.NOFOLLOW_LINKS)) {
+          throw e;
+        }
+      } catch (IOException e) {
+        if (!Files.exists(src, LinkOption.NOFOLLOW_LINKS)) {
+          throw e;
+        }
+      }
+      Copier copier = new Copier(src, dest, null);
+      copier.copied = ConcurrentHashMap.newKeySet();
+      copier.run();
+      deleteCopied(src, copier.copied);
+      return copier.stats;
+    } catch (IOException e) {
+      throw CatchUtils.throwing(e, IllegalStateException.class);
+    }
+  }
+
+  /**
+   * 删除文件或目录
+   *
+   * @param root 文件或目录
+   */
+  public void delete(Path root) throws IOException {
+    if (!Files.exists(root, LinkOption.NOFOLLOW_LINKS)) {
+      return;
+    }
+    Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+      @Override
+      public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+        Files.delete(file);
+        return FileVisitResult.CONTINUE;
+      }
+
+      @Override
+      public FileVisitResult postVisitDirectory(Path dir, IOException e) throws IOException {
+        if (e != null) {
+          throw e;
+        }
+        Files.delete(dir);
+        return FileVisitResult.CONTINUE;
+      }
+    });
+  }
+
+  /**
+   * 删除已拷贝的文件，以及删除后为空的目录
+   *
+   * @param root   源文件或目录
+   * @param copied 已拷贝的文件
+   */
+  void deleteCopied(Path root, Set<Path> copied) throws IOException {
+    Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+      @Override
+      public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+        if (copied.contains(file)) {
+          Files.delete(file);
+        }
+        return FileVisitResult.CONTINUE;
+      }
+
+      @Override
+      public FileVisitResult visitFileFailed(Path file, IOException e) {
+        // 无法访问的文件没有被拷贝
+        return FileVisitResult.CONTINUE;
+      }
+
+      @Override
+      public FileVisitResult postVisitDirectory(Path dir, IOException e) throws IOException {
+        try {
+          Files.delete(dir);
+        } catch (DirectoryNotEmptyException ignore) {
+          // 还有未拷贝的文件
+        }
+        return FileVisitResult.CONTINUE;
+      }
+    });
+  }
+
+  /**
+   * 关闭独立的线程池，共享的线程池不会被关闭
+   */
+  public void shutdown() {
+    if (ownPool) {
+      pool.shutdown();
+    }
+  }
+
+  static boolean accept(@Nullable FileFilter filter, Path path) {
+    return filter == null || filter.accept(path.toFile());
+  }
+
+  /**
+   * 拷贝文件的时间和权限
+   */
+  static void copyAttributes(Path src, Path dest, BasicFileAttributes attrs) throws IOException {
+    Files.getFileAttributeView(dest, BasicFileAttributeView.class, LinkOption.NOFOLLOW_LINKS)
+        .setTimes(attrs.lastModifiedTime(), attrs.lastAccessTime(), attrs.creationTime());
+    PosixFileAttributeView view = Files.getFileAttributeView(dest, PosixFileAttributeView.class);
+    if (view != null) {
+      try {
+        view.setPermissions(Files.readAttributes(src, PosixFileAttributes.class).permissions());
+      } catch (UnsupportedOperationException | SecurityException ignore) {
+        // 不支持
+      }
+    }
+  }
+
+  /**
+   * 拷贝：遍历目录，提交文件任务，等待全部完成后再设置目录的属性
+   */
+  final class Copier extends SimpleFileVisitor<Path> {
+
+    final Path src;
+    final Path dest;
+    final FileFilter filter;
+    final TreeStats stats = new TreeStats();
+    final Semaphore pending = new Semaphore(maxPending);
+    final AtomicReference<Throwable> failure = new AtomicReference<>();
+    /**
+     * 目录与其属性，拷贝完成后设置(写入文件会修改目录的时间)
+     */
+    final List<Object[]> dirs = new ArrayList<>();
+    /**
+     * 拷贝成功的源文件，移动时用于删除
+     */
+    @Nullable
+    Set<Path> copied;
+
+    Copier(Path src, Path dest, FileFilter filter) {
+      this.src = src;
+      this.dest = dest;
+      this.filter = filter;
+    }
+
+    void run() throws IOException {
+      try {
+        Set<FileVisitOption> options = followLinks ? EnumSet.of(FileVisitOption.FOLLOW_LINKS) : Collections.emptySet();
+        Files.walkFileTree(src, options, Integer.MAX_VALUE, this);
+      } finally {
+        // 取回全部许可，即等待全部任务结束
+        pending.acquireUninterruptibly(maxPending);
+        pending.release(maxPending);
+      }
+      Throwable e = failure.get();
+      if (e != null) {
+        throw CatchUtils.throwing(e, IllegalStateException.class);
+      }
+      if (copyAttributes) {
+        for (int i = dirs.size() - 1; i >= 0; i--) {
+          Object[] dir = dirs.get(i);
+          copyAttributes((Path) dir[0], (Path) dir[1], (BasicFileAttributes) dir[2]);
+        }
+      }
+    }
+
+    Path target(Path path) {
+      return dest.resolve(src.relativize(path).toString());
+    }
+
+    @Override
+    public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+      if (failure.get() != null) {
+        return FileVisitResult.TERMINATE;
+      }
+      if (!dir.equals(src) && !accept(filter, dir)) {
+        return FileVisitResult.SKIP_SUBTREE;
+      }
+      Path target = target(dir);
+      if (Files.exists(target, LinkOption.NOFOLLOW_LINKS) && !Files.isDirectory(target, LinkOption.NOFOLLOW_LINKS)) {
+        Files.delete(target);
+      }
+      Files.createDirectories(target);
+      dirs.add(new Object[]{dir, target, attrs});
+      if (!dir.equals(src)) {
+        stats.dirs.incrementAndGet();
+      }
+      return FileVisitResult.CONTINUE;
+    }
+
+    @Override
+    public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+      if (failure.get() != null) {
+        return FileVisitResult.TERMINATE;
+      }
+      if (!file.equals(src) && !accept(filter, file)) {
+        return FileVisitResult.CONTINUE;
+      }
+      if (followLinks && attrs.isSymbolicLink()) {
+        // 跟随时仍为符号链接，说明指向的文件不存在
+        return visitFileFailed(file, new NoSuchFileException(file.toString()));
+      }
+      Path target = file.equals(src) ? dest : target(file);
+      if (!cover && Files.exists(target, LinkOption.NOFOLLOW_LINKS)) {
+        return FileVisitResult.CONTINUE;
+      }
+      pending.acquireUninterruptibly();
+      pool.execute(new FileTask(this, file, target, attrs));
+      return FileVisitResult.CONTINUE;
+    }
+
+    @Override
+    public FileVisitResult visitFileFailed(Path file, IOException e) throws IOException {
+      if (skipFailed) {
+        return FileVisitResult.CONTINUE;
+      }
+      throw e;
+    }
+
+    void completed(Path file, Path target, long size) {
+      if (copied != null) {
+        copied.add(file);
+      }
+      stats.files.incrementAndGet();
+      listener.onFileCompleted(file, target, size);
+    }
+
+    void transferred(long n) {
+      listener.onProgress(stats.bytes.addAndGet(n));
+    }
+  }
+
+  /**
+   * 拷贝单个文件，较大的文件拆分成块
+   */
+  final class FileTask extends RecursiveAction {
+
+    final Copier copier;
+    final Path file;
+    final Path target;
+    final BasicFileAttributes attrs;
+
+    FileTask(Copier copier, Path file, Path target, BasicFileAttributes attrs) {
+      this.copier = copier;
+      this.file = file;
+      this.target = target;
+      this.attrs = attrs;
+    }
+
+    @Override
+    protected void compute() {
+      try {
+        if (copier.failure.get() != null) {
+          return;
+        }
+        if (target.getParent() != null) {
+          Files.createDirectories(target.getParent());
+        }
+        if (attrs.isSymbolicLink()) {
+          Files.copy(file, target, StandardCopyOption.REPLACE_EXISTING, LinkOption.NOFOLLOW_LINKS);
+          copier.completed(file, target, 0);
+          return;
+        }
+        long size = attrs.size();
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+          try (FileChannel out = FileChannel.open(target, StandardOpenOption.WRITE,
+              StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            if (size <= splitSize) {
+              transfer(copier, in, 0, size, out);
+            } else {
+              // 先设置长度，各个块按位置写入
+              out.write(ByteBuffer.allocate(1), size - 1);
+            }
+          }
+          if (size > splitSize) {
+            List<ChunkTask> chunks = new ArrayList<>();
+            for (long pos = 0; pos < size; pos += splitSize) {
+              chunks.add(new ChunkTask(copier, in, target, pos, Math.min(splitSize, size - pos)));
+            }
+            invokeAll(chunks);
+            for (ChunkTask chunk : chunks) {
+              if (chunk.getException() != null) {
+                throw chunk.getException();
+              }
+            }
+          }
+        }
+        if (copyAttributes) {
+          copyAttributes(file, target, attrs);
+        }
+        copier.completed(file, target, size);
+      } catch (Throwable e) {
+        if (copier.failure.compareAndSet(null, e)) {
+          listener.onError(file, e);
+        }
+      } finally {
+        copier.pending.release();
+      }
+    }
+  }
+
+  /**
+   * 拷贝文件中的一块
+   */
+  final class ChunkTask extends RecursiveAction {
+
+    final Copier copier;
+    final FileChannel in;
+    final Path target;
+    final long position;
+    final long count;
+
+    ChunkTask(Copier copier, FileChannel in, Path target, long position, long count) {
+      this.copier = copier;
+      this.in = in;
+      this.target = target;
+      this.position = position;
+      this.count = count;
+    }
+
+    @Override
+    protected void compute() {
+      try (FileChannel out = FileChannel.open(target, StandardOpenOption.WRITE)) {
+        out.position(position);
+        transfer(copier, in, position, count, out);
+      } catch (IOException e) {
+        throw CatchUtils.throwing(e, IllegalStateException.class);
+      }
+    }
+  }
+
+  /**
+   * 拷贝数据，transferTo 每次可能只传输一部分
+   */
+  void transfer(Copier copier, FileChannel in, long position, long count, FileChannel out) throws IOException {
+    long end = position + count;
+    while (position < end) {
+      long n = in.transferTo(position, Math.min(TRANSFER_SIZE, end - position), out);
+      if (n <= 0) {
+        if (position >= in.size()) {
+          // 文件在拷贝过程中变短了
+          break;
+        }
+        // 没有进展，改为通过缓冲区拷贝，避免空转
+        transferBuffered(copier, in, position, end, out);
+        return;
+      }
+      position += n;
+      copier.transferred(n);
+    }
+  }
+
+  /**
+   * 通过缓冲区拷贝数据
+   */
+  void transferBuffered(Copier copier, FileChannel in, long position, long end, FileChannel out) throws IOException {
+    ByteBuffer buf = ByteBuffer.allocate((int) Math.min(BUFFER_SIZE, end - position));
+    while (position < end) {
+      buf.clear();
+      buf.limit((int) Math.min(buf.capacity(), end - position));
+      int n = in.read(buf, position);
+      if (n < 0) {
+        break;
+      }
+      buf.flip();
+      while (buf.hasRemaining()) {
+        if (out.write(buf) <= 0) {
+          throw new IOException("unable to write: " + out);
+        }
+      }
+      position += n;
+      copier.transferred(n);
+    }
+  }
+
+  /**
+   * 统计目录
+   */
+  static final class SizeTask extends RecursiveTask<TreeStats> {
+
+    /**
+     * 上级目录，跟随符号链接时用于检查循环
+     */
+    final SizeTask parent;
+    final Path path;
+    final FileFilter filter;
+    final LinkOption[] options;
+    final boolean skipFailed;
+    Object fileKey;
+
+    SizeTask(SizeTask parent, Path path, FileFilter filter, LinkOption[] options, boolean skipFailed) {
+      this.parent = parent;
+      this.path = path;
+      this.filter = filter;
+      this.options = options;
+      this.skipFailed = skipFailed;
+    }
+
+    @Override
+    protected TreeStats compute() {
+      TreeStats stats = new TreeStats();
+      List<SizeTask> subtasks = new ArrayList<>();
+      try {
+        BasicFileAttributes attrs = Files.readAttributes(path, BasicFileAttributes.class, options);
+        if (!attrs.isDirectory()) {
+          stats.files.incrementAndGet();
+          stats.bytes.addAndGet(attrs.size());
+          return stats;
+        }
+        if (isLoop(attrs.fileKey())) {
+          throw new FileSystemLoopException(path.toString());
+        }
+        try (DirectoryStream<Path> ds = Files.newDirectoryStream(path)) {
+          for (Path child : ds) {
+            if (!accept(filter, child)) {
+              continue;
+            }
+            BasicFileAttributes ca;
+            try {
+              ca = Files.readAttributes(child, BasicFileAttributes.class, options);
+            } catch (IOException e) {
+              if (skipFailed) {
+                continue;
+              }
+              throw e;
+            }
+            if (ca.isDirectory()) {
+              stats.dirs.incrementAndGet();
+              SizeTask task = new SizeTask(this, child, filter, options, skipFailed);
+              task.fork();
+              subtasks.add(task);
+            } else {
+              stats.files.incrementAndGet();
+              stats.bytes.addAndGet(ca.size());
+            }
+          }
+        }
+      } catch (IOException | DirectoryIteratorException e) {
+        if (!skipFailed) {
+          throw CatchUtils.throwing(e, IllegalStateException.class);
+        }
+        // 跳过无法访问的目录，已提交的子目录照常统计
+      }
+      for (SizeTask task : subtasks) {
+        stats.add(task.join());
+      }
+      return stats;
+    }
+
+    /**
+     * 是否与上级目录相同(符号链接指向了上级目录)
+     */
+    boolean isLoop(Object key) {
+      this.fileKey = key;
+      if (key == null || options.length > 0) {
+        return false;
+      }
+      for (SizeTask p = parent; p != null; p = p.parent) {
+        if (Objects.equals(key, p.fileKey)) {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+
+  /**
+   * 列出目录
+   */
+  static final class ListTask extends RecursiveTask<List<File>> {
+
+    final File dir;
+    final FileFilter filter;
+
+    ListTask(File dir, FileFilter filter) {
+      this.dir = dir;
+      this.filter = filter;
+    }
+
+    @Override
+    protected List<File> compute() {
+      File[] files = filter != null ? dir.listFiles(filter) : dir.listFiles();
+      if (files == null || files.length == 0) {
+        return Collections.emptyList();
+      }
+      ListTask[] subtasks = new ListTask[files.length];
+      for (int i = 0; i < files.length; i++) {
+        if (files[i].isDirectory()) {
+          (subtasks[i] = new ListTask(files[i], filter)).fork();
+        }
+      }
+      List<File> list = new ArrayList<>(files.length);
+      for (int i = 0; i < files.length; i++) {
+        list.add(files[i]);
+        if (subtasks[i] != null) {
+          list.addAll(subtasks[i].join());
+        }
+      }
+      return list;
+    }
+  }
+
+  /**
+   * 统计结果
+   */
+  public static class TreeStats {
+
+    final AtomicLong files = new AtomicLong();
+    final AtomicLong dirs = new AtomicLong();
+    final AtomicLong bytes = new AtomicLong();
+
+    void add(TreeStats other) {
+      files.addAndGet(other.files.get());
+      dirs.addAndGet(other.dirs.get());
+      bytes.addAndGet(other.bytes.get());
+    }
+
+    /**
+     * 文件数量
+     */
+    public long getFiles() {
+      return files.get();
+    }
+
+    /**
+     * 目录数量
+     */
+    public long getDirs() {
+      return dirs.get();
+    }
+
+    /**
+     * 文件的总字节数
+     */
+    public long getBytes() {
+      return bytes.get();
+    }
+
+    @Override
+    public String toString() {
+      return "TreeStats{files=" + getFiles() + ", dirs=" + getDirs() + ", bytes=" + getBytes() + '}';
+    }
+  }
+
+  /**
+   * 进度监听，在执行任务的线程中调用
+   */
+  public interface Listener {
+
+    Listener NONE = new Listener() {
+    };
+
+    /**
+     * 数据拷贝的进度
+     *
+     * @param bytes 已拷贝的字节数
+     */
+    default void onProgress(long bytes) {
+    }
+
+    /**
+     * 文件拷贝完成
+     *
+     * @param src  源文件
+     * @param dest 目标文件
+     * @param size 文件大小
+     */
+    default void onFileCompleted(Path src, Path dest, long size) {
+    }
+
+    /**
+     * 拷贝出错，之后不再提交新的任务
+     *
+     * @param src 源文件
+     * @param e   异常
+     */
+    default void onError(Path src, Throwable e) {
+    }
+  }
+
+}
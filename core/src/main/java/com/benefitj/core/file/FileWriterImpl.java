@@ -4,7 +4,9 @@ import com.benefitj.core.AttributeMap;
 import com.benefitj.core.CatchUtils;
 import com.benefitj.core.IOUtils;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.charset.Charset;
@@ -20,6 +22,10 @@ public class FileWriterImpl implements IWriter<FileWriterImpl>, AttributeMap {
   private final Map<String, Object> attrs = new ConcurrentHashMap<>();
   private final File source;
   private OutputStream out;
+  /**
+   * 文件输出流，用于同步到磁盘
+   */
+  private FileOutputStream fileOut;
   /**
    * 编码
    */
@@ -36,7 +42,25 @@ public class FileWriterImpl implements IWriter<FileWriterImpl>, AttributeMap {
   public FileWriterImpl(File source, Charset charset, boolean append) {
     this.source = source;
     this.charset = charset;
-    this.out = IWriter.wrapOutput(source, append);
+    try {
+      this.fileOut = new FileOutputStream(source, append);
+      this.out = new BufferedOutputStream(fileOut);
+    } catch (IOException e) {
+      throw new IllegalStateException(CatchUtils.findRoot(e));
+    }
+  }
+
+  /**
+   * 使用指定的输出流
+   *
+   * @param source  文件
+   * @param charset 编码
+   * @param out     输出流，为 null 时由子类实现写入
+   */
+  protected FileWriterImpl(File source, Charset charset, OutputStream out) {
+    this.source = source;
+    this.charset = charset;
+    this.out = out;
   }
 
   /**
@@ -81,6 +105,7 @@ public class FileWriterImpl implements IWriter<FileWriterImpl>, AttributeMap {
 
   public void setOut(OutputStream out) {
     this.out = out;
+    this.fileOut = null;
   }
 
   public Charset getCharset() {
@@ -118,6 +143,22 @@ public class FileWriterImpl implements IWriter<FileWriterImpl>, AttributeMap {
     } catch (IOException ignored) {/*^_^*/}
   }
 
+  /**
+   * 刷新并同步到磁盘(fsync)，自定义输出流时只刷新
+   */
+  public void sync() {
+    try {
+      synchronized (this) {
+        getOut().flush();
+        if (fileOut != null) {
+          fileOut.getFD().sync();
+        }
+      }
+    } catch (IOException e) {
+      throw new IllegalStateException(CatchUtils.findRoot(e));
+    }
+  }
+
   /**
    * 关闭输出流
    */
@@ -1,10 +1,15 @@
 package com.benefitj.core.file;
 
+import com.benefitj.core.IOUtils;
+
 import javax.annotation.Nullable;
 import java.io.File;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 /**
  * 文件管理
@@ -285,6 +290,63 @@ public interface IFileManager {
    */
   void transferTo(InputStream in, OutputStream out, boolean autoClose);
 
+  /**
+   * 文件是否有变化(与上次计算摘要时的长度和修改时间比较)，不读取文件内容
+   *
+   * @param filename 文件名
+   * @return 返回是否变化，未计算过摘要的文件也视为变化
+   */
+  default boolean isChanged(String filename) {
+    // 默认没有索引
+    return true;
+  }
+
+  /**
+   * 获取文件按内容分块的摘要，文件未变化时使用索引中的缓存
+   *
+   * @param filename 文件名
+   * @return 返回摘要
+   */
+  default FileDigest digest(String filename) {
+    return new ContentIndex(null).digest(getFile(filename));
+  }
+
+  /**
+   * 查找目录下内容相同的文件
+   *
+   * @param directory 目录
+   * @return 返回 [内容哈希 -> 文件]，只包含 2 个及以上的分组
+   */
+  default Map<String, List<File>> findDuplicates(String directory) {
+    List<File> files = IOUtils.listFiles(getDirectory(directory)).stream()
+        .filter(File::isFile)
+        .collect(Collectors.toList());
+    return new ContentIndex(null).findDuplicates(files);
+  }
+
+  /**
+   * 去重保存文件，相同的块只保存一次
+   *
+   * @param filename 文件名
+   * @return 返回内容哈希
+   * @throws UnsupportedOperationException 默认不支持，见 {@link FileManager#getChunkStore()}
+   */
+  default String storeDeduplicated(String filename) {
+    throw new UnsupportedOperationException("storeDeduplicated");
+  }
+
+  /**
+   * 还原去重保存的文件
+   *
+   * @param contentHash 内容哈希
+   * @param filename    目标文件名
+   * @return 返回还原的文件
+   * @throws UnsupportedOperationException 默认不支持，见 {@link FileManager#getChunkStore()}
+   */
+  default File restoreDeduplicated(String contentHash, String filename) {
+    throw new UnsupportedOperationException("restoreDeduplicated");
+  }
+
   /**
    * 创建目录
    *
@@ -0,0 +1,250 @@
+package com.benefitj.core.file;
+
+import java.io.*;
+import java.util.Arrays;
+
+/**
+ * 稀疏的行偏移索引：每 interval 行记录一次行首的位置
+ * <p>
+ * 行以 "\n"、"\r" 或 "\r\n" 结尾，最后一个未结束的行不计入；
+ * 索引只会从上次扫描的位置继续向后扫描，适用于只追加的文件(日志、CSV等)，
+ * 文件被截断或中间被修改时需要调用 {@link #reset()} 重新建立
+ */
+public class LineIndex {
+
+  /**
+   * 默认的间隔行数
+   */
+  public static final int DEFAULT_INTERVAL = 1024;
+  /**
+   * 持久化文件的后缀
+   */
+  public static final String SUFFIX = ".lidx";
+
+  static final int MAGIC = 0x4C494458;
+  static final int VERSION = 1;
+  static final int BUFFER_SIZE = 64 * 1024;
+
+  /**
+   * 间隔行数
+   */
+  private final int interval;
+  /**
+   * 检查点，[k] 为第 k * interval 行的行首位置
+   */
+  private long[] checkpoints = new long[16];
+  /**
+   * 检查点数量
+   */
+  private int size = 1;
+  /**
+   * 已结束的行数
+   */
+  private long lineCount;
+  /**
+   * 已扫描的长度
+   */
+  private long scanned;
+  /**
+   * 扫描到的最后一个字节是否为 '\r'(需要与下一个字节一起判断是否为 "\r\n")
+   */
+  private boolean pendingCR;
+
+  public LineIndex() {
+    this(DEFAULT_INTERVAL);
+  }
+
+  public LineIndex(int interval) {
+    if (interval <= 0) {
+      throw new IllegalArgumentException("interval must be greater than 0: " + interval);
+    }
+    this.interval = interval;
+  }
+
+  public int getInterval() {
+    return interval;
+  }
+
+  /**
+   * 已建立索引的行数
+   */
+  public synchronized long getLineCount() {
+    return lineCount;
+  }
+
+  /**
+   * 已扫描的长度
+   */
+  public synchronized long getScanned() {
+    return scanned;
+  }
+
+  /**
+   * 清空索引
+   */
+  public synchronized void reset() {
+    this.size = 1;
+    this.checkpoints[0] = 0;
+    this.lineCount = 0;
+    this.scanned = 0;
+    this.pendingCR = false;
+  }
+
+  /**
+   * 扫描新追加的数据，更新索引；文件比已扫描的长度短时重新建立
+   *
+   * @param raf 文件
+   * @return 返回已结束的行数
+   */
+  public synchronized long update(RandomAccessFile raf) throws IOException {
+    long length = raf.length();
+    if (length < scanned) {
+      reset();
+    }
+    if (length == scanned) {
+      return lineCount;
+    }
+    byte[] buf = new byte[(int) Math.min(BUFFER_SIZE, length - scanned)];
+    raf.seek(scanned);
+    long pos = scanned;
+    while (pos < length) {
+      int len = raf.read(buf, 0, (int) Math.min(buf.length, length - pos));
+      if (len <= 0) {
+        break;
+      }
+      for (int i = 0; i < len; i++) {
+        byte b = buf[i];
+        if (pendingCR) {
+          pendingCR = false;
+          if (b == RaFile.NL_N) {
+            // "\r\n"
+            addLine(pos + i + 1);
+            continue;
+          }
+          // 单独的 '\r'
+          addLine(pos + i);
+        }
+        if (b == RaFile.NL_N) {
+          addLine(pos + i + 1);
+        } else if (b == RaFile.NL_R) {
+          pendingCR = true;
+        }
+      }
+      pos += len;
+    }
+    this.scanned = pos;
+    return lineCount;
+  }
+
+  private void addLine(long nextLineStart) {
+    if (++lineCount % interval == 0) {
+      if (size == checkpoints.length) {
+        checkpoints = Arrays.copyOf(checkpoints, size << 1);
+      }
+      checkpoints[size++] = nextLineStart;
+    }
+  }
+
+  /**
+   * 获取不超过指定行的最近一个检查点
+   *
+   * @param line 行号(从0开始)
+   * @return 返回 [检查点的行号, 行首的位置]
+   */
+  public synchronized long[] floor(long line) {
+    int k = (int) Math.min(Math.max(line, 0) / interval, size - 1);
+    return new long[]{(long) k * interval, checkpoints[k]};
+  }
+
+  /**
+   * 已扫描的数据末尾是否为 '\r'，此时最后一行是否结束取决于后续的数据
+   */
+  public synchronized boolean isPendingCR() {
+    return pendingCR;
+  }
+
+  /**
+   * 保存索引
+   *
+   * @param dest   索引文件
+   * @param source 被索引的文件，用于加载时校验
+   */
+  public synchronized void save(File dest, File source) throws IOException {
+    File tmp = new File(dest.getPath() + ".tmp");
+    try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)))) {
+      out.writeInt(MAGIC);
+      out.writeInt(VERSION);
+      out.writeInt(interval);
+      out.writeLong(source.length());
+      out.writeLong(source.lastModified());
+      out.writeLong(lineCount);
+      out.writeLong(scanned);
+      out.writeBoolean(pendingCR);
+      out.writeInt(size);
+      for (int i = 0; i < size; i++) {
+        out.writeLong(checkpoints[i]);
+      }
+    }
+    if (!tmp.renameTo(dest)) {
+      dest.delete();
+      if (!tmp.renameTo(dest)) {
+        throw new IOException("Cannot rename \"" + tmp + "\" to \"" + dest + "\"");
+      }
+    }
+  }
+
+  /**
+   * 加载索引，索引文件不存在、格式或间隔不一致、被索引的文件在保存后被修改过时，不加载
+   * <p>
+   * 文件只追加时长度会变长，此时保留已有的索引，只扫描新增的部分
+   *
+   * @param src    索引文件
+   * @param source 被索引的文件
+   * @return 返回是否加载成功
+   */
+  public synchronized boolean load(File src, File source) {
+    if (!src.isFile()) {
+      return false;
+    }
+    try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(src)))) {
+      if (in.readInt() != MAGIC || in.readInt() != VERSION || in.readInt() != interval) {
+        return false;
+      }
+      long length = in.readLong();
+      long lastModified = in.readLong();
+      if (source.length() < length || (source.length() == length && source.lastModified() != lastModified)) {
+        return false;
+      }
+      long lineCount = in.readLong();
+      long scanned = in.readLong();
+      boolean pendingCR = in.readBoolean();
+      int size = in.readInt();
+      if (size <= 0 || scanned > length || (lineCount / interval) + 1 != size) {
+        return false;
+      }
+      long[] checkpoints = new long[Math.max(Integer.highestOneBit(size) << 1, 16)];
+      for (int i = 0; i < size; i++) {
+        checkpoints[i] = in.readLong();
+      }
+      this.checkpoints = checkpoints;
+      this.size = size;
+      this.lineCount = lineCount;
+      this.scanned = scanned;
+      this.pendingCR = pendingCR;
+      return true;
+    } catch (IOException e) {
+      return false;
+    }
+  }
+
+  /**
+   * 索引文件
+   *
+   * @param source 被索引的文件
+   * @return 返回索引文件
+   */
+  public static File indexFileOf(File source) {
+    return new File(source.getPath() + SUFFIX);
+  }
+
+}
@@ -0,0 +1,653 @@
+package com.benefitj.core.file;
+
+import com.benefitj.core.CatchUtils;
+import com.benefitj.core.DefaultThreadFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * 多线程压缩和解压
+ * <p>
+ * GZIP：输入按块拆分，每块独立压缩成一个完整的 gzip 成员，按顺序拼接(多成员的 gzip，与 pigz 相同，
+ * {@link java.util.zip.GZIPInputStream} 和 gzip 命令都可以直接解压)；
+ * <p>
+ * ZIP：文件按块并行 deflate，块之间以前一块末尾的 32KB 作为字典并以 SYNC_FLUSH 结束，拼接后仍是一个完整的
+ * deflate 流；本地文件头、数据和中央目录在调用线程上按顺序写入，超过 4GB 时使用 ZIP64；
+ * <p>
+ * 解压：通过 {@link ZipFile} 随机读取，各个条目并行解压。
+ * <p>
+ * 参数在构造时确定，同一个对象可以在多个线程中使用
+ */
+public class ParallelCompressor implements AutoCloseable {
+
+  /**
+   * 默认的块大小
+   */
+  public static final int DEFAULT_BLOCK_SIZE = 512 * 1024;
+  /**
+   * deflate 的字典(窗口)大小
+   */
+  static final int DICT_SIZE = 32 * 1024;
+  /**
+   * 超过此长度的文件使用 ZIP64(预留压缩后膨胀的空间)
+   */
+  static final long ZIP64_THRESHOLD = 0xF0000000L;
+  static final long MAX_32 = 0xFFFFFFFFL;
+  static final int MAX_16 = 0xFFFF;
+
+  private static volatile ParallelCompressor instance;
+
+  /**
+   * 获取共享的实例，默认压缩级别，线程数为 CPU 核数；共享的实例不会被关闭
+   */
+  public static ParallelCompressor get() {
+    ParallelCompressor c = instance;
+    if (c == null) {
+      synchronized (ParallelCompressor.class) {
+        if ((c = instance) == null) {
+          instance = (c = new ParallelCompressor(Deflater.DEFAULT_COMPRESSION,
+              Runtime.getRuntime().availableProcessors(), DEFAULT_BLOCK_SIZE, true));
+        }
+      }
+    }
+    return c;
+  }
+
+  /**
+   * 压缩级别
+   */
+  private final int level;
+  /**
+   * 线程数
+   */
+  private final int threads;
+  /**
+   * 块大小
+   */
+  private final int blockSize;
+  /**
+   * 最多未写出的块数
+   */
+  private final int maxPending;
+  private final boolean shared;
+  private final ExecutorService executor;
+  /**
+   * 每个工作线程复用的 Deflater，线程结束时释放
+   */
+  private final ThreadLocal<Deflater> deflaters = new ThreadLocal<>();
+
+  public ParallelCompressor(int level, int threads) {
+    this(level, threads, DEFAULT_BLOCK_SIZE);
+  }
+
+  /**
+   * 构造函数
+   *
+   * @param level     压缩级别，0~9，或 {@link Deflater#DEFAULT_COMPRESSION}
+   * @param threads   线程数
+   * @param blockSize 块大小，不小于 64KB
+   */
+  public ParallelCompressor(int level, int threads, int blockSize) {
+    this(level, threads, blockSize, false);
+  }
+
+  private ParallelCompressor(int level, int threads, int blockSize, boolean shared) {
+    if ((level < 0 || level > 9) && level != Deflater.DEFAULT_COMPRESSION) {
+      throw new IllegalArgumentException("Illegal level: " + level);
+    }
+    if (threads <= 0) {
+      throw new IllegalArgumentException("threads must be greater than 0: " + threads);
+    }
+    this.level = level;
+    this.threads = threads;
+    this.blockSize = Math.max(blockSize, 2 * DICT_SIZE);
+    this.maxPending = threads * 2;
+    this.shared = shared;
+    ThreadFactory factory = new DefaultThreadFactory("compress-", "-worker-", true);
+    this.executor = Executors.newFixedThreadPool(threads, r -> factory.newThread(() -> {
+      try {
+        r.run();
+      } finally {
+        // 关闭线程池后工作线程结束，释放 zlib 的本地内存
+        releaseDeflater();
+      }
+    }));
+  }
+
+  public int getLevel() {
+    return level;
+  }
+
+  public int getThreads() {
+    return threads;
+  }
+
+  public int getBlockSize() {
+    return blockSize;
+  }
+
+  /**
+   * GZIP压缩
+   *
+   * @param src  源文件
+   * @param dest 目标文件
+   * @return 返回压缩前的长度
+   */
+  public long gzip(Path src, Path dest) {
+    try (FileChannel in = FileChannel.open(src, StandardOpenOption.READ);
+         FileChannel out = FileChannel.open(dest, StandardOpenOption.WRITE,
+             StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+      return gzip(in, out);
+    } catch (IOException e) {
+      throw CatchUtils.throwing(e, IllegalStateException.class);
+    }
+  }
+
+  /**
+   * GZIP压缩，读取到输入结束，不关闭通道
+   *
+   * @param in  输入
+   * @param out 输出
+   * @return 返回压缩前的长度
+   */
+  public long gzip(ReadableByteChannel in, WritableByteChannel out) {
+    ArrayDeque<Future<ByteBuffer>> pending = new ArrayDeque<>(maxPending);
+    try {
+      long total = 0;
+      for (boolean last = false; !last; ) {
+        byte[] buf = new byte[blockSize];
+        int len = readFully(in, buf);
+        last = len < buf.length;
+        if (len == 0 && total > 0) {
+          break;
+        }
+        total += len;
+        pending.add(executor.submit(() -> gzipMember(buf, len)));
+        while (pending.size() >= maxPending) {
+          writeFully(out, await(pending.poll()));
+        }
+      }
+      while (!pending.isEmpty()) {
+        writeFully(out, await(pending.poll()));
+      }
+      return total;
+    } catch (IOException e) {
+      throw CatchUtils.throwing(e, IllegalStateException.class);
+    } finally {
+      pending.forEach(f -> f.cancel(true));
+    }
+  }
+
+  /**
+   * 压缩成一个完整的 gzip 成员
+   */
+  ByteBuffer gzipMember(byte[] in, int len) {
+    ByteBuffer out = deflate(in, len, null, 0, true, 10, 8);
+    out.order(ByteOrder.LITTLE_ENDIAN);
+    // 头部：ID1 ID2 CM FLG MTIME(4) XFL OS
+    out.put(0, (byte) 0x1F).put(1, (byte) 0x8B).put(2, (byte) Deflater.DEFLATED)
+        .put(3, (byte) 0).putInt(4, 0).put(8, (byte) 0).put(9, (byte) 0xFF);
+    CRC32 crc = new CRC32();
+    crc.update(in, 0, len);
+    int end = out.limit();
+    out.limit(end + 8);
+    out.putInt(end, (int) crc.getValue()).putInt(end + 4, len);
+    return out;
+  }
+
+  /**
+   * 压缩一块数据
+   *
+   * @param in        数据
+   * @param len       长度
+   * @param dict      前一块数据，末尾的 32KB 作为字典，可以为 null
+   * @param dictLen   前一块数据的长度
+   * @param finish    是否为最后一块
+   * @param headerLen 预留在开头的长度
+   * @param trailer   预留在末尾的长度
+   * @return 返回数据，[headerLen, limit) 为压缩后的数据，末尾预留 trailer 个字节
+   */
+  ByteBuffer deflate(byte[] in, int len, byte[] dict, int dictLen, boolean finish, int headerLen, int trailer) {
+    Deflater d = deflaters.get();
+    if (d == null) {
+      deflaters.set(d = new Deflater(level, true));
+    }
+    d.reset();
+    if (dict != null && dictLen > 0) {
+      int n = Math.min(dictLen, DICT_SIZE);
+      d.setDictionary(dict, dictLen - n, n);
+    }
+    d.setInput(in, 0, len);
+    if (finish) {
+      d.finish();
+    }
+    byte[] out = new byte[headerLen + len + (len >>> 6) + 64 + trailer];
+    int pos = headerLen;
+    for (; ; ) {
+      int limit = out.length - trailer;
+      pos += d.deflate(out, pos, limit - pos, finish ? Deflater.NO_FLUSH : Deflater.SYNC_FLUSH);
+      if (finish ? d.finished() : pos < limit) {
+        break;
+      }
+      if (pos == limit) {
+        out = Arrays.copyOf(out, out.length << 1);
+      }
+    }
+    return ByteBuffer.wrap(out, 0, pos);
+  }
+
+  /**
+   * 释放当前线程的 Deflater
+   */
+  void releaseDeflater() {
+    Deflater d = deflaters.get();
+    if (d != null) {
+      deflaters.remove();
+      d.end();
+    }
+  }
+
+  /**
+   * 压缩文件或目录，条目的名称以源文件的名称开头
+   *
+   * @param src  文件或目录
+   * @param dest ZIP文件
+   */
+  public void zip(Path src, Path dest) {
+    try (ZipSink sink = new ZipSink(dest)) {
+      Path base = src.toAbsolutePath().normalize();
+      Path skip = dest.toAbsolutePath().normalize();
+      Path parent = base.getParent();
+      Files.walkFileTree(base, new SimpleFileVisitor<Path>() {
+        @Override
+        public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+          sink.addDirectory(entryName(parent, dir) + "/", attrs.lastModifiedTime());
+          return FileVisitResult.CONTINUE;
+        }
+
+        @Override
+        public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+          if (!attrs.isDirectory() && !file.equals(skip)) {
+            try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+              sink.addFile(entryName(parent, file), ch, attrs.size(), attrs.lastModifiedTime());
+            }
+          }
+          return FileVisitResult.CONTINUE;
+        }
+      });
+      sink.finish();
+    } catch (IOException e) {
+      throw CatchUtils.throwing(e, IllegalStateException.class);
+    }
+  }
+
+  /**
+   * 压缩输入中的数据，作为ZIP文件中唯一的条目
+   *
+   * @param in   输入，读取到结束
+   * @param name 条目的名称
+   * @param dest ZIP文件
+   */
+  public void zip(ReadableByteChannel in, String name, Path dest) {
+    try (ZipSink sink = new ZipSink(dest)) {
+      sink.addFile(name, in, -1, FileTime.fromMillis(System.currentTimeMillis()));
+      sink.finish();
+    } catch (IOException e) {
+      throw CatchUtils.throwing(e, IllegalStateException.class);
+    }
+  }
+
+  static String entryName(Path parent, Path path) {
+    Path relative = parent != null ? parent.relativize(path) : path.getFileName();
+    return relative.toString().replace('\\', '/');
+  }
+
+  /**
+   * 并行解压
+   *
+   * @param zip  ZIP文件
+   * @param dest 目标目录
+   */
+  public void unzip(Path zip, Path dest) {
+    Path root = dest.toAbsolutePath().normalize();
+    ArrayDeque<Future<?>> pending = new ArrayDeque<>(maxPending);
+    try (ZipFile zf = new ZipFile(zip.toFile())) {
+      Files.createDirectories(root);
+      Enumeration<? extends ZipEntry> entries = zf.entries();
+      while (entries.hasMoreElements()) {
+        ZipEntry entry = entries.nextElement();
+        Path target = root.resolve(entry.getName()).normalize();
+        if (!target.startsWith(root)) {
+          throw new IllegalStateException("Illegal entry: " + entry.getName());
+        }
+        if (entry.isDirectory()) {
+          Files.createDirectories(target);
+          continue;
+        }
+        pending.add(executor.submit(() -> {
+          Files.createDirectories(target.getParent());
+          try (InputStream in = zf.getInputStream(entry)) {
+            Files.copy(in, target, StandardCopyOption.REPLACE_EXISTING);
+          }
+          if (entry.getTime() >= 0) {
+            Files.setLastModifiedTime(target, FileTime.fromMillis(entry.getTime()));
+          }
+          return null;
+        }));
+        while (pending.size() >= maxPending) {
+          await(pending.poll());
+        }
+      }
+      while (!pending.isEmpty()) {
+        await(pending.poll());
+      }
+    } catch (IOException e) {
+      throw CatchUtils.throwing(e, IllegalStateException.class);
+    } finally {
+      pending.forEach(f -> f.cancel(true));
+    }
+  }
+
+  static int readFully(ReadableByteChannel in, byte[] buf) throws IOException {
+    ByteBuffer bb = ByteBuffer.wrap(buf);
+    while (bb.hasRemaining()) {
+      if (in.read(bb) < 0) {
+        break;
+      }
+    }
+    return bb.position();
+  }
+
+  static void writeFully(WritableByteChannel out, ByteBuffer src) throws IOException {
+    while (src.hasRemaining()) {
+      out.write(src);
+    }
+  }
+
+  static <T> T await(Future<T> future) throws IOException {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException(e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof IOException) {
+        throw (IOException) cause;
+      }
+      throw CatchUtils.throwing(cause, IllegalStateException.class);
+    }
+  }
+
+  /**
+   * 关闭线程池，工作线程执行完已提交的任务后释放各自的 Deflater；共享的实例不会被关闭
+   */
+  @Override
+  public void close() {
+    if (!shared) {
+      executor.shutdown();
+    }
+  }
+
+  /**
+   * 转换成 DOS 时间：高16位为日期，低16位为时间
+   */
+  static long dosTime(FileTime time) {
+    LocalDateTime ldt = LocalDateTime.ofInstant(time.toInstant(), ZoneId.systemDefault());
+    if (ldt.getYear() < 1980) {
+      return (1 << 21) | (1 << 16);
+    }
+    return (ldt.getYear() - 1980) << 25 | ldt.getMonthValue() << 21 | ldt.getDayOfMonth() << 16
+        | ldt.getHour() << 11 | ldt.getMinute() << 5 | ldt.getSecond() >> 1;
+  }
+
+  /**
+   * ZIP 条目
+   */
+  static final class Entry {
+    final byte[] name;
+    final boolean directory;
+    final boolean zip64;
+    final long dosTime;
+    final CRC32 crc = new CRC32();
+    long offset;
+    long size;
+    long compressedSize;
+
+    Entry(String name, boolean directory, boolean zip64, FileTime time) {
+      this.name = name.getBytes(StandardCharsets.UTF_8);
+      this.directory = directory;
+      this.zip64 = zip64;
+      this.dosTime = dosTime(time);
+    }
+
+    int method() {
+      return directory ? ZipEntry.STORED : ZipEntry.DEFLATED;
+    }
+
+    int version() {
+      return zip64 ? 45 : 20;
+    }
+  }
+
+  /**
+   * 待写出的块
+   */
+  static final class Block {
+    final Entry entry;
+    final boolean first;
+    final boolean last;
+    final Future<ByteBuffer> data;
+
+    Block(Entry entry, boolean first, boolean last, Future<ByteBuffer> data) {
+      this.entry = entry;
+      this.first = first;
+      this.last = last;
+      this.data = data;
+    }
+  }
+
+  /**
+   * 按顺序写出ZIP文件
+   */
+  final class ZipSink implements AutoCloseable {
+
+    final FileChannel out;
+    final List<Entry> entries = new ArrayList<>();
+    final ArrayDeque<Block> pending = new ArrayDeque<>(maxPending);
+    ByteBuffer header = ByteBuffer.allocate(1024).order(ByteOrder.LITTLE_ENDIAN);
+
+    ZipSink(Path dest) throws IOException {
+      this.out = FileChannel.open(dest, StandardOpenOption.WRITE,
+          StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    void addDirectory(String name, FileTime time) throws IOException {
+      Entry entry = new Entry(name, true, false, time);
+      submit(new Block(entry, true, true, CompletableFuture.completedFuture(ByteBuffer.allocate(0))));
+    }
+
+    void addFile(String name, ReadableByteChannel in, long size, FileTime time) throws IOException {
+      Entry entry = new Entry(name, false, size < 0 || size > ZIP64_THRESHOLD, time);
+      byte[] prev = null;
+      int prevLen = 0;
+      for (boolean first = true, last = false; !last; first = false) {
+        byte[] buf = new byte[blockSize];
+        int len = readFully(in, buf);
+        last = len < buf.length;
+        entry.crc.update(buf, 0, len);
+        entry.size += len;
+        final byte[] dict = prev;
+        final int dictLen = prevLen;
+        final boolean finish = last;
+        submit(new Block(entry, first, last, executor.submit(() -> deflate(buf, len, dict, dictLen, finish, 0, 0))));
+        prev = buf;
+        prevLen = len;
+      }
+    }
+
+    void submit(Block block) throws IOException {
+      pending.add(block);
+      while (pending.size() >= maxPending) {
+        write(pending.poll());
+      }
+    }
+
+    void write(Block block) throws IOException {
+      Entry entry = block.entry;
+      ByteBuffer data = await(block.data);
+      if (block.first) {
+        entry.offset = out.position();
+        writeLocalHeader(entry);
+      }
+      entry.compressedSize += data.remaining();
+      writeFully(out, data);
+      if (block.last) {
+        if (!entry.directory) {
+          patchLocalHeader(entry);
+        }
+        entries.add(entry);
+      }
+    }
+
+    void writeLocalHeader(Entry e) throws IOException {
+      ByteBuffer h = header(30 + e.name.length + 20);
+      h.putInt(0x04034B50)
+          .putShort((short) e.version())
+          .putShort((short) 0x0800)
+          .putShort((short) e.method())
+          .putInt((int) e.dosTime)
+          .putInt(0)
+          .putInt(e.zip64 ? -1 : 0)
+          .putInt(e.zip64 ? -1 : 0)
+          .putShort((short) e.name.length)
+          .putShort((short) (e.zip64 ? 20 : 0))
+          .put(e.name);
+      if (e.zip64) {
+        h.putShort((short) 0x0001).putShort((short) 16).putLong(0).putLong(0);
+      }
+      h.flip();
+      writeFully(out, h);
+    }
+
+    void patchLocalHeader(Entry e) throws IOException {
+      ByteBuffer h = header(16);
+      h.putInt((int) e.crc.getValue());
+      if (!e.zip64) {
+        h.putInt((int) e.compressedSize).putInt((int) e.size);
+      }
+      h.flip();
+      out.write(h, e.offset + 14);
+      if (e.zip64) {
+        h.clear();
+        h.putLong(e.size).putLong(e.compressedSize).flip();
+        out.write(h, e.offset + 30 + e.name.length + 4);
+      }
+    }
+
+    void finish() throws IOException {
+      while (!pending.isEmpty()) {
+        write(pending.poll());
+      }
+      long cdOffset = out.position();
+      for (Entry e : entries) {
+        writeCentralHeader(e);
+      }
+      long cdSize = out.position() - cdOffset;
+      ByteBuffer h = header(98);
+      boolean zip64 = entries.size() >= MAX_16 || cdOffset >= MAX_32 || cdSize >= MAX_32;
+      if (zip64) {
+        long eocd64 = out.position();
+        h.putInt(0x06064B50).putLong(44)
+            .putShort((short) 45).putShort((short) 45)
+            .putInt(0).putInt(0)
+            .putLong(entries.size()).putLong(entries.size())
+            .putLong(cdSize).putLong(cdOffset);
+        h.putInt(0x07064B50).putInt(0).putLong(eocd64).putInt(1);
+        h.flip();
+        writeFully(out, h);
+      }
+      h.clear();
+      h.putInt(0x06054B50)
+          .putShort((short) 0).putShort((short) 0)
+          .putShort((short) Math.min(entries.size(), MAX_16))
+          .putShort((short) Math.min(entries.size(), MAX_16))
+          .putInt((int) Math.min(cdSize, MAX_32))
+          .putInt((int) Math.min(cdOffset, MAX_32))
+          .putShort((short) 0);
+      h.flip();
+      writeFully(out, h);
+      out.truncate(out.position());
+    }
+
+    void writeCentralHeader(Entry e) throws IOException {
+      boolean bigOffset = e.offset >= MAX_32;
+      int extra = (e.zip64 ? 16 : 0) + (bigOffset ? 8 : 0);
+      ByteBuffer h = header(46 + e.name.length + extra + 4);
+      h.putInt(0x02014B50)
+          .putShort((short) e.version())
+          .putShort((short) e.version())
+          .putShort((short) 0x0800)
+          .putShort((short) e.method())
+          .putInt((int) e.dosTime)
+          .putInt((int) e.crc.getValue())
+          .putInt(e.zip64 ? -1 : (int) e.compressedSize)
+          .putInt(e.zip64 ? -1 : (int) e.size)
+          .putShort((short) e.name.length)
+          .putShort((short) (extra > 0 ? extra + 4 : 0))
+          .putShort((short) 0)
+          .putShort((short) 0)
+          .putShort((short) 0)
+          .putInt(e.directory ? 0x10 : 0)
+          .putInt(bigOffset ? -1 : (int) e.offset)
+          .put(e.name);
+      if (extra > 0) {
+        h.putShort((short) 0x0001).putShort((short) extra);
+        if (e.zip64) {
+          h.putLong(e.size).putLong(e.compressedSize);
+        }
+        if (bigOffset) {
+          h.putLong(e.offset);
+        }
+      }
+      h.flip();
+      writeFully(out, h);
+    }
+
+    /**
+     * 获取头部的缓冲，条目名称较长时扩容
+     */
+    ByteBuffer header(int capacity) {
+      if (header.capacity() < capacity) {
+        header = ByteBuffer.allocate(capacity).order(ByteOrder.LITTLE_ENDIAN);
+      }
+      header.clear();
+      return header;
+    }
+
+    @Override
+    public void close() throws IOException {
+      pending.forEach(b -> b.data.cancel(true));
+      out.close();
+    }
+  }
+
+}
@@ -1,24 +1,32 @@
 package com.benefitj.core.file;
 
-import com.benefitj.core.CatchUtils;
+import com.benefitj.core.DefaultThreadFactory;
 import com.benefitj.core.IOUtils;
 
 import javax.annotation.Nullable;
 import java.io.IOException;
 import java.nio.file.*;
-import java.util.Arrays;
-import java.util.Collections;
-import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicBoolean;
 
+/**
+ * 目录监听
+ * <p>
+ * 可以递归监听子目录；同一个文件在时间窗口内的事件会被合并；出现 OVERFLOW 时重新扫描目录并补发差异；
+ * 监听回调在独立的线程池中执行，处理较慢时不会阻塞事件的读取
+ */
 @SuppressWarnings("all")
 public class PathWatcher implements Cloneable {
   /**
-   * 监听服务
+   * 分发被拒绝时，延迟重试的时间(毫秒)
    */
-  private final WatchService watchService;
+  static final long RETRY_DELAY = 10;
+  /**
+   * 监听服务，每次启动时创建，停止时关闭
+   */
+  private volatile WatchService watchService;
   /**
    * 执行状态
    */
@@ -44,6 +52,26 @@ public class PathWatcher implements Cloneable {
    * 监听
    */
   private OnWatchEventListener watchEventListener;
+  /**
+   * 是否监听子目录
+   */
+  private boolean recursive = false;
+  /**
+   * 合并事件的时间窗口
+   */
+  private long debounceMillis = 0;
+  /**
+   * 溢出时是否重新扫描
+   */
+  private boolean rescanOnOverflow = true;
+  /**
+   * 分发事件的线程池
+   */
+  private Executor dispatchExecutor;
+  /**
+   * 默认分发线程池的队列容量
+   */
+  private int queueCapacity = 1024;
 
   public PathWatcher(Path... paths) {
     this(Arrays.asList(paths), SensitivityWatchEventModifier.MEDIUM);
@@ -52,7 +80,6 @@ public class PathWatcher implements Cloneable {
   public PathWatcher(List<Path> paths, WatchEvent.Modifier sensitivity) {
     this.paths = Collections.unmodifiableList(paths);
     this.sensitivity = sensitivity;
-    this.watchService = CatchUtils.tryThrow(() -> FileSystems.getDefault().newWatchService());
   }
 
   public PathWatcher start() {
@@ -63,53 +90,47 @@ public class PathWatcher implements Cloneable {
   }
 
   private void execute() {
-    CatchUtils.tryThrow(() -> {
-      try (WatchService watchService = FileSystems.getDefault().newWatchService()) {
-        // 注册文件 创建、修改 事件的监听
-        List<Path> paths = getPaths();
-        Map<WatchKey, Path> keyPaths = new ConcurrentHashMap<>(paths.size());
-        paths.forEach(path -> {
-          try {
-            WatchKey key = path.register(watchService, getKinds(), getSensitivity());
-            keyPaths.put(key, path);
-          } catch (IOException e) {
-            getWatchEventListener().onError(this, path, null, e);
-          }
-        });
-        watching:
-        while (running.get()) {
-          //返回排队的 key。如果没有排队的密钥可用，则此方法等待。
-          WatchKey key = watchService.take();
-          try {
-            for (WatchEvent<?> watchEvent : key.pollEvents()) {
-              String filename = ((WatchEvent<Path>) watchEvent).context().toString();
-              Path dir = keyPaths.get(key);
-              try {
-                //检索与事件关联的文件名。文件名被存储为事件的上下文
-                getWatchEventListener().onEvent(this, key, dir, filename, watchEvent.kind());
-              } catch (Exception e) {
-                getWatchEventListener().onError(this, dir, filename, e);
-              }
-            }
-          } finally {
-            // 在处理完事件后，需要通过 reset() 将事件重置 ready 状态。
-            // 如果此方法返回false，则该 key 不再有效，循环可以退出。
-            boolean valid = key.reset();
-            if (!valid) {
-              break watching;
-            }
-          }
-        }
+    Executor executor = this.dispatchExecutor;
+    ExecutorService own = null;
+    if (executor == null) {
+      // 默认单线程分发，保证同一个文件的事件按顺序处理；队列满时事件留在缓冲中，下次再提交
+      executor = own = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+          new ArrayBlockingQueue<>(queueCapacity), new DefaultThreadFactory("watcher-", "-dispatch-", true));
+    }
+    try (WatchService ws = FileSystems.getDefault().newWatchService()) {
+      this.watchService = ws;
+      Loop loop = new Loop(ws, executor);
+      getPaths().forEach(path -> loop.registerTree(path, false));
+      loop.run();
+    } catch (ClosedWatchServiceException ignore) {
+      // stop
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (Throwable e) {
+      e.printStackTrace();
+    } finally {
+      this.watchService = null;
+      running.set(false);
+      if (own != null) {
+        own.shutdown();
       }
-    }, Throwable::printStackTrace);
+    }
   }
 
   public PathWatcher stop() {
     running.set(false);
-    IOUtils.closeQuietly(watchService);
+    // 关闭后 poll 抛出 ClosedWatchServiceException，轮询退出
+    WatchService ws = this.watchService;
+    if (ws != null) {
+      IOUtils.closeQuietly(ws);
+    }
     return this;
   }
 
+  /**
+   * 当前的监听服务，未启动时为 null
+   */
+  @Nullable
   protected WatchService getWatchService() {
     return watchService;
   }
@@ -136,6 +157,66 @@ public class PathWatcher implements Cloneable {
     return this;
   }
 
+  public boolean isRecursive() {
+    return recursive;
+  }
+
+  /**
+   * 是否监听子目录，新创建的子目录会被自动注册
+   */
+  public PathWatcher setRecursive(boolean recursive) {
+    this.recursive = recursive;
+    return this;
+  }
+
+  public long getDebounceMillis() {
+    return debounceMillis;
+  }
+
+  /**
+   * 合并事件的时间窗口：同一个文件在窗口内的多个事件合并为一个，最后一个事件之后等待窗口时间再分发
+   */
+  public PathWatcher setDebounceMillis(long debounceMillis) {
+    this.debounceMillis = Math.max(debounceMillis, 0);
+    return this;
+  }
+
+  public boolean isRescanOnOverflow() {
+    return rescanOnOverflow;
+  }
+
+  /**
+   * 出现 OVERFLOW 时，是否重新扫描目录，与快照比较后补发创建、修改和删除事件
+   */
+  public PathWatcher setRescanOnOverflow(boolean rescanOnOverflow) {
+    this.rescanOnOverflow = rescanOnOverflow;
+    return this;
+  }
+
+  public Executor getDispatchExecutor() {
+    return dispatchExecutor;
+  }
+
+  /**
+   * 分发事件的线程池，为 null 时使用单线程和有界队列；拒绝执行时事件保留，延迟 {@link #RETRY_DELAY} 毫秒再提交
+   */
+  public PathWatcher setDispatchExecutor(Executor dispatchExecutor) {
+    this.dispatchExecutor = dispatchExecutor;
+    return this;
+  }
+
+  public int getQueueCapacity() {
+    return queueCapacity;
+  }
+
+  /**
+   * 默认分发线程池的队列容量
+   */
+  public PathWatcher setQueueCapacity(int queueCapacity) {
+    this.queueCapacity = Math.max(queueCapacity, 1);
+    return this;
+  }
+
   public OnWatchEventListener getWatchEventListener() {
     return watchEventListener;
   }
@@ -145,6 +226,324 @@ public class PathWatcher implements Cloneable {
     return this;
   }
 
+  /**
+   * 合并后待分发的事件
+   */
+  static final class Pending {
+    final Path dir;
+    final String filename;
+    WatchKey key;
+    WatchEvent.Kind<?> kind;
+    long deadline;
+
+    Pending(Path dir, String filename) {
+      this.dir = dir;
+      this.filename = filename;
+    }
+  }
+
+  /**
+   * 合并同一个文件的事件，返回 null 表示相互抵消
+   */
+  static WatchEvent.Kind<?> merge(@Nullable WatchEvent.Kind<?> old, WatchEvent.Kind<?> kind) {
+    if (old == null || old == kind) {
+      return kind;
+    }
+    if (old == StandardWatchEventKinds.ENTRY_CREATE) {
+      // 创建后修改仍是创建，创建后删除等于没有发生
+      return kind == StandardWatchEventKinds.ENTRY_DELETE ? null : old;
+    }
+    if (old == StandardWatchEventKinds.ENTRY_DELETE && kind == StandardWatchEventKinds.ENTRY_CREATE) {
+      // 删除后重新创建(编辑器保存、rsync 替换)
+      return StandardWatchEventKinds.ENTRY_MODIFY;
+    }
+    return kind;
+  }
+
+  /**
+   * 轮询：注册目录、读取事件、合并并按时间分发，只在调用 start() 的线程中执行
+   */
+  final class Loop {
+
+    final WatchService watchService;
+    final Executor executor;
+    final Map<WatchKey, Path> keyPaths = new HashMap<>();
+    final Map<Path, WatchKey> pathKeys = new HashMap<>();
+    final LinkedHashMap<Path, Pending> pending = new LinkedHashMap<>();
+    /**
+     * 快照：路径 -> [修改时间, 长度, 是否为目录]
+     */
+    final Map<Path, long[]> snapshot = new HashMap<>();
+
+    Loop(WatchService watchService, Executor executor) {
+      this.watchService = watchService;
+      this.executor = executor;
+    }
+
+    void run() throws InterruptedException {
+      while (running.get() && !keyPaths.isEmpty()) {
+        long timeout = pending.isEmpty() ? 500 : Math.max(nextDeadline() - System.currentTimeMillis(), 0);
+        WatchKey key = timeout > 0 ? watchService.poll(timeout, TimeUnit.MILLISECONDS) : watchService.poll();
+        // 取出全部就绪的 key，合并后再分发
+        for (; key != null; key = watchService.poll()) {
+          process(key);
+        }
+        flush(System.currentTimeMillis());
+      }
+    }
+
+    void process(WatchKey key) {
+      Path dir = keyPaths.get(key);
+      try {
+        if (dir == null) {
+          return;
+        }
+        for (WatchEvent<?> watchEvent : key.pollEvents()) {
+          WatchEvent.Kind<?> kind = watchEvent.kind();
+          if (kind == StandardWatchEventKinds.OVERFLOW) {
+            if (rescanOnOverflow) {
+              rescan(dir);
+            }
+            continue;
+          }
+          String filename = ((WatchEvent<Path>) watchEvent).context().toString();
+          if (recursive && kind == StandardWatchEventKinds.ENTRY_CREATE) {
+            Path child = dir.resolve(filename);
+            if (Files.isDirectory(child, LinkOption.NOFOLLOW_LINKS)) {
+              // 注册前已经在新目录中创建的文件，补发创建事件
+              registerTree(child, true);
+            }
+          }
+          add(dir, filename, key, kind);
+        }
+      } finally {
+        if (!key.reset()) {
+          keyPaths.remove(key);
+          if (dir != null) {
+            pathKeys.remove(dir);
+          }
+        }
+      }
+    }
+
+    /**
+     * 注册目录(递归时包含子目录)
+     *
+     * @param root   目录
+     * @param notify 是否为子目录中已存在的文件补发创建事件
+     */
+    void registerTree(Path root, boolean notify) {
+      if (!recursive) {
+        register(root);
+        if (rescanOnOverflow) {
+          scan(root, 1, null);
+        }
+        return;
+      }
+      try {
+        Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+          @Override
+          public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+            if (!pathKeys.containsKey(dir)) {
+              register(dir);
+            }
+            visit(dir, attrs);
+            return FileVisitResult.CONTINUE;
+          }
+
+          @Override
+          public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+            visit(file, attrs);
+            return FileVisitResult.CONTINUE;
+          }
+
+          @Override
+          public FileVisitResult visitFileFailed(Path file, IOException e) {
+            return FileVisitResult.CONTINUE;
+          }
+
+          void visit(Path path, BasicFileAttributes attrs) {
+            if (notify && !path.equals(root) && path.getParent() != null) {
+              add(path.getParent(), path.getFileName().toString(), pathKeys.get(path.getParent()),
+                  StandardWatchEventKinds.ENTRY_CREATE);
+            }
+            if (rescanOnOverflow) {
+              snapshot.put(path, stat(attrs));
+            }
+          }
+        });
+      } catch (IOException e) {
+        getWatchEventListener().onError(PathWatcher.this, root, null, e);
+      }
+    }
+
+    void register(Path dir) {
+      try {
+        WatchKey key;
+        try {
+          key = dir.register(watchService, getKinds(), getSensitivity());
+        } catch (UnsupportedOperationException e) {
+          // 当前平台不支持敏感度的设置
+          key = dir.register(watchService, getKinds());
+        }
+        keyPaths.put(key, dir);
+        pathKeys.put(dir, key);
+      } catch (IOException e) {
+        getWatchEventListener().onError(PathWatcher.this, dir, null, e);
+      }
+    }
+
+    /**
+     * 事件放入缓冲，同一个文件的事件合并
+     */
+    void add(Path dir, String filename, WatchKey key, WatchEvent.Kind<?> kind) {
+      Path path = dir.resolve(filename);
+      Pending p = pending.get(path);
+      WatchEvent.Kind<?> merged = merge(p != null ? p.kind : null, kind);
+      if (merged == null) {
+        pending.remove(path);
+        return;
+      }
+      if (p == null) {
+        pending.put(path, p = new Pending(dir, filename));
+      }
+      p.key = key;
+      p.kind = merged;
+      p.deadline = System.currentTimeMillis() + debounceMillis;
+    }
+
+    long nextDeadline() {
+      long deadline = Long.MAX_VALUE;
+      for (Pending p : pending.values()) {
+        deadline = Math.min(deadline, p.deadline);
+      }
+      return deadline;
+    }
+
+    /**
+     * 分发到期的事件
+     */
+    void flush(long now) {
+      OnWatchEventListener listener = getWatchEventListener();
+      boolean rejected = false;
+      for (Iterator<Map.Entry<Path, Pending>> itr = pending.entrySet().iterator(); itr.hasNext(); ) {
+        Map.Entry<Path, Pending> entry = itr.next();
+        Pending p = entry.getValue();
+        if (p.deadline > now) {
+          continue;
+        }
+        if (rejected) {
+          p.deadline = now + RETRY_DELAY;
+          continue;
+        }
+        try {
+          executor.execute(() -> {
+            try {
+              listener.onEvent(PathWatcher.this, p.key, p.dir, p.filename, p.kind);
+            } catch (Exception e) {
+              listener.onError(PathWatcher.this, p.dir, p.filename, e);
+            }
+          });
+        } catch (RejectedExecutionException e) {
+          // 分发繁忙，保留剩余的事件并延迟重试，避免轮询的超时时间为 0 时空转
+          rejected = true;
+          p.deadline = now + RETRY_DELAY;
+          continue;
+        }
+        itr.remove();
+        if (rescanOnOverflow) {
+          updateSnapshot(entry.getKey(), p.kind);
+        }
+      }
+    }
+
+    void updateSnapshot(Path path, WatchEvent.Kind<?> kind) {
+      try {
+        snapshot.put(path, stat(Files.readAttributes(path, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS)));
+      } catch (IOException e) {
+        long[] old = snapshot.remove(path);
+        if (old != null && old[2] != 0) {
+          // 删除的是目录，移除下面的全部文件
+          snapshot.keySet().removeIf(p -> p.startsWith(path));
+        }
+      }
+    }
+
+    /**
+     * 重新扫描目录，与快照比较后补发事件
+     */
+    void rescan(Path dir) {
+      Map<Path, long[]> current = new HashMap<>();
+      scan(dir, recursive ? Integer.MAX_VALUE : 1, current);
+      int depth = dir.getNameCount();
+      List<Path> removed = new ArrayList<>();
+      for (Map.Entry<Path, long[]> entry : snapshot.entrySet()) {
+        Path path = entry.getKey();
+        if (path.startsWith(dir) && !path.equals(dir)
+            && (recursive || path.getNameCount() == depth + 1)
+            && !current.containsKey(path)) {
+          removed.add(path);
+        }
+      }
+      for (Path path : removed) {
+        add(path.getParent(), path.getFileName().toString(), pathKeys.get(path.getParent()), StandardWatchEventKinds.ENTRY_DELETE);
+      }
+      for (Map.Entry<Path, long[]> entry : current.entrySet()) {
+        Path path = entry.getKey();
+        long[] old = snapshot.get(path);
+        long[] now = entry.getValue();
+        WatchEvent.Kind<?> kind = old == null
+            ? StandardWatchEventKinds.ENTRY_CREATE
+            : (now[2] == 0 && (old[0] != now[0] || old[1] != now[1]) ? StandardWatchEventKinds.ENTRY_MODIFY : null);
+        if (recursive && now[2] != 0 && !pathKeys.containsKey(path)) {
+          register(path);
+        }
+        if (kind != null) {
+          add(path.getParent(), path.getFileName().toString(), pathKeys.get(path.getParent()), kind);
+        }
+      }
+    }
+
+    /**
+     * 扫描目录
+     *
+     * @param dir      目录
+     * @param maxDepth 深度
+     * @param dest     扫描结果，为 null 时写入快照
+     */
+    void scan(Path dir, int maxDepth, @Nullable Map<Path, long[]> dest) {
+      Map<Path, long[]> out = dest != null ? dest : snapshot;
+      try {
+        Files.walkFileTree(dir, Collections.emptySet(), maxDepth, new SimpleFileVisitor<Path>() {
+          @Override
+          public FileVisitResult preVisitDirectory(Path d, BasicFileAttributes attrs) {
+            if (!d.equals(dir)) {
+              out.put(d, stat(attrs));
+            }
+            return FileVisitResult.CONTINUE;
+          }
+
+          @Override
+          public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+            out.put(file, stat(attrs));
+            return FileVisitResult.CONTINUE;
+          }
+
+          @Override
+          public FileVisitResult visitFileFailed(Path file, IOException e) {
+            return FileVisitResult.CONTINUE;
+          }
+        });
+      } catch (IOException e) {
+        getWatchEventListener().onError(PathWatcher.this, dir, null, e);
+      }
+    }
+
+    long[] stat(BasicFileAttributes attrs) {
+      return new long[]{attrs.lastModifiedTime().toMillis(), attrs.size(), attrs.isDirectory() ? 1 : 0};
+    }
+  }
+
   public interface OnWatchEventListener {
 
     /**
@@ -3,11 +3,12 @@ package com.benefitj.core.file;
 import com.benefitj.core.CatchUtils;
 import com.benefitj.core.IOUtils;
 
-import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.RandomAccessFile;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 public class RaFile implements IWriter<RaFile> {
@@ -18,6 +19,14 @@ public class RaFile implements IWriter<RaFile> {
 
   private final File source;
   private final RandomAccessFile raf;
+  /**
+   * 行索引
+   */
+  private LineIndex lineIndex;
+  /**
+   * 是否在关闭时保存行索引
+   */
+  private boolean persistLineIndex;
 
   public RaFile(String filename) {
     this(filename, "rw");
@@ -54,6 +63,59 @@ public class RaFile implements IWriter<RaFile> {
     return raf;
   }
 
+  /**
+   * 获取行索引，未启用时使用默认的间隔并只保存在内存中
+   */
+  public synchronized LineIndex getLineIndex() {
+    LineIndex index = this.lineIndex;
+    if (index == null) {
+      this.lineIndex = (index = new LineIndex());
+    }
+    return index;
+  }
+
+  /**
+   * 启用行索引
+   *
+   * @param interval 每隔多少行记录一次行首的位置
+   * @param persist  是否保存到文件旁边(文件名 + {@link LineIndex#SUFFIX})，并在下次启用时加载
+   */
+  public synchronized RaFile enableLineIndex(int interval, boolean persist) {
+    LineIndex index = new LineIndex(interval);
+    if (persist) {
+      index.load(LineIndex.indexFileOf(getSource()), getSource());
+    }
+    this.lineIndex = index;
+    this.persistLineIndex = persist;
+    return this;
+  }
+
+  /**
+   * 保存行索引
+   */
+  public synchronized RaFile saveLineIndex() {
+    try {
+      LineIndex index = getLineIndex();
+      index.update(getRaf());
+      index.save(LineIndex.indexFileOf(getSource()), getSource());
+    } catch (IOException e) {
+      throw new IllegalStateException(CatchUtils.findRoot(e));
+    }
+    return this;
+  }
+
+  /**
+   * 文件被截断或者在已索引的位置被修改时，清空索引
+   *
+   * @param position 修改的位置
+   */
+  private void invalidateLineIndex(long position) {
+    LineIndex index = this.lineIndex;
+    if (index != null && position < index.getScanned()) {
+      index.reset();
+    }
+  }
+
   public long length() {
     return CatchUtils.tryThrow(() -> getRaf().length());
   }
@@ -87,6 +149,7 @@ public class RaFile implements IWriter<RaFile> {
   public RaFile setLength(long newLength) {
     try {
       synchronized (this) {
+        invalidateLineIndex(newLength);
         getRaf().setLength(newLength);
       }
     } catch (IOException e) {
@@ -125,48 +188,31 @@ public class RaFile implements IWriter<RaFile> {
 
   /**
    * 读取行数
+   * <p>
+   * 行以 "\n"、"\r" 或 "\r\n" 结尾，最后一个未结束的行不读取；
+   * 通过行索引定位到 start 之前最近的检查点，只扫描之间的数据
    *
    * @param start 开始的行数
    * @param count 长度
    * @return 返回读取的行数据
    */
   public List<String> readLines(int start, int count) {
-    List<String> lines = new ArrayList<>(count);
+    if (count <= 0) {
+      return new ArrayList<>();
+    }
+    List<String> lines = new ArrayList<>(Math.min(count, 1024));
     synchronized (this) {
       try {
         RandomAccessFile raf = getRaf();
-        long position = raf.getChannel().position();
-        raf.seek(0);
-        ByteArrayOutputStream tmp = new ByteArrayOutputStream();
-        byte[] buf = new byte[1024 << 4];
-        int len, lineNumber = 0;
-        boolean flagN = false;
-        while ((len = raf.read(buf)) > 0) {
-          int index = 0;
-          for (int i = 0; i < len; i++) {
-            if (buf[i] == NL_N || buf[i] == NL_R) {
-              if (buf[i] == NL_R && (buf.length > i + 1 && buf[i + 1] == NL_N)) {
-                continue;
-              }
-              tmp.write(buf, index, i - index);
-              if (lineNumber >= start && (i != 0 && !flagN)) {
-                lines.add(tmp.toString());
-              }
-              tmp.reset();
-              index = i + 1;
-              lineNumber++;
-              flagN = buf[i] == NL_R;
-
-              if (lines.size() >= count) {
-                // 重置回原来的位置
-                raf.seek(position);
-                return lines;
-              }
-            }
-          }
-          if (index < len) {
-            tmp.write(buf, index, len - index);
-          }
+        long position = raf.getFilePointer();
+        try {
+          LineIndex index = getLineIndex();
+          index.update(raf);
+          long[] floor = index.floor(start);
+          readForward(floor[1], start - floor[0], count, false, lines);
+        } finally {
+          // 重置回原来的位置
+          raf.seek(position);
         }
       } catch (IOException e) {
         throw new IllegalStateException(CatchUtils.findRoot(e));
@@ -175,6 +221,140 @@ public class RaFile implements IWriter<RaFile> {
     return lines;
   }
 
+  /**
+   * 从文件末尾向前读取最后的行，未结束的最后一行也会被读取
+   *
+   * @param n 行数
+   * @return 返回读取的行数据(按文件中的顺序)
+   */
+  public List<String> readLastLines(int n) {
+    if (n <= 0) {
+      return new ArrayList<>();
+    }
+    List<String> lines = new ArrayList<>(Math.min(n, 1024));
+    synchronized (this) {
+      try {
+        RandomAccessFile raf = getRaf();
+        long position = raf.getFilePointer();
+        try {
+          readForward(findLastLinesStart(raf, n), 0, n, true, lines);
+        } finally {
+          raf.seek(position);
+        }
+      } catch (IOException e) {
+        throw new IllegalStateException(CatchUtils.findRoot(e));
+      }
+    }
+    return lines;
+  }
+
+  /**
+   * 从末尾向前按块扫描，查找倒数第 n 行的行首位置
+   */
+  private long findLastLinesStart(RandomAccessFile raf, int n) throws IOException {
+    long end = raf.length();
+    // 最后一行的换行符属于最后一行
+    if (end > 0 && readByte(raf, end - 1) == NL_N) {
+      end--;
+      if (end > 0 && readByte(raf, end - 1) == NL_R) {
+        end--;
+      }
+    } else if (end > 0 && readByte(raf, end - 1) == NL_R) {
+      end--;
+    }
+    byte[] buf = new byte[(int) Math.min(1024 << 4, Math.max(end, 1))];
+    long pos = end;
+    int found = 0;
+    // 右侧相邻的字节是否为 '\n'，"\r\n" 只计为一次换行
+    boolean afterN = false;
+    while (pos > 0) {
+      int len = (int) Math.min(buf.length, pos);
+      pos -= len;
+      raf.seek(pos);
+      raf.readFully(buf, 0, len);
+      for (int i = len - 1; i >= 0; i--) {
+        byte b = buf[i];
+        if (b == NL_N || (b == NL_R && !afterN)) {
+          if (++found == n) {
+            return pos + i + 1;
+          }
+        }
+        afterN = b == NL_N;
+      }
+    }
+    return 0;
+  }
+
+  private static byte readByte(RandomAccessFile raf, long position) throws IOException {
+    raf.seek(position);
+    return raf.readByte();
+  }
+
+  /**
+   * 从行首的位置开始向后读取
+   *
+   * @param offset      行首的位置
+   * @param skip        跳过的行数
+   * @param count       读取的行数
+   * @param includeLast 是否读取文件末尾未结束的行
+   * @param lines       行数据
+   */
+  private void readForward(long offset, long skip, int count, boolean includeLast, List<String> lines) throws IOException {
+    RandomAccessFile raf = getRaf();
+    raf.seek(offset);
+    byte[] buf = new byte[1024 << 4];
+    // 当前行跨越多个缓冲区时，暂存已读取的部分
+    byte[] line = new byte[0];
+    int lineLen = 0;
+    boolean pendingCR = false;
+    int len;
+    while ((len = raf.read(buf)) > 0) {
+      int index = 0;
+      for (int i = 0; i < len; i++) {
+        byte b = buf[i];
+        if (pendingCR) {
+          pendingCR = false;
+          if (b == NL_N) {
+            index = i + 1;
+            continue;
+          }
+        }
+        if (b != NL_N && b != NL_R) {
+          continue;
+        }
+        pendingCR = b == NL_R;
+        if (skip > 0) {
+          skip--;
+        } else if (lineLen > 0) {
+          line = append(line, lineLen, buf, index, i - index);
+          lines.add(new String(line, 0, lineLen + i - index, getCharset()));
+        } else {
+          lines.add(new String(buf, index, i - index, getCharset()));
+        }
+        lineLen = 0;
+        index = i + 1;
+        if (lines.size() >= count) {
+          return;
+        }
+      }
+      if (index < len && skip <= 0) {
+        line = append(line, lineLen, buf, index, len - index);
+        lineLen += len - index;
+      }
+    }
+    if (includeLast && lineLen > 0) {
+      lines.add(new String(line, 0, lineLen, getCharset()));
+    }
+  }
+
+  private static byte[] append(byte[] line, int lineLen, byte[] src, int offset, int len) {
+    if (lineLen + len > line.length) {
+      line = Arrays.copyOf(line, Math.max(lineLen + len, line.length << 1));
+    }
+    System.arraycopy(src, offset, line, lineLen, len);
+    return line;
+  }
+
   /**
    * 重置文件的大小
    *
@@ -191,6 +371,7 @@ public class RaFile implements IWriter<RaFile> {
     }
     try {
       synchronized (this) {
+        invalidateLineIndex(0);
         // 平移数据
         RandomAccessFile raf = this.getRaf();
         raf.seek(0);
@@ -218,16 +399,14 @@ public class RaFile implements IWriter<RaFile> {
   @Override
   public RaFile write(byte[] buf, int offset, int len, boolean flush) {
     synchronized (this) {
-      CatchUtils.tryThrow(() -> getRaf().write(buf, offset, len));
+      CatchUtils.tryThrow(() -> {
+        invalidateLineIndex(getRaf().getFilePointer());
+        getRaf().write(buf, offset, len);
+      });
     }
     return this;
   }
 
-  @Override
-  public RaFile write(byte[] buf, int offset, int len) {
-    return null;
-  }
-
   @Override
   public void flush() {
     // ignore
@@ -235,6 +414,11 @@ public class RaFile implements IWriter<RaFile> {
 
   @Override
   public void close() {
+    synchronized (this) {
+      if (persistLineIndex && getRaf().getChannel().isOpen()) {
+        CatchUtils.ignore(this::saveLineIndex);
+      }
+    }
     IOUtils.closeQuietly(getRaf());
   }
 }
@@ -0,0 +1,491 @@
+package com.benefitj.core.file.slicer;
+
+import com.benefitj.core.DefaultThreadFactory;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 批量写入(group commit)的文件分割器
+ * <p>
+ * 写入的数据拷贝后放入无锁的环形队列，由单独的线程合并后写入当前文件：达到批量大小、等待超过延迟时间或有调用方要求刷新时写出。
+ * 文件大小按写入的字节数计算，与逐条写入时的分割位置一致；文件在同步到磁盘之后才会通知 {@link FileListener#onHandle(SliceFileWriter, File)}
+ */
+public class BatchFileSlicer<T extends SliceFileWriter> extends FileSlicer<T> {
+
+  /**
+   * 默认环形队列的容量
+   */
+  public static final int DEFAULT_RING_SIZE = 1 << 13;
+  /**
+   * 默认批量写入的大小
+   */
+  public static final int DEFAULT_BATCH_SIZE = 64 << 10;
+  /**
+   * 默认最大延迟(毫秒)
+   */
+  public static final long DEFAULT_LINGER_MILLIS = 5;
+  /**
+   * 生产者位置的关闭标记，关闭之后申请位置的写入会抛出异常
+   */
+  static final long CLOSED = 1L << 62;
+
+  /**
+   * 环形队列
+   */
+  private final AtomicReferenceArray<Object> ring;
+  private final int mask;
+  /**
+   * 生产者已申请的位置，关闭后带有 {@link #CLOSED} 标记
+   */
+  private final AtomicLong tail = new AtomicLong();
+  /**
+   * 已消费的位置(只由写入线程修改)
+   */
+  private final AtomicLong head = new AtomicLong();
+  /**
+   * 批量写入的大小
+   */
+  private volatile int batchSize = DEFAULT_BATCH_SIZE;
+  /**
+   * 最大延迟
+   */
+  private long lingerMillis = DEFAULT_LINGER_MILLIS;
+  /**
+   * 同步到磁盘的策略
+   */
+  private SyncPolicy syncPolicy = SyncPolicy.ON_ROTATE;
+  private ThreadFactory threadFactory = new DefaultThreadFactory("slicer-", "-flusher-", true);
+  /**
+   * 写入线程
+   */
+  private volatile Thread flusher;
+  /**
+   * 写入线程是否在等待
+   */
+  private volatile boolean waiting;
+  private volatile boolean closed;
+  /**
+   * 关闭的命令
+   */
+  private volatile Command closing;
+  /**
+   * 写入时出现的异常
+   */
+  private volatile Throwable failure;
+
+  public BatchFileSlicer() {
+    this(DEFAULT_RING_SIZE);
+  }
+
+  public BatchFileSlicer(int ringSize) {
+    int capacity = Integer.highestOneBit(Math.max(ringSize, 2) - 1) << 1;
+    this.ring = new AtomicReferenceArray<>(capacity);
+    this.mask = capacity - 1;
+  }
+
+  public BatchFileSlicer(File cacheDir, long maxSize) {
+    this();
+    setCacheDir(cacheDir);
+    setMaxSize(maxSize);
+  }
+
+  /**
+   * 写入数据，数据会被拷贝；flush 为 true 时等待本条数据写入文件
+   *
+   * @throws IllegalStateException 已关闭或写入线程出现异常
+   */
+  @Override
+  public BatchFileSlicer<T> write(byte[] buf, int offset, int len, boolean flush) {
+    byte[] record = new byte[len];
+    System.arraycopy(buf, offset, record, 0, len);
+    if (flush) {
+      // 数据和提交放在同一个位置，关闭时不会只写入数据
+      Command cmd = new Command(Command.COMMIT, record);
+      publish(cmd);
+      await(cmd);
+    } else {
+      publish(record);
+    }
+    return this;
+  }
+
+  /**
+   * 写入已提交的数据并关闭当前文件，通知监听
+   */
+  @Override
+  public void flush() {
+    Command cmd = new Command(Command.ROTATE, null);
+    publish(cmd);
+    await(cmd);
+  }
+
+  /**
+   * 写入关闭之前的数据，关闭当前文件并停止写入线程；之后的写入会抛出异常
+   */
+  @Override
+  public void close() {
+    for (; ; ) {
+      long t = tail.get();
+      if ((t & CLOSED) != 0) {
+        // 已关闭
+        Command cmd = this.closing;
+        if (cmd != null) {
+          await(cmd);
+        }
+        return;
+      }
+      if (tail.compareAndSet(t, (t + 1) | CLOSED)) {
+        closed = true;
+        if (t == 0) {
+          // 没有写入过数据
+          return;
+        }
+        Command cmd = new Command(Command.CLOSE, null);
+        this.closing = cmd;
+        startFlusher();
+        put(t, cmd);
+        await(cmd);
+        return;
+      }
+    }
+  }
+
+  private void await(Command cmd) {
+    try {
+      for (; ; ) {
+        try {
+          cmd.future.get(100, TimeUnit.MILLISECONDS);
+          return;
+        } catch (TimeoutException e) {
+          Throwable cause = this.failure;
+          if (cause != null) {
+            throw new IllegalStateException(cause);
+          }
+          Thread t = this.flusher;
+          if (t != null && !t.isAlive() && !cmd.future.isDone()) {
+            // 写入线程已退出
+            throw new IllegalStateException("slicer closed");
+          }
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(e);
+    } catch (ExecutionException e) {
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  /**
+   * 放入环形队列，队列满时等待
+   */
+  private void publish(Object item) {
+    checkState();
+    long seq = tail.getAndIncrement();
+    if ((seq & CLOSED) != 0) {
+      throw new IllegalStateException("slicer closed");
+    }
+    // 申请到位置之后再启动，关闭时可以判断是否有过写入
+    startFlusher();
+    put(seq, item);
+  }
+
+  private void put(long seq, Object item) {
+    final int capacity = mask + 1;
+    while (seq - head.get() >= capacity) {
+      // 位置在关闭之前，即使已关闭也会被写入
+      Throwable e = this.failure;
+      if (e != null) {
+        throw new IllegalStateException(e);
+      }
+      LockSupport.parkNanos(10_000);
+    }
+    ring.set((int) seq & mask, item);
+    if (waiting) {
+      LockSupport.unpark(flusher);
+    }
+  }
+
+  private void checkState() {
+    Throwable e = this.failure;
+    if (e != null) {
+      throw new IllegalStateException(e);
+    }
+    if (closed) {
+      throw new IllegalStateException("slicer closed");
+    }
+  }
+
+  private void startFlusher() {
+    if (flusher == null) {
+      synchronized (this) {
+        if (flusher == null) {
+          Thread t = threadFactory.newThread(new Flusher());
+          t.start();
+          this.flusher = t;
+        }
+      }
+    }
+  }
+
+  /**
+   * 取出下一个元素，没有时返回 null
+   */
+  private Object poll() {
+    long h = head.get();
+    int idx = (int) h & mask;
+    Object item = ring.get(idx);
+    if (item != null) {
+      ring.set(idx, null);
+      head.set(h + 1);
+    }
+    return item;
+  }
+
+  public int getBatchSize() {
+    return batchSize;
+  }
+
+  /**
+   * 批量写入的大小，运行中修改时从下一批数据开始生效
+   */
+  public BatchFileSlicer<T> setBatchSize(int batchSize) {
+    this.batchSize = Math.max(batchSize, 1024);
+    return this;
+  }
+
+  public long getLingerMillis() {
+    return lingerMillis;
+  }
+
+  public BatchFileSlicer<T> setLingerMillis(long lingerMillis) {
+    this.lingerMillis = Math.max(lingerMillis, 0);
+    return this;
+  }
+
+  public SyncPolicy getSyncPolicy() {
+    return syncPolicy;
+  }
+
+  public BatchFileSlicer<T> setSyncPolicy(SyncPolicy syncPolicy) {
+    this.syncPolicy = syncPolicy;
+    return this;
+  }
+
+  public ThreadFactory getThreadFactory() {
+    return threadFactory;
+  }
+
+  public BatchFileSlicer<T> setThreadFactory(ThreadFactory threadFactory) {
+    this.threadFactory = threadFactory;
+    return this;
+  }
+
+  /**
+   * 单线程写入
+   */
+  final class Flusher implements Runnable {
+
+    byte[] batch = new byte[batchSize];
+    /**
+     * 等待写入完成的命令
+     */
+    final List<Command> waiters = new ArrayList<>();
+    int pending;
+    long firstPendingTime;
+    /**
+     * 当前文件已写入的字节数
+     */
+    long size;
+    T writer;
+
+    @Override
+    public void run() {
+      try {
+        for (; ; ) {
+          Object item = poll();
+          if (item != null) {
+            if (item instanceof byte[]) {
+              append((byte[]) item);
+            } else if (handle((Command) item)) {
+              return;
+            }
+            continue;
+          }
+          if (pending > 0 || !waiters.isEmpty()) {
+            long delay = TimeUnit.MILLISECONDS.toNanos(lingerMillis) - (System.nanoTime() - firstPendingTime);
+            if (delay <= 0 || !waiters.isEmpty()) {
+              commit();
+              continue;
+            }
+            park(delay);
+          } else {
+            park(TimeUnit.MILLISECONDS.toNanos(100));
+          }
+        }
+      } catch (Throwable e) {
+        failure = e;
+        fail(e);
+      } finally {
+        // 退出时不再有命令被处理，通知全部等待的调用方
+        fail(new IllegalStateException("slicer closed"));
+      }
+    }
+
+    void fail(Throwable e) {
+      for (Command cmd : waiters) {
+        cmd.future.completeExceptionally(e);
+      }
+      waiters.clear();
+      for (Object item; (item = poll()) != null; ) {
+        if (item instanceof Command) {
+          ((Command) item).future.completeExceptionally(e);
+        }
+      }
+    }
+
+    void park(long nanos) {
+      waiting = true;
+      if (ring.get((int) head.get() & mask) == null) {
+        LockSupport.parkNanos(BatchFileSlicer.this, nanos);
+      }
+      waiting = false;
+    }
+
+    void append(byte[] record) {
+      if (writer == null) {
+        writer = getWriter(true);
+        size = writer.length();
+      }
+      if (pending + record.length > batch.length) {
+        writeBatch();
+      }
+      if (pending == 0 && batch.length != batchSize) {
+        batch = new byte[batchSize];
+      }
+      if (record.length > batch.length) {
+        writer.write(record, 0, record.length, false);
+      } else {
+        if (pending == 0) {
+          firstPendingTime = System.nanoTime();
+        }
+        System.arraycopy(record, 0, batch, pending, record.length);
+        pending += record.length;
+      }
+      size += record.length;
+      // 检查文件
+      if (size >= getMaxSize()) {
+        rotate();
+      }
+    }
+
+    /**
+     * @return 是否停止
+     */
+    boolean handle(Command cmd) {
+      if (cmd.type == Command.COMMIT) {
+        if (cmd.data != null) {
+          append(cmd.data);
+        }
+        waiters.add(cmd);
+        return false;
+      }
+      rotate();
+      cmd.future.complete(null);
+      return cmd.type == Command.CLOSE;
+    }
+
+    void writeBatch() {
+      if (pending > 0) {
+        writer.write(batch, 0, pending, false);
+        pending = 0;
+      }
+    }
+
+    /**
+     * 写出并刷新，完成等待的命令
+     */
+    void commit() {
+      if (writer != null) {
+        writeBatch();
+        if (syncPolicy == SyncPolicy.EVERY_BATCH) {
+          writer.sync();
+        } else {
+          writer.flush();
+        }
+        setLastWriteTime(System.currentTimeMillis());
+      }
+      for (Command cmd : waiters) {
+        cmd.future.complete(null);
+      }
+      waiters.clear();
+    }
+
+    /**
+     * 同步到磁盘后关闭当前文件，并通知监听
+     */
+    void rotate() {
+      commit();
+      T w = this.writer;
+      if (w != null) {
+        this.writer = null;
+        setWriter(null);
+        w.sync();
+        w.close();
+        getFileListener().onHandle(w, w.source());
+      }
+    }
+  }
+
+  static final class Command {
+    /**
+     * 等待之前的数据写入文件
+     */
+    static final int COMMIT = 0;
+    /**
+     * 关闭当前文件
+     */
+    static final int ROTATE = 1;
+    /**
+     * 关闭当前文件并停止
+     */
+    static final int CLOSE = 2;
+
+    final int type;
+    /**
+     * 提交前写入的数据
+     */
+    final byte[] data;
+    final CompletableFuture<Void> future = new CompletableFuture<>();
+
+    Command(int type, byte[] data) {
+      this.type = type;
+      this.data = data;
+    }
+  }
+
+  /**
+   * 同步到磁盘(fsync)的策略
+   */
+  public enum SyncPolicy {
+    /**
+     * 只在关闭文件时同步
+     */
+    ON_ROTATE,
+    /**
+     * 每次批量写入后同步
+     */
+    EVERY_BATCH,
+  }
+
+}
@@ -30,6 +30,17 @@ public interface FileFactory<T extends SliceFileWriter> {
   }
 
 
+  /**
+   * 创建内存映射写入的工厂对象
+   *
+   * @param suffix      文件后缀
+   * @param segmentSize 每次映射的段大小
+   */
+  static FileFactory<MmapSegmentWriter> newMmapFactory(String suffix, int segmentSize) {
+    return (dir, charset) -> new MmapSegmentWriter(createFile(dir, IdUtils.uuid() + suffix), charset, segmentSize);
+  }
+
+
   class FileFactoryImpl implements FileFactory<SliceFileWriter> {
 
     private String suffix;
@@ -31,7 +31,7 @@ public class FileSlicer<T extends SliceFileWriter> implements IWriter<FileSlicer
    */
   private File cacheDir = DEFAULT_CACHE_DIR;
   /**
-   * 文件最大长度
+   * 文件最大长度，写入后达到该长度时切换文件(最后一次写入不会被拆分，文件可能略大于该长度)
    */
   private long maxSize = MAX_SIZE;
   /**
@@ -66,6 +66,9 @@ public class FileSlicer<T extends SliceFileWriter> implements IWriter<FileSlicer
   @Override
   public FileSlicer<T> write(byte[] buf, int offset, int len, boolean flush) {
     final T writer = getWriter(true);
+    if (writer.isConcurrent()) {
+      return writeConcurrently(writer, buf, offset, len, flush);
+    }
     boolean newFile = false;
     synchronized (writer) {
       writer.writeAndFlush(buf, offset, len);
@@ -83,6 +86,30 @@ public class FileSlicer<T extends SliceFileWriter> implements IWriter<FileSlicer
     return this;
   }
 
+  /**
+   * 支持并发写入时不加锁，只在切换文件时同步
+   * <p>
+   * 写入后才检查文件大小，同时写入的线程都会写入当前文件，文件最多超出 maxSize (线程数 × 单次写入的长度)
+   */
+  private FileSlicer<T> writeConcurrently(T writer, byte[] buf, int offset, int len, boolean flush) {
+    // 文件已被其他线程关闭时，写入新的文件
+    while (!writer.tryWrite(buf, offset, len, flush)) {
+      writer = getWriter(true);
+    }
+    this.setLastWriteTime(System.currentTimeMillis());
+    if (checkNewFile(writer)) {
+      synchronized (this) {
+        if (this.currentWriter != writer) {
+          return this;
+        }
+        this.currentWriter = null;
+      }
+      writer.close();
+      getFileListener().onHandle(writer, writer.source());
+    }
+    return this;
+  }
+
   @Override
   public void flush() {
     T writer;
@@ -169,6 +196,15 @@ public class FileSlicer<T extends SliceFileWriter> implements IWriter<FileSlicer
     return writer;
   }
 
+  /**
+   * 设置当前的 FileWriter
+   *
+   * @param writer FileWriter
+   */
+  protected void setWriter(T writer) {
+    this.currentWriter = writer;
+  }
+
   /**
    * 获取最后一个文件长度
    */
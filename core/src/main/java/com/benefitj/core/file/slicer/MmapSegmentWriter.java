@@ -0,0 +1,246 @@
+package com.benefitj.core.file.slicer;
+
+import com.benefitj.core.CatchUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 基于内存映射的追加写入
+ * <p>
+ * 文件按固定大小的段映射(map 时预分配)，写入时通过原子计数预留位置后直接拷贝到映射的内存中，不加锁，多个线程可以同时写入；
+ * 关闭时等待正在进行的写入完成，释放映射后将文件截断为实际写入的长度。
+ * <p>
+ * 注意：Windows 不允许截断仍被映射的文件，映射通过 {@code sun.misc.Unsafe#invokeCleaner} 立即释放；
+ * 运行环境不支持时(没有 jdk.unsupported 模块)映射只能等 GC 回收，Windows 上关闭会失败
+ */
+public class MmapSegmentWriter extends SliceFileWriter {
+
+  /**
+   * 释放映射，不支持时为 null
+   */
+  private static final MethodHandle UNMAPPER = unmapper();
+
+  /**
+   * 默认段大小 8MB
+   */
+  public static final int DEFAULT_SEGMENT_SIZE = 8 << 20;
+
+  private final FileChannel channel;
+  private final int segmentSize;
+  /**
+   * 已映射的段
+   */
+  private volatile MappedByteBuffer[] segments = new MappedByteBuffer[0];
+  private final Object mapLock = new Object();
+  /**
+   * 已预留的位置
+   */
+  private final AtomicLong position = new AtomicLong();
+  /**
+   * 正在写入的线程数
+   */
+  private final AtomicInteger writing = new AtomicInteger();
+  private volatile boolean closed;
+
+  public MmapSegmentWriter(File file) {
+    this(file, StandardCharsets.UTF_8, DEFAULT_SEGMENT_SIZE);
+  }
+
+  public MmapSegmentWriter(File file, Charset charset, int segmentSize) {
+    super(file, charset, (OutputStream) null);
+    if (segmentSize <= 0) {
+      throw new IllegalArgumentException("segmentSize must be greater than 0");
+    }
+    this.segmentSize = segmentSize;
+    try {
+      this.channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+      this.position.set(channel.size());
+      segment(0);
+    } catch (IOException e) {
+      throw new IllegalStateException(CatchUtils.findRoot(e));
+    }
+  }
+
+  public int getSegmentSize() {
+    return segmentSize;
+  }
+
+  @Override
+  public boolean isConcurrent() {
+    return true;
+  }
+
+  @Override
+  public MmapSegmentWriter write(byte[] buf, int offset, int len, boolean flush) {
+    if (!tryWrite(buf, offset, len, flush)) {
+      throw new IllegalStateException("writer closed: " + path());
+    }
+    return this;
+  }
+
+  @Override
+  public boolean tryWrite(byte[] buf, int offset, int len, boolean flush) {
+    if (offset < 0 || len < 0 || offset > buf.length - len) {
+      throw new IndexOutOfBoundsException("offset: " + offset + ", len: " + len + ", length: " + buf.length);
+    }
+    writing.incrementAndGet();
+    try {
+      if (closed) {
+        return false;
+      }
+      long pos = position.getAndAdd(len);
+      while (len > 0) {
+        int index = (int) (pos / segmentSize);
+        int segOffset = (int) (pos % segmentSize);
+        int n = Math.min(len, segmentSize - segOffset);
+        ByteBuffer dup = segment(index).duplicate();
+        dup.position(segOffset);
+        dup.put(buf, offset, n);
+        pos += n;
+        offset += n;
+        len -= n;
+      }
+      return true;
+    } finally {
+      writing.decrementAndGet();
+    }
+  }
+
+  /**
+   * 已写入的长度
+   */
+  @Override
+  public long length() {
+    return position.get();
+  }
+
+  /**
+   * 数据已在页缓存中，不需要刷新
+   */
+  @Override
+  public void flush() {
+    // ignore
+  }
+
+  /**
+   * 将映射的数据同步到磁盘
+   */
+  @Override
+  public void sync() {
+    // 与关闭互斥，释放映射后不能再访问
+    synchronized (mapLock) {
+      force();
+    }
+  }
+
+  private void force() {
+    for (MappedByteBuffer segment : segments) {
+      if (segment != null) {
+        segment.force();
+      }
+    }
+  }
+
+  /**
+   * 等待正在进行的写入完成，同步到磁盘，释放映射并截断为实际的长度
+   */
+  @Override
+  public void close() {
+    synchronized (mapLock) {
+      if (closed) {
+        return;
+      }
+      closed = true;
+    }
+    while (writing.get() > 0) {
+      Thread.onSpinWait();
+    }
+    try {
+      synchronized (mapLock) {
+        force();
+        MappedByteBuffer[] segs = this.segments;
+        this.segments = new MappedByteBuffer[0];
+        for (MappedByteBuffer segment : segs) {
+          if (segment != null) {
+            unmap(segment);
+          }
+        }
+      }
+      channel.truncate(position.get());
+      channel.close();
+    } catch (IOException e) {
+      throw new IllegalStateException(CatchUtils.findRoot(e));
+    }
+  }
+
+  /**
+   * 获取段，未映射时映射
+   */
+  private MappedByteBuffer segment(int index) {
+    MappedByteBuffer[] segs = this.segments;
+    if (index < segs.length && segs[index] != null) {
+      return segs[index];
+    }
+    synchronized (mapLock) {
+      segs = this.segments;
+      if (index < segs.length && segs[index] != null) {
+        return segs[index];
+      }
+      if (closed) {
+        throw new IllegalStateException("writer closed: " + path());
+      }
+      try {
+        MappedByteBuffer segment = channel.map(FileChannel.MapMode.READ_WRITE, (long) index * segmentSize, segmentSize);
+        // 复制后发布，读取时不需要加锁
+        segs = Arrays.copyOf(segs, Math.max(index + 1, segs.length));
+        segs[index] = segment;
+        this.segments = segs;
+        return segment;
+      } catch (IOException e) {
+        throw new IllegalStateException(CatchUtils.findRoot(e));
+      }
+    }
+  }
+
+  /**
+   * 释放映射，之后不能再访问该缓冲区
+   */
+  static void unmap(MappedByteBuffer buffer) {
+    if (UNMAPPER != null) {
+      try {
+        UNMAPPER.invokeExact((ByteBuffer) buffer);
+      } catch (Throwable e) {
+        // 由 GC 释放
+      }
+    }
+  }
+
+  private static MethodHandle unmapper() {
+    try {
+      Class<?> type = Class.forName("sun.misc.Unsafe");
+      Field field = type.getDeclaredField("theUnsafe");
+      field.setAccessible(true);
+      return MethodHandles.lookup()
+          .findVirtual(type, "invokeCleaner", MethodType.methodType(void.class, ByteBuffer.class))
+          .bindTo(field.get(null));
+    } catch (Throwable e) {
+      return null;
+    }
+  }
+
+}
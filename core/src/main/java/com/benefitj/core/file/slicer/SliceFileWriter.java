@@ -4,6 +4,7 @@ import com.benefitj.core.file.FileWriterImpl;
 import com.benefitj.core.file.IWriter;
 
 import java.io.File;
+import java.io.OutputStream;
 import java.nio.charset.Charset;
 
 /**
@@ -27,4 +28,36 @@ public class SliceFileWriter extends FileWriterImpl implements IWriter<FileWrite
     super(file, append);
   }
 
+  /**
+   * 使用指定的输出流
+   *
+   * @param file    文件
+   * @param charset 编码
+   * @param out     输出流，为 null 时由子类实现写入
+   */
+  protected SliceFileWriter(File file, Charset charset, OutputStream out) {
+    super(file, charset, out);
+  }
+
+  /**
+   * 是否支持多个线程同时写入(不需要加锁)
+   */
+  public boolean isConcurrent() {
+    return false;
+  }
+
+  /**
+   * 尝试写入，已关闭时返回 false
+   *
+   * @param buf    字节缓冲
+   * @param offset 偏移量
+   * @param len    长度
+   * @param flush  是否刷新
+   * @return 返回是否写入
+   */
+  public boolean tryWrite(byte[] buf, int offset, int len, boolean flush) {
+    write(buf, offset, len, flush);
+    return true;
+  }
+
 }
@@ -0,0 +1,76 @@
+package com.benefitj.core;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ArrayPoolTest extends BaseTest {
+
+  @Test
+  public void testAcquireAndRelease() throws Exception {
+    ArrayPool<byte[]> pool = new ArrayPool<>(byte[]::new, 1, 10, 2048);
+    byte[] a = pool.acquire(100);
+    assertEquals(128, a.length);
+    pool.release(a);
+    assertSame(a, pool.acquire(65));
+    // 超过最大等级，不池化
+    assertEquals(5000, pool.acquire(5000).length);
+
+    // 当前线程放满后进入共享栈，共享栈有上限
+    pool.release(new byte[1024]);
+    pool.release(new byte[1024]);
+    pool.release(new byte[1024]);
+    pool.release(new byte[1024]);
+    ArrayPool.Metrics metrics = pool.metrics();
+    assertEquals(1024, metrics.getLocalBytes());
+    assertEquals(2048, metrics.getSharedBytes());
+
+    byte[][] fromOther = new byte[1][];
+    Thread t = new Thread(() -> fromOther[0] = pool.acquire(1000));
+    t.start();
+    t.join();
+    assertEquals(1024, fromOther[0].length);
+    assertEquals(1024, pool.metrics().getSharedBytes());
+    log.info("metrics: {}", pool.metrics());
+  }
+
+  @Test
+  public void testGetCache() throws Exception {
+    ArrayCopy<int[]> copy = ArrayCopy.newIntArrayCopy();
+    int[] a = copy.getCache(10);
+    assertEquals(10, a.length);
+    assertSame(a, copy.getCache(10));
+    assertNotSame(a, copy.getCache(10, false));
+    // 线程之间不共享
+    int[][] other = new int[1][];
+    Thread t = new Thread(() -> other[0] = copy.getCache(10));
+    t.start();
+    t.join();
+    assertNotSame(a, other[0]);
+    // 不同实例、不同长度之间不共享
+    ArrayCopy<int[]> copy2 = ArrayCopy.newIntArrayCopy();
+    int[] a8 = copy.getCache(8);
+    copy.getCache(42);
+    assertSame(a8, copy.getCache(8));
+    assertNotSame(a8, copy2.getCache(8));
+    // 非基本类型的数组也缓存
+    ArrayCopy<String[]> strings = new ArrayCopy.SimpleBufCopy<>(String[]::new, false, null);
+    assertSame(strings.getCache(3), strings.getCache(3));
+
+    ByteArrayCopy bytes = ByteArrayCopy.newBufCopy();
+    byte[] b = bytes.getCache(16);
+    b[0] = 1;
+    assertSame(b, bytes.getCache(16));
+    assertEquals(0, b[0]);
+    // 复用前清空，超过最大长度时不缓存
+    a[3] = 7;
+    assertSame(a, copy.getCache(10));
+    assertEquals(0, a[3]);
+    int max = ArrayCopy.SimpleBufCopy.LOCAL_MAX_LENGTH + 1;
+    assertNotSame(copy.getCache(max), copy.getCache(max));
+    String[] s = strings.getCache(3);
+    s[0] = "a";
+    assertNull(strings.getCache(3)[0]);
+  }
+
+}
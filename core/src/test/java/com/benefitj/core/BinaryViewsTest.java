@@ -0,0 +1,91 @@
+package com.benefitj.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class BinaryViewsTest extends BaseTest {
+
+  @Test
+  public void testGetInts() {
+    byte[] data = new byte[1024];
+    ThreadLocalRandom.current().nextBytes(data);
+    for (ByteOrder order : new ByteOrder[]{ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN}) {
+      BinaryHelper helper = BinaryHelper.get(order);
+      for (int size = 1; size <= 4; size++) {
+        for (boolean signed : new boolean[]{true, false}) {
+          int count = (data.length - 1) / size;
+          int[] dest = BinaryViews.getInts(data, 1, new int[count], 0, count, size, order, signed);
+          int[] buf = BinaryViews.getInts(ByteBuffer.wrap(data), 1, new int[count], 0, count, size, order, signed);
+          for (int i = 0; i < count; i++) {
+            int expected = helper.bytesToInt(ByteArrayCopy.get().copy(data, 1 + i * size, size), signed);
+            assertEquals(expected, dest[i], "order: " + order + ", size: " + size + ", signed: " + signed);
+            assertEquals(expected, buf[i]);
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testGetLongs() {
+    byte[] data = new byte[1024];
+    ThreadLocalRandom.current().nextBytes(data);
+    for (ByteOrder order : new ByteOrder[]{ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN}) {
+      BinaryHelper helper = BinaryHelper.get(order);
+      for (int size = 1; size <= 8; size++) {
+        for (boolean signed : new boolean[]{true, false}) {
+          int count = data.length / size;
+          long[] dest = BinaryViews.getLongs(data, 0, new long[count], 0, count, size, order, signed);
+          long[] buf = BinaryViews.getLongs(ByteBuffer.wrap(data), 0, new long[count], 0, count, size, order, signed);
+          for (int i = 0; i < count; i++) {
+            long expected = helper.bytesToLong(ByteArrayCopy.get().copy(data, i * size, size), signed);
+            assertEquals(expected, dest[i], "order: " + order + ", size: " + size + ", signed: " + signed);
+            assertEquals(expected, buf[i]);
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testPut() {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    byte[] dest = new byte[16];
+    for (ByteOrder order : new ByteOrder[]{ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN}) {
+      BinaryHelper helper = BinaryHelper.get(order);
+      for (int i = 0; i < 1000; i++) {
+        long v = random.nextLong();
+        assertEquals(9, helper.putLong(dest, 1, v, order, 8));
+        assertArrayEquals(helper.longToBytes(v, order), ByteArrayCopy.get().copy(dest, 1, 8));
+        assertEquals(v, BinaryViews.getSigned(ByteBuffer.wrap(dest), 1, 8, order));
+
+        int n = (int) v;
+        assertEquals(5, helper.putInt(dest, 1, n, order, 4));
+        assertArrayEquals(helper.intToBytes(n, order), ByteArrayCopy.get().copy(dest, 1, 4));
+        for (int width = 1; width <= 4; width++) {
+          helper.putInt(dest, 0, n, order, width);
+          assertEquals(helper.bytesToInt(ByteArrayCopy.get().copy(dest, 0, width), true), (int) BinaryViews.getSigned(dest, 0, width, order));
+          helper.putInt(ByteBuffer.wrap(dest), 0, n, order, width);
+          assertEquals(n << (32 - width * 8) >> (32 - width * 8), (int) BinaryViews.getSigned(dest, 0, width, order));
+        }
+
+        short s = (short) v;
+        helper.putShort(dest, 0, s, order, 2);
+        assertArrayEquals(helper.shortToBytes(s, order), ByteArrayCopy.get().copy(dest, 0, 2));
+        helper.putShort(dest, 0, s, order, 3);
+        assertEquals(s & 0xFFFF, BinaryViews.getUnsigned(dest, 0, 3, order));
+
+        double d = random.nextDouble();
+        helper.putDouble(dest, 0, d, order, 8);
+        assertEquals(d, Double.longBitsToDouble(BinaryViews.getSigned(dest, 0, 8, order)), 0);
+      }
+    }
+  }
+
+}
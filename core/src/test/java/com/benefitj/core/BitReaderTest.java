@@ -0,0 +1,58 @@
+package com.benefitj.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BitReaderTest extends BaseTest {
+
+  @Test
+  public void testReadWrite() {
+    Random random = new Random(0);
+    for (int round = 0; round < 200; round++) {
+      int count = random.nextInt(50);
+      int[] widths = new int[count];
+      long[] values = new long[count];
+      byte[] dest = new byte[count * 8 + 1];
+      BitWriter writer = new BitWriter(dest, 1, dest.length - 1);
+      for (int i = 0; i < count; i++) {
+        widths[i] = random.nextInt(65);
+        values[i] = widths[i] == 64 ? random.nextLong() : random.nextLong() & ((1L << widths[i]) - 1);
+        writer.writeBits(widths[i], values[i]);
+      }
+      long bits = writer.bitPosition();
+      int bytes = writer.flush();
+      assertEquals((bits + 7) / 8, bytes);
+
+      BitReader reader = new BitReader(ByteBuffer.allocateDirect(dest.length).put(dest).flip(), 1, 1 + bytes);
+      for (int i = 0; i < count; i++) {
+        assertEquals(values[i], reader.readBits(widths[i]), "width: " + widths[i]);
+      }
+      assertEquals(bits, reader.bitPosition());
+    }
+  }
+
+  @Test
+  public void testUnpack() {
+    // 12 位采样：0x123, 0x456, 0xFFF, 0x800
+    byte[] data = HexUtils.hexToBytes("123456FFF800");
+    int[] samples = new BitReader(data).unpack(new int[4], 0, 4, 12, false);
+    assertArrayEquals(new int[]{0x123, 0x456, 0xFFF, 0x800}, samples);
+    int[] signed = new BitReader(data).unpack(new int[4], 0, 4, 12, true);
+    assertArrayEquals(new int[]{0x123, 0x456, -1, -2048}, signed);
+
+    byte[] packed = new byte[6];
+    new BitWriter(packed).pack(samples, 0, 4, 12).flush();
+    assertArrayEquals(data, packed);
+
+    BitReader reader = new BitReader(data);
+    assertFalse(reader.readBit());
+    reader.alignToByte();
+    assertEquals(0x34, reader.readBits(8));
+    assertThrows(IndexOutOfBoundsException.class, () -> reader.readBits(40));
+  }
+
+}
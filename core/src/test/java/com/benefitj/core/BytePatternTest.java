@@ -0,0 +1,75 @@
+package com.benefitj.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class BytePatternTest extends BaseTest {
+
+  @Test
+  public void testSearch() {
+    Random random = new Random(0);
+    for (int round = 0; round < 2000; round++) {
+      // 小字母表，制造较多的部分匹配
+      byte[] src = new byte[random.nextInt(200)];
+      for (int i = 0; i < src.length; i++) {
+        src[i] = (byte) random.nextInt(4);
+      }
+      byte[] find = new byte[1 + random.nextInt(6)];
+      for (int i = 0; i < find.length; i++) {
+        find[i] = (byte) random.nextInt(4);
+      }
+      BytePattern pattern = BytePattern.compile(find);
+      int from = src.length > 0 ? random.nextInt(src.length) : 0;
+      assertEquals(naiveIndexOf(src, from, src.length, find), pattern.indexOf(src, from, src.length));
+      assertEquals(naiveIndexOf(src, 0, src.length, find), HexUtils.indexOf(src, find));
+      assertEquals(naiveLastIndexOf(src, from, src.length, find), pattern.lastIndexOf(src, from, src.length));
+      assertEquals(naiveIndexOf(src, 0, src.length, find), pattern.indexOf(ByteBuffer.wrap(src).asReadOnlyBuffer()));
+      assertEquals(naiveLastIndexOf(src, 0, src.length, find), pattern.lastIndexOf(ByteBuffer.wrap(src).asReadOnlyBuffer()));
+      assertArrayEquals(naiveFindAll(src, find), pattern.findAll(src));
+    }
+  }
+
+  @Test
+  public void testIndexOfByte() {
+    byte[] src = new byte[100];
+    for (int i = 0; i < src.length; i++) {
+      src[i] = (byte) 0xAA;
+      assertEquals(i, BytePattern.indexOfByte(src, 0, src.length, (byte) 0xAA));
+      src[i] = 0;
+    }
+  }
+
+  static int naiveIndexOf(byte[] src, int from, int to, byte[] find) {
+    for (int i = from; i <= to - find.length; i++) {
+      if (HexUtils.isEquals(src, i, find, 0, find.length)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  static int naiveLastIndexOf(byte[] src, int from, int to, byte[] find) {
+    for (int i = to - find.length; i >= from; i--) {
+      if (HexUtils.isEquals(src, i, find, 0, find.length)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  static int[] naiveFindAll(byte[] src, byte[] find) {
+    List<Integer> list = new ArrayList<>();
+    for (int i = naiveIndexOf(src, 0, src.length, find); i >= 0; i = naiveIndexOf(src, i + find.length, src.length, find)) {
+      list.add(i);
+    }
+    return list.stream().mapToInt(Integer::intValue).toArray();
+  }
+
+}
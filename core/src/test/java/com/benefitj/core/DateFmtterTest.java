@@ -2,7 +2,15 @@ package com.benefitj.core;
 
 import org.junit.jupiter.api.Test;
 
+import java.text.SimpleDateFormat;
 import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Random;
+import java.util.TimeZone;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 
 class DateFmtterTest extends BaseTest {
 
@@ -15,4 +23,58 @@ class DateFmtterTest extends BaseTest {
     log.info("getOffset: {}", time.getOffset());
   }
 
-}
\ No newline at end of file
+  @Test
+  void test_fastFormatter() {
+    String[] patterns = {DateFmtter._yMdHms, DateFmtter._yMdHmsS, DateFmtter._yMdHms_NO, DateFmtter._yMdHmsS_UTC,
+        DateFmtter._yMdHms_CN, DateFmtter._yMdHmsX_UTC, "EEE, dd MMM yyyy HH:mm:ss z", "D F u w"};
+    Random random = new Random(1);
+    for (String zone : new String[]{"Asia/Shanghai", "America/New_York", "UTC"}) {
+      for (String pattern : patterns) {
+        FastDateFormatter formatter = FastDateFormatter.of(pattern, Locale.US, ZoneId.of(zone));
+        SimpleDateFormat sdf = new SimpleDateFormat(pattern, Locale.US);
+        sdf.setTimeZone(TimeZone.getTimeZone(zone));
+        for (int i = 0; i < 10000; i++) {
+          // 1800 ~ 2100年，包括超出快速格式化范围的时间
+          long time = -5364662400000L + (long) (random.nextDouble() * 9.5e12);
+          assertEquals(sdf.format(new Date(time)), formatter.format(time), formatter + ", " + time);
+        }
+        log.info("{} -> {}", formatter, formatter.format(System.currentTimeMillis()));
+      }
+    }
+  }
+
+  @Test
+  void test_irregularZone() {
+    // 2037 年之后 TimeZone 与 java.time 的规则不一致的时区
+    Random random = new Random(2);
+    for (String zone : new String[]{"Africa/Casablanca", "Africa/Windhoek", "Asia/Gaza"}) {
+      FastDateFormatter formatter = FastDateFormatter.of(DateFmtter._yMdHms, Locale.US, ZoneId.of(zone));
+      SimpleDateFormat sdf = new SimpleDateFormat(DateFmtter._yMdHms, Locale.US);
+      sdf.setTimeZone(TimeZone.getTimeZone(zone));
+      for (int i = 0; i < 20000; i++) {
+        // 2030 ~ 2090年
+        long time = 1893456000000L + (long) (random.nextDouble() * 1.9e12);
+        assertEquals(sdf.format(new Date(time)), formatter.format(time), formatter + ", " + time);
+      }
+    }
+  }
+
+  @Test
+  void test_defaultZone() {
+    TimeZone old = TimeZone.getDefault();
+    try {
+      TimeZone.setDefault(TimeZone.getTimeZone("Asia/Shanghai"));
+      assertEquals("1970-01-01 08:00:00", DateFmtter.getFormatter(DateFmtter._yMdHms).format(0L));
+      // 修改系统时区后跟随
+      TimeZone.setDefault(TimeZone.getTimeZone("UTC"));
+      assertEquals("1970-01-01 00:00:00", DateFmtter.getFormatter(DateFmtter._yMdHms).format(0L));
+      // 指定的时区不受系统时区的影响
+      DateFmtter.setDefaultZone(ZoneId.of("Asia/Tokyo"));
+      assertEquals("1970-01-01 09:00:00", DateFmtter.getFormatter(DateFmtter._yMdHms).format(0L));
+    } finally {
+      DateFmtter.setDefaultZone(null);
+      TimeZone.setDefault(old);
+    }
+  }
+
+}
@@ -0,0 +1,56 @@
+package com.benefitj.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class HexEncoderTest extends BaseTest {
+
+  @Test
+  public void testEncode() {
+    byte[] data = new byte[1000];
+    ThreadLocalRandom.current().nextBytes(data);
+    String hex = legacy(data, "0x", ", ", 3);
+    assertEquals(hex, HexUtils.bytesToHex(data, "0x", ", ", 3));
+    assertEquals(legacy(data, null, " ", 1), HexUtils.bytesToHex(data, " "));
+    assertEquals(legacy(data, null, null, 1), HexUtils.bytesToHex(data));
+    assertEquals(legacy(data, null, null, 1).toLowerCase(), HexEncoder.LOWER_CASE.encode(data));
+    assertEquals(HexUtils.bytesToHex(data), HexEncoder.UPPER_CASE.encode(data, 0, data.length, new StringBuilder()).toString());
+
+    ByteBuffer dest = ByteBuffer.allocateDirect(data.length * 2);
+    assertEquals(data.length, HexEncoder.UPPER_CASE.encode(ByteBuffer.wrap(data), dest));
+    dest.flip();
+    assertEquals(HexUtils.bytesToHex(data), StandardCharsets.US_ASCII.decode(dest).toString());
+  }
+
+  @Test
+  public void testDecode() {
+    byte[] data = new byte[1000];
+    ThreadLocalRandom.current().nextBytes(data);
+    String hex = HexUtils.bytesToHex(data);
+    assertArrayEquals(data, HexUtils.hexToBytes(hex));
+    assertArrayEquals(data, HexUtils.hexToBytes(hex.toLowerCase()));
+    assertArrayEquals(data, HexEncoder.decode(hex));
+  }
+
+  /**
+   * 原实现
+   */
+  static String legacy(byte[] bin, String prefix, String suffix, int split) {
+    String hex = BinaryHelper.HEX_UPPER_CASE;
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0, j = 1; i < bin.length; i++, j++) {
+      sb.append(prefix != null && i % split == 0 ? prefix : "");
+      sb.append(hex.charAt((bin[i] & 0xF0) >> 4));
+      sb.append(hex.charAt(bin[i] & 0x0F));
+      sb.append(suffix != null && i < (bin.length - 1) && (j % split == 0) ? suffix : "");
+    }
+    return sb.toString();
+  }
+
+}
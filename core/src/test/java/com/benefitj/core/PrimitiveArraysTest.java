@@ -0,0 +1,47 @@
+package com.benefitj.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteOrder;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class PrimitiveArraysTest extends BaseTest {
+
+  @Test
+  public void testDecode() {
+    Random random = new Random(0);
+    byte[] data = new byte[1 + 8 * 64];
+    random.nextBytes(data);
+    for (ByteOrder order : new ByteOrder[]{ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN}) {
+      BinaryHelper helper = order == ByteOrder.BIG_ENDIAN ? BinaryHelper.BIG_ENDIAN : BinaryHelper.LITTLE_ENDIAN;
+      for (int size = 1; size <= 4; size++) {
+        for (boolean signed : new boolean[]{true, false}) {
+          double[] dest = PrimitiveArrays.decode(data, 1, new double[64], 0, 64, size, order, signed);
+          for (int i = 0; i < 64; i++) {
+            assertEquals((double) helper.bytesToLong(ByteArrayCopy.get().copy(data, 1 + i * size, size), signed), dest[i]);
+          }
+        }
+      }
+      float[] floats = PrimitiveArrays.decodeFloat(data, 1, new float[64], 0, 64, order);
+      double[] doubles = PrimitiveArrays.decodeDouble(data, 1, new double[64], 0, 64, order);
+      for (int i = 0; i < 64; i++) {
+        assertEquals(Float.intBitsToFloat(helper.bytesToInt(ByteArrayCopy.get().copy(data, 1 + i * 4, 4))), floats[i]);
+        assertEquals(Double.longBitsToDouble(helper.bytesToLong(ByteArrayCopy.get().copy(data, 1 + i * 8, 8))), doubles[i]);
+      }
+    }
+  }
+
+  @Test
+  public void testScale() {
+    short[] src = {-2, 0, 3, Short.MAX_VALUE};
+    double[] dest = PrimitiveArrays.scale(src, 0, new double[4], 0, 4, 0.5, 1);
+    assertEquals(0.0, dest[0]);
+    assertEquals(2.5, dest[2]);
+    float[] f = PrimitiveArrays.widen(new int[]{1, -7}, 0, new float[3], 1, 2);
+    assertEquals(-7f, f[2]);
+    assertEquals(4f, PrimitiveArrays.scale(f, 0, 3, 2f, 2f)[1]);
+  }
+
+}
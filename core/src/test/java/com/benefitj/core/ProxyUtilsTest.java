@@ -4,6 +4,9 @@ import org.junit.jupiter.api.Test;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
 
 public class ProxyUtilsTest extends BaseTest {
 
@@ -27,11 +30,40 @@ public class ProxyUtilsTest extends BaseTest {
   }
 
 
+  @Test
+  public void testListenerMulticaster() {
+    ListenerMulticaster<Counter> multicaster = ListenerMulticaster.of(Counter.class);
+    Counter counter = multicaster.getProxy();
+    assertEquals(0, counter.next());
+    ((List) counter).add((Counter) () -> 1);
+    multicaster.add(() -> 2);
+    assertEquals(2, counter.next());
+    multicaster.setResultMerger(ListenerMulticaster.FIRST_NON_NULL);
+    assertEquals(1, counter.next());
+
+    multicaster.asList().add(0, () -> {
+      throw new IllegalStateException("error");
+    });
+    assertThrows(IllegalStateException.class, counter::next);
+    AtomicInteger errors = new AtomicInteger();
+    multicaster.setErrorHandler((listener, method, e) -> errors.incrementAndGet());
+    assertEquals(1, counter.next());
+    assertEquals(1, errors.get());
+    assertEquals(3, ((List) counter).size());
+  }
+
+
   public interface Hello {
 
     void say(String word);
 
   }
 
+  public interface Counter {
+
+    int next();
+
+  }
+
 
 }
\ No newline at end of file
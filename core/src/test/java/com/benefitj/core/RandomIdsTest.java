@@ -0,0 +1,56 @@
+package com.benefitj.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RandomIdsTest extends BaseTest {
+
+  @Test
+  public void testNext() {
+    char[] chars = "0123456789".toCharArray();
+    int[] counts = new int[chars.length];
+    String id = RandomIds.next(chars, "id-", "-x", 100_000);
+    assertTrue(id.startsWith("id-") && id.endsWith("-x"));
+    assertEquals(100_000 + 5, id.length());
+    for (int i = 3; i < id.length() - 2; i++) {
+      counts[id.charAt(i) - '0']++;
+    }
+    for (int c : counts) {
+      // 均匀分布，每个约 10000
+      assertTrue(c > 9000 && c < 11000, "count: " + c);
+    }
+    // 非 Latin-1 字符
+    assertEquals("前缀", RandomIds.next("ab".toCharArray(), "前缀", null, 0));
+    assertEquals(34, IdUtils.nextId("前缀", null, 32).length());
+  }
+
+  @Test
+  public void testUuid() {
+    UUID v4 = RandomIds.uuid4();
+    assertEquals(4, v4.version());
+    assertEquals(2, v4.variant());
+    assertEquals(v4.toString().replace("-", ""), RandomIds.toHex(v4));
+
+    long now = System.currentTimeMillis();
+    UUID v7 = RandomIds.uuid7(now);
+    assertEquals(7, v7.version());
+    assertEquals(2, v7.variant());
+    assertEquals(now, v7.getMostSignificantBits() >>> 16);
+    assertTrue(RandomIds.toHex(RandomIds.uuid7(now)).compareTo(RandomIds.toHex(RandomIds.uuid7(now + 1))) < 0);
+    assertEquals(32, IdUtils.uuid().length());
+    assertEquals(32, IdUtils.fastUuid().length());
+    // 同一毫秒内也递增
+    String last = IdUtils.uuid7();
+    for (int i = 0; i < 100_000; i++) {
+      String next = IdUtils.uuid7();
+      assertTrue(last.compareTo(next) < 0, last + " >= " + next);
+      last = next;
+    }
+    assertEquals(7, UUID.fromString(RandomIds.uuid7().toString()).version());
+    log.info("uuid: {}, uuid7: {}", IdUtils.uuid(), IdUtils.uuid7());
+  }
+
+}
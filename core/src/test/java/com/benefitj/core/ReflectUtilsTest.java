@@ -10,6 +10,8 @@ import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.*;
+
 public class ReflectUtilsTest extends BaseTest {
 
   @Test
@@ -107,6 +109,73 @@ public class ReflectUtilsTest extends BaseTest {
     });
   }
 
+  @Test
+  public void testFastInvoker() throws Throwable {
+    SysUser user = new SysUser();
+    FastInvoker setter = FastInvoker.of(SysUser.class.getMethod("setName", String.class));
+    FastInvoker getter = FastInvoker.of(SysUser.class.getMethod("getName"));
+    assertNull(setter.invoke(user, new Object[]{"benefitj"}));
+    assertEquals("benefitj", getter.invoke(user, null));
+    assertSame(getter, FastInvoker.of(SysUser.class.getMethod("getName")));
+    // 私有方法和静态方法
+    assertEquals(42, (int) ReflectUtils.<Integer>invokeFast(new TestA(), TestA.class.getDeclaredMethod("twice", int.class), 21));
+    assertEquals(3L, (long) ReflectUtils.<Long>invokeFast(null, TestA.class.getDeclaredMethod("sum", long.class, long.class), 1L, 2L));
+    // 异常包装成 IllegalStateException，Error 原样抛出
+    Method fail = TestA.class.getDeclaredMethod("fail", boolean.class);
+    assertThrows(IllegalStateException.class, () -> ReflectUtils.invokeFast(null, fail, false));
+    assertThrows(StackOverflowError.class, () -> ReflectUtils.invokeFast(null, fail, true));
+
+    Greeter greeter = ProxyUtils.newProxy(Greeter.class, (proxy, method, args) -> method.isDefault()
+        ? ReflectUtils.invokeDefault(proxy, method, args)
+        : "proxy");
+    assertEquals("hello proxy", greeter.greet("hello "));
+  }
+
+  @Test
+  public void testClassMetadataCache() throws Exception {
+    assertEquals(TestAbb.class.getDeclaredMethod("setPoint", Object.class),
+        ReflectUtils.getMethod(TestAcc.class, "setPoint", new Class[]{Object.class}));
+    assertSame(ReflectUtils.getMethod(TestAcc.class, "getPoint", new Class[0]),
+        ReflectUtils.getMethod(TestAcc.class, "getPoint", new Class[0]));
+    assertNull(ReflectUtils.getMethod(TestAcc.class, "missing", new Class[0]));
+    assertNull(ReflectUtils.getMethod(TestAcc.class, "setPoint", new Class[]{String.class}));
+    assertNull(ReflectUtils.getMethod(TestAcc.class, "setPoint", new Class[]{String.class}));
+    assertNull(ReflectUtils.getMethod(Greeter.class, "missing", new Class[0]));
+    assertEquals("point", ReflectUtils.getField(TestAcc.class, "point").getName());
+    assertNull(ReflectUtils.getField(TestAcc.class, "missing"));
+    assertEquals(Arrays.asList("point", "value", "items", "items2"),
+        new java.util.ArrayList<>(ReflectUtils.getFieldMap(TestAcc.class, null).keySet()));
+  }
+
+  @Test
+  public void testBeanAccessor() {
+    BeanAccessor accessor = BeanAccessor.of(TestAcc.class);
+    assertEquals(Arrays.asList("point", "value", "items", "items2"), new java.util.ArrayList<>(accessor.toMap(new TestAcc<>()).keySet()));
+    TestAcc<Integer> obj = new TestAcc<>();
+    BeanAccessor.PropertyAccessor value = accessor.getProperty("value");
+    value.setInt(obj, 12);
+    assertEquals(12, obj.value);
+    assertEquals(12L, value.getLong(obj));
+    assertThrows(IllegalStateException.class, () -> value.getShort(obj));
+    accessor.set(obj, "point", 3);
+    assertEquals(3, (int) accessor.get(obj, "point"));
+    // 类型不匹配时与 Field.set 一致
+    assertThrows(IllegalArgumentException.class, () -> accessor.set(obj, "value", "3"));
+    assertThrows(IllegalArgumentException.class, () -> value.set(new Object(), 1));
+    assertSame(value, BeanAccessor.of(ReflectUtils.getField(TestAbb.class, "value")));
+    assertNull(accessor.getProperty("missing"));
+    assertThrows(IllegalArgumentException.class, () -> accessor.get(obj, "missing"));
+  }
+
+  public interface Greeter {
+
+    String name();
+
+    default String greet(String prefix) {
+      return prefix + name();
+    }
+  }
+
 
 
   public static class SysUser {
@@ -123,6 +192,22 @@ public class ReflectUtilsTest extends BaseTest {
   }
 
   static class TestA {
+
+    private int twice(int v) {
+      return v * 2;
+    }
+
+    static long sum(long a, long b) {
+      return a + b;
+    }
+
+    static void fail(boolean error) throws Exception {
+      if (error) {
+        throw new StackOverflowError();
+      }
+      throw new Exception("fail");
+    }
+
     public TestA() {
       System.err.printf("3. name[%s], birthday[%s]%n", "...", "...");
     }
@@ -0,0 +1,88 @@
+package com.benefitj.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SnowflakeIdWorkerTest extends BaseTest {
+
+  @Test
+  public void testConcurrentUnique() throws Exception {
+    SnowflakeIdWorker worker = new SnowflakeIdWorker(1, 1);
+    int threads = 4, count = 50_000;
+    long[][] results = new long[threads][];
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      Future<?>[] futures = new Future[threads];
+      for (int t = 0; t < threads; t++) {
+        final int index = t;
+        futures[t] = executor.submit(() -> {
+          long[] ids = new long[count];
+          for (int i = 0; i < count; i += 100) {
+            if ((i / 100) % 2 == 0) {
+              worker.nextIds(ids, i, 100);
+            } else {
+              for (int j = i; j < i + 100; j++) {
+                ids[j] = worker.nextId();
+              }
+            }
+          }
+          results[index] = ids;
+        });
+      }
+      for (Future<?> f : futures) {
+        f.get(30, TimeUnit.SECONDS);
+      }
+    } finally {
+      executor.shutdown();
+    }
+    long[] all = Arrays.stream(results).flatMapToLong(Arrays::stream).toArray();
+    Arrays.sort(all);
+    for (int i = 1; i < all.length; i++) {
+      assertNotEquals(all[i - 1], all[i]);
+    }
+  }
+
+  @Test
+  public void testClockBackwards() {
+    long[] clock = {System.currentTimeMillis()};
+    SnowflakeIdWorker strict = new ManualClockWorker(SnowflakeIdWorker.ClockBackwards.THROW, 0, clock);
+    strict.nextId();
+    clock[0] -= 10;
+    assertThrows(IllegalArgumentException.class, strict::nextId);
+
+    clock[0] += 10;
+    SnowflakeIdWorker borrow = new ManualClockWorker(SnowflakeIdWorker.ClockBackwards.BORROW, 100, clock);
+    long a = borrow.nextId();
+    clock[0] -= 10;
+    long b = borrow.nextId();
+    assertTrue(b > a);
+    // 超过4096个序列时借用下一个毫秒
+    long[] ids = borrow.nextIds(new long[10000]);
+    for (int i = 1; i < ids.length; i++) {
+      assertTrue(ids[i] > ids[i - 1]);
+    }
+  }
+
+  static class ManualClockWorker extends SnowflakeIdWorker {
+
+    final long[] clock;
+
+    ManualClockWorker(ClockBackwards clockBackwards, long maxBorrowMillis, long[] clock) {
+      super(0, 0, clockBackwards, maxBorrowMillis);
+      this.clock = clock;
+    }
+
+    @Override
+    protected long timeGen() {
+      return clock[0];
+    }
+  }
+
+}
@@ -0,0 +1,128 @@
+package com.benefitj.core.benchmark;
+
+import com.benefitj.core.BeanAccessor;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 字段读写：Field.get/set 与 BeanAccessor 的对比，单个字段以及遍历全部字段(与 javastruct 的 StructClass 类似)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BeanAccessorBenchmark {
+
+  final Bean bean = new Bean();
+
+  Field intField;
+  Field objField;
+  Field[] fields;
+
+  BeanAccessor.PropertyAccessor intAccessor;
+  BeanAccessor.PropertyAccessor objAccessor;
+  BeanAccessor.PropertyAccessor[] accessors;
+
+  int counter;
+
+  @Setup
+  public void setup() throws Exception {
+    intField = Bean.class.getDeclaredField("i");
+    intField.setAccessible(true);
+    objField = Bean.class.getDeclaredField("s");
+    objField.setAccessible(true);
+    fields = Bean.class.getDeclaredFields();
+    for (Field f : fields) {
+      f.setAccessible(true);
+    }
+    BeanAccessor accessor = BeanAccessor.of(Bean.class);
+    intAccessor = accessor.requireProperty("i");
+    objAccessor = accessor.requireProperty("s");
+    accessors = accessor.getProperties();
+  }
+
+  @Benchmark
+  public int fieldGetInt() throws IllegalAccessException {
+    return intField.getInt(bean);
+  }
+
+  @Benchmark
+  public int accessorGetInt() {
+    return intAccessor.getInt(bean);
+  }
+
+  @Benchmark
+  public void fieldSetInt() throws IllegalAccessException {
+    intField.setInt(bean, counter++);
+  }
+
+  @Benchmark
+  public void accessorSetInt() {
+    intAccessor.setInt(bean, counter++);
+  }
+
+  @Benchmark
+  public Object fieldGet() throws IllegalAccessException {
+    return objField.get(bean);
+  }
+
+  @Benchmark
+  public Object accessorGet() {
+    return objAccessor.get(bean);
+  }
+
+  @Benchmark
+  public void fieldSet() throws IllegalAccessException {
+    objField.set(bean, "value");
+  }
+
+  @Benchmark
+  public void accessorSet() {
+    objAccessor.set(bean, "value");
+  }
+
+  @Benchmark
+  public int fieldCopyAll() throws IllegalAccessException {
+    int hash = 0;
+    for (Field f : fields) {
+      Object v = f.get(bean);
+      f.set(bean, v);
+      hash += v.hashCode();
+    }
+    return hash;
+  }
+
+  @Benchmark
+  public int accessorCopyAll() {
+    int hash = 0;
+    for (BeanAccessor.PropertyAccessor pa : accessors) {
+      Object v = pa.get(bean);
+      pa.set(bean, v);
+      hash += v.hashCode();
+    }
+    return hash;
+  }
+
+  public static void main(String[] args) throws Exception {
+    new Runner(new OptionsBuilder()
+        .include(BeanAccessorBenchmark.class.getSimpleName())
+        .build())
+        .run();
+  }
+
+  public static class Bean {
+    int i = 1;
+    long l = 2L;
+    short sh = 3;
+    Integer boxed = 4;
+    String s = "5";
+    byte[] bytes = {6};
+  }
+
+}
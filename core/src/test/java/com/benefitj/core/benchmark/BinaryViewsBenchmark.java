@@ -0,0 +1,73 @@
+package com.benefitj.core.benchmark;
+
+import com.benefitj.core.BinaryHelper;
+import com.benefitj.core.BinaryViews;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.ByteOrder;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 批量解析数值：BinaryHelper.parseXxxArray(逐个拷贝) 与 BinaryViews(VarHandle 视图) 的对比
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BinaryViewsBenchmark {
+
+  @Param({"2", "3", "4"})
+  int size;
+
+  @Param({"BIG_ENDIAN", "LITTLE_ENDIAN"})
+  String endian;
+
+  /**
+   * 采样点数
+   */
+  final int count = 4096;
+
+  byte[] data;
+  int[] dest;
+  ByteOrder order;
+  BinaryHelper helper;
+
+  @Setup
+  public void setup() {
+    data = new byte[count * size];
+    ThreadLocalRandom.current().nextBytes(data);
+    dest = new int[count];
+    order = "BIG_ENDIAN".equals(endian) ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
+    helper = BinaryHelper.get(order);
+  }
+
+  /**
+   * 原实现：每个元素拷贝到缓冲数组，再逐字节转换
+   */
+  @Benchmark
+  public int[] copyPerElement() {
+    int[] array = new int[count];
+    for (int i = 0; i < count; i++) {
+      array[i] = helper.bytesToInt(helper.getBufCopy().copy(data, i * size, size, true), true);
+    }
+    return array;
+  }
+
+  @Benchmark
+  public int[] varHandleView() {
+    return BinaryViews.getInts(data, 0, dest, 0, count, size, order, true);
+  }
+
+  public static void main(String[] args) throws Exception {
+    new Runner(new OptionsBuilder()
+        .include(BinaryViewsBenchmark.class.getSimpleName())
+        .build())
+        .run();
+  }
+
+}
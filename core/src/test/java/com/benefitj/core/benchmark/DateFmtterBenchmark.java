@@ -0,0 +1,80 @@
+package com.benefitj.core.benchmark;
+
+import com.benefitj.core.DateFmtter;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 日期格式化：ThreadLocal SimpleDateFormat、DateTimeFormatter 与固定格式的对比
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Thread)
+public class DateFmtterBenchmark {
+
+  @Param({DateFmtter._yMdHms, DateFmtter._yMdHmsS, DateFmtter._yMdHms_NO})
+  String pattern;
+
+  /**
+   * sequential: 时间递增(同一秒内多次格式化，如日志、导出)；random: 随机的时间(如查询结果)
+   */
+  @Param({"sequential", "random"})
+  String mode;
+
+  long[] times;
+  int index;
+  DateTimeFormatter formatter;
+
+  @Setup
+  public void setup() {
+    times = new long[4096];
+    long now = System.currentTimeMillis();
+    for (int i = 0; i < times.length; i++) {
+      times[i] = "random".equals(mode)
+          ? now - ThreadLocalRandom.current().nextLong(10L * 365 * 24 * 3600 * 1000)
+          : now + i * 7L;
+    }
+    formatter = DateTimeFormatter.ofPattern(pattern).withZone(ZoneId.systemDefault());
+  }
+
+  long next() {
+    return times[index++ & (times.length - 1)];
+  }
+
+  /**
+   * 原实现：ConcurrentHashMap + ThreadLocal WeakHashMap 查找 SimpleDateFormat
+   */
+  @Benchmark
+  public String simpleDateFormat() {
+    return DateFmtter.getDefaultSdf(pattern).format(next());
+  }
+
+  @Benchmark
+  public String dateTimeFormatter() {
+    return formatter.format(Instant.ofEpochMilli(next()));
+  }
+
+  @Benchmark
+  public String fmt() {
+    return DateFmtter.fmt(next(), pattern);
+  }
+
+  public static void main(String[] args) throws Exception {
+    new Runner(new OptionsBuilder()
+        .include(DateFmtterBenchmark.class.getSimpleName())
+        .build())
+        .run();
+  }
+
+}
@@ -0,0 +1,90 @@
+package com.benefitj.core.benchmark;
+
+import com.benefitj.core.BinaryHelper;
+import com.benefitj.core.HexEncoder;
+import com.benefitj.core.HexUtils;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 16进制编解码：逐字符 StringBuilder 拼接与查表实现的对比
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class HexBenchmark {
+
+  @Param({"16", "1024", "1048576"})
+  int size;
+
+  byte[] data;
+  String hex;
+  StringBuilder sb;
+
+  @Setup
+  public void setup() {
+    data = new byte[size];
+    ThreadLocalRandom.current().nextBytes(data);
+    hex = HexUtils.bytesToHex(data);
+    sb = new StringBuilder(size * 2);
+  }
+
+  /**
+   * 原实现：逐字符追加到 StringBuilder
+   */
+  @Benchmark
+  public String encodeStringBuilder() {
+    String table = BinaryHelper.HEX_UPPER_CASE;
+    StringBuilder sb = new StringBuilder();
+    for (byte b : data) {
+      sb.append(table.charAt((b & 0xF0) >> 4));
+      sb.append(table.charAt(b & 0x0F));
+    }
+    return sb.toString();
+  }
+
+  @Benchmark
+  public String encodeTable() {
+    return HexEncoder.UPPER_CASE.encode(data);
+  }
+
+  @Benchmark
+  public StringBuilder encodeAppendable() {
+    sb.setLength(0);
+    return HexEncoder.UPPER_CASE.encode(data, 0, data.length, sb);
+  }
+
+  /**
+   * 原实现：转大写后逐个字符线性查找
+   */
+  @Benchmark
+  public byte[] decodeLinearSearch() {
+    String chars = BinaryHelper.HEX_UPPER_CASE;
+    char[] ch = hex.toUpperCase().toCharArray();
+    byte[] bin = new byte[ch.length / 2];
+    for (int i = 0; i < bin.length; i++) {
+      bin[i] = (byte) (chars.indexOf(ch[i * 2]) << 4 | chars.indexOf(ch[i * 2 + 1]));
+    }
+    return bin;
+  }
+
+  @Benchmark
+  public byte[] decodeTable() {
+    return HexEncoder.decode(hex);
+  }
+
+  public static void main(String[] args) throws Exception {
+    new Runner(new OptionsBuilder()
+        .include(HexBenchmark.class.getSimpleName())
+        .build())
+        .run();
+  }
+
+}
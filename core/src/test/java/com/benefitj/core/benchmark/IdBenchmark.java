@@ -0,0 +1,78 @@
+package com.benefitj.core.benchmark;
+
+import com.benefitj.core.IdUtils;
+import com.benefitj.core.RandomIds;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 随机ID：逐字符调用 Random 与按 64 位随机数拆分字符的对比
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class IdBenchmark {
+
+  static final char[] CHARS = "0123456789abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ".toCharArray();
+
+  @Param({"16", "32"})
+  int length;
+
+  Random random = new Random();
+
+  /**
+   * 原实现：每个字符调用一次 nextInt，通过 StringBuilder 拼接
+   */
+  @Benchmark
+  public String nextIdPerChar() {
+    StringBuilder sb = new StringBuilder(length);
+    for (int i = 0; i < length; i++) {
+      sb.append(CHARS[random.nextInt(CHARS.length)]);
+    }
+    return sb.toString();
+  }
+
+  @Benchmark
+  public String nextIdPacked() {
+    return RandomIds.next(CHARS, null, null, length);
+  }
+
+  /**
+   * 原实现：SecureRandom
+   */
+  @Benchmark
+  public String uuidSecureRandom() {
+    return UUID.randomUUID().toString().replace("-", "");
+  }
+
+  @Benchmark
+  public String uuid() {
+    return IdUtils.uuid();
+  }
+
+  @Benchmark
+  public String fastUuid() {
+    return IdUtils.fastUuid();
+  }
+
+  @Benchmark
+  public String uuid7() {
+    return IdUtils.uuid7();
+  }
+
+  public static void main(String[] args) throws Exception {
+    new Runner(new OptionsBuilder()
+        .include(IdBenchmark.class.getSimpleName())
+        .build())
+        .run();
+  }
+
+}
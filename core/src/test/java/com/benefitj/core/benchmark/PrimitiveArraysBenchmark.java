@@ -0,0 +1,101 @@
+package com.benefitj.core.benchmark;
+
+import com.benefitj.core.BinaryHelper;
+import com.benefitj.core.PrimitiveArrays;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 采样数据转换：每个元素的耗时(ns/op 按元素计)，分别在 JDK 11 和 17 上运行对比是否向量化；
+ * 可以通过 -Djmh.jvm=JDK路径/bin/java 指定运行的 JVM
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+@OperationsPerInvocation(PrimitiveArraysBenchmark.COUNT)
+public class PrimitiveArraysBenchmark {
+
+  static final int COUNT = 4096;
+
+  byte[] data;
+  short[] shorts;
+  int[] ints;
+  float[] floats;
+  double[] doubles;
+
+  @Setup
+  public void setup() {
+    data = new byte[COUNT * 8];
+    ThreadLocalRandom.current().nextBytes(data);
+    shorts = new short[COUNT];
+    ints = new int[COUNT];
+    floats = new float[COUNT];
+    doubles = new double[COUNT];
+    PrimitiveArrays.decode16(data, 0, shorts, 0, COUNT, ByteOrder.LITTLE_ENDIAN);
+    PrimitiveArrays.decode32(data, 0, ints, 0, COUNT, ByteOrder.LITTLE_ENDIAN);
+  }
+
+  /**
+   * 原方式：parseShortArray 后装箱为 List&lt;Double&gt;
+   */
+  @Benchmark
+  public List<Double> decode16Boxing() {
+    short[] array = BinaryHelper.LITTLE_ENDIAN.parseShortArray(data, 0, COUNT * 2, 2, true);
+    List<Double> list = new ArrayList<>(array.length);
+    for (short v : array) {
+      list.add((double) v);
+    }
+    return list;
+  }
+
+  @Benchmark
+  public double[] decode16ToDouble() {
+    return PrimitiveArrays.decode16(data, 0, doubles, 0, COUNT, ByteOrder.LITTLE_ENDIAN, true);
+  }
+
+  @Benchmark
+  public short[] decode16BigEndian() {
+    return PrimitiveArrays.decode16(data, 0, shorts, 0, COUNT, ByteOrder.BIG_ENDIAN);
+  }
+
+  @Benchmark
+  public float[] decodeFloat() {
+    return PrimitiveArrays.decodeFloat(data, 0, floats, 0, COUNT, ByteOrder.LITTLE_ENDIAN);
+  }
+
+  @Benchmark
+  public double[] scaleShortToDouble() {
+    return PrimitiveArrays.scale(shorts, 0, doubles, 0, COUNT, 0.001, -1.5);
+  }
+
+  @Benchmark
+  public float[] scaleIntToFloat() {
+    return PrimitiveArrays.scale(ints, 0, floats, 0, COUNT, 0.001f, -1.5f);
+  }
+
+  @Benchmark
+  public float[] widenIntToFloat() {
+    return PrimitiveArrays.widen(ints, 0, floats, 0, COUNT);
+  }
+
+  public static void main(String[] args) throws Exception {
+    OptionsBuilder builder = new OptionsBuilder();
+    builder.include(PrimitiveArraysBenchmark.class.getSimpleName());
+    String jvm = System.getProperty("jmh.jvm");
+    if (jvm != null) {
+      builder.jvm(jvm);
+    }
+    new Runner(builder.build()).run();
+  }
+
+}
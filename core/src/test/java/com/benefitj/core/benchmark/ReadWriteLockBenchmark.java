@@ -0,0 +1,90 @@
+package com.benefitj.core.benchmark;
+
+import com.benefitj.core.concurrent.ReadWriteLockDelegate;
+import com.benefitj.core.concurrent.StampedLockDelegate;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 读多的场景：ReentrantReadWriteLock、StampedLock(乐观读)、分段读写锁的对比，分别使用 1/8/32 个读线程
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReadWriteLockBenchmark {
+
+  /**
+   * 有序数组，读操作为二分查找(与一致性哈希的查找类似)
+   */
+  static final long[] RING = new long[1024];
+
+  static {
+    for (int i = 0; i < RING.length; i++) {
+      RING[i] = i * 31L;
+    }
+  }
+
+  final ReadWriteLockDelegate reentrant = new ReadWriteLockDelegate(false);
+  final ReadWriteLockDelegate striped = ReadWriteLockDelegate.striped();
+  final StampedLockDelegate stamped = new StampedLockDelegate(true);
+
+  @State(Scope.Thread)
+  public static class Key {
+    long value;
+
+    long next() {
+      return value = (value + 7919) % 31744L;
+    }
+  }
+
+  static long search(long[] ring, long key) {
+    int low = 0, high = ring.length - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      if (ring[mid] < key) {
+        low = mid + 1;
+      } else {
+        high = mid - 1;
+      }
+    }
+    return low < ring.length ? ring[low] : ring[0];
+  }
+
+  @Benchmark
+  public long reentrantCallable(Key key) {
+    long k = key.next();
+    return reentrant.readLock(() -> search(RING, k));
+  }
+
+  @Benchmark
+  public long reentrant(Key key) {
+    return reentrant.readLockAsLong(key, k -> search(RING, k.next()));
+  }
+
+  @Benchmark
+  public long striped(Key key) {
+    return striped.readLockAsLong(key, k -> search(RING, k.next()));
+  }
+
+  @Benchmark
+  public long stamped(Key key) {
+    return stamped.readLockAsLong(key, k -> search(RING, k.next()));
+  }
+
+  public static void main(String[] args) throws Exception {
+    for (int threads : new int[]{1, 8, 32}) {
+      new Runner(new OptionsBuilder()
+          .include(ReadWriteLockBenchmark.class.getSimpleName())
+          .threads(threads)
+          .build())
+          .run();
+    }
+  }
+
+}
@@ -0,0 +1,165 @@
+package com.benefitj.core.benchmark;
+
+import com.benefitj.core.ReflectUtils;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 反射查找：逐级 getDeclaredMethod/getDeclaredFields 与 ClassMetadataCache 的对比(8层继承)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ReflectLookupBenchmark {
+
+  static final Class<?>[] PARAMS = {String.class, int.class};
+
+  /**
+   * 原实现：逐级 getDeclaredMethod，找不到时抛出 NoSuchMethodException
+   */
+  static Method getMethodUncached(Class<?> type, String name, Class<?>[] parametersTypes) {
+    if (type != Object.class) {
+      try {
+        return type.getDeclaredMethod(name, parametersTypes);
+      } catch (NoSuchMethodException e) {
+        return getMethodUncached(type.getSuperclass(), name, parametersTypes);
+      }
+    }
+    return null;
+  }
+
+  /**
+   * 原实现：逐级复制 getDeclaredFields
+   */
+  static Map<String, Field> getFieldMapUncached(Class<?> type) {
+    Map<String, Field> map = new LinkedHashMap<>();
+    for (Class<?> cls = type; cls != null && cls != Object.class; cls = cls.getSuperclass()) {
+      for (Field f : cls.getDeclaredFields()) {
+        map.putIfAbsent(f.getName(), f);
+      }
+    }
+    return map;
+  }
+
+  @Benchmark
+  public Method methodTopUncached() {
+    return getMethodUncached(L7.class, "top", PARAMS);
+  }
+
+  @Benchmark
+  public Method methodTopCached() {
+    return ReflectUtils.getMethod(L7.class, "top", PARAMS);
+  }
+
+  @Benchmark
+  public Method methodMissUncached() {
+    return getMethodUncached(L7.class, "missing", PARAMS);
+  }
+
+  @Benchmark
+  public Method methodMissCached() {
+    return ReflectUtils.getMethod(L7.class, "missing", PARAMS);
+  }
+
+  @Benchmark
+  public Method methodByNameCached() {
+    return ReflectUtils.getMethod(L7.class, "top");
+  }
+
+  @Benchmark
+  public Field fieldCached() {
+    return ReflectUtils.getField(L7.class, "f0");
+  }
+
+  @Benchmark
+  public Map<String, Field> fieldMapUncached() {
+    return getFieldMapUncached(L7.class);
+  }
+
+  @Benchmark
+  public Map<String, Field> fieldMapCached() {
+    return ReflectUtils.getFieldMap(L7.class, null);
+  }
+
+  public static void main(String[] args) throws Exception {
+    new Runner(new OptionsBuilder()
+        .include(ReflectLookupBenchmark.class.getSimpleName())
+        .build())
+        .run();
+  }
+
+  static class L0 {
+    int f0;
+    String s0;
+
+    void top(String s, int i) {
+    }
+  }
+
+  static class L1 extends L0 {
+    int f1;
+    String s1;
+
+    void m1() {
+    }
+  }
+
+  static class L2 extends L1 {
+    int f2;
+    String s2;
+
+    void m2() {
+    }
+  }
+
+  static class L3 extends L2 {
+    int f3;
+    String s3;
+
+    void m3() {
+    }
+  }
+
+  static class L4 extends L3 {
+    int f4;
+    String s4;
+
+    void m4() {
+    }
+  }
+
+  static class L5 extends L4 {
+    int f5;
+    String s5;
+
+    void m5() {
+    }
+  }
+
+  static class L6 extends L5 {
+    int f6;
+    String s6;
+
+    void m6() {
+    }
+  }
+
+  static class L7 extends L6 {
+    int f7;
+    String s7;
+
+    void m7() {
+    }
+  }
+
+}
@@ -0,0 +1,92 @@
+package com.benefitj.core.benchmark;
+
+import com.benefitj.core.SnowflakeIdWorker;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SnowflakeId：synchronized 实现与 CAS 实现在 1~N 个线程下的吞吐量
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SnowflakeBenchmark {
+
+  SnowflakeIdWorker worker;
+  SynchronizedWorker synchronizedWorker;
+
+  @Setup
+  public void setup() {
+    worker = new SnowflakeIdWorker(0, 0, SnowflakeIdWorker.ClockBackwards.BORROW, 5);
+    synchronizedWorker = new SynchronizedWorker();
+  }
+
+  @State(Scope.Thread)
+  public static class Batch {
+    long[] ids = new long[64];
+  }
+
+  /**
+   * 原实现：synchronized
+   */
+  @Benchmark
+  public long nextIdSynchronized() {
+    return synchronizedWorker.nextId();
+  }
+
+  @Benchmark
+  public long nextIdCas() {
+    return worker.nextId();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(64)
+  public long[] nextIdsCas(Batch batch) {
+    return worker.nextIds(batch.ids);
+  }
+
+  /**
+   * 原来的 synchronized 实现(仅保留分配逻辑)
+   */
+  static class SynchronizedWorker {
+    long sequence;
+    long lastTimestamp = -1;
+
+    synchronized long nextId() {
+      long timestamp = System.currentTimeMillis();
+      if (timestamp == lastTimestamp) {
+        sequence = (sequence + 1) & 4095;
+        if (sequence == 0) {
+          while (timestamp <= lastTimestamp) {
+            timestamp = System.currentTimeMillis();
+          }
+        }
+      } else {
+        sequence = 0;
+      }
+      lastTimestamp = timestamp;
+      return ((timestamp - 1420041600000L) << 22) | sequence;
+    }
+  }
+
+  public static void main(String[] args) throws Exception {
+    int cores = Runtime.getRuntime().availableProcessors();
+    for (int threads = 1; ; threads = Math.min(threads << 1, cores)) {
+      new Runner(new OptionsBuilder()
+          .include(SnowflakeBenchmark.class.getSimpleName())
+          .threads(threads)
+          .build())
+          .run();
+      if (threads >= cores) {
+        break;
+      }
+    }
+  }
+
+}
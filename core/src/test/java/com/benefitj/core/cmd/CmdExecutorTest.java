@@ -10,11 +10,16 @@ import java.io.InputStreamReader;
 import java.nio.charset.Charset;
 import java.nio.file.Paths;
 import java.nio.file.StandardWatchEventKinds;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.StringTokenizer;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
 import java.util.stream.Collectors;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
 /**
  * 测试CMD命令调用
  */
@@ -27,6 +32,25 @@ public class CmdExecutorTest extends BaseTest {
     log.info("{}", call.toPrintInfo("java version", null));
   }
 
+  @Test
+  void testCallAsync() {
+    List<CompletableFuture<CmdCall>> futures = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      futures.add(CmdExecutor.get().callAsync("java -version", 10_000, new Callback() {
+        @Override
+        public void onMessage(CmdCall call, List<String> lines, String line, boolean error) {
+          log.info("{}, {}", call.getId(), line);
+        }
+      }));
+    }
+    CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+    for (CompletableFuture<CmdCall> f : futures) {
+      CmdCall call = f.join();
+      assertEquals(0, call.getExitCode());
+      assertFalse(call.getError().isEmpty());
+    }
+  }
+
   @Test
   void testProperties() {
     SystemProperty.getSystemProperties().forEach((key, value) -> System.err.println(key + " ==>: " + value));
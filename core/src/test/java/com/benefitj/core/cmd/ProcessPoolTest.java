@@ -0,0 +1,72 @@
+package com.benefitj.core.cmd;
+
+import com.benefitj.core.BaseTest;
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 测试进程池
+ */
+public class ProcessPoolTest extends BaseTest {
+
+  @Test
+  void testEcho() {
+    String java = new File(System.getProperty("java.home"), "bin/java").getAbsolutePath();
+    String cmd = java + " -cp " + System.getProperty("java.class.path") + " " + EchoWorker.class.getName();
+    try (ProcessPool pool = new ProcessPool(cmd).setSize(2).setMaxRequests(100)) {
+      List<CompletableFuture<String>> futures = new ArrayList<>();
+      for (int i = 0; i < 500; i++) {
+        futures.add(pool.submit("hello-" + i, StandardCharsets.UTF_8));
+      }
+      for (int i = 0; i < futures.size(); i++) {
+        assertEquals("HELLO-" + i, futures.get(i).join());
+      }
+      try {
+        pool.call("error");
+        throw new AssertionError("expected WorkerException");
+      } catch (ProcessPool.WorkerException e) {
+        assertEquals("bad request", e.getMessage());
+      }
+      ProcessPool.Metrics metrics = pool.getMetrics();
+      log.info("{}", metrics);
+      assertEquals(500, metrics.getCompleted());
+      assertEquals(1, metrics.getFailed());
+      // 每个进程最多处理100个请求
+      assertTrue(metrics.getSpawned() >= 5);
+    }
+  }
+
+  /**
+   * 工作进程：读取请求，返回大写的字符串
+   */
+  public static class EchoWorker {
+    public static void main(String[] args) throws IOException {
+      DataInputStream in = new DataInputStream(new BufferedInputStream(System.in));
+      DataOutputStream out = new DataOutputStream(new BufferedOutputStream(System.out));
+      for (; ; ) {
+        int length;
+        try {
+          length = in.readInt();
+        } catch (EOFException e) {
+          return;
+        }
+        byte[] request = new byte[length];
+        in.readFully(request);
+        String str = new String(request, StandardCharsets.UTF_8);
+        byte[] response = (str.equals("error") ? "bad request" : str.toUpperCase()).getBytes(StandardCharsets.UTF_8);
+        out.writeInt(str.equals("error") ? -response.length : response.length);
+        out.write(response);
+        out.flush();
+      }
+    }
+  }
+
+}
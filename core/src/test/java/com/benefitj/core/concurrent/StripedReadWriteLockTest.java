@@ -0,0 +1,262 @@
+package com.benefitj.core.concurrent;
+
+import com.benefitj.core.BaseTest;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Lock;
+
+public class StripedReadWriteLockTest extends BaseTest {
+
+  /**
+   * 读写互斥：写入期间不能有读者，写入者之间也互斥
+   */
+  @Test
+  public void testMutualExclusion() throws InterruptedException {
+    StripedReadWriteLock lock = new StripedReadWriteLock(4);
+    AtomicInteger readers = new AtomicInteger();
+    AtomicInteger writers = new AtomicInteger();
+    AtomicBoolean failed = new AtomicBoolean();
+    Thread[] threads = new Thread[6];
+    for (int i = 0; i < threads.length; i++) {
+      final boolean writer = i < 2;
+      threads[i] = new Thread(() -> {
+        for (int n = 0; n < 2000; n++) {
+          if (writer) {
+            lock.writeLock().lock();
+            try {
+              if (writers.incrementAndGet() != 1 || readers.get() != 0) {
+                failed.set(true);
+              }
+              writers.decrementAndGet();
+            } finally {
+              lock.writeLock().unlock();
+            }
+          } else {
+            lock.readLock().lock();
+            try {
+              readers.incrementAndGet();
+              if (writers.get() != 0) {
+                failed.set(true);
+              }
+              readers.decrementAndGet();
+            } finally {
+              lock.readLock().unlock();
+            }
+          }
+        }
+      });
+      threads[i].start();
+    }
+    for (Thread t : threads) {
+      t.join(10_000);
+      Assertions.assertFalse(t.isAlive());
+    }
+    Assertions.assertFalse(failed.get());
+    Assertions.assertEquals(0, lock.getReadLockCount());
+    Assertions.assertFalse(lock.isWriteLocked());
+  }
+
+  /**
+   * 写锁重入，持有写锁时获取读锁
+   */
+  @Test
+  public void testReentrantWrite() throws InterruptedException {
+    StripedReadWriteLock lock = new StripedReadWriteLock();
+    lock.writeLock().lock();
+    try {
+      lock.writeLock().lock();
+      Assertions.assertTrue(lock.writeLock().tryLock());
+      lock.writeLock().unlock();
+      lock.writeLock().unlock();
+      Assertions.assertTrue(lock.isWriteLockedByCurrentThread());
+
+      // 写锁下获取读锁
+      Assertions.assertTrue(lock.readLock().tryLock());
+      Assertions.assertEquals(1, lock.getReadLockCount());
+      // 持有读锁时重入写锁不等待
+      Assertions.assertTrue(lock.writeLock().tryLock(10, TimeUnit.MILLISECONDS));
+      lock.writeLock().unlock();
+      lock.readLock().unlock();
+
+      // 其他线程不能获取读锁
+      AtomicBoolean acquired = new AtomicBoolean(true);
+      Thread t = new Thread(() -> acquired.set(lock.readLock().tryLock()));
+      t.start();
+      t.join();
+      Assertions.assertFalse(acquired.get());
+    } finally {
+      lock.writeLock().unlock();
+    }
+    Assertions.assertFalse(lock.isWriteLocked());
+    Assertions.assertTrue(lock.readLock().tryLock());
+    lock.readLock().unlock();
+  }
+
+  /**
+   * 写锁超时后回滚，读者可以继续获取读锁
+   */
+  @Test
+  public void testTryLockTimeout() throws InterruptedException {
+    StripedReadWriteLock lock = new StripedReadWriteLock();
+    CountDownLatch locked = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    Thread reader = new Thread(() -> {
+      lock.readLock().lock();
+      try {
+        locked.countDown();
+        release.await();
+      } catch (InterruptedException ignore) {
+      } finally {
+        lock.readLock().unlock();
+      }
+    });
+    reader.start();
+    locked.await();
+
+    Assertions.assertFalse(lock.writeLock().tryLock());
+    Assertions.assertFalse(lock.writeLock().tryLock(20, TimeUnit.MILLISECONDS));
+    Assertions.assertFalse(lock.isWriteLocked());
+    // 回滚后不再阻塞读者
+    Assertions.assertTrue(lock.readLock().tryLock(1, TimeUnit.SECONDS));
+    lock.readLock().unlock();
+
+    release.countDown();
+    reader.join();
+    Assertions.assertTrue(lock.writeLock().tryLock(1, TimeUnit.SECONDS));
+    lock.writeLock().unlock();
+  }
+
+  /**
+   * 非持有线程释放读锁
+   */
+  @Test
+  public void testUnlockByOtherThread() throws InterruptedException {
+    StripedReadWriteLock lock = new StripedReadWriteLock();
+    lock.readLock().lock();
+    AtomicReference<Throwable> error = new AtomicReference<>();
+    Thread t = new Thread(() -> {
+      try {
+        lock.readLock().unlock();
+      } catch (Throwable e) {
+        error.set(e);
+      }
+    });
+    t.start();
+    t.join();
+    Assertions.assertTrue(error.get() instanceof IllegalMonitorStateException);
+    Assertions.assertEquals(1, lock.getReadLockCount());
+    lock.readLock().unlock();
+    Assertions.assertThrows(IllegalMonitorStateException.class, () -> lock.readLock().unlock());
+    Assertions.assertTrue(lock.writeLock().tryLock());
+    lock.writeLock().unlock();
+  }
+
+  /**
+   * 等待读锁释放时被中断
+   */
+  @Test
+  public void testInterruptWriter() throws InterruptedException {
+    StripedReadWriteLock lock = new StripedReadWriteLock();
+    lock.readLock().lock();
+    try {
+      AtomicReference<Throwable> error = new AtomicReference<>();
+      Thread writer = new Thread(() -> {
+        try {
+          lock.writeLock().lockInterruptibly();
+          lock.writeLock().unlock();
+        } catch (Throwable e) {
+          error.set(e);
+        }
+      });
+      writer.start();
+      while (!lock.isWriteLocked()) {
+        Thread.sleep(1);
+      }
+      writer.interrupt();
+      writer.join(5_000);
+      Assertions.assertFalse(writer.isAlive());
+      Assertions.assertTrue(error.get() instanceof InterruptedException);
+      Assertions.assertFalse(lock.isWriteLocked());
+
+      // 不响应中断的 lock() 继续等待，并恢复中断状态
+      AtomicBoolean interrupted = new AtomicBoolean();
+      Thread writer2 = new Thread(() -> {
+        Lock wl = lock.writeLock();
+        wl.lock();
+        interrupted.set(Thread.currentThread().isInterrupted());
+        wl.unlock();
+      });
+      writer2.start();
+      while (!lock.isWriteLocked()) {
+        Thread.sleep(1);
+      }
+      writer2.interrupt();
+      Thread.sleep(20);
+      Assertions.assertTrue(writer2.isAlive());
+      lock.readLock().unlock();
+      writer2.join(5_000);
+      Assertions.assertFalse(writer2.isAlive());
+      Assertions.assertTrue(interrupted.get());
+    } finally {
+      if (lock.getReadLockCount() > 0) {
+        lock.readLock().unlock();
+      }
+    }
+  }
+
+  /**
+   * 乐观读期间有写入时，获取读锁重新执行
+   */
+  @Test
+  public void testStampedOptimisticRetry() {
+    StampedLockDelegate delegate = new StampedLockDelegate(true);
+    Assertions.assertTrue(delegate.isOptimistic());
+    int[] calls = {0};
+    int[] value = {1};
+    int v = delegate.readLockAsInt(value, arr -> {
+      if (calls[0]++ == 0) {
+        // 读取期间写入
+        delegate.writeLock(() -> value[0] = 2);
+        return -1;
+      }
+      return arr[0];
+    });
+    Assertions.assertEquals(2, v);
+    Assertions.assertEquals(2, calls[0]);
+
+    // 读取到不一致的数据抛出异常时重试
+    calls[0] = 0;
+    v = delegate.readLockAsInt(value, arr -> {
+      if (calls[0]++ == 0) {
+        delegate.writeLock(() -> value[0] = 3);
+        throw new ArrayIndexOutOfBoundsException();
+      }
+      return arr[0];
+    });
+    Assertions.assertEquals(3, v);
+    Assertions.assertEquals(2, calls[0]);
+
+    // 数据一致时原样抛出
+    Assertions.assertThrows(IllegalArgumentException.class, () -> delegate.readLockAsInt(value, arr -> {
+      throw new IllegalArgumentException();
+    }));
+    Assertions.assertThrows(StackOverflowError.class, () -> delegate.readLockAsInt(value, arr -> {
+      throw new StackOverflowError();
+    }));
+
+    // 没有写入时只执行一次
+    calls[0] = 0;
+    Assertions.assertEquals(3, delegate.readLockAsInt(value, arr -> {
+      calls[0]++;
+      return arr[0];
+    }));
+    Assertions.assertEquals(1, calls[0]);
+  }
+
+}
@@ -5,6 +5,11 @@ import com.benefitj.core.ClasspathUtils;
 import org.junit.jupiter.api.Test;
 
 import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 
 public class CompressUtilsTest extends BaseTest {
 
@@ -39,4 +44,32 @@ public class CompressUtilsTest extends BaseTest {
   public void testUngzip() {
   }
 
+  /**
+   * 多线程压缩和解压
+   */
+  @Test
+  public void testParallel() throws Exception {
+    Path root = Files.createTempDirectory("compress_");
+    Path src = Files.createDirectories(root.resolve("logs").resolve("sub"));
+    StringBuilder sb = new StringBuilder();
+    Random random = new Random(1);
+    for (int i = 0; i < 100_000; i++) {
+      sb.append("line ").append(i).append(' ').append(random.nextInt(1000)).append('\n');
+    }
+    byte[] log = sb.toString().getBytes();
+    Files.write(src.resolve("a.log"), log);
+    Files.write(src.resolve("empty.log"), new byte[0]);
+
+    File gz = CompressUtils.gzip(src.resolve("a.log").toFile(), root.resolve("a.log.gz").toFile());
+    File ungz = CompressUtils.ungzip(gz, root.resolve("a.log.out").toFile());
+    assertArrayEquals(log, Files.readAllBytes(ungz.toPath()));
+
+    try (ParallelCompressor compressor = new ParallelCompressor(1, 4, 64 * 1024)) {
+      compressor.zip(root.resolve("logs"), root.resolve("logs.zip"));
+      compressor.unzip(root.resolve("logs.zip"), root.resolve("unzip"));
+    }
+    assertArrayEquals(log, Files.readAllBytes(root.resolve("unzip/logs/sub/a.log")));
+    assertArrayEquals(new byte[0], Files.readAllBytes(root.resolve("unzip/logs/sub/empty.log")));
+  }
+
 }
@@ -0,0 +1,90 @@
+package com.benefitj.core.file;
+
+import com.benefitj.core.BaseTest;
+import org.junit.jupiter.api.Test;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.file.Files;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ContentIndexTest extends BaseTest {
+
+  @Test
+  public void testChunkAndDedup() throws Exception {
+    File root = Files.createTempDirectory("content_").toFile();
+    FileManager fm = new FileManager(root);
+
+    byte[] data = new byte[3 << 20];
+    new Random(1).nextBytes(data);
+    Files.write(fm.getFile("a.bin").toPath(), data);
+    Files.write(fm.getFile((File) null, "dir/b.bin", true).toPath(), data);
+    // 在中间插入数据，只有附近的块会变化
+    byte[] inserted = new byte[data.length + 100];
+    System.arraycopy(data, 0, inserted, 0, 1 << 20);
+    System.arraycopy(data, 1 << 20, inserted, (1 << 20) + 100, data.length - (1 << 20));
+    Files.write(fm.getFile("c.bin").toPath(), inserted);
+
+    assertTrue(fm.isChanged("a.bin"));
+    FileDigest a = fm.digest("a.bin");
+    assertFalse(fm.isChanged("a.bin"));
+    assertSame(a, fm.digest("a.bin"));
+    assertEquals(data.length, a.getSize());
+
+    FileDigest c = fm.digest("c.bin");
+    Set<String> chunks = new HashSet<>();
+    for (int i = 0; i < a.getChunkCount(); i++) {
+      chunks.add(a.getChunkHex(i));
+    }
+    int shared = 0;
+    for (int i = 0; i < c.getChunkCount(); i++) {
+      shared += chunks.contains(c.getChunkHex(i)) ? 1 : 0;
+    }
+    assertTrue(shared >= c.getChunkCount() - 2, "shared=" + shared + ", chunks=" + c.getChunkCount());
+
+    Map<String, List<File>> duplicates = fm.findDuplicates("/");
+    assertEquals(1, duplicates.size());
+    assertEquals(2, duplicates.get(a.getContentHash()).size());
+
+    String hash = fm.storeDeduplicated("a.bin");
+    assertEquals(hash, fm.storeDeduplicated("dir/b.bin"));
+    fm.storeDeduplicated("c.bin");
+    File restored = fm.restoreDeduplicated(hash, "restored.bin");
+    assertArrayEquals(data, Files.readAllBytes(restored.toPath()));
+
+    // 重新加载索引，未变化的文件不需要重新计算
+    fm.saveContentIndex();
+    ContentIndex loaded = new ContentIndex(fm.getContentIndex().getIndexFile());
+    assertFalse(loaded.isChanged(fm.getFile("a.bin")));
+    assertEquals(hash, loaded.getIfPresent(fm.getFile("a.bin")).getContentHash());
+    Files.write(fm.getFile("a.bin").toPath(), new byte[]{1, 2, 3});
+    assertTrue(loaded.isChanged(fm.getFile("a.bin")));
+  }
+
+  @Test
+  public void testCorruptIndex() throws Exception {
+    File root = Files.createTempDirectory("content_").toFile();
+    File indexFile = new File(root, "content.idx");
+    for (int count : new int[]{-1, Integer.MAX_VALUE, 1 << 20}) {
+      try (DataOutputStream out = new DataOutputStream(new FileOutputStream(indexFile))) {
+        out.writeInt(ContentIndex.MAGIC);
+        out.writeInt(ContentIndex.VERSION);
+        out.writeInt(1);
+        out.writeUTF("a.bin");
+        out.writeLong(100);
+        out.writeLong(System.currentTimeMillis());
+        out.writeInt(count);
+      }
+      // 损坏的索引被忽略，不会抛出异常
+      assertEquals(0, new ContentIndex(indexFile).size());
+    }
+  }
+
+}
@@ -0,0 +1,123 @@
+package com.benefitj.core.file;
+
+import com.benefitj.core.BaseTest;
+import com.benefitj.core.IOUtils;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FileTreeOpsTest extends BaseTest {
+
+  @Test
+  public void testCopyAndMove() throws Exception {
+    Path root = Files.createTempDirectory("tree_");
+    Random random = new Random(1);
+    long bytes = 0;
+    for (int d = 0; d < 8; d++) {
+      Path dir = Files.createDirectories(root.resolve("d" + d).resolve("s" + (d % 3)));
+      for (int f = 0; f < 10; f++) {
+        byte[] data = new byte[random.nextInt(64 * 1024)];
+        random.nextBytes(data);
+        Files.write(dir.resolve("f" + f + ".bin"), data);
+        bytes += data.length;
+      }
+    }
+    // 超过拆分长度，按块拷贝
+    byte[] big = new byte[20 << 20];
+    random.nextBytes(big);
+    Files.write(root.resolve("big.bin"), big);
+    bytes += big.length;
+
+    FileTreeOps ops = new FileTreeOps();
+    FileTreeOps.TreeStats stats = ops.size(root, null);
+    assertEquals(81, stats.getFiles());
+    assertEquals(16, stats.getDirs());
+    assertEquals(bytes, stats.getBytes());
+
+    AtomicLong progress = new AtomicLong();
+    Path dest = Files.createTempDirectory("tree_dest_").resolve("copy");
+    FileTreeOps.TreeStats copied = new FileTreeOps()
+        .setSplitSize(8 << 20)
+        .setListener(new FileTreeOps.Listener() {
+          @Override
+          public void onProgress(long bytes) {
+            progress.accumulateAndGet(bytes, Math::max);
+          }
+        })
+        .copy(root, dest, null);
+    assertEquals(stats.toString(), copied.toString());
+    assertEquals(bytes, progress.get());
+    assertArrayEquals(big, Files.readAllBytes(dest.resolve("big.bin")));
+    assertArrayEquals(Files.readAllBytes(root.resolve("d5/s2/f7.bin")), Files.readAllBytes(dest.resolve("d5/s2/f7.bin")));
+
+    // 过滤
+    FileTreeOps.TreeStats filtered = ops.size(dest, f -> f.isDirectory() || f.getName().startsWith("f1"));
+    assertEquals(8, filtered.getFiles());
+
+    Path moved = dest.resolveSibling("moved");
+    ops.move(dest, moved);
+    assertFalse(Files.exists(dest));
+    assertEquals(bytes, ops.size(moved, null).getBytes());
+
+    ops.delete(moved);
+    ops.delete(root);
+    assertFalse(Files.exists(root));
+    assertEquals(0, ops.list(new File(root.toString()), null).size());
+  }
+
+  /**
+   * 符号链接：默认不跟随并中止；IOUtils、FileCopy 与逐个处理时一致，跟随链接并跳过无法访问的文件
+   */
+  @Test
+  public void testLinksAndFailures() throws Exception {
+    Path root = Files.createTempDirectory("tree_links_");
+    Path target = Files.createDirectories(root.resolveSibling(root.getFileName() + "_target"));
+    Files.write(target.resolve("a.bin"), new byte[100]);
+    Path src = Files.createDirectories(root.resolve("src"));
+    Files.write(src.resolve("b.bin"), new byte[10]);
+    try {
+      Files.createSymbolicLink(src.resolve("linked"), target);
+      Files.createSymbolicLink(src.resolve("dangling"), root.resolve("missing"));
+    } catch (UnsupportedOperationException | IOException e) {
+      // 不支持符号链接
+      return;
+    }
+
+    // 不跟随时统计链接本身；跟随时无法访问的链接中止
+    assertEquals(3, new FileTreeOps().size(src, null).getFiles());
+    assertThrows(IllegalStateException.class, () -> new FileTreeOps().setFollowLinks(true).size(src, null));
+    FileTreeOps.TreeStats followed = new FileTreeOps().setFollowLinks(true).setSkipFailed(true).size(src, null);
+    assertEquals(110, followed.getBytes());
+
+    assertEquals(110, IOUtils.length(src.toFile(), null, true));
+    // b.bin、linked、linked/a.bin、dangling
+    assertEquals(4, IOUtils.listFiles(src.toFile(), null, true).size());
+
+    Path dest = root.resolve("dest");
+    assertTrue(FileCopy.copy(src.toFile(), dest.toFile()));
+    assertFalse(Files.isSymbolicLink(dest.resolve("linked")));
+    assertEquals(100, Files.size(dest.resolve("linked/a.bin")));
+    assertFalse(Files.exists(dest.resolve("dangling"), LinkOption.NOFOLLOW_LINKS));
+    // 失败时返回 false，不抛出异常
+    assertFalse(FileCopy.copy(src.toFile(), root.resolve("dest/b.bin/x").toFile()));
+
+    // 目标目录非空时拷贝后删除，跳过的文件保留在原位置
+    new FileTreeOps().setFollowLinks(true).setSkipFailed(true).move(src, dest);
+    assertEquals(10, Files.size(dest.resolve("b.bin")));
+    assertFalse(Files.exists(src.resolve("b.bin")));
+    assertTrue(Files.exists(src.resolve("dangling"), LinkOption.NOFOLLOW_LINKS));
+    assertEquals(100, Files.size(target.resolve("a.bin")));
+
+    new FileTreeOps().delete(root);
+    new FileTreeOps().delete(target);
+  }
+
+}
@@ -4,7 +4,15 @@ import com.benefitj.core.BaseTest;
 import com.benefitj.core.DateFmtter;
 import org.junit.jupiter.api.Test;
 
-import java.nio.file.Paths;
+import java.nio.file.*;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class PathWatcherTest extends BaseTest {
 
@@ -21,4 +29,79 @@ public class PathWatcherTest extends BaseTest {
         .start();
   }
 
+  /**
+   * 递归监听，合并事件
+   */
+  @Test
+  public void testRecursiveDebounce() throws Exception {
+    Path root = Files.createTempDirectory("watch_");
+    Map<Path, WatchEvent.Kind<?>> events = new ConcurrentHashMap<>();
+    AtomicInteger count = new AtomicInteger();
+    PathWatcher watcher = new PathWatcher(root)
+        .setRecursive(true)
+        .setDebounceMillis(300)
+        .setWatchEventListener((w, key, dir, filename, kind) -> {
+          events.put(dir.resolve(filename), kind);
+          count.incrementAndGet();
+        });
+    Thread thread = new Thread(watcher::start);
+    thread.start();
+    Thread.sleep(200);
+
+    Path sub = Files.createDirectories(root.resolve("a").resolve("b"));
+    Path file = sub.resolve("c.txt");
+    for (int i = 0; i < 10; i++) {
+      Files.write(file, ("line " + i).getBytes(), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+    Path tmp = root.resolve("tmp.txt");
+    Files.write(tmp, "tmp".getBytes());
+    Files.delete(tmp);
+    Thread.sleep(1500);
+    watcher.stop();
+    thread.join();
+
+    assertEquals(StandardWatchEventKinds.ENTRY_CREATE, events.get(root.resolve("a")));
+    assertEquals(StandardWatchEventKinds.ENTRY_CREATE, events.get(root.resolve("a/b")));
+    assertEquals(StandardWatchEventKinds.ENTRY_CREATE, events.get(file));
+    // 创建后删除相互抵消，多次写入合并为一个事件
+    assertEquals(null, events.get(tmp));
+    assertEquals(3, count.get());
+  }
+
+  /**
+   * 分发被拒绝时延迟重试，不空转；停止后可以再次启动
+   */
+  @Test
+  public void testRejectAndRestart() throws Exception {
+    Path root = Files.createTempDirectory("watch_");
+    AtomicInteger rejected = new AtomicInteger();
+    AtomicInteger count = new AtomicInteger();
+    AtomicLong firstRejected = new AtomicLong();
+    PathWatcher watcher = new PathWatcher(root)
+        .setDispatchExecutor(r -> {
+          // 第一次提交后的 300 毫秒内拒绝执行
+          long now = System.currentTimeMillis();
+          firstRejected.compareAndSet(0L, now);
+          if (now - firstRejected.get() < 300) {
+            rejected.incrementAndGet();
+            throw new RejectedExecutionException();
+          }
+          r.run();
+        })
+        .setWatchEventListener((w, key, dir, filename, kind) -> count.incrementAndGet());
+    for (int round = 1; round <= 2; round++) {
+      rejected.set(0);
+      firstRejected.set(0L);
+      Thread thread = new Thread(watcher::start);
+      thread.start();
+      Thread.sleep(200);
+      Files.write(root.resolve(round + ".txt"), "a".getBytes());
+      Thread.sleep(1500);
+      watcher.stop();
+      thread.join();
+      assertEquals(round, count.get());
+      assertTrue(rejected.get() < 100, "rejected: " + rejected.get());
+    }
+  }
+
 }
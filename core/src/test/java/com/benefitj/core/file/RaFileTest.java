@@ -6,6 +6,13 @@ import com.benefitj.core.IdUtils;
 import com.benefitj.core.Utils;
 import org.junit.jupiter.api.Test;
 
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
 public class RaFileTest extends BaseTest {
 
   @Test
@@ -24,4 +31,41 @@ public class RaFileTest extends BaseTest {
     }
   }
 
+  @Test
+  public void testReadLinesIndexed() throws Exception {
+    File file = File.createTempFile("ra_", ".log");
+    File indexFile = LineIndex.indexFileOf(file);
+    file.deleteOnExit();
+    indexFile.deleteOnExit();
+    String[] nl = {"\n", "\r\n", "\r"};
+    List<String> expected = new ArrayList<>();
+    try (final RaFile raFile = new RaFile(file).enableLineIndex(16, true)) {
+      for (int round = 0; round < 3; round++) {
+        raFile.seekLast();
+        for (int i = 0; i < 5000; i++) {
+          String line = i % 90 == 1 ? "" : (round + "-" + i + " " + IdUtils.uuid());
+          expected.add(line);
+          raFile.write(line + nl[i % nl.length]);
+        }
+        assertEquals(expected.subList(0, 10), raFile.readLines(10));
+        assertEquals(expected.subList(4321, 4331), raFile.readLines(4321, 10));
+        int size = expected.size();
+        assertEquals(expected.subList(size - 3, size), raFile.readLines(size - 3, 10));
+        assertEquals(expected.subList(size - 25, size), raFile.readLastLines(25));
+        assertEquals(size, raFile.getLineIndex().getLineCount());
+      }
+      // 未结束的最后一行
+      raFile.seekLast().write("tail");
+      assertEquals("tail", raFile.readLastLines(2).get(1));
+      assertEquals(1, raFile.readLines(expected.size() - 1, 5).size());
+    }
+    assertTrue(indexFile.isFile());
+    try (final RaFile raFile = new RaFile(file).enableLineIndex(16, true)) {
+      assertEquals(expected.size(), raFile.getLineIndex().getLineCount());
+      assertEquals(expected.subList(12345, 12350), raFile.readLines(12345, 5));
+    }
+    indexFile.delete();
+    file.delete();
+  }
+
 }
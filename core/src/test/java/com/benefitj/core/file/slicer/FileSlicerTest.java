@@ -4,10 +4,13 @@ import com.benefitj.core.BaseTest;
 import com.benefitj.core.DateFmtter;
 import com.benefitj.core.IdUtils;
 import com.benefitj.core.Utils;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import java.io.File;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
 
 public class FileSlicerTest extends BaseTest {
 
@@ -46,4 +49,82 @@ public class FileSlicerTest extends BaseTest {
 
   }
 
-}
\ No newline at end of file
+  /**
+   * 测试批量写入
+   */
+  @Test
+  public void testBatchWrite() {
+    BatchFileSlicer<SliceFileWriter> slicer = new BatchFileSlicer<>(new File(System.getProperty("java.io.tmpdir"), "slicer-batch"), Utils.MB);
+    slicer.setFileFactory(FileFactory.newFactory(".txt")::create);
+    final AtomicLong total = new AtomicLong();
+    slicer.setFileListener((writer, file) -> {
+      log.info("处理文件: {}, {}MB", file.getAbsolutePath(), Utils.ofMB(file.length(), 2));
+      total.addAndGet(file.length());
+      file.delete();
+    });
+    byte[] line = (IdUtils.nextId(null, "\n", 32)).getBytes();
+    for (int i = 0; i < 100_000; i++) {
+      slicer.write(line);
+    }
+    slicer.close();
+    Assertions.assertEquals(100_000L * line.length, total.get());
+  }
+
+  @Test
+  public void testBatchWriteClose() throws InterruptedException {
+    BatchFileSlicer<SliceFileWriter> slicer = new BatchFileSlicer<>(new File(System.getProperty("java.io.tmpdir"), "slicer-batch-close"), Utils.MB);
+    slicer.setFileFactory(FileFactory.newFactory(".txt")::create);
+    final AtomicLong total = new AtomicLong();
+    slicer.setFileListener((writer, file) -> {
+      total.addAndGet(file.length());
+      file.delete();
+    });
+    byte[] line = (IdUtils.nextId(null, "\n", 32)).getBytes();
+    slicer.write(line);
+    // 运行中修改批量大小
+    slicer.setBatchSize(4 << 10);
+    final AtomicLong written = new AtomicLong(line.length);
+    Thread[] threads = new Thread[4];
+    for (int i = 0; i < threads.length; i++) {
+      threads[i] = new Thread(() -> {
+        try {
+          for (; ; ) {
+            slicer.write(line, 0, line.length, true);
+            written.addAndGet(line.length);
+          }
+        } catch (IllegalStateException ignore) {
+          // 已关闭
+        }
+      });
+      threads[i].start();
+    }
+    Thread.sleep(200);
+    slicer.close();
+    for (Thread t : threads) {
+      t.join(5_000);
+      Assertions.assertFalse(t.isAlive());
+    }
+    Assertions.assertEquals(written.get(), total.get());
+    Assertions.assertThrows(IllegalStateException.class, () -> slicer.write(line));
+  }
+
+  /**
+   * 测试内存映射写入
+   */
+  @Test
+  public void testMmapWrite() {
+    FileSlicer<MmapSegmentWriter> slicer = new FileSlicer<>(new File(System.getProperty("java.io.tmpdir"), "slicer-mmap"), Utils.MB);
+    slicer.setFileFactory(FileFactory.newMmapFactory(".txt", 256 << 10));
+    final AtomicLong total = new AtomicLong();
+    slicer.setFileListener((writer, file) -> {
+      log.info("处理文件: {}, {}MB", file.getAbsolutePath(), Utils.ofMB(file.length(), 2));
+      total.addAndGet(file.length());
+      file.delete();
+    });
+    byte[] line = (IdUtils.nextId(null, "\n", 32)).getBytes();
+    IntStream.range(0, 100_000).parallel().forEach(i -> slicer.write(line));
+    slicer.flush();
+    Assertions.assertEquals(100_000L * line.length, total.get());
+  }
+
+}
@@ -1,7 +1,5 @@
 package com.benefitj.javastruct;
 
-import com.benefitj.core.ReflectUtils;
-
 import java.util.LinkedList;
 import java.util.List;
 
@@ -65,7 +63,7 @@ public class StructClass {
     byte[] data = new byte[getSize()];
     int index = 0;
     for (StructField field : getFields()) {
-      Object value = ReflectUtils.getFieldValue(field.getField(), obj);
+      Object value = field.getAccessor().get(obj);
       byte[] bytes = field.getConverter().convert(obj, field, value);
       System.arraycopy(bytes, 0, data, index, bytes.length);
       index += field.size();
@@ -99,7 +97,7 @@ public class StructClass {
       startAt = startAt > -1 ? start + startAt : index;
       Object value = sf.getConverter().parse(obj, sf, data, startAt);
       if (value != null) {
-        ReflectUtils.setFieldValue(sf.getField(), obj, value);
+        sf.getAccessor().set(obj, value);
       }
       index += sf.size();
     }
@@ -1,5 +1,6 @@
 package com.benefitj.javastruct;
 
+import com.benefitj.core.BeanAccessor;
 import com.benefitj.javastruct.convert.Converter;
 
 import java.lang.reflect.Field;
@@ -14,6 +15,10 @@ public class StructField {
    * 字段
    */
   private Field field;
+  /**
+   * 字段的访问器
+   */
+  private BeanAccessor.PropertyAccessor accessor;
   /**
    * 基本数据类型
    */
@@ -54,6 +59,18 @@ public class StructField {
 
   public void setField(Field field) {
     this.field = field;
+    this.accessor = null;
+  }
+
+  /**
+   * 字段的访问器
+   */
+  public BeanAccessor.PropertyAccessor getAccessor() {
+    BeanAccessor.PropertyAccessor pa = this.accessor;
+    if (pa == null) {
+      this.accessor = (pa = BeanAccessor.of(getField()));
+    }
+    return pa;
   }
 
   public PrimitiveType getPrimitiveType() {
@@ -5,7 +5,9 @@ import com.benefitj.javastruct.PrimitiveType;
 import com.benefitj.javastruct.StructField;
 
 import java.lang.reflect.Field;
+import java.nio.ByteOrder;
 import java.nio.charset.Charset;
+import java.util.Arrays;
 import java.util.function.Function;
 
 /**
@@ -103,7 +105,9 @@ public abstract class AbstractConverter<T> extends BufCopyConverter<T> {
    * @return 返回转换后的数据
    */
   public byte[] convertShort(StructField field, Object value) {
-    return convert(field, value, o -> getBinary().shortToBytes(((Number) value).shortValue(), field.getByteOrder()));
+    byte[] buf = getCache(sizeOf(field));
+    putNumber(buf, 0, ((Number) value).shortValue() & 0xFFFFL, field.getByteOrder(), buf.length);
+    return buf;
   }
 
   /**
@@ -114,7 +118,9 @@ public abstract class AbstractConverter<T> extends BufCopyConverter<T> {
    * @return 返回转换后的数据
    */
   public byte[] convertInteger(StructField field, Object value) {
-    return convert(field, value, o -> getBinary().intToBytes(((Number) value).intValue(), field.getByteOrder()));
+    byte[] buf = getCache(sizeOf(field));
+    putNumber(buf, 0, ((Number) value).intValue() & 0xFFFFFFFFL, field.getByteOrder(), buf.length);
+    return buf;
   }
 
   /**
@@ -125,7 +131,9 @@ public abstract class AbstractConverter<T> extends BufCopyConverter<T> {
    * @return 返回转换后的数据
    */
   public byte[] convertLong(StructField field, Object value) {
-    return convert(field, value, o -> getBinary().longToBytes(((Number) value).longValue(), field.getByteOrder()));
+    byte[] buf = getCache(sizeOf(field));
+    putNumber(buf, 0, ((Number) value).longValue(), field.getByteOrder(), buf.length);
+    return buf;
   }
 
   /**
@@ -136,8 +144,9 @@ public abstract class AbstractConverter<T> extends BufCopyConverter<T> {
    * @return 返回转换后的数据
    */
   public byte[] convertFloat(StructField field, Object value) {
-    return convert(field, value, o ->
-        getBinary().intToBytes(Float.floatToIntBits(((Number) value).floatValue()), field.getByteOrder()));
+    byte[] buf = getCache(sizeOf(field));
+    putNumber(buf, 0, Float.floatToIntBits(((Number) value).floatValue()) & 0xFFFFFFFFL, field.getByteOrder(), buf.length);
+    return buf;
   }
 
   /**
@@ -148,8 +157,9 @@ public abstract class AbstractConverter<T> extends BufCopyConverter<T> {
    * @return 返回转换后的数据
    */
   public byte[] convertDouble(StructField field, Object value) {
-    return convert(field, value, o ->
-        getBinary().longToBytes(Double.doubleToLongBits(((Number) value).doubleValue()), field.getByteOrder()));
+    byte[] buf = getCache(sizeOf(field));
+    putNumber(buf, 0, Double.doubleToLongBits(((Number) value).doubleValue()), field.getByteOrder(), buf.length);
+    return buf;
   }
 
   /**
@@ -176,7 +186,7 @@ public abstract class AbstractConverter<T> extends BufCopyConverter<T> {
    * @return 返回转换后的字节数据
    */
   public byte[] convert(StructField field, Object value, Function<Object, byte[]> func) {
-    int size = field.getFieldSize() > 0 ? field.getFieldSize() : field.getPrimitiveType().getSize();
+    int size = sizeOf(field);
     byte[] bytes = func.apply(value);
     if (bytes.length == size) {
       return bytes;
@@ -266,10 +276,16 @@ public abstract class AbstractConverter<T> extends BufCopyConverter<T> {
   public byte[] convertShortArray(StructField field, Object value) {
     if (value.getClass() == short[].class) {
       short[] array = (short[]) value;
-      return convertArray(field, i -> getBinary().shortToBytes(array[i]));
+      return writeArray(field, (buf, offset, i) -> putNumber(buf, offset, array[i] & 0xFFFFL, field.getByteOrder(), field.getFieldSize()));
     } else {
       Short[] array = (Short[]) value;
-      return convertArray(field, i -> array[i] != null ? getBinary().shortToBytes(array[i]) : null);
+      return writeArray(field, (buf, offset, i) -> {
+        if (array[i] != null) {
+          putNumber(buf, offset, array[i] & 0xFFFFL, field.getByteOrder(), field.getFieldSize());
+        } else {
+          Arrays.fill(buf, offset, offset + field.getFieldSize(), (byte) 0);
+        }
+      });
     }
   }
 
@@ -283,10 +299,16 @@ public abstract class AbstractConverter<T> extends BufCopyConverter<T> {
   public byte[] convertIntegerArray(StructField field, Object value) {
     if (value.getClass() == int[].class) {
       int[] array = (int[]) value;
-      return convertArray(field, i -> getBinary().intToBytes(array[i]));
+      return writeArray(field, (buf, offset, i) -> putNumber(buf, offset, array[i] & 0xFFFFFFFFL, field.getByteOrder(), field.getFieldSize()));
     } else {
       Integer[] array = (Integer[]) value;
-      return convertArray(field, i -> array[i] != null ? getBinary().intToBytes(array[i]) : null);
+      return writeArray(field, (buf, offset, i) -> {
+        if (array[i] != null) {
+          putNumber(buf, offset, array[i] & 0xFFFFFFFFL, field.getByteOrder(), field.getFieldSize());
+        } else {
+          Arrays.fill(buf, offset, offset + field.getFieldSize(), (byte) 0);
+        }
+      });
     }
   }
 
@@ -300,10 +322,16 @@ public abstract class AbstractConverter<T> extends BufCopyConverter<T> {
   public byte[] convertLongArray(StructField field, Object value) {
     if (value.getClass() == long[].class) {
       long[] array = (long[]) value;
-      return convertArray(field, i -> getBinary().longToBytes(array[i]));
+      return writeArray(field, (buf, offset, i) -> putNumber(buf, offset, array[i], field.getByteOrder(), field.getFieldSize()));
     } else {
       Long[] array = (Long[]) value;
-      return convertArray(field, i -> array[i] != null ? getBinary().longToBytes(array[i]) : null);
+      return writeArray(field, (buf, offset, i) -> {
+        if (array[i] != null) {
+          putNumber(buf, offset, array[i], field.getByteOrder(), field.getFieldSize());
+        } else {
+          Arrays.fill(buf, offset, offset + field.getFieldSize(), (byte) 0);
+        }
+      });
     }
   }
 
@@ -317,11 +345,16 @@ public abstract class AbstractConverter<T> extends BufCopyConverter<T> {
   public byte[] convertFloatArray(StructField field, Object value) {
     if (value.getClass() == float[].class) {
       float[] array = (float[]) value;
-      return convertArray(field, i -> getBinary().intToBytes(Float.floatToIntBits(array[i])));
+      return writeArray(field, (buf, offset, i) -> putNumber(buf, offset, Float.floatToIntBits(array[i]) & 0xFFFFFFFFL, field.getByteOrder(), field.getFieldSize()));
     } else {
       Float[] array = (Float[]) value;
-      return convertArray(field, i ->
-          array[i] != null ? getBinary().intToBytes(Float.floatToIntBits(array[i])) : null);
+      return writeArray(field, (buf, offset, i) -> {
+        if (array[i] != null) {
+          putNumber(buf, offset, Float.floatToIntBits(array[i]) & 0xFFFFFFFFL, field.getByteOrder(), field.getFieldSize());
+        } else {
+          Arrays.fill(buf, offset, offset + field.getFieldSize(), (byte) 0);
+        }
+      });
     }
   }
 
@@ -335,11 +368,16 @@ public abstract class AbstractConverter<T> extends BufCopyConverter<T> {
   public byte[] convertDoubleArray(StructField field, Object value) {
     if (value.getClass() == double[].class) {
       double[] array = (double[]) value;
-      return convertArray(field, i -> getBinary().longToBytes(Double.doubleToLongBits(array[i])));
+      return writeArray(field, (buf, offset, i) -> putNumber(buf, offset, Double.doubleToLongBits(array[i]), field.getByteOrder(), field.getFieldSize()));
     } else {
       Double[] array = (Double[]) value;
-      return convertArray(field, i ->
-          array[i] != null ? getBinary().longToBytes(Double.doubleToLongBits(array[i])) : null);
+      return writeArray(field, (buf, offset, i) -> {
+        if (array[i] != null) {
+          putNumber(buf, offset, Double.doubleToLongBits(array[i]), field.getByteOrder(), field.getFieldSize());
+        } else {
+          Arrays.fill(buf, offset, offset + field.getFieldSize(), (byte) 0);
+        }
+      });
     }
   }
 
@@ -368,6 +406,58 @@ public abstract class AbstractConverter<T> extends BufCopyConverter<T> {
     return buf;
   }
 
+  /**
+   * 直接写入数组
+   *
+   * @param field 字段信息
+   * @param func  数组元素的写入函数
+   * @return 返回转换后的字节数组
+   */
+  public byte[] writeArray(StructField field, ArrayWriterFunction func) {
+    int ratio = field.getFieldSize();
+    byte[] buf = getCache(field.size());
+    int arrayLength = field.getArrayLength();
+    for (int i = 0; i < arrayLength; i++) {
+      func.write(buf, i * ratio, i);
+    }
+    return buf;
+  }
+
+  /**
+   * 写入数值的低 width 个字节，与原来按字节复制的结果一致：宽度小于类型长度时取低位字节，大于时补0
+   * (大端在前面补0，小端在后面补0)，宽度可以超过8个字节
+   *
+   * @param buf    缓冲
+   * @param offset 开始的位置
+   * @param value  数值(无符号扩展后的位)
+   * @param order  字节序
+   * @param width  宽度
+   */
+  public void putNumber(byte[] buf, int offset, long value, ByteOrder order, int width) {
+    if (width <= 8) {
+      getBinary().putLong(buf, offset, value, order, width);
+      return;
+    }
+    int pad = width - 8;
+    if (order == ByteOrder.LITTLE_ENDIAN) {
+      getBinary().putLong(buf, offset, value, order, 8);
+      Arrays.fill(buf, offset + 8, offset + width, (byte) 0);
+    } else {
+      Arrays.fill(buf, offset, offset + pad, (byte) 0);
+      getBinary().putLong(buf, offset + pad, value, order, 8);
+    }
+  }
+
+  /**
+   * 字段占用的字节长度
+   *
+   * @param field 字段信息
+   * @return 返回字节长度
+   */
+  public int sizeOf(StructField field) {
+    return field.getFieldSize() > 0 ? field.getFieldSize() : field.getPrimitiveType().getSize();
+  }
+
   public int srcPos(byte[] src, int ratio) {
     return src.length >= ratio ? src.length - ratio : 0;
   }
@@ -631,6 +721,17 @@ public abstract class AbstractConverter<T> extends BufCopyConverter<T> {
 
   }
 
+  interface ArrayWriterFunction {
+    /**
+     * 将元素写入缓冲
+     *
+     * @param buf    缓冲
+     * @param offset 元素在缓冲中的位置
+     * @param index  数组的索引
+     */
+    void write(byte[] buf, int offset, int index);
+  }
+
   interface ArrayConverterFunction {
     /**
      * 获取元素对应的字节数组
@@ -35,23 +35,22 @@ public class DateTimeConverter extends AbstractConverter<Object> {
       time = ((Date) value).getTime();
     }
     int size = field.getFieldSize();
-    byte[] bytes;
+    byte[] buf = getCache(size);
     switch (size) {
       case 4:
-        bytes = getBinary().intToBytes((int) (time / 1000), field.getByteOrder());
+        getBinary().putInt(buf, 0, (int) (time / 1000), field.getByteOrder(), 4);
         break;
       case 6:
-        byte[] buf = getCache(6);
-        bytes = getBinary().longToBytes((int) (time / 1000), field.getByteOrder());
-        copy(bytes, 0, buf, 0);
-        bytes = getBinary().intToBytes((int) time % 1000, field.getByteOrder());
-        return copy(bytes, 0, buf, 4, 2);
+        // 秒 + 毫秒
+        int offset = getBinary().putInt(buf, 0, (int) (time / 1000), field.getByteOrder(), 4);
+        getBinary().putInt(buf, offset, (int) (time % 1000), field.getByteOrder(), 2);
+        break;
       case 8:
       default:
-        bytes = getBinary().longToBytes(time, field.getByteOrder());
+        getBinary().putLong(buf, Math.max(size - 8, 0), time, field.getByteOrder(), Math.min(size, 8));
         break;
     }
-    return copy(bytes, srcPos(bytes, size), getCache(size), destPos(bytes, size));
+    return buf;
   }
 
   @Override
@@ -28,12 +28,9 @@ public class LongTimeConverter extends AbstractConverter<Long> {
   public byte[] convert(Object obj, StructField field, Object value) {
     int size = field.getFieldSize();
     if (value != null) {
-      byte[] bytes = getBinary().longToBytes((Long) value);
-      if (bytes.length == size) {
-        return bytes;
-      }
       byte[] buf = getCache(size);
-      return copy(bytes, srcPos(bytes, size), buf, 0, Math.min(bytes.length, buf.length));
+      getBinary().putLong(buf, 0, (Long) value, getBinary().getOrder(), Math.min(size, 8));
+      return buf;
     }
     return getCache(size);
   }
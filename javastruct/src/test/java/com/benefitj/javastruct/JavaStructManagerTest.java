@@ -15,6 +15,8 @@ import org.junit.jupiter.api.Test;
 import java.io.File;
 import java.util.Date;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
 public class JavaStructManagerTest {
 
 
@@ -94,4 +96,36 @@ public class JavaStructManagerTest {
     System.err.println(JSON.toJSONString(packet));
   }
 
-}
\ No newline at end of file
+  /**
+   * 数值字段的宽度与类型长度不同时：取低位字节或按字节序补0，数组中的 null 写入0
+   */
+  @Test
+  public void testNumberWidth() {
+    Numbers n = new Numbers();
+    n.narrow = 0x12345678;
+    n.wideLe = 0x0102030405060708L;
+    n.wideBe = 0x0A0B0C0D;
+    n.boxed = new Short[]{1, null, 3};
+    assertEquals("7856"
+            + "080706050403020100000000"
+            + "0000000000000000" + "0A0B0C0D"
+            + "000100000003",
+        binary.bytesToHex(manager.toBytes(n)));
+    // 缓存的数组被复用时，null 的位置不保留上次的值
+    n.boxed = new Short[]{null, null, null};
+    assertEquals("000000000000", binary.bytesToHex(manager.toBytes(n)).substring(52));
+  }
+
+  @JavaStructClass
+  public static class Numbers {
+    @JavaStructField(size = 2, byteOrder = FieldByteOrder.LITTLE_ENDIAN)
+    public int narrow;
+    @JavaStructField(size = 12, byteOrder = FieldByteOrder.LITTLE_ENDIAN)
+    public long wideLe;
+    @JavaStructField(size = 12)
+    public int wideBe;
+    @JavaStructField(size = 2, arrayLength = 3)
+    public Short[] boxed;
+  }
+
+}
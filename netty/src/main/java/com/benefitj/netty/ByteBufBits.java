@@ -0,0 +1,72 @@
+package com.benefitj.netty;
+
+import com.benefitj.core.BitReader;
+import com.benefitj.core.BitWriter;
+import io.netty.buffer.ByteBuf;
+
+/**
+ * ByteBuf 的按位读写
+ */
+public class ByteBufBits {
+
+  private ByteBufBits() {
+  }
+
+  /**
+   * 创建按位读取，[readerIndex, writerIndex)，不改变读写索引
+   *
+   * @param buf 数据
+   * @return 返回 BitReader
+   */
+  public static BitReader reader(ByteBuf buf) {
+    return reader(buf, buf.readerIndex(), buf.readableBytes());
+  }
+
+  /**
+   * 创建按位读取，不改变读写索引
+   *
+   * @param buf    数据
+   * @param index  开始的位置(绝对索引)
+   * @param length 长度
+   * @return 返回 BitReader
+   */
+  public static BitReader reader(ByteBuf buf, int index, int length) {
+    if (buf.hasArray()) {
+      return new BitReader(buf.array(), buf.arrayOffset() + index, length);
+    }
+    // 组合缓冲会合并为一个 ByteBuffer(可能拷贝)
+    return new BitReader(buf.nioBuffer(index, length));
+  }
+
+  /**
+   * 创建按位写入，从 writerIndex 开始，写完后通过 {@link #finish(ByteBuf, BitWriter)} 更新写索引
+   *
+   * @param buf      缓冲
+   * @param maxBytes 最多写入的字节数
+   * @return 返回 BitWriter
+   */
+  public static BitWriter writer(ByteBuf buf, int maxBytes) {
+    buf.ensureWritable(maxBytes);
+    if (buf.hasArray()) {
+      return new BitWriter(buf.array(), buf.arrayOffset() + buf.writerIndex(), maxBytes);
+    }
+    if (buf.nioBufferCount() != 1) {
+      throw new IllegalArgumentException("Unsupported composite buffer: " + buf);
+    }
+    return new BitWriter(buf.internalNioBuffer(buf.writerIndex(), maxBytes).slice());
+  }
+
+  /**
+   * 写入剩余的位，并更新写索引
+   *
+   * @param buf    缓冲
+   * @param writer 通过 {@link #writer(ByteBuf, int)} 创建的 BitWriter
+   * @return 返回写入的字节数
+   */
+  public static int finish(ByteBuf buf, BitWriter writer) {
+    int n = writer.flush();
+    buf.writerIndex(buf.writerIndex() + n);
+    return n;
+  }
+
+}
@@ -0,0 +1,55 @@
+package com.benefitj.netty;
+
+import io.netty.buffer.ByteBuf;
+
+import java.nio.ByteBuffer;
+import java.util.zip.Checksum;
+
+/**
+ * 使用 ByteBuf 更新校验值，不改变读写索引
+ */
+public class ByteBufChecksums {
+
+  private ByteBufChecksums() {
+  }
+
+  /**
+   * 更新校验值，[readerIndex, writerIndex)
+   *
+   * @param checksum 校验
+   * @param buf      数据
+   * @return 返回校验对象
+   */
+  public static <T extends Checksum> T update(T checksum, ByteBuf buf) {
+    return update(checksum, buf, buf.readerIndex(), buf.readableBytes());
+  }
+
+  /**
+   * 更新校验值
+   *
+   * @param checksum 校验
+   * @param buf      数据
+   * @param index    开始的位置(绝对索引)
+   * @param length   长度
+   * @return 返回校验对象
+   */
+  public static <T extends Checksum> T update(T checksum, ByteBuf buf, int index, int length) {
+    if (length <= 0) {
+      return checksum;
+    }
+    if (buf.hasArray()) {
+      checksum.update(buf.array(), buf.arrayOffset() + index, length);
+    } else if (buf.nioBufferCount() > 0) {
+      // 直接内存或组合缓冲，按 ByteBuffer 更新(JDK 的 CRC32/CRC32C 对直接内存有优化)
+      for (ByteBuffer nio : buf.nioBuffers(index, length)) {
+        checksum.update(nio);
+      }
+    } else {
+      for (int i = index, end = index + length; i < end; i++) {
+        checksum.update(buf.getByte(i));
+      }
+    }
+    return checksum;
+  }
+
+}
@@ -0,0 +1,94 @@
+package com.benefitj.netty;
+
+import com.benefitj.core.BytePattern;
+import io.netty.buffer.ByteBuf;
+
+import java.util.function.IntConsumer;
+
+/**
+ * 在 ByteBuf 中查找预编译的字节序列，不改变读写索引
+ */
+public class ByteBufPattern {
+
+  private ByteBufPattern() {
+  }
+
+  /**
+   * 查找第一次出现的位置，[readerIndex, writerIndex)
+   *
+   * @param pattern 模式
+   * @param buf     数据
+   * @return 返回找到的位置(绝对索引)，如果未找到返回-1
+   */
+  public static int indexOf(BytePattern pattern, ByteBuf buf) {
+    return indexOf(pattern, buf, buf.readerIndex(), buf.writerIndex());
+  }
+
+  /**
+   * 查找第一次出现的位置
+   *
+   * @param pattern 模式
+   * @param buf     数据
+   * @param from    开始的位置(包含，绝对索引)
+   * @param to      结束的位置(不包含，绝对索引)
+   * @return 返回找到的位置(绝对索引)，如果未找到返回-1
+   */
+  public static int indexOf(BytePattern pattern, ByteBuf buf, int from, int to) {
+    to = Math.min(to, buf.capacity());
+    if (buf.hasArray()) {
+      int offset = buf.arrayOffset();
+      int index = pattern.indexOf(buf.array(), offset + from, offset + to);
+      return index >= 0 ? index - offset : -1;
+    }
+    return pattern.indexOf(buf::getByte, from, to);
+  }
+
+  /**
+   * 查找最后一次出现的位置，[readerIndex, writerIndex)
+   *
+   * @param pattern 模式
+   * @param buf     数据
+   * @return 返回找到的位置(绝对索引)，如果未找到返回-1
+   */
+  public static int lastIndexOf(BytePattern pattern, ByteBuf buf) {
+    return lastIndexOf(pattern, buf, buf.readerIndex(), buf.writerIndex());
+  }
+
+  /**
+   * 查找最后一次出现的位置
+   *
+   * @param pattern 模式
+   * @param buf     数据
+   * @param from    开始的位置(包含，绝对索引)
+   * @param to      结束的位置(不包含，绝对索引)
+   * @return 返回找到的位置(绝对索引)，如果未找到返回-1
+   */
+  public static int lastIndexOf(BytePattern pattern, ByteBuf buf, int from, int to) {
+    to = Math.min(to, buf.capacity());
+    if (buf.hasArray()) {
+      int offset = buf.arrayOffset();
+      int index = pattern.lastIndexOf(buf.array(), offset + from, offset + to);
+      return index >= 0 ? index - offset : -1;
+    }
+    return pattern.lastIndexOf(buf::getByte, from, to);
+  }
+
+  /**
+   * 查找全部不重叠的位置，[readerIndex, writerIndex)
+   *
+   * @param pattern  模式
+   * @param buf      数据
+   * @param consumer 找到的位置(绝对索引)
+   * @return 返回找到的数量
+   */
+  public static int findAll(BytePattern pattern, ByteBuf buf, IntConsumer consumer) {
+    int count = 0;
+    int to = buf.writerIndex();
+    for (int i = indexOf(pattern, buf, buf.readerIndex(), to); i >= 0; i = indexOf(pattern, buf, i + pattern.length(), to)) {
+      consumer.accept(i);
+      count++;
+    }
+    return count;
+  }
+
+}
@@ -54,7 +54,7 @@ public interface SingleThreadPipeline extends Pipeline {
             try {
               return method.isDefault()
                   ? ReflectUtils.invokeDefault(pipeline, method, args)
-                  : ReflectUtils.invoke(pipeline, method, args);
+                  : ReflectUtils.invokeFast(pipeline, method, args);
             } finally {
               if (singles[0] == null) {
                 singles[0] = Thread.currentThread();
@@ -69,7 +69,7 @@ public interface SingleThreadPipeline extends Pipeline {
       }
       return method.isDefault()
           ? ReflectUtils.invokeDefault(pipeline, method, args)
-          : ReflectUtils.invoke(pipeline, method, args);
+          : ReflectUtils.invokeFast(pipeline, method, args);
     });
   }
 